@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package animation;
+
+import java.lang.management.ManagementFactory;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import com.sun.scenario.Settings;
+
+/**
+ * Measures the CPU used by an otherwise idle application with a blinking
+ * caret and a slow animation, with and without skipping the pulses no
+ * animation needs. The numbers are milliseconds of CPU time per second.
+ * <p>
+ * To measure without a screen, run it on Monocle headless:
+ * {@code -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw}
+ */
+public class IdlePulseBench extends Application {
+
+    private static final String SKIP_IDLE_PULSES = "com.sun.scenario.animation.skipIdlePulses";
+    private static final Duration WARMUP = Duration.seconds(2);
+    private static final Duration MEASURE = Duration.seconds(10);
+
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private Rectangle ticker;
+
+    @Override
+    public void start(Stage stage) {
+        final TextField field = new TextField("caret");
+        ticker = new Rectangle(20, 20);
+        stage.setScene(new Scene(new VBox(8, field, ticker), 300, 100));
+        stage.show();
+        field.requestFocus();
+
+        System.out.println("scenario\tskip\tcpu ms/s");
+        measure("caret", false, () ->
+            measure("caret", true, () -> {
+                // a status indicator that moves twice per second
+                final Timeline slow = new Timeline(2, new KeyFrame(Duration.millis(500),
+                        e -> ticker.setTranslateX(20 - ticker.getTranslateX())));
+                slow.setCycleCount(Animation.INDEFINITE);
+                slow.play();
+                measure("caret+2fps", false, () ->
+                    measure("caret+2fps", true, Platform::exit));
+            }));
+    }
+
+    private void measure(String scenario, boolean skip, Runnable next) {
+        Settings.set(SKIP_IDLE_PULSES, Boolean.toString(skip));
+        after(WARMUP, () -> {
+            final long cpu = os.getProcessCpuTime();
+            after(MEASURE, () -> {
+                final long used = os.getProcessCpuTime() - cpu;
+                System.out.println(scenario + "\t" + skip + "\t"
+                        + used / 1000000 / (long) MEASURE.toSeconds());
+                next.run();
+            });
+        });
+    }
+
+    // A PauseTransition would need every pulse, a key frame does not
+    private static void after(Duration duration, Runnable action) {
+        new Timeline(new KeyFrame(duration, e -> action.run())).play();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package binding;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ChangeListener;
+
+/**
+ * Measures the cost of delivering a value change of a property to a growing
+ * number of listeners, i.e. ExpressionHelper.fireValueChangedEvent(). Half
+ * of the listeners are change listeners and half are invalidation listeners
+ * (a single listener is a change listener). Run it on two builds to compare
+ * ExpressionHelper implementations; the numbers are nanoseconds per change.
+ */
+public class ExpressionHelperBench {
+
+    private static final int[] LISTENERS = {1, 2, 8, 64};
+    private static final int CHANGES = 2000000;
+    private static final int WARMUP_ROUNDS = 5;
+
+    // keeps the listeners from being optimized away
+    private static double sink;
+
+    public static void main(String[] args) {
+        System.out.println("listeners\tset\tset+add/remove");
+        for (int count : LISTENERS) {
+            for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+                run(count, false);
+            }
+            run(count, true);
+        }
+    }
+
+    private static void run(int count, boolean print) {
+        final SimpleDoubleProperty property = new SimpleDoubleProperty();
+        final ChangeListener<Number> changeListener = (o, oldValue, newValue) -> sink += newValue.doubleValue();
+        final InvalidationListener invalidationListener = o -> sink += 1;
+        property.addListener(changeListener);
+        for (int i = 1; i < count; ++i) {
+            if (i % 2 == 0) {
+                property.addListener((o, oldValue, newValue) -> sink += newValue.doubleValue());
+            } else {
+                property.addListener(o -> sink += 1);
+            }
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CHANGES; ++i) {
+            property.set(i);
+        }
+        final double set = (System.nanoTime() - start) / (double) CHANGES;
+
+        // a listener that changes the listeners while being notified
+        final InvalidationListener modifyingListener = new InvalidationListener() {
+            boolean added;
+            @Override public void invalidated(Observable o) {
+                if (added) {
+                    property.removeListener(invalidationListener);
+                } else {
+                    property.addListener(invalidationListener);
+                }
+                added = !added;
+            }
+        };
+        property.addListener(modifyingListener);
+        start = System.nanoTime();
+        for (int i = 0; i < CHANGES; ++i) {
+            property.set(-i);
+        }
+        final double modified = (System.nanoTime() - start) / (double) CHANGES;
+
+        if (print) {
+            System.out.printf("%d\t%.1f\t%.1f%n", count, set, modified);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package collections;
+
+import java.util.Comparator;
+import java.util.Random;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Measures FXCollections.sort on an observable list with a comparator, like
+ * the default TableView sort policy does, for growing list sizes. The
+ * numbers are milliseconds per sort. Run it with
+ * -Djava.util.concurrent.ForkJoinPool.common.parallelism=1 to measure the
+ * sequential sort.
+ */
+public class SortBench {
+
+    private static final int[] SIZES = {10000, 100000, 1000000, 2000000};
+    private static final int ROUNDS = 5;
+
+    private static class Row {
+        final String name;
+        final int price;
+
+        Row(String name, int price) {
+            this.name = name;
+            this.price = price;
+        }
+    }
+
+    private static final Comparator<Row> BY_PRICE_AND_NAME =
+            Comparator.<Row>comparingInt(r -> r.price).thenComparing(r -> r.name);
+
+    public static void main(String[] args) {
+        System.out.println("size\tsort");
+        for (int size : SIZES) {
+            final Random random = new Random(size);
+            final Row[] rows = new Row[size];
+            for (int i = 0; i < size; ++i) {
+                rows[i] = new Row(Integer.toString(random.nextInt()), random.nextInt(1000));
+            }
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; ++round) {
+                final ObservableList<Row> list = FXCollections.observableArrayList(rows);
+                final long start = System.nanoTime();
+                FXCollections.sort(list, BY_PRICE_AND_NAME);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.println(size + "\t" + (best / 1000000));
+        }
+    }
+}
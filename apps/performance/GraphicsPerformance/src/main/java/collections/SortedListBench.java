@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package collections;
+
+import java.util.Random;
+import javafx.beans.Observable;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+
+/**
+ * Measures the cost of single element changes propagated through a
+ * SortedList for growing list sizes. Run it on two builds to compare
+ * SortedList implementations; the numbers are nanoseconds per operation.
+ */
+public class SortedListBench {
+
+    private static final int[] SIZES = {1000, 10000, 100000, 200000};
+    private static final int OPERATIONS = 20000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    private static class Row {
+        final SimpleIntegerProperty price = new SimpleIntegerProperty();
+
+        Row(int price) {
+            this.price.set(price);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("size\tinsert\tremove\tupdate");
+        for (int size : SIZES) {
+            for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+                run(size, false);
+            }
+            run(size, true);
+        }
+    }
+
+    private static void run(int size, boolean print) {
+        Random random = new Random(size);
+        ObservableList<Row> source = FXCollections.observableArrayList(
+                (Row r) -> new Observable[] {r.price});
+        for (int i = 0; i < size; ++i) {
+            source.add(new Row(random.nextInt()));
+        }
+        SortedList<Row> sorted = new SortedList<>(source,
+                (r1, r2) -> Integer.compare(r1.price.get(), r2.price.get()));
+        // make sure the changes are delivered like they would be to a TableView
+        sorted.addListener((javafx.collections.ListChangeListener<Row>) c -> {
+            while (c.next()) { }
+        });
+
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; ++i) {
+            source.add(random.nextInt(source.size()), new Row(random.nextInt()));
+        }
+        long insert = (System.nanoTime() - start) / OPERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; ++i) {
+            source.remove(random.nextInt(source.size()));
+        }
+        long remove = (System.nanoTime() - start) / OPERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; ++i) {
+            source.get(random.nextInt(source.size())).price.set(random.nextInt());
+        }
+        long update = (System.nanoTime() - start) / OPERATIONS;
+
+        if (print) {
+            System.out.println(size + "\t" + insert + "\t" + remove + "\t" + update);
+        }
+    }
+}
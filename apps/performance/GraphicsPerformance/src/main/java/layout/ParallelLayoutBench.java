@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package layout;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.TilePane;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+/**
+ * Measures the layout pass of a dashboard like TilePane whose tiles all
+ * change their content, with and without Parent.parallelLayout. The numbers
+ * are microseconds per layout pass, not counting CSS.
+ */
+public class ParallelLayoutBench extends Application {
+
+    private static final int[] TILE_COUNTS = {16, 64, 256, 1024};
+    private static final int LABELS_PER_TILE = 12;
+    private static final int ROUNDS = 50;
+
+    private int generation;
+
+    @Override
+    public void start(Stage stage) {
+        System.out.println("tiles\tsequential\tparallel");
+        for (int tiles : TILE_COUNTS) {
+            final TilePane dashboard = createDashboard(tiles);
+            final Scene scene = new Scene(dashboard, 1600, 1200);
+            stage.setScene(scene);
+            System.out.println(tiles + "\t" + measure(dashboard, false) + "\t" + measure(dashboard, true));
+        }
+        Platform.exit();
+    }
+
+    private TilePane createDashboard(int tiles) {
+        final TilePane dashboard = new TilePane(8, 8);
+        for (int i = 0; i < tiles; i++) {
+            final VBox tile = new VBox(4);
+            tile.setPadding(new Insets(6));
+            for (int j = 0; j < LABELS_PER_TILE; j += 3) {
+                tile.getChildren().add(new HBox(4, new Label(), new Label(), new Label()));
+            }
+            dashboard.getChildren().add(tile);
+        }
+        return dashboard;
+    }
+
+    // every label gets a new text, so that every tile has to be measured again
+    private void update(TilePane dashboard) {
+        generation++;
+        for (int i = 0; i < dashboard.getChildren().size(); i++) {
+            final VBox tile = (VBox) dashboard.getChildren().get(i);
+            for (int j = 0; j < tile.getChildren().size(); j++) {
+                final HBox row = (HBox) tile.getChildren().get(j);
+                for (int k = 0; k < row.getChildren().size(); k++) {
+                    ((Label) row.getChildren().get(k)).setText("Value " + (generation * 31 + i * 7 + j * 3 + k));
+                }
+            }
+        }
+    }
+
+    private long measure(TilePane dashboard, boolean parallel) {
+        dashboard.setParallelLayout(parallel);
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            update(dashboard);
+            dashboard.applyCss();
+            final long start = System.nanoTime();
+            dashboard.layout();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1000;
+    }
+
+    /**
+     * Java main for when running without JavaFX launcher
+     */
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package nodecount;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+
+/**
+ * Measures the heap footprint of a scene graph made of plain rectangles.
+ * The rectangles are styled and laid out but not shown, so the numbers are
+ * for the scene graph nodes alone, not counting their render peers. Run it
+ * with a heap large enough for the biggest count, e.g. -Xmx2g.
+ */
+public class RectFootprintBench extends Application {
+
+    private static final int[] NODE_COUNTS = {10000, 100000, 1000000};
+
+    // holds the scene graph being measured
+    private Scene scene;
+
+    @Override
+    public void start(Stage stage) {
+        System.out.println("nodes\tbytes/node\ttotal MB");
+        for (int count : NODE_COUNTS) {
+            final long before = usedHeap();
+            final Group root = createGrid(count);
+            scene = new Scene(root, 800, 600);
+            root.applyCss();
+            root.layout();
+            final long used = usedHeap() - before;
+            System.out.println(count + "\t" + used / count + "\t" + used / (1024 * 1024));
+            scene = null;
+        }
+        Platform.exit();
+    }
+
+    private Group createGrid(int count) {
+        final Rectangle[] rects = new Rectangle[count];
+        final int columns = (int) Math.sqrt(count);
+        for (int i = 0; i < count; i++) {
+            final Rectangle rect = new Rectangle(i % columns * 4, i / columns * 4, 3, 3);
+            rect.setFill(i % 2 == 0 ? Color.STEELBLUE : Color.ORANGE);
+            rects[i] = rect;
+        }
+        return new Group(rects);
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Java main for when running without JavaFX launcher
+     */
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package text;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+import com.sun.javafx.logging.PulseMetrics;
+import com.sun.javafx.perf.PerformanceTracker;
+
+/**
+ * Renders text drawn from a corpus of 5,000 distinct CJK ideographs, more
+ * than fit in the glyph cache texture. Every frame shows a window of 2,000
+ * of them, which moves through the corpus, so most glyphs are still cached
+ * from the previous frames while some have to be rasterized.
+ * <p>
+ * Compare the frame rate with {@code -Dprism.glyphCachePages=1}, which
+ * makes the cache drop all its glyphs whenever it is full. Run it with
+ * {@code -Djavafx.pulseLogger.metrics=true -Djavafx.pulseLogger.metrics.capacity=1024}
+ * to also print the glyph cache hits, misses and evicted pages over the
+ * measured pulses. A font with CJK glyphs must be installed.
+ */
+public class GlyphCacheBench extends Application {
+
+    private static final int CORPUS_SIZE = 5000;
+    private static final char FIRST_CHAR = '\u4E00';
+    private static final int ROWS = 40;
+    private static final int COLUMNS = 50;
+    // how far the window moves through the corpus every frame
+    private static final int STEP = 50;
+    private static final long WARMUP = 3000L * 1000000;
+    private static final long MEASURE = 10000L * 1000000;
+
+    private final Text[] rows = new Text[ROWS];
+    private final StringBuilder sb = new StringBuilder(COLUMNS);
+    private int offset;
+
+    @Override
+    public void start(Stage stage) {
+        final VBox root = new VBox();
+        final Font font = Font.font(16);
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = new Text();
+            rows[i].setFont(font);
+            root.getChildren().add(rows[i]);
+        }
+        final Scene scene = new Scene(root, 1000, 900);
+        stage.setScene(scene);
+        stage.show();
+
+        final PerformanceTracker tracker = PerformanceTracker.getSceneTracker(scene);
+        new AnimationTimer() {
+            long start;
+            boolean measuring;
+
+            @Override
+            public void handle(long now) {
+                updateText();
+                if (start == 0) {
+                    start = now;
+                } else if (!measuring && now - start > WARMUP) {
+                    measuring = true;
+                    start = now;
+                    tracker.resetAverageFPS();
+                    if (PulseMetrics.getInstance() != null) {
+                        PulseMetrics.getInstance().reset();
+                    }
+                } else if (measuring && now - start > MEASURE) {
+                    stop();
+                    System.out.println("fps\t" + tracker.getAverageFPS());
+                    printCounters();
+                    Platform.exit();
+                }
+            }
+        }.start();
+    }
+
+    private void updateText() {
+        for (int i = 0; i < ROWS; i++) {
+            sb.setLength(0);
+            for (int j = 0; j < COLUMNS; j++) {
+                sb.append((char) (FIRST_CHAR + (offset + i * COLUMNS + j) % CORPUS_SIZE));
+            }
+            rows[i].setText(sb.toString());
+        }
+        offset = (offset + STEP) % CORPUS_SIZE;
+    }
+
+    private static void printCounters() {
+        final PulseMetrics metrics = PulseMetrics.getInstance();
+        if (metrics == null) {
+            return;
+        }
+        long hits = 0, misses = 0, evicted = 0;
+        for (PulseMetrics.PulseSample sample : metrics.getSamples()) {
+            hits += sample.getCounter("Glyph cache hits");
+            misses += sample.getCounter("Glyph cache misses");
+            evicted += sample.getCounter("Glyph cache pages evicted");
+        }
+        System.out.println("hits\t" + hits);
+        System.out.println("misses\t" + misses);
+        System.out.println("evicted pages\t" + evicted);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defers the notification of the listeners of a binding to the next pulse,
+ * so that a binding invalidated many times between two pulses notifies its
+ * listeners (and is recomputed by its change listeners) only once.
+ * <p>
+ * The toolkit installs a pulse requester with {@link #setPulseRequester} and
+ * calls {@link #runPending()} at the beginning of every pulse. As long as no
+ * pulse requester is installed, e.g. when no toolkit is running, the
+ * notifications are not deferred at all.
+ * <p>
+ * The counters tell how many deferred notifications were delivered and how
+ * many invalidations were coalesced into a notification that was already
+ * pending, i.e. how many evaluations were saved.
+ */
+public final class DeferredEvaluation {
+
+    private static Runnable pulseRequester;
+    private static List<DeferredEvaluation> pending = new ArrayList<>();
+    private static List<DeferredEvaluation> running = new ArrayList<>();
+    private static boolean runningPending;
+
+    private static long evaluationCount;
+    private static long savedEvaluationCount;
+
+    private final Runnable notification;
+    private boolean scheduled;
+
+    /**
+     * Creates a deferral for a binding.
+     *
+     * @param notification notifies the listeners of the binding
+     */
+    public DeferredEvaluation(Runnable notification) {
+        this.notification = notification;
+    }
+
+    /**
+     * Installs the action that requests a pulse, or removes it if
+     * {@code requester} is null.
+     */
+    public static synchronized void setPulseRequester(Runnable requester) {
+        pulseRequester = requester;
+    }
+
+    /**
+     * Schedules the notification for the next pulse. Called when the binding
+     * becomes invalid.
+     */
+    public void schedule() {
+        final Runnable requester;
+        synchronized (DeferredEvaluation.class) {
+            if (scheduled) {
+                savedEvaluationCount++;
+                return;
+            }
+            if (pulseRequester != null) {
+                scheduled = true;
+                pending.add(this);
+                // a pulse is already on its way unless this is the first one
+                if ((pending.size() > 1) || runningPending) {
+                    return;
+                }
+            }
+            requester = pulseRequester;
+        }
+        if (requester != null) {
+            requester.run();
+        } else {
+            notification.run();
+        }
+    }
+
+    /**
+     * Called when a binding that is already invalid is invalidated again.
+     */
+    public void coalesce() {
+        synchronized (DeferredEvaluation.class) {
+            if (scheduled) {
+                savedEvaluationCount++;
+            }
+        }
+    }
+
+    /**
+     * Delivers a pending notification right away. Called when the binding
+     * leaves the deferred mode.
+     */
+    public void cancel() {
+        synchronized (DeferredEvaluation.class) {
+            if (!scheduled) {
+                return;
+            }
+            scheduled = false;
+            pending.remove(this);
+        }
+        notification.run();
+    }
+
+    /**
+     * Delivers all pending notifications, including the ones scheduled while
+     * doing so.
+     */
+    public static void runPending() {
+        synchronized (DeferredEvaluation.class) {
+            if (runningPending) {
+                return;
+            }
+            runningPending = true;
+        }
+        try {
+            while (true) {
+                final List<DeferredEvaluation> batch;
+                synchronized (DeferredEvaluation.class) {
+                    if (pending.isEmpty()) {
+                        return;
+                    }
+                    batch = pending;
+                    pending = running;
+                    running = batch;
+                    for (DeferredEvaluation deferral : batch) {
+                        deferral.scheduled = false;
+                    }
+                    evaluationCount += batch.size();
+                }
+                try {
+                    for (DeferredEvaluation deferral : batch) {
+                        deferral.notification.run();
+                    }
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            synchronized (DeferredEvaluation.class) {
+                runningPending = false;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of deferred notifications delivered so far.
+     */
+    public static synchronized long getEvaluationCount() {
+        return evaluationCount;
+    }
+
+    /**
+     * Returns the number of invalidations that were coalesced into an
+     * already pending notification.
+     */
+    public static synchronized long getSavedEvaluationCount() {
+        return savedEvaluationCount;
+    }
+
+    public static synchronized void resetCounters() {
+        evaluationCount = 0;
+        savedEvaluationCount = 0;
+    }
+}
@@ -30,15 +30,14 @@ import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import sun.util.logging.PlatformLogger;
 
-import java.util.Arrays;
-
 /**
  * A convenience class for creating implementations of {@link javafx.beans.value.ObservableValue}.
  * It contains all of the infrastructure support for value invalidation- and
  * change event notification.
  * 
  * This implementation can handle adding and removing listeners while the
- * observers are being notified, but it is not thread-safe.
+ * observers are being notified, but it is not thread-safe. Listeners added
+ * or removed during a notification take effect from the next notification on.
  * 
  * 
  */
@@ -188,61 +187,51 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
     }
     
     private static class Generic<T> extends ExpressionHelper<T> {
-        
+
+        // The listener arrays are never modified, every change creates a new
+        // array. An event that is being delivered keeps notifying the listeners
+        // that were registered when it started, without any locking or copying.
         private InvalidationListener[] invalidationListeners;
         private ChangeListener<? super T>[] changeListeners;
-        private int invalidationSize;
-        private int changeSize;
-        private boolean locked;
         private T currentValue;
         
         private Generic(ObservableValue<T> observable, InvalidationListener listener0, InvalidationListener listener1) {
             super(observable);
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
-            this.invalidationSize = 2;
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableValue<T> observable, ChangeListener<? super T> listener0, ChangeListener<? super T> listener1) {
             super(observable);
             this.changeListeners = new ChangeListener[] {listener0, listener1};
-            this.changeSize = 2;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableValue<T> observable, InvalidationListener invalidationListener, ChangeListener<? super T> changeListener) {
             super(observable);
             this.invalidationListeners = new InvalidationListener[] {invalidationListener};
-            this.invalidationSize = 1;
             this.changeListeners = new ChangeListener[] {changeListener};
-            this.changeSize = 1;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         @Override
         protected Generic<T> addListener(InvalidationListener listener) {
             if (invalidationListeners == null) {
                 invalidationListeners = new InvalidationListener[] {listener};
-                invalidationSize = 1;
             } else {
-                final int oldCapacity = invalidationListeners.length;
-                if (locked) {
-                    final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                } else if (invalidationSize == oldCapacity) {
-                    invalidationSize = trim(invalidationSize, invalidationListeners);
-                    if (invalidationSize == oldCapacity) {
-                        final int newCapacity = (oldCapacity * 3)/2 + 1;
-                        invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                    }
-                }
-                invalidationListeners[invalidationSize++] = listener;
+                invalidationListeners = append(invalidationListeners, listener);
             }
             return this;
         }
 
         @Override
         protected ExpressionHelper<T> removeListener(InvalidationListener listener) {
+            compact();
             if (invalidationListeners != null) {
+                final int invalidationSize = invalidationListeners.length;
+                final int changeSize = (changeListeners == null)? 0 : changeListeners.length;
                 for (int index = 0; index < invalidationSize; index++) {
                     if (listener.equals(invalidationListeners[index])) {
                         if (invalidationSize == 1) {
@@ -250,59 +239,35 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                                 return new SingleChange<T>(observable, changeListeners[0]);
                             }
                             invalidationListeners = null;
-                            invalidationSize = 0;
                         } else if ((invalidationSize == 2) && (changeSize == 0)) {
                             return new SingleInvalidation<T>(observable, invalidationListeners[1-index]);
                         } else {
-                            final int numMoved = invalidationSize - index - 1;
-                            final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
-                                invalidationListeners = new InvalidationListener[invalidationListeners.length];
-                                System.arraycopy(oldListeners, 0, invalidationListeners, 0, index);
-                            }
-                            if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
-                            }
-                            invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[invalidationSize] = null; // Let gc do its work
-                            }
+                            invalidationListeners = remove(invalidationListeners, index);
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
         protected ExpressionHelper<T> addListener(ChangeListener<? super T> listener) {
             if (changeListeners == null) {
                 changeListeners = new ChangeListener[] {listener};
-                changeSize = 1;
-            } else {
-                final int oldCapacity = changeListeners.length;
-                if (locked) {
-                    final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                } else if (changeSize == oldCapacity) {
-                    changeSize = trim(changeSize, changeListeners);
-                    if (changeSize == oldCapacity) {
-                        final int newCapacity = (oldCapacity * 3)/2 + 1;
-                        changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                    }
-                }
-                changeListeners[changeSize++] = listener;
-            }
-            if (changeSize == 1) {
                 currentValue = observable.getValue();
+            } else {
+                changeListeners = append(changeListeners, listener);
             }
             return this;
         }
 
         @Override
         protected ExpressionHelper<T> removeListener(ChangeListener<? super T> listener) {
+            compact();
             if (changeListeners != null) {
+                final int invalidationSize = (invalidationListeners == null)? 0 : invalidationListeners.length;
+                final int changeSize = changeListeners.length;
                 for (int index = 0; index < changeSize; index++) {
                     if (listener.equals(changeListeners[index])) {
                         if (changeSize == 1) {
@@ -310,63 +275,82 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                                 return new SingleInvalidation<T>(observable, invalidationListeners[0]);
                             }
                             changeListeners = null;
-                            changeSize = 0;
                         } else if ((changeSize == 2) && (invalidationSize == 0)) {
                             return new SingleChange<T>(observable, changeListeners[1-index]);
                         } else {
-                            final int numMoved = changeSize - index - 1;
-                            final ChangeListener<? super T>[] oldListeners = changeListeners;
-                            if (locked) {
-                                changeListeners = new ChangeListener[changeListeners.length];
-                                System.arraycopy(oldListeners, 0, changeListeners, 0, index);
-                            }
-                            if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
-                            }
-                            changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
-                            }
+                            changeListeners = remove(changeListeners, index);
                         }
                         break;
                     }
                 }
             }
-            return this;
+            return collapse();
+        }
+
+        @Override
+        protected void compact() {
+            if (invalidationListeners != null) {
+                invalidationListeners = removeCollected(invalidationListeners);
+            }
+            if (changeListeners != null) {
+                changeListeners = removeCollected(changeListeners);
+            }
+        }
+
+        private ExpressionHelper<T> collapse() {
+            final int invalidationSize = (invalidationListeners == null)? 0 : invalidationListeners.length;
+            final int changeSize = (changeListeners == null)? 0 : changeListeners.length;
+            switch (invalidationSize + changeSize) {
+                case 0:
+                    return null;
+                case 1:
+                    return (invalidationSize == 1)? new SingleInvalidation<T>(observable, invalidationListeners[0])
+                            : new SingleChange<T>(observable, changeListeners[0]);
+                default:
+                    return this;
+            }
+        }
+
+        @Override
+        protected Object getObservable() {
+            return observable;
+        }
+
+        @Override
+        protected Object[] getListeners() {
+            final Object[] curInvalidationList = invalidationListeners;
+            final Object[] curChangeList = changeListeners;
+            return concat(curInvalidationList, (curInvalidationList == null)? 0 : curInvalidationList.length,
+                    curChangeList, (curChangeList == null)? 0 : curChangeList.length, null, 0);
         }
 
         @Override
         protected void fireValueChangedEvent() {
             final InvalidationListener[] curInvalidationList = invalidationListeners;
-            final int curInvalidationSize = invalidationSize;
             final ChangeListener<? super T>[] curChangeList = changeListeners;
-            final int curChangeSize = changeSize;
 
-            try {
-                locked = true;
-                for (int i = 0; i < curInvalidationSize; i++) {
+            if (curInvalidationList != null) {
+                for (int i = 0; i < curInvalidationList.length; i++) {
                     try {
                         curInvalidationList[i].invalidated(observable);
                     } catch (Exception e) {
                         Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
                     }
                 }
-                if (curChangeSize > 0) {
-                    final T oldValue = currentValue;
-                    currentValue = observable.getValue();
-                    final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
-                    if (changed) {
-                        for (int i = 0; i < curChangeSize; i++) {
-                            try {
-                                curChangeList[i].changed(observable, oldValue, currentValue);
-                            } catch (Exception e) {
-                                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
-                            }
+            }
+            if (curChangeList != null) {
+                final T oldValue = currentValue;
+                currentValue = observable.getValue();
+                final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
+                if (changed) {
+                    for (int i = 0; i < curChangeList.length; i++) {
+                        try {
+                            curChangeList[i].changed(observable, oldValue, currentValue);
+                        } catch (Exception e) {
+                            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
                         }
                     }
                 }
-            } finally {
-                locked = false;
             }
         }
     }
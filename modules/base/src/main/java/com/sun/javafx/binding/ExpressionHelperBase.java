@@ -27,6 +27,8 @@ package com.sun.javafx.binding;
 
 import javafx.beans.WeakListener;
 
+import java.util.Arrays;
+
 /**
  */
 public class ExpressionHelperBase {
@@ -47,4 +49,131 @@ public class ExpressionHelperBase {
         return size;
     }
 
+    /**
+     * Returns a new array with the listener appended to the given listeners.
+     * The given array is not modified.
+     * <p>
+     * Weak listeners that were garbage collected are left out whenever the
+     * number of listeners reaches a power of two (starting with 8), so that
+     * the cost of the check is amortized over the additions, like with
+     * {@link #trim}. Smaller arrays are not worth checking.
+     */
+    protected static <L> L[] append(L[] listeners, L listener) {
+        int size = listeners.length;
+        if ((size >= 8) && ((size & (size - 1)) == 0)) {
+            for (int index = 0; index < listeners.length; index++) {
+                final Object l = listeners[index];
+                if ((l instanceof WeakListener) && ((WeakListener)l).wasGarbageCollected()) {
+                    size--;
+                }
+            }
+        }
+        final L[] result = Arrays.copyOf(listeners, size + 1);
+        if (size < listeners.length) {
+            // more listeners may have been collected since they were counted
+            size = 0;
+            for (L l : listeners) {
+                if (!(l instanceof WeakListener) || !((WeakListener)l).wasGarbageCollected()) {
+                    result[size++] = l;
+                }
+            }
+            result[size] = listener;
+            return (size + 1 == result.length)? result : Arrays.copyOf(result, size + 1);
+        }
+        result[size] = listener;
+        return result;
+    }
+
+    /**
+     * Returns a new array without the listener at the given index.
+     * The given array is not modified.
+     */
+    protected static <L> L[] remove(L[] listeners, int index) {
+        final L[] result = Arrays.copyOf(listeners, listeners.length - 1);
+        System.arraycopy(listeners, index + 1, result, index, result.length - index);
+        return result;
+    }
+
+    /**
+     * Returns the listeners without the weak listeners that were garbage
+     * collected, or {@code null} if no listener is left. The given array is
+     * not modified; it is returned as is if none of its listeners was collected.
+     */
+    protected static <L> L[] removeCollected(L[] listeners) {
+        L[] result = null;
+        int size = 0;
+        for (int index = 0; index < listeners.length; index++) {
+            final L l = listeners[index];
+            if ((l instanceof WeakListener) && ((WeakListener)l).wasGarbageCollected()) {
+                if (result == null) {
+                    result = Arrays.copyOf(listeners, listeners.length - 1);
+                    size = index;
+                }
+            } else if (result != null) {
+                result[size++] = l;
+            }
+        }
+        if (result == null) {
+            return listeners;
+        }
+        return (size == 0)? null : (size == result.length)? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Removes the weak listeners that were garbage collected. Helpers that
+     * cannot be modified right now, because they are delivering an event,
+     * do nothing.
+     * <p>
+     * The default implementation does nothing. Helpers that can hold more
+     * than one listener override it, it is also called by
+     * {@link ListenerDiagnostics#compact()}.
+     * <p>
+     * Removing a listener is linear anyway, so {@code removeListener} calls
+     * this method first; otherwise collected listeners would only be dropped
+     * when an event is delivered or when a listener array is full. It then
+     * returns the helper that fits the listeners that are left, i.e.
+     * {@code null} or a single-listener helper if all or all but one were
+     * collected. A helper compacted by {@link ListenerDiagnostics} is only
+     * replaced the next time a listener is removed.
+     */
+    protected void compact() {
+    }
+
+    /**
+     * Returns the observable this helper sends the events of, or
+     * {@code null} if the helper does not know it.
+     * Used by {@link ListenerDiagnostics}.
+     */
+    protected Object getObservable() {
+        return null;
+    }
+
+    /**
+     * Returns the listeners that are registered with this helper, including
+     * weak listeners that were garbage collected.
+     * Used by {@link ListenerDiagnostics}.
+     */
+    protected Object[] getListeners() {
+        return new Object[0];
+    }
+
+    /**
+     * Concatenates the first {@code size} listeners of each array, an array
+     * may be {@code null} if its size is 0. Used by {@link #getListeners()}.
+     */
+    protected static Object[] concat(Object[] listeners0, int size0, Object[] listeners1, int size1,
+                                     Object[] listeners2, int size2) {
+        final Object[] result = new Object[size0 + size1 + size2];
+        if (size0 > 0) {
+            System.arraycopy(listeners0, 0, result, 0, size0);
+        }
+        if (size1 > 0) {
+            System.arraycopy(listeners1, 0, result, size0, size1);
+        }
+        if (size2 > 0) {
+            System.arraycopy(listeners2, 0, result, size0 + size1, size2);
+        }
+        return result;
+    }
+
 }
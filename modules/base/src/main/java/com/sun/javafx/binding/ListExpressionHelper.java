@@ -316,6 +316,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             super(observable);
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
             this.invalidationSize = 2;
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableListValue<E> observable, ChangeListener<? super ObservableList<E>> listener0, ChangeListener<? super ObservableList<E>> listener1) {
@@ -323,6 +324,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             this.changeListeners = new ChangeListener[] {listener0, listener1};
             this.changeSize = 2;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableListValue<E> observable, ListChangeListener<? super E> listener0, ListChangeListener<? super E> listener1) {
@@ -330,6 +332,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             this.listChangeListeners = new ListChangeListener[] {listener0, listener1};
             this.listChangeSize = 2;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableListValue<E> observable, InvalidationListener invalidationListener, ChangeListener<? super ObservableList<E>> changeListener) {
@@ -339,6 +342,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             this.changeListeners = new ChangeListener[] {changeListener};
             this.changeSize = 1;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableListValue<E> observable, InvalidationListener invalidationListener, ListChangeListener<? super E> listChangeListener) {
@@ -348,6 +352,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             this.listChangeListeners = new ListChangeListener[] {listChangeListener};
             this.listChangeSize = 1;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableListValue<E> observable, ChangeListener<? super ObservableList<E>> changeListener, ListChangeListener<? super E> listChangeListener) {
@@ -357,6 +362,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             this.listChangeListeners = new ListChangeListener[] {listChangeListener};
             this.listChangeSize = 1;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         @Override
@@ -383,6 +389,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
 
         @Override
         protected ListExpressionHelper<E> removeListener(InvalidationListener listener) {
+            compact();
             if (invalidationListeners != null) {
                 for (int index = 0; index < invalidationSize; index++) {
                     if (listener.equals(invalidationListeners[index])) {
@@ -415,7 +422,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -445,6 +452,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
 
         @Override
         protected ListExpressionHelper<E> removeListener(ChangeListener<? super ObservableList<E>> listener) {
+            compact();
             if (changeListeners != null) {
                 for (int index = 0; index < changeSize; index++) {
                     if (listener.equals(changeListeners[index])) {
@@ -477,7 +485,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -507,6 +515,7 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
 
         @Override
         protected ListExpressionHelper<E> removeListener(ListChangeListener<? super E> listener) {
+            compact();
             if (listChangeListeners != null) {
                 for (int index = 0; index < listChangeSize; index++) {
                     if (listener.equals(listChangeListeners[index])) {
@@ -539,7 +548,48 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                     }
                 }
             }
-            return this;
+            return collapse();
+        }
+
+        @Override
+        protected void compact() {
+            if (!locked) {
+                invalidationSize = trim(invalidationSize, invalidationListeners);
+                if (invalidationSize == 0) {
+                    invalidationListeners = null;
+                }
+                changeSize = trim(changeSize, changeListeners);
+                if (changeSize == 0) {
+                    changeListeners = null;
+                }
+                listChangeSize = trim(listChangeSize, listChangeListeners);
+                if (listChangeSize == 0) {
+                    listChangeListeners = null;
+                }
+            }
+        }
+
+        private ListExpressionHelper<E> collapse() {
+            switch (invalidationSize + changeSize + listChangeSize) {
+                case 0:
+                    return null;
+                case 1:
+                    return (invalidationSize == 1)? new SingleInvalidation<E>(observable, invalidationListeners[0])
+                            : (changeSize == 1)? new SingleChange<E>(observable, changeListeners[0])
+                            : new SingleListChange<E>(observable, listChangeListeners[0]);
+                default:
+                    return this;
+            }
+        }
+
+        @Override
+        protected Object getObservable() {
+            return observable;
+        }
+
+        @Override
+        protected Object[] getListeners() {
+            return concat(invalidationListeners, invalidationSize, changeListeners, changeSize, listChangeListeners, listChangeSize);
         }
 
         @Override
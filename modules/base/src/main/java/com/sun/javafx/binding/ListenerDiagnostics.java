@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import javafx.beans.WeakListener;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps track of the listener helpers that hold more than one listener, in
+ * order to find listener leaks: it reports how many listeners are registered
+ * with every observable and how many of them are weak listeners that were
+ * garbage collected, but not removed yet.
+ * <p>
+ * Tracking is off by default; it is turned on by the system property
+ * {@code javafx.listenerDiagnostics} or by {@link #setEnabled(boolean)}.
+ * Only helpers that were created while tracking was on are reported. The
+ * helpers are referenced weakly, tracking never keeps an observable alive. A
+ * helper that is replaced when listeners are removed may still be reported
+ * until it is garbage collected.
+ * <p>
+ * The helpers are not thread-safe, {@link #getReport(int)} and
+ * {@link #compact()} must be called on the thread that modifies the
+ * observables, usually the JavaFX Application Thread.
+ */
+public final class ListenerDiagnostics {
+
+    /**
+     * The listeners of one observable.
+     */
+    public static final class Entry {
+        private final Object observable;
+        private final String helperName;
+        private final int listenerCount;
+        private final int collectedListenerCount;
+
+        private Entry(Object observable, String helperName, int listenerCount, int collectedListenerCount) {
+            this.observable = observable;
+            this.helperName = helperName;
+            this.listenerCount = listenerCount;
+            this.collectedListenerCount = collectedListenerCount;
+        }
+
+        /**
+         * Returns the observable, or {@code null} if the helper does not
+         * know it (the helpers of {@code ObservableList}).
+         */
+        public Object getObservable() {
+            return observable;
+        }
+
+        /**
+         * Returns the number of listeners, including the collected ones.
+         */
+        public int getListenerCount() {
+            return listenerCount;
+        }
+
+        /**
+         * Returns the number of weak listeners that were garbage collected.
+         */
+        public int getCollectedListenerCount() {
+            return collectedListenerCount;
+        }
+
+        @Override
+        public String toString() {
+            return ((observable == null)? helperName : String.valueOf(observable))
+                    + ": " + listenerCount + " listeners (" + collectedListenerCount + " collected)";
+        }
+    }
+
+    private static final Set<ExpressionHelperBase> helpers =
+            Collections.newSetFromMap(new WeakHashMap<ExpressionHelperBase, Boolean>());
+
+    private static volatile boolean enabled = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.listenerDiagnostics"));
+
+    private ListenerDiagnostics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns tracking on or off. Turning it off forgets all helpers.
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+        if (!value) {
+            synchronized (helpers) {
+                helpers.clear();
+            }
+        }
+    }
+
+    /**
+     * Called by the helpers that can hold more than one listener when they
+     * are created.
+     */
+    public static void register(ExpressionHelperBase helper) {
+        if (enabled) {
+            synchronized (helpers) {
+                helpers.add(helper);
+            }
+        }
+    }
+
+    private static ExpressionHelperBase[] getHelpers() {
+        synchronized (helpers) {
+            return helpers.toArray(new ExpressionHelperBase[helpers.size()]);
+        }
+    }
+
+    /**
+     * Returns the tracked helpers that hold at least {@code minListenerCount}
+     * listeners, the ones with the most listeners first.
+     */
+    public static List<Entry> getReport(int minListenerCount) {
+        final List<Entry> report = new ArrayList<>();
+        for (final ExpressionHelperBase helper : getHelpers()) {
+            final Object[] listeners = helper.getListeners();
+            if ((listeners.length > 0) && (listeners.length >= minListenerCount)) {
+                int collected = 0;
+                for (final Object listener : listeners) {
+                    if ((listener instanceof WeakListener) && ((WeakListener)listener).wasGarbageCollected()) {
+                        collected++;
+                    }
+                }
+                report.add(new Entry(helper.getObservable(), helper.getClass().getName(), listeners.length, collected));
+            }
+        }
+        report.sort((e1, e2) -> Integer.compare(e2.listenerCount, e1.listenerCount));
+        return report;
+    }
+
+    /**
+     * Removes the weak listeners that were garbage collected from all tracked
+     * helpers, without waiting for the next event or listener removal. Can be
+     * called periodically, e.g. from a {@code Timeline}.
+     *
+     * @return the number of listeners that were removed
+     */
+    public static int compact() {
+        int removed = 0;
+        for (final ExpressionHelperBase helper : getHelpers()) {
+            final int before = helper.getListeners().length;
+            helper.compact();
+            removed += before - helper.getListeners().length;
+        }
+        return removed;
+    }
+}
@@ -325,6 +325,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             super(observable);
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
             this.invalidationSize = 2;
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableMapValue<K, V> observable, ChangeListener<? super ObservableMap<K, V>> listener0, ChangeListener<? super ObservableMap<K, V>> listener1) {
@@ -332,6 +333,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             this.changeListeners = new ChangeListener[] {listener0, listener1};
             this.changeSize = 2;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableMapValue<K, V> observable, MapChangeListener<? super K, ? super V> listener0, MapChangeListener<? super K, ? super V> listener1) {
@@ -339,6 +341,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             this.mapChangeListeners = new MapChangeListener[] {listener0, listener1};
             this.mapChangeSize = 2;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableMapValue<K, V> observable, InvalidationListener invalidationListener, ChangeListener<? super ObservableMap<K, V>> changeListener) {
@@ -348,6 +351,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             this.changeListeners = new ChangeListener[] {changeListener};
             this.changeSize = 1;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableMapValue<K, V> observable, InvalidationListener invalidationListener, MapChangeListener<? super K, ? super V> listChangeListener) {
@@ -357,6 +361,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             this.mapChangeListeners = new MapChangeListener[] {listChangeListener};
             this.mapChangeSize = 1;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableMapValue<K, V> observable, ChangeListener<? super ObservableMap<K, V>> changeListener, MapChangeListener<? super K, ? super V> listChangeListener) {
@@ -366,6 +371,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             this.mapChangeListeners = new MapChangeListener[] {listChangeListener};
             this.mapChangeSize = 1;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         @Override
@@ -392,6 +398,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
 
         @Override
         protected MapExpressionHelper<K, V> removeListener(InvalidationListener listener) {
+            compact();
             if (invalidationListeners != null) {
                 for (int index = 0; index < invalidationSize; index++) {
                     if (listener.equals(invalidationListeners[index])) {
@@ -422,7 +429,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -452,6 +459,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
 
         @Override
         protected MapExpressionHelper<K, V> removeListener(ChangeListener<? super ObservableMap<K, V>> listener) {
+            compact();
             if (changeListeners != null) {
                 for (int index = 0; index < changeSize; index++) {
                     if (listener.equals(changeListeners[index])) {
@@ -482,7 +490,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -512,6 +520,7 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
 
         @Override
         protected MapExpressionHelper<K, V> removeListener(MapChangeListener<? super K, ? super V> listener) {
+            compact();
             if (mapChangeListeners != null) {
                 for (int index = 0; index < mapChangeSize; index++) {
                     if (listener.equals(mapChangeListeners[index])) {
@@ -542,7 +551,48 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                     }
                 }
             }
-            return this;
+            return collapse();
+        }
+
+        @Override
+        protected void compact() {
+            if (!locked) {
+                invalidationSize = trim(invalidationSize, invalidationListeners);
+                if (invalidationSize == 0) {
+                    invalidationListeners = null;
+                }
+                changeSize = trim(changeSize, changeListeners);
+                if (changeSize == 0) {
+                    changeListeners = null;
+                }
+                mapChangeSize = trim(mapChangeSize, mapChangeListeners);
+                if (mapChangeSize == 0) {
+                    mapChangeListeners = null;
+                }
+            }
+        }
+
+        private MapExpressionHelper<K, V> collapse() {
+            switch (invalidationSize + changeSize + mapChangeSize) {
+                case 0:
+                    return null;
+                case 1:
+                    return (invalidationSize == 1)? new SingleInvalidation<K, V>(observable, invalidationListeners[0])
+                            : (changeSize == 1)? new SingleChange<K, V>(observable, changeListeners[0])
+                            : new SingleMapChange<K, V>(observable, mapChangeListeners[0]);
+                default:
+                    return this;
+            }
+        }
+
+        @Override
+        protected Object getObservable() {
+            return observable;
+        }
+
+        @Override
+        protected Object[] getListeners() {
+            return concat(invalidationListeners, invalidationSize, changeListeners, changeSize, mapChangeListeners, mapChangeSize);
         }
 
         @Override
@@ -316,6 +316,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             super(observable);
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
             this.invalidationSize = 2;
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableSetValue<E> observable, ChangeListener<? super ObservableSet<E>> listener0, ChangeListener<? super ObservableSet<E>> listener1) {
@@ -323,6 +324,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             this.changeListeners = new ChangeListener[] {listener0, listener1};
             this.changeSize = 2;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableSetValue<E> observable, SetChangeListener<? super E> listener0, SetChangeListener<? super E> listener1) {
@@ -330,6 +332,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             this.setChangeListeners = new SetChangeListener[] {listener0, listener1};
             this.setChangeSize = 2;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableSetValue<E> observable, InvalidationListener invalidationListener, ChangeListener<? super ObservableSet<E>> changeListener) {
@@ -339,6 +342,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             this.changeListeners = new ChangeListener[] {changeListener};
             this.changeSize = 1;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableSetValue<E> observable, InvalidationListener invalidationListener, SetChangeListener<? super E> listChangeListener) {
@@ -348,6 +352,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             this.setChangeListeners = new SetChangeListener[] {listChangeListener};
             this.setChangeSize = 1;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ObservableSetValue<E> observable, ChangeListener<? super ObservableSet<E>> changeListener, SetChangeListener<? super E> listChangeListener) {
@@ -357,6 +362,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             this.setChangeListeners = new SetChangeListener[] {listChangeListener};
             this.setChangeSize = 1;
             this.currentValue = observable.getValue();
+            ListenerDiagnostics.register(this);
         }
 
         @Override
@@ -383,6 +389,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
 
         @Override
         protected SetExpressionHelper<E> removeListener(InvalidationListener listener) {
+            compact();
             if (invalidationListeners != null) {
                 for (int index = 0; index < invalidationSize; index++) {
                     if (listener.equals(invalidationListeners[index])) {
@@ -413,7 +420,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -443,6 +450,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
 
         @Override
         protected SetExpressionHelper<E> removeListener(ChangeListener<? super ObservableSet<E>> listener) {
+            compact();
             if (changeListeners != null) {
                 for (int index = 0; index < changeSize; index++) {
                     if (listener.equals(changeListeners[index])) {
@@ -473,7 +481,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -503,6 +511,7 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
 
         @Override
         protected SetExpressionHelper<E> removeListener(SetChangeListener<? super E> listener) {
+            compact();
             if (setChangeListeners != null) {
                 for (int index = 0; index < setChangeSize; index++) {
                     if (listener.equals(setChangeListeners[index])) {
@@ -533,7 +542,48 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                     }
                 }
             }
-            return this;
+            return collapse();
+        }
+
+        @Override
+        protected void compact() {
+            if (!locked) {
+                invalidationSize = trim(invalidationSize, invalidationListeners);
+                if (invalidationSize == 0) {
+                    invalidationListeners = null;
+                }
+                changeSize = trim(changeSize, changeListeners);
+                if (changeSize == 0) {
+                    changeListeners = null;
+                }
+                setChangeSize = trim(setChangeSize, setChangeListeners);
+                if (setChangeSize == 0) {
+                    setChangeListeners = null;
+                }
+            }
+        }
+
+        private SetExpressionHelper<E> collapse() {
+            switch (invalidationSize + changeSize + setChangeSize) {
+                case 0:
+                    return null;
+                case 1:
+                    return (invalidationSize == 1)? new SingleInvalidation<E>(observable, invalidationListeners[0])
+                            : (changeSize == 1)? new SingleChange<E>(observable, changeListeners[0])
+                            : new SingleSetChange<E>(observable, setChangeListeners[0]);
+                default:
+                    return this;
+            }
+        }
+
+        @Override
+        protected Object getObservable() {
+            return observable;
+        }
+
+        @Override
+        protected Object[] getListeners() {
+            return concat(invalidationListeners, invalidationSize, changeListeners, changeSize, setChangeListeners, setChangeSize);
         }
 
         @Override
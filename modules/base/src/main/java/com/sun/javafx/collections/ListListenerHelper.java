@@ -26,6 +26,7 @@
 package com.sun.javafx.collections;
 
 import com.sun.javafx.binding.ExpressionHelperBase;
+import com.sun.javafx.binding.ListenerDiagnostics;
 import javafx.beans.InvalidationListener;
 import javafx.collections.ListChangeListener;
 import sun.util.logging.PlatformLogger;
@@ -179,11 +180,13 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
         private Generic(InvalidationListener listener0, InvalidationListener listener1) {
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
             this.invalidationSize = 2;
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(ListChangeListener<? super E> listener0, ListChangeListener<? super E> listener1) {
             this.changeListeners = new ListChangeListener[] {listener0, listener1};
             this.changeSize = 2;
+            ListenerDiagnostics.register(this);
         }
 
         private Generic(InvalidationListener invalidationListener, ListChangeListener<? super E> changeListener) {
@@ -191,6 +194,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
             this.invalidationSize = 1;
             this.changeListeners = new ListChangeListener[] {changeListener};
             this.changeSize = 1;
+            ListenerDiagnostics.register(this);
         }
 
         @Override
@@ -217,6 +221,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
 
         @Override
         protected ListListenerHelper<E> removeListener(InvalidationListener listener) {
+            compact();
             if (invalidationListeners != null) {
                 for (int index = 0; index < invalidationSize; index++) {
                     if (listener.equals(invalidationListeners[index])) {
@@ -247,7 +252,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
                     }
                 }
             }
-            return this;
+            return collapse();
         }
 
         @Override
@@ -274,6 +279,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
 
         @Override
         protected ListListenerHelper<E> removeListener(ListChangeListener<? super E> listener) {
+            compact();
             if (changeListeners != null) {
                 for (int index = 0; index < changeSize; index++) {
                     if (listener.equals(changeListeners[index])) {
@@ -304,7 +310,38 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
                     }
                 }
             }
-            return this;
+            return collapse();
+        }
+
+        @Override
+        protected void compact() {
+            if (!locked) {
+                invalidationSize = trim(invalidationSize, invalidationListeners);
+                if (invalidationSize == 0) {
+                    invalidationListeners = null;
+                }
+                changeSize = trim(changeSize, changeListeners);
+                if (changeSize == 0) {
+                    changeListeners = null;
+                }
+            }
+        }
+
+        private ListListenerHelper<E> collapse() {
+            switch (invalidationSize + changeSize) {
+                case 0:
+                    return null;
+                case 1:
+                    return (invalidationSize == 1)? new SingleInvalidation<E>(invalidationListeners[0])
+                            : new SingleChange<E>(changeListeners[0]);
+                default:
+                    return this;
+            }
+        }
+
+        @Override
+        protected Object[] getListeners() {
+            return concat(invalidationListeners, invalidationSize, changeListeners, changeSize, null, 0);
         }
 
         @Override
@@ -26,7 +26,6 @@
 package com.sun.javafx.collections;
 
 import javafx.collections.ModifiableObservableListBase;
-import com.sun.javafx.collections.NonIterableChange.SimplePermutationChange;
 
 import java.util.BitSet;
 import java.util.Collection;
@@ -119,6 +118,31 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
         return removed;
     }
 
+    // Adds all elements to the backing list at once and reports them as a
+    // single range, instead of adding and reporting them one by one.
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        final int oldSize = backingList.size();
+        backingList.addAll(index, c);
+        final int count = backingList.size() - oldSize;
+        if (count == 0) {
+            return false;
+        }
+        if (elementObserver != null) {
+            for (int i = index; i < index + count; ++i) {
+                elementObserver.attachListener(backingList.get(i));
+            }
+        }
+        ++modCount;
+        beginChange();
+        nextAdd(index, index + count);
+        endChange();
+        return true;
+    }
+
     @Override
     public int indexOf(Object o) {
         return backingList.indexOf(o);
@@ -214,7 +238,9 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
             return;
         }
         int[] perm = getSortHelper().sort((List<? extends Comparable>)backingList);
-        fireChange(new SimplePermutationChange<E>(0, size(), perm, this));
+        beginChange();
+        nextPermutation(0, size(), perm);
+        endChange();
     }
 
     @Override
@@ -223,7 +249,20 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
             return;
         }
         int[] perm = getSortHelper().sort(backingList, comparator);
-        fireChange(new SimplePermutationChange<E>(0, size(), perm, this));
+        beginChange();
+        nextPermutation(0, size(), perm);
+        endChange();
+    }
+
+    @Override
+    public void parallelSort(Comparator<? super E> comparator) {
+        if (backingList.isEmpty()) {
+            return;
+        }
+        int[] perm = new SortHelper(true).sort(backingList, comparator);
+        beginChange();
+        nextPermutation(0, size(), perm);
+        endChange();
     }
 
     private SortHelper getSortHelper() {
@@ -237,7 +237,9 @@ public final class ObservableSequentialListWrapper<E> extends ModifiableObservab
             return;
         }
         int[] perm = getSortHelper().sort((List<? extends Comparable>)backingList);
-        fireChange(new NonIterableChange.SimplePermutationChange<E>(0, size(), perm, this));
+        beginChange();
+        nextPermutation(0, size(), perm);
+        endChange();
     }
 
     @Override
@@ -246,7 +248,20 @@ public final class ObservableSequentialListWrapper<E> extends ModifiableObservab
             return;
         }
         int[] perm = getSortHelper().sort(backingList, comparator);
-        fireChange(new NonIterableChange.SimplePermutationChange<E>(0, size(), perm, this));
+        beginChange();
+        nextPermutation(0, size(), perm);
+        endChange();
+    }
+
+    @Override
+    public void parallelSort(Comparator<? super E> comparator) {
+        if (backingList.isEmpty()) {
+            return;
+        }
+        int[] perm = new SortHelper(true).sort(backingList, comparator);
+        beginChange();
+        nextPermutation(0, size(), perm);
+        endChange();
     }
 
     private SortHelper getSortHelper() {
@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+/**
+ * A positional balanced tree (a randomized treap keyed by the implicit
+ * position of its nodes). Lookup, insertion and removal at a given position
+ * take O(log n) expected time.
+ * <p>
+ * Every node knows its parent, so the current position of a node can be
+ * computed in O(log n) as well. This allows the same values to be kept in
+ * two trees at once, each of them with a different order, and to translate
+ * positions from one order to the other without any linear scan.
+ *
+ * @param <T> the type of the values
+ */
+public final class OrderStatisticTree<T> {
+
+    /**
+     * A node of the tree. A node can be part of at most one tree at a time.
+     */
+    public static final class Node<T> {
+        private final T value;
+        private final int priority;
+        private Node<T> left;
+        private Node<T> right;
+        private Node<T> parent;
+        private int size = 1;
+
+        private Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Used by {@link #locate(Locator)} to binary search the tree.
+     */
+    public interface Locator<T> {
+        /**
+         * Tells whether the searched position lies before {@code value}.
+         * The answers must be monotone over the order of the tree, i.e.
+         * once true for some value, true for all of the following values.
+         *
+         * @param value the value being tested
+         * @param index the current position of the value
+         * @return true if the searched position is before the value
+         */
+        boolean isBefore(T value, int index);
+    }
+
+    private Node<T> root;
+    private int seed = 0x2545F491;
+
+    // results of split()
+    private Node<T> splitLeft;
+    private Node<T> splitRight;
+
+    public int size() {
+        return root == null ? 0 : root.size;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Creates a new node that is not part of any tree yet.
+     */
+    public Node<T> createNode(T value) {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return new Node<>(value, seed);
+    }
+
+    public T get(int index) {
+        return nodeAt(index).value;
+    }
+
+    public Node<T> nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        Node<T> t = root;
+        while (true) {
+            final int leftSize = size(t.left);
+            if (index < leftSize) {
+                t = t.left;
+            } else if (index == leftSize) {
+                return t;
+            } else {
+                index -= leftSize + 1;
+                t = t.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the current position of the node, which must be part of this tree.
+     */
+    public int indexOf(Node<T> node) {
+        int index = size(node.left);
+        for (Node<T> p = node.parent; p != null; node = p, p = p.parent) {
+            if (node == p.right) {
+                index += size(p.left) + 1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the position at which the {@code locator} found its place.
+     */
+    public int locate(Locator<? super T> locator) {
+        int index = 0;
+        Node<T> t = root;
+        while (t != null) {
+            final int i = index + size(t.left);
+            if (locator.isBefore(t.value, i)) {
+                t = t.left;
+            } else {
+                index = i + 1;
+                t = t.right;
+            }
+        }
+        return index;
+    }
+
+    public Node<T> insert(int index, T value) {
+        return insert(index, createNode(value));
+    }
+
+    /**
+     * Inserts a detached node at the specified position.
+     */
+    public Node<T> insert(int index, Node<T> node) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        Node<T> parent = null;
+        boolean leftChild = false;
+        Node<T> t = root;
+        // descend until the place where the node's priority keeps the heap order
+        while (t != null && t.priority >= node.priority) {
+            t.size++;
+            parent = t;
+            final int leftSize = size(t.left);
+            if (index <= leftSize) {
+                leftChild = true;
+                t = t.left;
+            } else {
+                index -= leftSize + 1;
+                leftChild = false;
+                t = t.right;
+            }
+        }
+        split(t, index);
+        node.left = splitLeft;
+        node.right = splitRight;
+        splitLeft = splitRight = null;
+        update(node);
+        node.parent = parent;
+        if (parent == null) {
+            root = node;
+        } else if (leftChild) {
+            parent.left = node;
+        } else {
+            parent.right = node;
+        }
+        return node;
+    }
+
+    public T remove(int index) {
+        final Node<T> node = nodeAt(index);
+        remove(node);
+        return node.value;
+    }
+
+    /**
+     * Removes a node that is part of this tree. The node can be inserted
+     * again afterwards.
+     */
+    public void remove(Node<T> node) {
+        final Node<T> parent = node.parent;
+        final Node<T> replacement = merge(node.left, node.right);
+        if (replacement != null) {
+            replacement.parent = parent;
+        }
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.left == node) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+        for (Node<T> p = parent; p != null; p = p.parent) {
+            p.size--;
+        }
+        node.left = node.right = node.parent = null;
+        node.size = 1;
+    }
+
+    /**
+     * Returns all nodes in the order of the tree. Takes O(n).
+     */
+    @SuppressWarnings("unchecked")
+    public Node<T>[] nodes() {
+        final Node<T>[] result = new Node[size()];
+        Node<T> t = root;
+        if (t == null) {
+            return result;
+        }
+        while (t.left != null) {
+            t = t.left;
+        }
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = t;
+            // in-order successor
+            if (t.right != null) {
+                t = t.right;
+                while (t.left != null) {
+                    t = t.left;
+                }
+            } else {
+                Node<T> p = t.parent;
+                while (p != null && t == p.right) {
+                    t = p;
+                    p = p.parent;
+                }
+                t = p;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the content of the tree with the first {@code count} nodes
+     * of the array, in the array order. The nodes must not be part of any
+     * other tree. Takes O(n).
+     */
+    public void setAll(Node<T>[] nodes, int count) {
+        // Linear time Cartesian tree construction. A node is popped from the
+        // stack only when no more nodes can become its descendants, so its
+        // size can be computed right away.
+        @SuppressWarnings("unchecked")
+        final Node<T>[] stack = new Node[count];
+        int top = -1;
+        for (int i = 0; i < count; ++i) {
+            final Node<T> node = nodes[i];
+            node.right = node.parent = null;
+            Node<T> last = null;
+            while (top >= 0 && stack[top].priority < node.priority) {
+                last = stack[top--];
+                update(last);
+            }
+            node.left = last;
+            if (last != null) {
+                last.parent = node;
+            }
+            if (top >= 0) {
+                stack[top].right = node;
+                node.parent = stack[top];
+            }
+            stack[++top] = node;
+        }
+        while (top >= 0) {
+            update(stack[top--]);
+        }
+        root = count == 0 ? null : stack[0];
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <T> void update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        if (node.left != null) {
+            node.left.parent = node;
+        }
+        if (node.right != null) {
+            node.right.parent = node;
+        }
+    }
+
+    /**
+     * Splits the subtree into its first {@code index} nodes (stored in
+     * splitLeft) and the rest (stored in splitRight).
+     */
+    private void split(Node<T> t, int index) {
+        if (t == null) {
+            splitLeft = splitRight = null;
+            return;
+        }
+        final int leftSize = size(t.left);
+        if (index <= leftSize) {
+            split(t.left, index);
+            t.left = splitRight;
+            update(t);
+            splitRight = t;
+        } else {
+            split(t.right, index - leftSize - 1);
+            t.right = splitLeft;
+            update(t);
+            splitLeft = t;
+        }
+        t.parent = null;
+    }
+
+    private Node<T> merge(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        } else {
+            b.left = merge(a, b.left);
+            update(b);
+            return b;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Arrays;
+
+/**
+ * A growable sequence of bits that answers rank (number of set bits before
+ * a position) and select (position of the n-th set bit) queries in O(log n),
+ * using a Fenwick tree over the bits.
+ * <p>
+ * Changing a single bit and appending or removing bits at the end keep the
+ * Fenwick tree up to date in O(log n). Inserting or removing bits in the
+ * middle shifts the positions of all the following bits, so the tree is
+ * then recomputed in O(n) by the next rank or select query.
+ */
+public final class RankBitSet {
+
+    private boolean[] bits = new boolean[0];
+    // 1-based, tree[i] holds the number of set bits in (i - lowbit(i), i]
+    private int[] tree = new int[1];
+    private int length;
+    private int cardinality;
+    private boolean treeValid = true;
+
+    public RankBitSet() {
+    }
+
+    /**
+     * Creates a bit set of given length with all bits set to {@code value}.
+     */
+    public RankBitSet(int length, boolean value) {
+        reset(length, value);
+    }
+
+    /**
+     * Returns the number of bits (set or not) in this bit set.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the number of set bits.
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean get(int index) {
+        checkIndex(index);
+        return bits[index];
+    }
+
+    public void set(int index, boolean value) {
+        checkIndex(index);
+        if (bits[index] == value) {
+            return;
+        }
+        bits[index] = value;
+        final int delta = value ? 1 : -1;
+        cardinality += delta;
+        if (treeValid) {
+            for (int i = index + 1; i <= length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+    }
+
+    /**
+     * Replaces the content with {@code length} bits set to {@code value}.
+     * The following {@link #set} calls are O(1) until the next rank or select query.
+     */
+    public void reset(int length, boolean value) {
+        if (bits.length < length) {
+            bits = new boolean[length];
+            tree = new int[length + 1];
+        }
+        Arrays.fill(bits, 0, length, value);
+        this.length = length;
+        cardinality = value ? length : 0;
+        treeValid = false;
+    }
+
+    /**
+     * Returns the number of set bits before {@code index}.
+     */
+    public int rank(int index) {
+        if (index < 0 || index > length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        }
+        validateTree();
+        return prefixSum(index);
+    }
+
+    /**
+     * Returns the position of the set bit with the given rank,
+     * i.e. the position of the first set bit if {@code rank} is 0.
+     */
+    public int select(int rank) {
+        if (rank < 0 || rank >= cardinality) {
+            throw new IndexOutOfBoundsException("Rank: " + rank + ", Cardinality: " + cardinality);
+        }
+        validateTree();
+        int pos = 0;
+        int remaining = rank + 1;
+        for (int step = Integer.highestOneBit(length); step > 0; step >>= 1) {
+            final int next = pos + step;
+            if (next <= length && tree[next] < remaining) {
+                pos = next;
+                remaining -= tree[next];
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Inserts {@code count} cleared bits at {@code index}, shifting the following bits.
+     */
+    public void insert(int index, int count) {
+        if (index < 0 || index > length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        }
+        if (count == 0) {
+            return;
+        }
+        ensureCapacity(length + count);
+        System.arraycopy(bits, index, bits, index + count, length - index);
+        Arrays.fill(bits, index, index + count, false);
+        final int oldLength = length;
+        length += count;
+        if (index != oldLength) {
+            treeValid = false;
+        } else if (treeValid) {
+            // appending: the existing nodes stay valid, compute the new ones
+            for (int i = oldLength + 1; i <= length; ++i) {
+                tree[i] = prefixSum(i - 1) - prefixSum(i - (i & -i));
+            }
+        }
+    }
+
+    /**
+     * Removes the bits in range [{@code from}, {@code to}), shifting the following bits.
+     */
+    public void remove(int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("From: " + from + ", To: " + to + ", Length: " + length);
+        }
+        if (from == to) {
+            return;
+        }
+        for (int i = from; i < to; ++i) {
+            if (bits[i]) {
+                --cardinality;
+            }
+        }
+        // removing from the end doesn't change the remaining nodes
+        if (to != length) {
+            treeValid = false;
+        }
+        System.arraycopy(bits, to, bits, from, length - to);
+        length -= to - from;
+    }
+
+    private int prefixSum(int index) {
+        int sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private void validateTree() {
+        if (!treeValid) {
+            Arrays.fill(tree, 0, length + 1, 0);
+            for (int i = 1; i <= length; ++i) {
+                if (bits[i - 1]) {
+                    tree[i]++;
+                }
+                final int parent = i + (i & -i);
+                if (parent <= length) {
+                    tree[parent] += tree[i];
+                }
+            }
+            treeValid = true;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (bits.length < capacity) {
+            final int newCapacity = Math.max(capacity, bits.length * 3 / 2 + 1);
+            bits = Arrays.copyOf(bits, newCapacity);
+            tree = Arrays.copyOf(tree, newCapacity + 1);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        }
+    }
+}
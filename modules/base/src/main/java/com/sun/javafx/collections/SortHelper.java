@@ -30,16 +30,52 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Helper class that contains algorithms taken from JDK that additionally 
- * tracks the permutation that's created thorough the process
+ * tracks the permutation that's created thorough the process.
+ * <p>
+ * A helper created with {@code parallel} set sorts object arrays of at least
+ * {@code PARALLEL_THRESHOLD} elements by a parallel merge sort in the common
+ * {@code ForkJoinPool} when more than one processor is available. Both sorts
+ * are stable, so they produce the same order and the same permutation.
  */
 public class SortHelper {
     private int[] permutation;
     private int[] reversePermutation;
+    private final boolean parallel;
     
     private static final int INSERTIONSORT_THRESHOLD = 7;
+
+    /**
+     * The minimal number of elements that are sorted in parallel.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Subranges up to this size are sorted (and merged) by one thread.
+     */
+    private static final int PARALLEL_GRANULARITY = 1 << 12;
+
+    /**
+     * Creates a helper that sorts on the calling thread.
+     */
+    public SortHelper() {
+        this(false);
+    }
+
+    /**
+     * Creates a helper that may sort large arrays in parallel.
+     *
+     * @param parallel whether large arrays are sorted in parallel. The
+     * comparator, or the {@code compareTo} method of the elements, is then
+     * called from several threads at once and must be thread-safe.
+     */
+    public SortHelper(boolean parallel) {
+        this.parallel = parallel;
+    }
     
     public <T extends Comparable<? super T>> int[] sort(List<T> list) {
         T[] a = (T[]) Array.newInstance(Comparable.class, list.size());
@@ -74,6 +110,9 @@ public class SortHelper {
     }
     
     public <T> int[] sort(T[] a, Comparator<? super T> c) {
+        if (isParallel(a.length)) {
+            return parallelSort(a, 0, a.length, c);
+        }
         T[] aux = (T[]) a.clone();
         int[] result = initPermutation(a.length);
         if (c==null)
@@ -88,6 +127,9 @@ public class SortHelper {
     public <T> int[] sort(T[] a, int fromIndex, int toIndex,
 				Comparator<? super T> c) {
         rangeCheck(a.length, fromIndex, toIndex);
+        if (isParallel(toIndex - fromIndex)) {
+            return parallelSort(a, fromIndex, toIndex, c);
+        }
 	T[] aux = (T[])copyOfRange(a, fromIndex, toIndex);
         int[] result = initPermutation(a.length);
         if (c==null)
@@ -109,6 +151,206 @@ public class SortHelper {
         return Arrays.copyOfRange(result, fromIndex, toIndex);
     }
     
+    private boolean isParallel(int length) {
+        return parallel && length >= PARALLEL_THRESHOLD
+                && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Sorts the range of the array together with the original indices of
+     * its elements, then derives the permutation from the indices.
+     */
+    static <T> int[] parallelSort(T[] a, int fromIndex, int toIndex, Comparator<? super T> c) {
+        final int length = toIndex - fromIndex;
+        final Object[] keys = copyOfRange(a, fromIndex, toIndex, Object[].class);
+        final int[] indices = new int[length];
+        for (int i = 0; i < length; ++i) {
+            indices[i] = i;
+        }
+        final Comparator<Object> cmp = (c == null)?
+                (o1, o2) -> ((Comparable) o1).compareTo(o2) : (Comparator<Object>) c;
+        ForkJoinPool.commonPool().invoke(new SortTask(keys, indices, new Object[length], new int[length],
+                0, length, cmp));
+
+        final int[] result = new int[length];
+        for (int i = 0; i < length; ++i) {
+            a[fromIndex + i] = (T) keys[i];
+            result[indices[i]] = fromIndex + i;
+        }
+        return result;
+    }
+
+    /**
+     * Sorts keys[low, high) and the indices alongside them, using the same
+     * range of the aux arrays as temporary space.
+     */
+    private static final class SortTask extends RecursiveAction {
+        private final Object[] keys;
+        private final int[] indices;
+        private final Object[] auxKeys;
+        private final int[] auxIndices;
+        private final int low;
+        private final int high;
+        private final Comparator<Object> c;
+
+        SortTask(Object[] keys, int[] indices, Object[] auxKeys, int[] auxIndices,
+                 int low, int high, Comparator<Object> c) {
+            this.keys = keys;
+            this.indices = indices;
+            this.auxKeys = auxKeys;
+            this.auxIndices = auxIndices;
+            this.low = low;
+            this.high = high;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= PARALLEL_GRANULARITY) {
+                sequentialSort(low, high);
+                return;
+            }
+            final int mid = (low + high) >>> 1;
+            invokeAll(new SortTask(keys, indices, auxKeys, auxIndices, low, mid, c),
+                      new SortTask(keys, indices, auxKeys, auxIndices, mid, high, c));
+            if (c.compare(keys[mid - 1], keys[mid]) <= 0) {
+                return; // already in order
+            }
+            System.arraycopy(keys, low, auxKeys, low, high - low);
+            System.arraycopy(indices, low, auxIndices, low, high - low);
+            new MergeTask(auxKeys, auxIndices, keys, indices, low, mid, mid, high, low, c).compute();
+        }
+
+        private void sequentialSort(int from, int to) {
+            final int length = to - from;
+            if (length < INSERTIONSORT_THRESHOLD) {
+                for (int i = from + 1; i < to; ++i) {
+                    final Object key = keys[i];
+                    final int index = indices[i];
+                    int j = i;
+                    for (; j > from && c.compare(keys[j - 1], key) > 0; --j) {
+                        keys[j] = keys[j - 1];
+                        indices[j] = indices[j - 1];
+                    }
+                    keys[j] = key;
+                    indices[j] = index;
+                }
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            sequentialSort(from, mid);
+            sequentialSort(mid, to);
+            if (c.compare(keys[mid - 1], keys[mid]) <= 0) {
+                return;
+            }
+            System.arraycopy(keys, from, auxKeys, from, length);
+            System.arraycopy(indices, from, auxIndices, from, length);
+            merge(auxKeys, auxIndices, keys, indices, from, mid, mid, to, from, c);
+        }
+    }
+
+    /**
+     * Merges the sorted runs src[low1, high1) and src[low2, high2) into
+     * dest, starting at destLow. Elements of the first run go first when
+     * equal, which keeps the sort stable. Large merges are split in two
+     * independent merges around the middle element of the longer run.
+     */
+    private static final class MergeTask extends RecursiveAction {
+        private final Object[] srcKeys;
+        private final int[] srcIndices;
+        private final Object[] destKeys;
+        private final int[] destIndices;
+        private final int low1, high1, low2, high2, destLow;
+        private final Comparator<Object> c;
+
+        MergeTask(Object[] srcKeys, int[] srcIndices, Object[] destKeys, int[] destIndices,
+                  int low1, int high1, int low2, int high2, int destLow, Comparator<Object> c) {
+            this.srcKeys = srcKeys;
+            this.srcIndices = srcIndices;
+            this.destKeys = destKeys;
+            this.destIndices = destIndices;
+            this.low1 = low1;
+            this.high1 = high1;
+            this.low2 = low2;
+            this.high2 = high2;
+            this.destLow = destLow;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            final int length1 = high1 - low1;
+            final int length2 = high2 - low2;
+            if (length1 + length2 <= PARALLEL_GRANULARITY || length1 == 0 || length2 == 0) {
+                merge(srcKeys, srcIndices, destKeys, destIndices, low1, high1, low2, high2, destLow, c);
+                return;
+            }
+            final int split1;
+            final int split2;
+            if (length1 >= length2) {
+                // run2 elements equal to the pivot go after it
+                split1 = (low1 + high1) >>> 1;
+                split2 = lowerBound(srcKeys[split1], low2, high2);
+            } else {
+                // run1 elements equal to the pivot go before it
+                split2 = (low2 + high2) >>> 1;
+                split1 = upperBound(srcKeys[split2], low1, high1);
+            }
+            final int destSplit = destLow + (split1 - low1) + (split2 - low2);
+            invokeAll(new MergeTask(srcKeys, srcIndices, destKeys, destIndices,
+                            low1, split1, low2, split2, destLow, c),
+                      new MergeTask(srcKeys, srcIndices, destKeys, destIndices,
+                            split1, high1, split2, high2, destSplit, c));
+        }
+
+        // the first position in [low, high) whose element is not less than key
+        private int lowerBound(Object key, int low, int high) {
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (c.compare(srcKeys[mid], key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // the first position in [low, high) whose element is greater than key
+        private int upperBound(Object key, int low, int high) {
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (c.compare(srcKeys[mid], key) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static void merge(Object[] srcKeys, int[] srcIndices, Object[] destKeys, int[] destIndices,
+                              int low1, int high1, int low2, int high2, int destLow, Comparator<Object> c) {
+        int p = low1;
+        int q = low2;
+        int i = destLow;
+        while (p < high1 && q < high2) {
+            if (c.compare(srcKeys[p], srcKeys[q]) <= 0) {
+                destKeys[i] = srcKeys[p];
+                destIndices[i++] = srcIndices[p++];
+            } else {
+                destKeys[i] = srcKeys[q];
+                destIndices[i++] = srcIndices[q++];
+            }
+        }
+        System.arraycopy(srcKeys, p, destKeys, i, high1 - p);
+        System.arraycopy(srcIndices, p, destIndices, i, high1 - p);
+        i += high1 - p;
+        System.arraycopy(srcKeys, q, destKeys, i, high2 - q);
+        System.arraycopy(srcIndices, q, destIndices, i, high2 - q);
+    }
+
     private static void rangeCheck(int arrayLen, int fromIndex, int toIndex) {
         if (fromIndex > toIndex)
             throw new IllegalArgumentException("fromIndex(" + fromIndex +
@@ -53,4 +53,17 @@ public interface SortableList<E> extends List<E> {
      */
     public void sort(Comparator<? super E> comparator);
 
+    /**
+     * Sort using comparator, sorting large lists in parallel. The comparator
+     * must be thread-safe.
+     * @param comparator the comparator to use, or null for the natural ordering
+     * @throws ClassCastException if the list contains elements that are not
+     *	       <i>mutually comparable</i> using the specified comparator.
+     * @throws UnsupportedOperationException if the specified list's
+     *	       list-iterator does not support the <tt>set</tt> operation.
+     */
+    public default void parallelSort(Comparator<? super E> comparator) {
+        sort(comparator);
+    }
+
 }
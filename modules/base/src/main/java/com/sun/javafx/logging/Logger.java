@@ -35,6 +35,8 @@ public class Logger {
     public void renderEnd() {}
     public void addMessage(String message) {}
     public void incrementCounter(String counter) {}
+    public void addToCounter(String counter, long value) {}
+    public void setValue(String name, long value) {}
     public void newPhase(String name) {}
     public void newInput(String name) {}
 }
@@ -291,6 +291,37 @@ class PrintLogger extends Logger {
      */
     @Override
     public void incrementCounter(String counter) {
+        addToCounter(counter, 1);
+    }
+
+    /**
+     * Adds a value to the given named per-pulse counter.
+     * @param counter The name for the counter.
+     * @param value The value to add.
+     */
+    @Override
+    public void addToCounter(String counter, long value) {
+        Counter cval = getCounter(counter);
+        if (cval != null) {
+            cval.value += value;
+        }
+    }
+
+    /**
+     * Sets the value of the given named per-pulse counter. This is used
+     * for values sampled once per pulse, like the memory in use.
+     * @param name The name for the counter.
+     * @param value The value.
+     */
+    @Override
+    public void setValue(String name, long value) {
+        Counter cval = getCounter(name);
+        if (cval != null) {
+            cval.value = value;
+        }
+    }
+
+    private Counter getCounter(String counter) {
         PulseData pulseData;
         if (fxThread == null || Thread.currentThread() == fxThread) {
             if (fxData == null) {
@@ -302,7 +333,7 @@ class PrintLogger extends Logger {
             pulseData = renderData;
         }
         if (pulseData == null) {
-            return;
+            return null;
         }
         Map<String,Counter> counters = pulseData.counters;
         Counter cval = counters.get(counter);
@@ -310,7 +341,7 @@ class PrintLogger extends Logger {
             cval = new Counter();
             counters.put(counter, cval);
         }
-        cval.value += 1;
+        return cval;
     }
     
     @Override
@@ -335,10 +366,10 @@ class PrintLogger extends Logger {
     }
     
     /**
-     *  A mutable integer to be used in the counter map
+     *  A mutable long to be used in the counter map
      */
     private static class Counter {
-        int     value;
+        long    value;
     }
     
     /**
@@ -42,6 +42,10 @@ public class PulseLogger {
         if (logger != null) {
             list.add(logger);
         }
+        logger = PulseMetrics.getInstance();
+        if (logger != null) {
+            list.add(logger);
+        }
         try {
             Class klass = Class.forName("com.sun.javafx.logging.JFRLogger");
             if (klass != null) {
@@ -96,6 +100,18 @@ public class PulseLogger {
         }
     }
     
+    public static void addToCounter(String counter, long value) {
+        for (Logger logger: loggers) {
+            logger.addToCounter(counter, value);
+        }
+    }
+
+    public static void setValue(String name, long value) {
+        for (Logger logger: loggers) {
+            logger.setValue(name, value);
+        }
+    }
+
     public static void newPhase(String name) {
         for (Logger logger: loggers) {
             logger.newPhase(name);
@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records the timings of the last pulses in a form that can be queried by
+ * the application or by tools, in order to find out why frames are dropped.
+ * It is enabled with {@code -Djavafx.pulseLogger.metrics=true}; like the
+ * other pulse loggers, it costs nothing more than a check of
+ * {@link PulseLogger#PULSE_LOGGING_ENABLED} otherwise.
+ * <p>
+ * For every pulse, the time spent in each {@link Phase} is recorded along
+ * with the per-pulse counters, e.g. "Dirty nodes", "Nodes restyled",
+ * "Nodes rendered" and "Texture pool used" (in bytes). The samples of the
+ * last pulses are kept in a ring buffer whose size is set with
+ * {@code javafx.pulseLogger.metrics.capacity}. The buffer is written by the
+ * FX and render threads and read by any thread without locking, and
+ * {@link #getHistogram(Phase)} summarizes it in percentiles.
+ * <p>
+ * When Java Flight Recorder is active, the same phases are also reported as
+ * pulse events by the {@code JFRLogger}.
+ */
+public class PulseMetrics extends Logger {
+
+    /**
+     * The phases of a pulse.
+     */
+    public enum Phase {
+        /** Animations and pulse listeners, up to the first scene's CSS pass */
+        ANIMATION,
+        CSS,
+        LAYOUT,
+        /** Updating bounds and copying the state to the render graph */
+        SYNC,
+        /** Painting, on the render thread */
+        RENDER,
+        /** Presenting the painted frame, on the render thread */
+        PRESENT
+    }
+
+    private static final Map<String,Phase> PHASE_NAMES = new HashMap<>();
+    static {
+        // the names given to PulseLogger.newPhase by Scene and the painters
+        PHASE_NAMES.put("CSS Pass", Phase.CSS);
+        PHASE_NAMES.put("Layout Pass", Phase.LAYOUT);
+        PHASE_NAMES.put("Update bounds", Phase.SYNC);
+        PHASE_NAMES.put("Waiting for previous rendering", Phase.SYNC);
+        PHASE_NAMES.put("Copy state to render graph", Phase.SYNC);
+        PHASE_NAMES.put("Synchronize with null peer", Phase.SYNC);
+        PHASE_NAMES.put("Presenting", Phase.PRESENT);
+    }
+
+    private static PulseMetrics pulseMetrics;
+
+    public static PulseMetrics getInstance() {
+        if (pulseMetrics == null) {
+            boolean enabled = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.pulseLogger.metrics"));
+            if (enabled) {
+                int capacity = AccessController.doPrivileged((PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.pulseLogger.metrics.capacity", 512));
+                pulseMetrics = new PulseMetrics(capacity);
+            }
+        }
+        return pulseMetrics;
+    }
+
+    private final AtomicReferenceArray<PulseSample> samples;
+    private final int mask;
+    private final AtomicLong published = new AtomicLong();
+
+    private Thread fxThread;
+    private int pulseCount;
+    private long lastPulseStartTime;
+
+    /**
+     * The data of the pulse being processed on the FX thread (fxData), and
+     * of the pulse being rendered (renderData). They are the same once the
+     * FX thread has pushed the render jobs, until the next pulse starts.
+     */
+    private PulseData fxData;
+    private volatile PulseData renderData;
+
+    private static final class PhaseState {
+        Phase phase;
+        long start;
+    }
+
+    private final ThreadLocal<PhaseState> phaseState = ThreadLocal.withInitial(PhaseState::new);
+
+    PulseMetrics(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        samples = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void pulseStart() {
+        final long now = nanoTime();
+        if (fxThread == null) {
+            fxThread = Thread.currentThread();
+        }
+        fxData = new PulseData(++pulseCount, now,
+                lastPulseStartTime > 0 ? now - lastPulseStartTime : 0);
+        lastPulseStartTime = now;
+        startPhase(Phase.ANIMATION, now);
+    }
+
+    @Override
+    public void pulseEnd() {
+        final long now = nanoTime();
+        startPhase(null, now);
+        if (fxData != null && !fxData.pushedRender) {
+            publish(fxData, now);
+        }
+        fxData = null;
+    }
+
+    @Override
+    public void renderStart() {
+        startPhase(null, nanoTime()); // finish the current phase on the FX thread
+        if (fxData != null) {
+            fxData.pushedRender = true;
+        }
+        renderData = fxData;
+    }
+
+    @Override
+    public void renderEnd() {
+        final long now = nanoTime();
+        startPhase(null, now); // finish the current phase on the render thread
+        final PulseData data = renderData;
+        if (data != null) {
+            publish(data, now);
+        }
+        renderData = null;
+    }
+
+    @Override
+    public void incrementCounter(String counter) {
+        addToCounter(counter, 1);
+    }
+
+    @Override
+    public void addToCounter(String counter, long value) {
+        final PulseData data = currentData();
+        if (data != null) {
+            data.counters.merge(counter, value, Long::sum);
+        }
+    }
+
+    @Override
+    public void setValue(String name, long value) {
+        final PulseData data = currentData();
+        if (data != null) {
+            data.counters.put(name, value);
+        }
+    }
+
+    @Override
+    public void newPhase(String name) {
+        Phase phase = null;
+        if (name != null) {
+            phase = PHASE_NAMES.get(name);
+            if (phase == null && !isFxThread()) {
+                phase = Phase.RENDER;
+            }
+        }
+        startPhase(phase, nanoTime());
+    }
+
+    /**
+     * Adds the time of the current phase of the calling thread to its pulse,
+     * and starts the next one. Time spent in a null phase is not recorded.
+     */
+    private void startPhase(Phase phase, long now) {
+        final PhaseState state = phaseState.get();
+        if (state.phase != null) {
+            final PulseData data = currentData();
+            if (data != null) {
+                data.phaseTimes[state.phase.ordinal()] += now - state.start;
+            }
+        }
+        state.phase = phase;
+        state.start = now;
+    }
+
+    private boolean isFxThread() {
+        return fxThread == null || Thread.currentThread() == fxThread;
+    }
+
+    private PulseData currentData() {
+        return isFxThread() ? fxData : renderData;
+    }
+
+    private void publish(PulseData data, long endTime) {
+        final long sequence = published.getAndIncrement();
+        samples.set((int) (sequence & mask), new PulseSample(sequence, data, endTime));
+    }
+
+    /**
+     * Returns the samples of the last pulses, oldest first. At most as many
+     * samples as the capacity of the buffer are returned; samples which are
+     * overwritten while they are read are skipped.
+     */
+    public List<PulseSample> getSamples() {
+        final long end = published.get();
+        final long start = Math.max(0, end - samples.length());
+        final List<PulseSample> result = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            final PulseSample sample = samples.get((int) (sequence & mask));
+            if (sample != null && sample.sequence == sequence) {
+                result.add(sample);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distribution of the time spent in the phase over the
+     * recorded pulses, or of the whole pulse duration if phase is null.
+     */
+    public Histogram getHistogram(Phase phase) {
+        final List<PulseSample> list = getSamples();
+        final long[] values = new long[list.size()];
+        for (int i = 0; i < values.length; i++) {
+            final PulseSample sample = list.get(i);
+            values[i] = phase == null ? sample.getDuration() : sample.getPhaseTime(phase);
+        }
+        return new Histogram(values);
+    }
+
+    /**
+     * Forgets the recorded pulses.
+     */
+    public void reset() {
+        for (int i = 0; i < samples.length(); i++) {
+            samples.set(i, null);
+        }
+    }
+
+    /**
+     * The data accumulated while a pulse is in progress.
+     */
+    private static final class PulseData {
+        final int pulseNumber;
+        final long startTime;
+        final long interval;
+        final long[] phaseTimes = new long[Phase.values().length];
+        final Map<String,Long> counters = new ConcurrentHashMap<>();
+        boolean pushedRender;
+
+        PulseData(int pulseNumber, long startTime, long interval) {
+            this.pulseNumber = pulseNumber;
+            this.startTime = startTime;
+            this.interval = interval;
+        }
+    }
+
+    /**
+     * The timings and counters of a completed pulse. Times are in nanoseconds.
+     */
+    public static final class PulseSample {
+        private final long sequence;
+        private final int pulseNumber;
+        private final long startTime;
+        private final long interval;
+        private final long duration;
+        private final long[] phaseTimes;
+        private final Map<String,Long> counters;
+
+        private PulseSample(long sequence, PulseData data, long endTime) {
+            this.sequence = sequence;
+            this.pulseNumber = data.pulseNumber;
+            this.startTime = data.startTime;
+            this.interval = data.interval;
+            this.duration = endTime - data.startTime;
+            this.phaseTimes = data.phaseTimes.clone();
+            this.counters = data.counters.isEmpty()
+                    ? Collections.emptyMap()
+                    : Collections.unmodifiableMap(new HashMap<>(data.counters));
+        }
+
+        public int getPulseNumber() {
+            return pulseNumber;
+        }
+
+        /** The value of System.nanoTime() when the pulse started */
+        public long getStartTime() {
+            return startTime;
+        }
+
+        /** The time since the start of the previous pulse, or 0 for the first one */
+        public long getInterval() {
+            return interval;
+        }
+
+        /** The time from the start of the pulse to the end of its rendering */
+        public long getDuration() {
+            return duration;
+        }
+
+        public long getPhaseTime(Phase phase) {
+            return phaseTimes[phase.ordinal()];
+        }
+
+        /** Returns the value of the counter, or 0 if it was not set */
+        public long getCounter(String name) {
+            final Long value = counters.get(name);
+            return value == null ? 0 : value;
+        }
+
+        public Map<String,Long> getCounters() {
+            return counters;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("Pulse ").append(pulseNumber)
+                    .append(" [").append(interval / 1000).append("us:")
+                    .append(duration / 1000).append("us]");
+            for (Phase phase : Phase.values()) {
+                sb.append(' ').append(phase).append('=')
+                        .append(phaseTimes[phase.ordinal()] / 1000).append("us");
+            }
+            if (!counters.isEmpty()) {
+                sb.append(' ').append(counters);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * A summary of a set of recorded times, in nanoseconds.
+     */
+    public static final class Histogram {
+        private final long[] values;
+
+        private Histogram(long[] values) {
+            this.values = values;
+            Arrays.sort(values);
+        }
+
+        public int getCount() {
+            return values.length;
+        }
+
+        public long getMin() {
+            return values.length == 0 ? 0 : values[0];
+        }
+
+        public long getMax() {
+            return values.length == 0 ? 0 : values[values.length - 1];
+        }
+
+        public double getMean() {
+            if (values.length == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (long value : values) {
+                sum += value;
+            }
+            return sum / values.length;
+        }
+
+        /**
+         * Returns the smallest recorded value such that the given percentage
+         * of the values are less than or equal to it.
+         *
+         * @param percentile a number between 0 and 100
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (values.length == 0) {
+                return 0;
+            }
+            final int rank = (int) Math.ceil(percentile / 100 * values.length);
+            return values[Math.max(0, Math.min(values.length, rank) - 1)];
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + getCount()
+                    + " p50=" + getValueAtPercentile(50) / 1000 + "us"
+                    + " p90=" + getValueAtPercentile(90) / 1000 + "us"
+                    + " p99=" + getValueAtPercentile(99) / 1000 + "us"
+                    + " max=" + getMax() / 1000 + "us";
+        }
+    }
+}
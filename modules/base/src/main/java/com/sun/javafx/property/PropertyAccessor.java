@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.property;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javafx.beans.value.ObservableValue;
+
+import sun.reflect.misc.ReflectUtil;
+
+/**
+ * Gives access to the property-getter ({@code xxxProperty()}) of a property
+ * of a class through a {@link MethodHandle}.
+ * <p>
+ * Accessors are looked up once per class and property name and shared
+ * globally, so that evaluating the same chain of properties on many
+ * objects of the same classes costs no reflection at all. The cache is
+ * keyed by a {@link ClassValue} and doesn't prevent classes from being
+ * unloaded.
+ */
+public final class PropertyAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<ConcurrentMap<String, PropertyAccessor>> ACCESSORS =
+            new ClassValue<ConcurrentMap<String, PropertyAccessor>>() {
+                @Override
+                protected ConcurrentMap<String, PropertyAccessor> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final Class<?> clazz;
+    private final String name;
+    // null if the class has no public property-getter
+    private final MethodHandle propertyGetter;
+    // set if the property-getter exists but is not accessible
+    private final IllegalAccessException accessError;
+
+    /**
+     * Returns the shared accessor of a property of a class.
+     *
+     * @param clazz
+     *            The class that contains the property
+     * @param name
+     *            The name of the property
+     * @throws NullPointerException
+     *             if {@code clazz} or {@code name} are null
+     * @throws IllegalArgumentException
+     *             if {@code name} is an empty {@code String}
+     */
+    public static PropertyAccessor get(Class<?> clazz, String name) {
+        if (name == null)
+            throw new NullPointerException("Name must be specified");
+        if (name.trim().length() == 0)
+            throw new IllegalArgumentException("Name must be specified");
+        if (clazz == null)
+            throw new NullPointerException("Class must be specified");
+        // the check depends on the caller, so it is done for every request
+        ReflectUtil.checkPackageAccess(clazz);
+        final ConcurrentMap<String, PropertyAccessor> accessors = ACCESSORS.get(clazz);
+        PropertyAccessor accessor = accessors.get(name);
+        if (accessor == null) {
+            accessor = new PropertyAccessor(clazz, name);
+            final PropertyAccessor existing = accessors.putIfAbsent(name, accessor);
+            if (existing != null) {
+                accessor = existing;
+            }
+        }
+        return accessor;
+    }
+
+    private PropertyAccessor(Class<?> clazz, String name) {
+        this.clazz = clazz;
+        this.name = name;
+        MethodHandle handle = null;
+        IllegalAccessException error = null;
+        try {
+            final Method m = clazz.getMethod(name + "Property");
+            if (Modifier.isPublic(m.getModifiers())) {
+                handle = MethodHandles.publicLookup().unreflect(m).asType(GETTER_TYPE);
+            }
+        } catch (NoSuchMethodException ex) {
+            // This is a legitimate error
+        } catch (IllegalAccessException ex) {
+            error = ex;
+        }
+        this.propertyGetter = handle;
+        this.accessError = error;
+    }
+
+    /**
+     * Returns the name of the property.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the class that contains the property.
+     */
+    public Class<?> getContainingClass() {
+        return clazz;
+    }
+
+    /**
+     * Can be used to determine if the class provides a property-getter
+     * for the property.
+     */
+    public boolean hasProperty() {
+        return (propertyGetter != null) || (accessError != null);
+    }
+
+    /**
+     * Get the {@link ObservableValue} implementation of the property.
+     *
+     * @param bean
+     *            The instance for which the property should be read
+     * @return The {@code ObservableValue} of the property
+     * @throws IllegalStateException
+     *             if the class does not provide a property-getter
+     * @throws RuntimeException
+     *             if the property-getter is not accessible or fails
+     */
+    public ObservableValue<?> getProperty(Object bean) {
+        if (!hasProperty())
+            throw new IllegalStateException("Cannot get property " + name);
+        if (accessError != null)
+            throw new RuntimeException(accessError);
+        try {
+            final Object property = propertyGetter.invokeExact(bean);
+            return (ObservableValue<?>) property;
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
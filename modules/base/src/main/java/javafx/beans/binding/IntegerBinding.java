@@ -33,6 +33,7 @@ import javafx.collections.ObservableList;
 import com.sun.javafx.collections.annotations.ReturnsUnmodifiableCollection;
 
 import com.sun.javafx.binding.BindingHelperObserver;
+import com.sun.javafx.binding.DeferredEvaluation;
 import com.sun.javafx.binding.ExpressionHelper;
 
 /**
@@ -66,6 +67,7 @@ public abstract class IntegerBinding extends IntegerExpression implements
     private boolean valid = false;
     private BindingHelperObserver observer;
     private ExpressionHelper<Number> helper = null;
+    private DeferredEvaluation deferral;
 
     @Override 
     public void addListener(InvalidationListener listener) {
@@ -169,10 +171,55 @@ public abstract class IntegerBinding extends IntegerExpression implements
         if (valid) {
             valid = false;
             onInvalidating();
-            ExpressionHelper.fireValueChangedEvent(helper);
+            if (deferral != null) {
+                deferral.schedule();
+            } else {
+                ExpressionHelper.fireValueChangedEvent(helper);
+            }
+        } else if (deferral != null) {
+            deferral.coalesce();
+        }
+    }
+
+    /**
+     * Sets whether this binding defers the notification of its listeners to
+     * the next pulse. A deferred binding that is invalidated several times
+     * between two pulses notifies its listeners only once, so change
+     * listeners recompute its value at most once per pulse.
+     * <p>
+     * Deferring makes sense for bindings used on the JavaFX Application
+     * Thread only. If the JavaFX runtime is not running, the listeners are
+     * notified immediately. Leaving the deferred mode delivers a pending
+     * notification right away.
+     *
+     * @param deferred
+     *            {@code true} to defer the notifications to the next pulse
+     * @since JavaFX 8u60
+     */
+    public final void setDeferred(boolean deferred) {
+        if (deferred) {
+            if (deferral == null) {
+                deferral = new DeferredEvaluation(() -> ExpressionHelper.fireValueChangedEvent(helper));
+            }
+        } else if (deferral != null) {
+            final DeferredEvaluation oldDeferral = deferral;
+            deferral = null;
+            oldDeferral.cancel();
         }
     }
 
+    /**
+     * Returns whether this binding defers the notification of its listeners
+     * to the next pulse.
+     *
+     * @return {@code true} if the notifications are deferred
+     * @see #setDeferred(boolean)
+     * @since JavaFX 8u60
+     */
+    public final boolean isDeferred() {
+        return deferral != null;
+    }
+
     @Override
     public final boolean isValid() {
         return valid;
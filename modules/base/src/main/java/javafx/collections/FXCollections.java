@@ -53,8 +53,10 @@ import com.sun.javafx.collections.ObservableListWrapper;
 import com.sun.javafx.collections.ObservableMapWrapper;
 import com.sun.javafx.collections.ObservableSetWrapper;
 import com.sun.javafx.collections.MapAdapterChange;
+import com.sun.javafx.collections.ObservableDoubleArrayImpl;
 import com.sun.javafx.collections.ObservableFloatArrayImpl;
 import com.sun.javafx.collections.ObservableIntegerArrayImpl;
+import com.sun.javafx.collections.ObservableLongArrayImpl;
 import com.sun.javafx.collections.ObservableSequentialListWrapper;
 import com.sun.javafx.collections.SetAdapterChange;
 import com.sun.javafx.collections.SortableList;
@@ -295,6 +297,66 @@ public class FXCollections {
         return new ObservableFloatArrayImpl(array);
     }
 
+    /**
+     * Creates a new empty observable double array.
+     * @return a newly created ObservableDoubleArray
+     * @since JavaFX 8u60
+     */
+    public static ObservableDoubleArray observableDoubleArray() {
+        return new ObservableDoubleArrayImpl();
+    }
+
+    /**
+     * Creates a new observable double array with {@code values} set to it.
+     * @param values the values that will be in the new observable double array
+     * @return a newly created ObservableDoubleArray
+     * @since JavaFX 8u60
+     */
+    public static ObservableDoubleArray observableDoubleArray(double... values) {
+        return new ObservableDoubleArrayImpl(values);
+    }
+
+    /**
+     * Creates a new observable double array with copy of elements in given
+     * {@code array}.
+     * @param array observable double array to copy
+     * @return a newly created ObservableDoubleArray
+     * @since JavaFX 8u60
+     */
+    public static ObservableDoubleArray observableDoubleArray(ObservableDoubleArray array) {
+        return new ObservableDoubleArrayImpl(array);
+    }
+
+    /**
+     * Creates a new empty observable long array.
+     * @return a newly created ObservableLongArray
+     * @since JavaFX 8u60
+     */
+    public static ObservableLongArray observableLongArray() {
+        return new ObservableLongArrayImpl();
+    }
+
+    /**
+     * Creates a new observable long array with {@code values} set to it.
+     * @param values the values that will be in the new observable long array
+     * @return a newly created ObservableLongArray
+     * @since JavaFX 8u60
+     */
+    public static ObservableLongArray observableLongArray(long... values) {
+        return new ObservableLongArrayImpl(values);
+    }
+
+    /**
+     * Creates a new observable long array with copy of elements in given
+     * {@code array}.
+     * @param array observable long array to copy
+     * @return a newly created ObservableLongArray
+     * @since JavaFX 8u60
+     */
+    public static ObservableLongArray observableLongArray(ObservableLongArray array) {
+        return new ObservableLongArrayImpl(array);
+    }
+
     /**
      * Creates a new empty observable list that is backed by an arraylist.
      * @see #observableList(java.util.List) 
@@ -676,6 +738,106 @@ public class FXCollections {
         }
     }
 
+    /**
+     * Sorts the provided observable list using the c comparator, like
+     * {@link #sort(ObservableList, Comparator)}, except that large lists
+     * are sorted in parallel in the common {@code ForkJoinPool}.
+     * Fires only <b>one</b> change notification on the list.
+     * <p>
+     * The comparator is called from several threads at once, so it must be
+     * thread-safe. In particular, it must not read state that may only be
+     * accessed from the JavaFX Application Thread, such as the cell values of
+     * a table column. Use {@link #sort(ObservableList, Comparator)} otherwise.
+     * @param list the list to sort
+     * @param c comparator used for sorting. Null if natural ordering is required.
+     * @see java.util.Arrays#parallelSort(Object[], java.util.Comparator)
+     * @since JavaFX 8u60
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void parallelSort(ObservableList<T> list, Comparator<? super T> c) {
+        if (list instanceof SortableList) {
+            ((SortableList<? extends T>)list).parallelSort(c);
+        } else {
+            Object[] newContent = list.toArray();
+            Arrays.parallelSort(newContent, (Comparator<Object>) c);
+            list.setAll((Collection<T>) Arrays.asList(newContent));
+        }
+    }
+
+    /**
+     * Starts a batch of modifications of the provided observable list.
+     * All the modifications made until the matching {@link #endChange(ObservableList)}
+     * call are reported to the listeners as <b>one</b> change notification, which contains
+     * all the modified ranges. This is much cheaper than one notification per modification
+     * when doing a lot of small modifications, like a {@code set()} call for every
+     * updated item, both for the list and for its listeners (e.g.
+     * {@link javafx.collections.transformation.SortedList} or
+     * {@link javafx.collections.transformation.FilteredList}).
+     * <p>
+     * The calls can be nested, only the outer-most {@code endChange} notifies the listeners.
+     * The listeners must not be relied on to see any of the modifications before that, so
+     * a {@code try}/{@code finally} block should be used to always end the batch:
+     * <pre>
+     *  FXCollections.beginChange(list);
+     *  <strong>try</strong> {
+     *      <strong>for</strong> (<strong>int</strong> i = 0; i &lt; list.size(); ++i) {
+     *          list.set(i, ...);
+     *      }
+     *  } <strong>finally</strong> {
+     *      FXCollections.endChange(list);
+     *  }
+     * </pre>
+     * Only lists based on {@link ObservableListBase} (including all the lists created by
+     * this class) support batching. Other lists keep notifying their listeners on every
+     * modification.
+     *
+     * @param list the list that is going to be modified
+     * @see #endChange(ObservableList)
+     * @see ObservableListBase#beginChange()
+     * @since JavaFX 8u60
+     */
+    public static void beginChange(ObservableList<?> list) {
+        final ObservableList<?> target = getBatchTarget(list);
+        if (target instanceof ObservableListBase) {
+            ((ObservableListBase<?>) target).beginChange();
+        }
+    }
+
+    /**
+     * Ends a batch of modifications started by {@link #beginChange(ObservableList)}.
+     * If this is the outer-most batch for the list, the listeners are notified
+     * about all the modifications made in the batch.
+     *
+     * @param list the list that was modified
+     * @throws IllegalStateException if there's no batch to end
+     * @see #beginChange(ObservableList)
+     * @since JavaFX 8u60
+     */
+    public static void endChange(ObservableList<?> list) {
+        final ObservableList<?> target = getBatchTarget(list);
+        if (target instanceof ObservableListBase) {
+            ((ObservableListBase<?>) target).endChange();
+        }
+    }
+
+    /**
+     * The wrappers just adapt the changes of the list they wrap, so the batch
+     * needs to happen on the wrapped list.
+     */
+    private static ObservableList<?> getBatchTarget(ObservableList<?> list) {
+        while (true) {
+            if (list instanceof UnmodifiableObservableListImpl) {
+                list = ((UnmodifiableObservableListImpl<?>) list).backingList;
+            } else if (list instanceof CheckedObservableList) {
+                list = ((CheckedObservableList<?>) list).list;
+            } else if (list instanceof SynchronizedObservableList) {
+                list = ((SynchronizedObservableList<?>) list).backingList;
+            } else {
+                return list;
+            }
+        }
+    }
+
     private static class EmptyObservableList<E> extends AbstractList<E> implements ObservableList<E> {
 
         private static final ListIterator iterator = new ListIterator() {
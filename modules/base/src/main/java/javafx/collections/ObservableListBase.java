@@ -91,7 +91,16 @@ import javafx.beans.InvalidationListener;
 public abstract class ObservableListBase<E> extends AbstractList<E>  implements ObservableList<E> {
 
     private ListListenerHelper<E> listenerHelper;
-    private final ListChangeBuilder<E> changeBuilder = new ListChangeBuilder<E>(this);
+    private ListChangeBuilder<E> changeBuilder;
+
+    // Many lists, like the style classes of most nodes, never change at all,
+    // so the builder is only created for the first change
+    private ListChangeBuilder<E> changeBuilder() {
+        if (changeBuilder == null) {
+            changeBuilder = new ListChangeBuilder<E>(this);
+        }
+        return changeBuilder;
+    }
 
     /**
      * Adds a new update operation to the change.
@@ -100,7 +109,7 @@ public abstract class ObservableListBase<E> extends AbstractList<E>  implements
      * @param pos the position in the list where the updated element resides.
      */
     protected final void nextUpdate(int pos) {
-        changeBuilder.nextUpdate(pos);
+        changeBuilder().nextUpdate(pos);
     }
 
     /**
@@ -112,7 +121,7 @@ public abstract class ObservableListBase<E> extends AbstractList<E>  implements
      * @param old the old value at the {@code idx} position.
      */
     protected final void nextSet(int idx, E old) {
-        changeBuilder.nextSet(idx, old);
+        changeBuilder().nextSet(idx, old);
     }
 
     /**
@@ -125,7 +134,7 @@ public abstract class ObservableListBase<E> extends AbstractList<E>  implements
      * @param removed the list of items that were removed
      */
     protected final void nextReplace(int from, int to, List<? extends E> removed) {
-        changeBuilder.nextReplace(from, to, removed);
+        changeBuilder().nextReplace(from, to, removed);
     }
 
     /**
@@ -136,7 +145,7 @@ public abstract class ObservableListBase<E> extends AbstractList<E>  implements
      * @param removed the list of items that were removed
      */
     protected final void nextRemove(int idx, List<? extends E> removed) {
-        changeBuilder.nextRemove(idx, removed);
+        changeBuilder().nextRemove(idx, removed);
     }
 
     /**
@@ -147,7 +156,7 @@ public abstract class ObservableListBase<E> extends AbstractList<E>  implements
      * @param removed the item that was removed
      */
     protected final void nextRemove(int idx, E removed) {
-        changeBuilder.nextRemove(idx, removed);
+        changeBuilder().nextRemove(idx, removed);
     }
 
     /**
@@ -163,7 +172,7 @@ public abstract class ObservableListBase<E> extends AbstractList<E>  implements
      * contain the indexes of the list. Therefore, such permutation would not contain indexes of range {@code (0, from)}
      */
     protected final void nextPermutation(int from, int to, int[] perm) {
-        changeBuilder.nextPermutation(from, to, perm);
+        changeBuilder().nextPermutation(from, to, perm);
     }
 
     /**
@@ -176,7 +185,7 @@ public abstract class ObservableListBase<E> extends AbstractList<E>  implements
      * @param to marks the end (exclusive) of the range that was added
      */
     protected final void nextAdd(int from, int to) {
-        changeBuilder.nextAdd(from, to);
+        changeBuilder().nextAdd(from, to);
     }
 
     /**
@@ -189,7 +198,7 @@ public abstract class ObservableListBase<E> extends AbstractList<E>  implements
      * @see #endChange() 
      */
     protected final void beginChange() {
-        changeBuilder.beginChange();
+        changeBuilder().beginChange();
     }
 
     /**
@@ -202,7 +211,7 @@ public abstract class ObservableListBase<E> extends AbstractList<E>  implements
      * @see #beginChange()
      */
     protected final void endChange() {
-        changeBuilder.endChange();
+        changeBuilder().endChange();
     }
 
     @Override
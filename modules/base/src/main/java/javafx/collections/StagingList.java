@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * A plain, non-observable list used to prepare the content of an
+ * {@link ObservableList} away from the JavaFX Application Thread.
+ * <p>
+ * An {@code ObservableList} that is shown in the scene graph may only be
+ * modified on the JavaFX Application Thread, and filling it element by
+ * element sends an event for every element. A {@code StagingList} is not
+ * tied to any thread: it can be filled and sorted on a worker thread, with
+ * {@link #generate(int, IntFunction)} and {@link #sort(Comparator)} doing
+ * the work in parallel in the common {@code ForkJoinPool}. The result is
+ * then moved into the observable list with {@link #publishTo(ObservableList)},
+ * which replaces its content with a single change.
+ * <pre>
+ * final StagingList&lt;Item&gt; staging = new StagingList&lt;&gt;();
+ * staging.generate(count, i -&gt; load(i));
+ * staging.sort(comparator);
+ * Platform.runLater(() -&gt; staging.publishTo(tableView.getItems()));
+ * </pre>
+ * Like {@link java.util.ArrayList}, a {@code StagingList} is not
+ * synchronized. It must not be modified by several threads at once, and it
+ * must be safely handed over to the thread that publishes it, e.g. through
+ * {@code Platform.runLater}.
+ *
+ * @param <E> the type of the elements
+ * @since JavaFX 8u60
+ */
+public final class StagingList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[] elements;
+    private int size;
+
+    /**
+     * Creates an empty {@code StagingList}.
+     */
+    public StagingList() {
+        elements = EMPTY;
+    }
+
+    /**
+     * Creates an empty {@code StagingList} with room for
+     * {@code initialCapacity} elements.
+     *
+     * @param initialCapacity the number of elements that can be added
+     * without growing the list
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public StagingList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        elements = (initialCapacity == 0)? EMPTY : new Object[initialCapacity];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            final int newCapacity = Math.max(capacity, elements.length + (elements.length >> 1) + 1);
+            elements = Arrays.copyOf(elements, newCapacity);
+        }
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        rangeCheck(index);
+        return (E) elements[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        rangeCheck(index);
+        final E old = (E) elements[index];
+        elements[index] = element;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(E element) {
+        ensureCapacity(size + 1);
+        elements[size++] = element;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        final Object[] added = c.toArray();
+        ensureCapacity(size + added.length);
+        System.arraycopy(added, 0, elements, size, added.length);
+        size += added.length;
+        modCount++;
+        return added.length > 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        rangeCheck(index);
+        final E old = (E) elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Appends {@code count} elements, the element at position {@code i}
+     * among the new elements being {@code generator.apply(i)}. The elements
+     * are computed in parallel, so the generator must be thread-safe.
+     *
+     * @param count the number of elements to append
+     * @param generator computes the elements
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    @SuppressWarnings("unchecked")
+    public void generate(int count, IntFunction<? extends E> generator) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Illegal count: " + count);
+        }
+        ensureCapacity(size + count);
+        final Object[] added = new Object[count];
+        Arrays.parallelSetAll(added, (IntFunction<Object>) generator);
+        System.arraycopy(added, 0, elements, size, count);
+        size += count;
+        modCount++;
+    }
+
+    /**
+     * Sorts the list in parallel. The sort is stable.
+     *
+     * @param comparator the comparator, or {@code null} to sort the
+     * elements by their natural order
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> comparator) {
+        Arrays.parallelSort((E[]) elements, 0, size, comparator);
+        modCount++;
+    }
+
+    /**
+     * Replaces the content of {@code target} with the content of this list,
+     * firing a single change, and empties this list. Must be called on the
+     * thread that owns {@code target}, usually the JavaFX Application Thread.
+     *
+     * @param target the list to publish to
+     */
+    public void publishTo(ObservableList<? super E> target) {
+        target.setAll(this);
+        elements = EMPTY;
+        size = 0;
+        modCount++;
+    }
+}
@@ -26,10 +26,8 @@
 package javafx.collections.transformation;
 
 import com.sun.javafx.collections.NonIterableChange.GenericAddRemoveChange;
-import com.sun.javafx.collections.SortHelper;
+import com.sun.javafx.collections.RankBitSet;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.function.Predicate;
@@ -43,16 +41,24 @@ import javafx.collections.ObservableList;
  * Wraps an ObservableList and filters it's content using the provided Predicate.
  * All changes in the ObservableList are propagated immediately
  * to the FilteredList.
+ * <p>
+ * Changes of the source list are processed incrementally: only the added
+ * or updated elements are tested by the predicate and translating indexes
+ * between this list and the source list takes O(log n) time.
  *
  * @see TransformationList
  * @since JavaFX 8.0
  */
 public final class FilteredList<E> extends TransformationList<E, E>{
 
-    private int[] filtered;
-    private int size;
+    private static final int REFILTER_ALL = 0;
+    private static final int REFILTER_NARROWED = 1;
+    private static final int REFILTER_WIDENED = 2;
+
+    // one bit per source element, set if the element is in this list
+    private final RankBitSet included = new RankBitSet();
+    private int refilterMode = REFILTER_ALL;
 
-    private SortHelper helper;
     private static final Predicate ALWAYS_TRUE = t -> true;
 
     /**
@@ -64,13 +70,10 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     public FilteredList(@NamedArg("source") ObservableList<E> source, @NamedArg("predicate") Predicate<? super E> predicate) {
         super(source);
-        filtered = new int[source.size() * 3 / 2  + 1];
         if (predicate != null) {
             setPredicate(predicate);
         } else {
-            for (size = 0; size < source.size(); size++) {
-                filtered[size] = size;
-            }
+            included.reset(source.size(), true);
         }
     }
 
@@ -125,6 +128,46 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         predicateProperty().set(predicate);
     }
 
+    /**
+     * Sets a new predicate that matches only a subset of the elements matched
+     * by the current predicate, e.g. when a character is appended to a search text.
+     * Only the elements currently in this list are tested and the elements
+     * filtered-out are reported as removals, instead of replacing the whole content.
+     * <p>
+     * If the new predicate matches an element not matched by the current one,
+     * the element won't be added to this list.
+     * @param predicate the new predicate or null to match all elements
+     * @since JavaFX 8u60
+     */
+    public final void narrowPredicate(Predicate<? super E> predicate) {
+        refilterMode = REFILTER_NARROWED;
+        try {
+            setPredicate(predicate);
+        } finally {
+            refilterMode = REFILTER_ALL;
+        }
+    }
+
+    /**
+     * Sets a new predicate that matches a superset of the elements matched
+     * by the current predicate, e.g. when a character is removed from a search text.
+     * Only the elements not currently in this list are tested and the newly
+     * matched elements are reported as additions, instead of replacing the whole content.
+     * <p>
+     * If the new predicate doesn't match an element matched by the current one,
+     * the element won't be removed from this list.
+     * @param predicate the new predicate or null to match all elements
+     * @since JavaFX 8u60
+     */
+    public final void widenPredicate(Predicate<? super E> predicate) {
+        refilterMode = REFILTER_WIDENED;
+        try {
+            setPredicate(predicate);
+        } finally {
+            refilterMode = REFILTER_ALL;
+        }
+    }
+
     private Predicate<? super E> getPredicateImpl() {
         if (getPredicate() != null) {
             return getPredicate();
@@ -154,7 +197,7 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     @Override
     public int size() {
-        return size;
+        return included.cardinality();
     }
 
     /**
@@ -166,171 +209,178 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     @Override
     public E get(int index) {
-        if (index >= size) {
-            throw new IndexOutOfBoundsException();
-        }
-        return getSource().get(filtered[index]);
+        return getSource().get(getSourceIndex(index));
     }
 
     @Override
     public int getSourceIndex(int index) {
-        if (index >= size) {
+        if (index >= size()) {
             throw new IndexOutOfBoundsException();
         }
-        return filtered[index];
-    }
-
-    private SortHelper getSortHelper() {
-        if (helper == null) {
-            helper = new SortHelper();
-        }
-        return helper;
-    }
-
-    private int findPosition(int p) {
-        if (filtered.length == 0) {
-            return 0;
-        }
-        if (p == 0) {
-            return 0;
-        }
-        int pos = Arrays.binarySearch(filtered, 0, size, p);
-        if (pos < 0 ) {
-            pos = ~pos;
-        }
-        return pos;
-    }
-
-
-    @SuppressWarnings("unchecked")
-    private void ensureSize(int size) {
-        if (filtered.length < size) {
-            int[] replacement = new int[size * 3/2 + 1];
-            System.arraycopy(filtered, 0, replacement, 0, this.size);
-            filtered = replacement;
-        }
-    }
-
-    private void updateIndexes(int from, int delta) {
-        for (int i = from; i < size; ++i) {
-            filtered[i] += delta;
-        }
+        return included.select(index);
     }
 
     private void permutate(Change<? extends E> c) {
-        int from = findPosition(c.getFrom());
-        int to = findPosition(c.getTo());
+        final int from = c.getFrom();
+        final int to = c.getTo();
+        final int filterFrom = included.rank(from);
+        final int filterTo = included.rank(to);
 
-        if (to > from) {
+        if (filterTo > filterFrom) {
+            final boolean[] permuted = new boolean[to - from];
             for (int i = from; i < to; ++i) {
-                filtered[i] = c.getPermutation(filtered[i]);
+                permuted[c.getPermutation(i) - from] = included.get(i);
             }
-
-            int[] perm = getSortHelper().sort(filtered, from, to);
-            nextPermutation(from, to, perm);
+            // the new index in this list of every source position in the range
+            final int[] newIndexes = new int[to - from];
+            for (int i = 0, index = filterFrom; i < permuted.length; ++i) {
+                newIndexes[i] = index;
+                if (permuted[i]) {
+                    ++index;
+                }
+            }
+            final int[] perm = new int[filterTo - filterFrom];
+            for (int i = from, k = 0; i < to; ++i) {
+                if (included.get(i)) {
+                    perm[k++] = newIndexes[c.getPermutation(i) - from];
+                }
+            }
+            for (int i = from; i < to; ++i) {
+                included.set(i, permuted[i - from]);
+            }
+            nextPermutation(filterFrom, filterTo, perm);
         }
     }
 
     private void addRemove(Change<? extends E> c) {
         Predicate<? super E> pred = getPredicateImpl();
-        ensureSize(getSource().size());
-        final int from = findPosition(c.getFrom());
-        final int to = findPosition(c.getFrom() + c.getRemovedSize());
+        final int from = c.getFrom();
+        final int removedTo = from + c.getRemovedSize();
+        final int filterFrom = included.rank(from);
 
         // Mark the nodes that are going to be removed
-        for (int i = from; i < to; ++i) {
-            nextRemove(from, c.getRemoved().get(filtered[i] - c.getFrom()));
+        final List<? extends E> removed = c.getRemoved();
+        for (int i = from; i < removedTo; ++i) {
+            if (included.get(i)) {
+                nextRemove(filterFrom, removed.get(i - from));
+            }
         }
 
-        // Update indexes of the sublist following the last element that was removed
-        updateIndexes(to, c.getAddedSize() - c.getRemovedSize());
-
-        // Replace as many removed elements as possible
-        int fpos = from;
-        int pos = c.getFrom();
+        // Reuse the bits of the removed elements for the added ones, so that
+        // replacing elements does not shift the positions that follow
+        final int reused = Math.min(c.getRemovedSize(), c.getAddedSize());
+        for (int i = from; i < from + reused; ++i) {
+            included.set(i, false);
+        }
+        if (c.getRemovedSize() > reused) {
+            included.remove(from + reused, removedTo);
+        } else {
+            included.insert(from + reused, c.getAddedSize() - reused);
+        }
 
-        ListIterator<? extends E> it = getSource().listIterator(pos);
-        for (; fpos < to && it.nextIndex() < c.getTo();) {
+        int added = 0;
+        ListIterator<? extends E> it = getSource().listIterator(from);
+        for (int i = from; i < c.getTo(); ++i) {
             if (pred.test(it.next())) {
-                filtered[fpos] = it.previousIndex();
-                nextAdd(fpos, fpos + 1);
-                ++fpos;
+                included.set(i, true);
+                ++added;
             }
         }
-
-        if (fpos < to) {
-            // If there were more removed elements than added
-            System.arraycopy(filtered, to, filtered, fpos, size - to);
-            size -= to - fpos;
-        } else {
-            // Add the remaining elements
-            while (it.nextIndex() < c.getTo()) {
-                if (pred.test(it.next())) {
-                    System.arraycopy(filtered, fpos, filtered, fpos + 1, size - fpos);
-                    filtered[fpos] = it.previousIndex();
-                    nextAdd(fpos, fpos + 1);
-                    ++fpos;
-                    ++size;
-                }
-                ++pos;
-            }
+        if (added > 0) {
+            nextAdd(filterFrom, filterFrom + added);
         }
     }
 
     private void update(Change<? extends E> c) {
         Predicate<? super E> pred = getPredicateImpl();
-        ensureSize(getSource().size());
-        int sourceFrom = c.getFrom();
-        int sourceTo = c.getTo();
-        int filterFrom = findPosition(sourceFrom);
-        int filterTo = findPosition(sourceTo);
-        ListIterator<? extends E> it = getSource().listIterator(sourceFrom);
-        int pos = filterFrom;
-        while (pos < filterTo || sourceFrom < sourceTo) {
-            E el = it.next();
-            if (pos < size && filtered[pos] == sourceFrom) {
-                if (!pred.test(el)) {
-                    nextRemove(pos, el);
-                    System.arraycopy(filtered, pos + 1, filtered, pos, size - pos - 1);
-                    --size;
-                    --filterTo;
-                } else {
+        int pos = included.rank(c.getFrom());
+        ListIterator<? extends E> it = getSource().listIterator(c.getFrom());
+        for (int i = c.getFrom(); i < c.getTo(); ++i) {
+            final E el = it.next();
+            final boolean matches = pred.test(el);
+            if (included.get(i)) {
+                if (matches) {
                     nextUpdate(pos);
                     ++pos;
+                } else {
+                    included.set(i, false);
+                    nextRemove(pos, el);
                 }
-            } else {
+            } else if (matches) {
+                included.set(i, true);
+                nextAdd(pos, pos + 1);
+                ++pos;
+            }
+        }
+    }
+
+    private void refilter() {
+        switch (refilterMode) {
+            case REFILTER_NARROWED:
+                narrow();
+                break;
+            case REFILTER_WIDENED:
+                widen();
+                break;
+            default:
+                refilterAll();
+        }
+    }
+
+    private void narrow() {
+        Predicate<? super E> pred = getPredicateImpl();
+        beginChange();
+        int pos = 0;
+        ListIterator<? extends E> it = getSource().listIterator();
+        for (int i = 0; i < included.length(); ++i) {
+            final E el = it.next();
+            if (included.get(i)) {
                 if (pred.test(el)) {
-                    nextAdd(pos, pos + 1);
-                    System.arraycopy(filtered, pos, filtered, pos + 1, size - pos);
-                    filtered[pos] = sourceFrom;
-                    ++size;
                     ++pos;
-                    ++filterTo;
+                } else {
+                    included.set(i, false);
+                    nextRemove(pos, el);
                 }
             }
-            sourceFrom++;
         }
+        endChange();
+    }
+
+    private void widen() {
+        Predicate<? super E> pred = getPredicateImpl();
+        beginChange();
+        int pos = 0;
+        ListIterator<? extends E> it = getSource().listIterator();
+        for (int i = 0; i < included.length(); ++i) {
+            final E el = it.next();
+            if (included.get(i)) {
+                ++pos;
+            } else if (pred.test(el)) {
+                included.set(i, true);
+                nextAdd(pos, pos + 1);
+                ++pos;
+            }
+        }
+        endChange();
     }
 
     @SuppressWarnings("unchecked")
-    private void refilter() {
-        ensureSize(getSource().size());
+    private void refilterAll() {
         List<E> removed = null;
         if (hasListeners()) {
             removed = new ArrayList<>(this);
         }
-        size = 0;
+        included.reset(getSource().size(), false);
         int i = 0;
         Predicate<? super E> pred = getPredicateImpl();
-        for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
-            final E next = it.next();
+        for (E next : getSource()) {
             if (pred.test(next)) {
-                filtered[size++] = i;
+                included.set(i, true);
             }
             ++i;
         }
         if (hasListeners()) {
-            fireChange(new GenericAddRemoveChange<>(0, size, removed, this));
+            fireChange(new GenericAddRemoveChange<>(0, size(), removed, this));
         }
     }
 
@@ -26,6 +26,8 @@
 package javafx.collections.transformation;
 
 import com.sun.javafx.collections.NonIterableChange.SimplePermutationChange;
+import com.sun.javafx.collections.OrderStatisticTree;
+import com.sun.javafx.collections.OrderStatisticTree.Node;
 import com.sun.javafx.collections.SortHelper;
 import com.sun.javafx.collections.SourceAdapterChange;
 
@@ -35,8 +37,10 @@ import java.util.Comparator;
 import java.util.List;
 
 import javafx.beans.NamedArg;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
 
@@ -54,12 +58,18 @@ import javafx.collections.ObservableList;
 public final class SortedList<E> extends TransformationList<E, E>{
 
     private Comparator<Element<E>> elementComparator;
-    private Element<E>[] sorted;
-    private int size;
+    // The elements in the order of this list and in the order of the source list.
+    // Both trees share the same elements, so that positions can be translated
+    // between them in O(log n).
+    private final OrderStatisticTree<Element<E>> sorted = new OrderStatisticTree<>();
+    private final OrderStatisticTree<Element<E>> unsorted = new OrderStatisticTree<>();
 
     private final SortHelper helper = new SortHelper();
+    private SortHelper parallelHelper;
 
-    private final Element<E> tempElement = new Element<>(null, -1);
+    // source indexes of the updated elements that were not processed yet
+    private int[] updated = new int[1];
+    private int updatedCount;
 
 
     /**
@@ -69,14 +79,11 @@ public final class SortedList<E> extends TransformationList<E, E>{
      * @param source a list to wrap
      * @param comparator a comparator to use or null for unordered List
      */
-    @SuppressWarnings("unchecked")
     public SortedList(@NamedArg("source") ObservableList<? extends E> source, @NamedArg("comparator") Comparator<? super E> comparator) {
         super(source);
-        sorted = (Element<E>[]) new Element[source.size() *3/2 + 1];
-        size = source.size();
-        for (int i = 0; i < size; ++i) {
-            sorted[i] = new Element<E>(source.get(i), i);
-        }
+        final Element<E>[] elements = createElements(source, source.size());
+        setAll(sorted, elements, true);
+        setAll(unsorted, elements, false);
         if (comparator != null) {
             setComparator(comparator);
         }
@@ -98,13 +105,16 @@ public final class SortedList<E> extends TransformationList<E, E>{
             beginChange();
             while (c.next()) {
                 if (c.wasPermutated()) {
+                    flushUpdates();
                     updatePermutationIndexes(c);
                 } else if (c.wasUpdated()) {
-                    update(c);
+                    addUpdates(c);
                 } else {
+                    flushUpdates();
                     addRemove(c);
                 }
             }
+            flushUpdates();
             endChange();
         } else {
             updateUnsorted(c);
@@ -152,6 +162,44 @@ public final class SortedList<E> extends TransformationList<E, E>{
         comparatorProperty().set(comparator);
     }
 
+    /**
+     * Whether large resorts of this SortedList may be spread over the
+     * common {@link java.util.concurrent.ForkJoinPool}. When set, sorting on
+     * a new comparator, on a batch of updates or on a bulk change of the
+     * source may call the comparator from several threads at once, so it
+     * must be thread-safe and must not touch the scene graph. Small lists
+     * are always sorted on the calling thread. Changing this property does
+     * not resort the list.
+     * @defaultValue false
+     * @since JavaFX 8u60
+     */
+    private BooleanProperty parallelSort;
+
+    public final BooleanProperty parallelSortProperty() {
+        if (parallelSort == null) {
+            parallelSort = new SimpleBooleanProperty(this, "parallelSort", false);
+        }
+        return parallelSort;
+    }
+
+    public final boolean isParallelSort() {
+        return parallelSort != null && parallelSort.get();
+    }
+
+    public final void setParallelSort(boolean value) {
+        parallelSortProperty().set(value);
+    }
+
+    private SortHelper getSortHelper() {
+        if (!isParallelSort()) {
+            return helper;
+        }
+        if (parallelHelper == null) {
+            parallelHelper = new SortHelper(true);
+        }
+        return parallelHelper;
+    }
+
     /**
      * Returns the element at the specified position in this list.
      *
@@ -161,10 +209,10 @@ public final class SortedList<E> extends TransformationList<E, E>{
      */
     @Override
     public E get(int index) {
-        if (index >= size) {
+        if (index >= size()) {
             throw new IndexOutOfBoundsException();
         }
-        return sorted[index].e;
+        return sorted.get(index).e;
     }
 
     /**
@@ -174,38 +222,32 @@ public final class SortedList<E> extends TransformationList<E, E>{
      */
     @Override
     public int size() {
-        return size;
+        return sorted.size();
     }
 
     private void doSortWithPermutationChange() {
+        final int size = size();
         if (elementComparator != null) {
-            int[] perm = helper.sort(sorted, 0, size, elementComparator);
+            final Element<E>[] elements = values(sorted);
+            int[] perm = getSortHelper().sort(elements, 0, size, elementComparator);
+            setAll(sorted, elements, true);
             fireChange(new SimplePermutationChange<>(0, size, perm, this));
         } else {
-            int[] perm = new int[size];
-            int[] rperm = new int[size];
+            // Go back to the order of the source list
+            final Element<E>[] elements = values(unsorted);
             for (int i = 0; i < size; ++i) {
-                perm[i] = rperm[i] = i;
+                elements[i].index = i;
             }
+            int[] perm = new int[size];
             boolean changed = false;
             int idx = 0;
-            while (idx < size) {
-                final int otherIdx = sorted[idx].index;
-                if (otherIdx == idx) {
-                    ++idx;
-                    continue;
-                }
-                Element<E> other = sorted[otherIdx];
-                sorted[otherIdx] = sorted[idx];
-                sorted[idx] = other;
-                perm[rperm[idx]] = otherIdx;
-                perm[rperm[otherIdx]] = idx;
-                int tp = rperm[idx];
-                rperm[idx] = rperm[otherIdx];
-                rperm[otherIdx] = tp;
-                changed = true;
+            for (Node<Element<E>> node : sorted.nodes()) {
+                perm[idx] = node.getValue().index;
+                changed |= perm[idx] != idx;
+                ++idx;
             }
             if (changed) {
+                setAll(sorted, elements, true);
                 fireChange(new SimplePermutationChange<>(0, size, perm, this));
             }
         }
@@ -213,41 +255,32 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     @Override
     public int getSourceIndex(int index) {
-        return sorted[index].index;
+        return unsorted.indexOf(sorted.get(index).unsortedNode);
     }
 
     private void updatePermutationIndexes(Change<? extends E> change) {
-        for (int i = 0; i < size; ++i) {
-            sorted[i].index = change.getPermutation(sorted[i].index);
-        }
+        setAll(unsorted, permute(values(unsorted), change), false);
     }
 
     private void updateUnsorted(Change<? extends E> c) {
+        // sorted and unsorted share the same order in this case
         while (c.next()) {
             if (c.wasPermutated()) {
-                Element[] sortedTmp = new Element[sorted.length];
-                for (int i = 0; i < size; ++i) {
-                    if (i >= c.getFrom() && i < c.getTo()) {
-                        sortedTmp[c.getPermutation(i)] = sorted[i];
-                    } else {
-                        sortedTmp[i] = sorted[i];
-                    }
-                }
-                sorted = sortedTmp;
+                final Element<E>[] elements = permute(values(unsorted), c);
+                setAll(unsorted, elements, false);
+                setAll(sorted, elements, true);
             }
             if (c.wasRemoved()) {
-                final int removedTo = c.getFrom() + c.getRemovedSize();
-                System.arraycopy(sorted, removedTo, sorted, c.getFrom(), size - removedTo);
-                size -= c.getRemovedSize();
-                updateIndices(removedTo, -c.getRemovedSize());
+                for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
+                    final Element<E> element = unsorted.remove(c.getFrom());
+                    sorted.remove(element.sortedNode);
+                }
             }
             if (c.wasAdded()) {
-                ensureSize(size + c.getAddedSize());
-                updateIndices(c.getFrom(), c.getAddedSize());
-                System.arraycopy(sorted, c.getFrom(), sorted, c.getTo(), size - c.getFrom());
-                size += c.getAddedSize();
                 for (int i = c.getFrom(); i < c.getTo(); ++i) {
-                    sorted[i] = new Element<E>(c.getList().get(i), i);
+                    final Element<E> element = new Element<>(c.getList().get(i));
+                    element.unsortedNode = unsorted.insert(i, element);
+                    element.sortedNode = sorted.insert(i, element);
                 }
             }
         }
@@ -255,12 +288,14 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     private static class Element<E> {
 
-        public Element(E e, int index) {
+        public Element(E e) {
             this.e = e;
-            this.index = index;
         }
 
         private E e;
+        private Node<Element<E>> sortedNode;
+        private Node<Element<E>> unsortedNode;
+        // scratch space for the operations that work on the whole list
         private int index;
     }
 
@@ -281,115 +316,169 @@ public final class SortedList<E> extends TransformationList<E, E>{
     }
 
     @SuppressWarnings("unchecked")
-    private void ensureSize(int size) {
-        if (sorted.length < size) {
-            Element<E>[] replacement = new Element[size * 3/2 + 1];
-            System.arraycopy(sorted, 0, replacement, 0, this.size);
-            sorted = (Element<E>[]) replacement;
+    private static <E> Element<E>[] createElements(List<? extends E> list, int to) {
+        final Element<E>[] elements = new Element[to];
+        for (int i = 0; i < to; ++i) {
+            elements[i] = new Element<E>(list.get(i));
         }
+        return elements;
     }
 
-    private void updateIndices(int from, int difference) {
-        for (int i = 0 ; i < size; ++i) {
-            if (sorted[i].index >= from) {
-                sorted[i].index += difference;
-            }
+    @SuppressWarnings("unchecked")
+    private static <E> Element<E>[] values(OrderStatisticTree<Element<E>> tree) {
+        final Node<Element<E>>[] nodes = tree.nodes();
+        final Element<E>[] elements = new Element[nodes.length];
+        for (int i = 0; i < nodes.length; ++i) {
+            elements[i] = nodes[i].getValue();
         }
+        return elements;
     }
 
-    private int findPosition(E e) {
-        if (sorted.length == 0) {
-            return 0;
+    /**
+     * Replaces the content of the tree by the elements, creating their nodes if necessary.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> void setAll(OrderStatisticTree<Element<E>> tree, Element<E>[] elements, boolean sortedTree) {
+        final Node<Element<E>>[] nodes = new Node[elements.length];
+        for (int i = 0; i < elements.length; ++i) {
+            final Element<E> element = elements[i];
+            Node<Element<E>> node = sortedTree ? element.sortedNode : element.unsortedNode;
+            if (node == null) {
+                node = tree.createNode(element);
+                if (sortedTree) {
+                    element.sortedNode = node;
+                } else {
+                    element.unsortedNode = node;
+                }
+            }
+            nodes[i] = node;
         }
-        tempElement.e = e;
-        int pos = Arrays.binarySearch(sorted, 0, size, tempElement, elementComparator);
-        return pos;
+        tree.setAll(nodes, nodes.length);
     }
 
-    private int compare(E e1, E e2) {
-        Comparator<? super E> comp = getComparator();
-        return comp == null ? ((Comparable)e1).compareTo(e2) :
-                comp.compare(e1, e2);
-    }
-
-    @SuppressWarnings("empty-statement")
-    private int findPosition(int idx ,E e) {
-        int pos = findPosition(e);
-        if (sorted[pos].index == idx) {
-            return pos;
-        }
-        int tmp = pos;
-        while (tmp != 0 && sorted[--tmp].index != idx && compare(sorted[tmp].e, e) == 0);
-        if (sorted[tmp].index == idx) {
-            return tmp;
-        }
-        tmp = pos;
-        while (tmp != (size - 1) && sorted[++tmp].index != idx && compare(sorted[tmp].e, e) == 0);
-        if (sorted[tmp].index == idx) {
-            return tmp;
+    @SuppressWarnings("unchecked")
+    private static <E> Element<E>[] permute(Element<E>[] elements, Change<?> c) {
+        final Element<E>[] result = elements.clone();
+        for (int i = c.getFrom(); i < c.getTo(); ++i) {
+            result[c.getPermutation(i)] = elements[i];
         }
-        return -1;
+        return result;
     }
 
     private void insertToMapping(E e, int idx) {
-        int pos = findPosition(e);
-        if (pos < 0) {
-            pos = ~pos;
-        }
-        ensureSize(size + 1);
-        updateIndices(idx, 1);
-        System.arraycopy(sorted, pos, sorted, pos + 1, size - pos);
-        sorted[pos] = new Element<>(e, idx);
-        ++size;
+        final Element<E> element = new Element<>(e);
+        element.unsortedNode = unsorted.insert(idx, element);
+        // after the equal elements, like a stable sort would do
+        int pos = sorted.locate((other, i) -> elementComparator.compare(element, other) < 0);
+        element.sortedNode = sorted.insert(pos, element);
         nextAdd(pos, pos + 1);
 
     }
 
     private void setAllToMapping(List<? extends E> list, int to) {
-        ensureSize(to);
-        size = to;
-        for (int i = 0; i < to; ++i) {
-            sorted[i] = new Element<E>(list.get(i), i);
+        final Element<E>[] elements = createElements(list, to);
+        setAll(unsorted, elements, false);
+        if (isParallelSort()) {
+            Arrays.parallelSort(elements, elementComparator);
+        } else {
+            Arrays.sort(elements, elementComparator);
         }
-        Arrays.sort(sorted, 0, size, elementComparator);
-        nextAdd(0, size);
+        setAll(sorted, elements, true);
+        nextAdd(0, to);
     }
 
     private void removeFromMapping(int idx, E e) {
-        int pos = findPosition(idx, e);
-        System.arraycopy(sorted, pos + 1, sorted, pos, size - pos - 1);
-        --size;
-        sorted[size] = null;
-        updateIndices(idx + 1, - 1);
+        final Element<E> element = unsorted.remove(idx);
+        int pos = sorted.indexOf(element.sortedNode);
+        sorted.remove(element.sortedNode);
         nextRemove(pos, e);
     }
 
     private void removeAllFromMapping() {
-        List<E> removed = new ArrayList(this);
-        for (int i = 0; i < size; ++i) {
-            sorted[i] = null;
+        List<E> removed = new ArrayList<>(size());
+        for (Element<E> element : values(sorted)) {
+            removed.add(element.e);
         }
-        size = 0;
+        sorted.clear();
+        unsorted.clear();
         nextRemove(0, removed);
     }
 
-    private void update(Change<? extends E> c) {
-        int[] perm = helper.sort(sorted, 0, size, elementComparator);
-        nextPermutation(0, size, perm);
+    /**
+     * Collects the updated elements, so that all consecutive update ranges
+     * of a change (e.g. a batch of modifications) need at most one sort.
+     */
+    private void addUpdates(Change<? extends E> c) {
+        final int count = updatedCount + c.getTo() - c.getFrom();
+        if (updated.length < count) {
+            updated = Arrays.copyOf(updated, count * 3/2 + 1);
+        }
         for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
-            nextUpdate(findPosition(i, c.getList().get(i)));
+            updated[updatedCount++] = i;
+        }
+    }
+
+    private void flushUpdates() {
+        if (updatedCount == 1) {
+            updateSingle(updated[0]);
+        } else if (updatedCount > 1) {
+            final int size = size();
+            final Element<E>[] elements = values(sorted);
+            int[] perm = getSortHelper().sort(elements, 0, size, elementComparator);
+            setAll(sorted, elements, true);
+            nextPermutation(0, size, perm);
+            for (int i = 0; i < updatedCount; ++i) {
+                nextUpdate(sorted.indexOf(unsorted.get(updated[i]).sortedNode));
+            }
+        }
+        updatedCount = 0;
+    }
+
+    /**
+     * Moves a single updated element to its new place, without sorting the whole list.
+     * The element ends up at the same position as if the whole list was sorted again
+     * by the (stable) SortHelper.
+     */
+    private void updateSingle(int idx) {
+        final Element<E> element = unsorted.get(idx);
+        final int from = sorted.indexOf(element.sortedNode);
+        sorted.remove(element.sortedNode);
+        // equal elements keep their relative order
+        final int to = sorted.locate((other, i) -> {
+            final int result = elementComparator.compare(element, other);
+            return result < 0 || result == 0 && i >= from;
+        });
+        sorted.insert(to, element.sortedNode);
+
+        // only the elements between the old and the new position move
+        if (from != to) {
+            final int lo = Math.min(from, to);
+            final int hi = Math.max(from, to) + 1;
+            int[] perm = new int[hi - lo];
+            if (from < to) {
+                for (int i = from + 1; i <= to; ++i) {
+                    perm[i - lo] = i - 1;
+                }
+            } else {
+                for (int i = to; i < from; ++i) {
+                    perm[i - lo] = i + 1;
+                }
+            }
+            perm[from - lo] = to;
+            nextPermutation(lo, hi, perm);
         }
+        nextUpdate(to);
     }
 
     private void addRemove(Change<? extends E> c) {
-        if (c.getFrom() == 0 && c.getRemovedSize() == size) {
+        if (c.getFrom() == 0 && c.getRemovedSize() == size()) {
             removeAllFromMapping();
         } else {
             for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
                 removeFromMapping(c.getFrom(), c.getRemoved().get(i));
             }
         }
-        if (size == 0) {
+        if (size() == 0) {
             setAllToMapping(c.getList(), c.getTo()); // This is basically equivalent to getAddedSubList
                                                      // as size is 0, only valid "from" is also 0
         } else {
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ChangeListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DeferredEvaluationTest {
+
+    private DoubleProperty a;
+    private DoubleProperty b;
+    private DoubleBinding sum;
+    private int computations;
+    private int changes;
+    private int pulseRequests;
+
+    @Before
+    public void setUp() {
+        a = new SimpleDoubleProperty(1);
+        b = new SimpleDoubleProperty(2);
+        sum = new DoubleBinding() {
+            {
+                bind(a, b);
+            }
+
+            @Override
+            protected double computeValue() {
+                computations++;
+                return a.get() + b.get();
+            }
+        };
+        sum.addListener((ChangeListener<Number>) (o, oldValue, newValue) -> changes++);
+        computations = 0;
+        DeferredEvaluation.setPulseRequester(() -> pulseRequests++);
+        DeferredEvaluation.resetCounters();
+    }
+
+    @After
+    public void tearDown() {
+        DeferredEvaluation.setPulseRequester(null);
+        DeferredEvaluation.runPending();
+    }
+
+    @Test
+    public void testNotDeferredByDefault() {
+        assertFalse(sum.isDeferred());
+        a.set(10);
+        b.set(20);
+        assertEquals(2, computations);
+        assertEquals(2, changes);
+        assertEquals(0, pulseRequests);
+    }
+
+    @Test
+    public void testDeferredUntilPulse() {
+        sum.setDeferred(true);
+        assertTrue(sum.isDeferred());
+        a.set(10);
+        b.set(20);
+        a.set(30);
+        assertEquals(0, computations);
+        assertEquals(0, changes);
+        assertEquals(1, pulseRequests);
+
+        DeferredEvaluation.runPending();
+        assertEquals(1, computations);
+        assertEquals(1, changes);
+        assertEquals(50, sum.get(), 0);
+        assertEquals(1, DeferredEvaluation.getEvaluationCount());
+        // b was the only other dependency that could still notify the binding
+        assertEquals(1, DeferredEvaluation.getSavedEvaluationCount());
+
+        a.set(0);
+        assertEquals(2, pulseRequests);
+        DeferredEvaluation.runPending();
+        assertEquals(2, computations);
+        assertEquals(2, changes);
+    }
+
+    @Test
+    public void testDeferredChain() {
+        final DoubleBinding twice = new DoubleBinding() {
+            {
+                bind(sum);
+            }
+
+            @Override
+            protected double computeValue() {
+                return 2 * sum.get();
+            }
+        };
+        final int[] invalidations = new int[1];
+        twice.addListener((InvalidationListener) o -> invalidations[0]++);
+        twice.get();
+        sum.setDeferred(true);
+        twice.setDeferred(true);
+
+        a.set(10);
+        assertEquals(0, invalidations[0]);
+        DeferredEvaluation.runPending();
+        // twice was scheduled while the pending notifications were delivered
+        assertEquals(1, invalidations[0]);
+        assertEquals(24, twice.get(), 0);
+        assertEquals(1, pulseRequests);
+    }
+
+    @Test
+    public void testLeavingDeferredModeNotifies() {
+        sum.setDeferred(true);
+        a.set(10);
+        assertEquals(0, changes);
+        sum.setDeferred(false);
+        assertFalse(sum.isDeferred());
+        assertEquals(1, changes);
+        DeferredEvaluation.runPending();
+        assertEquals(1, changes);
+        assertEquals(0, DeferredEvaluation.getEvaluationCount());
+    }
+
+    @Test
+    public void testNotDeferredWithoutPulses() {
+        DeferredEvaluation.setPulseRequester(null);
+        sum.setDeferred(true);
+        a.set(10);
+        b.set(20);
+        assertEquals(2, computations);
+        assertEquals(2, changes);
+    }
+}
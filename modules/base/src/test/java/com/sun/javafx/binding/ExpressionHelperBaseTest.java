@@ -163,6 +163,41 @@ public class ExpressionHelperBaseTest {
         assertEquals(0, ExpressionHelperBase.trim(2, array));
         assertArrayEquals(new Object[] {null, null, null}, array);
     }
-    
-    
+
+    @Test
+    public void testAppend() {
+        final Object[] array = new Object[] {listener, gcedWeakListener};
+        assertArrayEquals(new Object[] {listener, gcedWeakListener, listener2}, ExpressionHelperBase.append(array, listener2));
+        assertArrayEquals(new Object[] {listener, gcedWeakListener}, array);
+    }
+
+    @Test
+    public void testAppendRemovesGarbageCollectedListeners() {
+        final Object[] array = new Object[] {listener, gcedWeakListener, validWeakListener, gcedWeakListener,
+                listener, gcedWeakListener, validWeakListener, gcedWeakListener};
+        assertArrayEquals(new Object[] {listener, validWeakListener, listener, validWeakListener, listener2},
+                ExpressionHelperBase.append(array, listener2));
+        assertEquals(8, array.length);
+    }
+
+    @Test
+    public void testRemove() {
+        final Object[] array = new Object[] {listener, listener2, validWeakListener};
+        assertArrayEquals(new Object[] {listener2, validWeakListener}, ExpressionHelperBase.remove(array, 0));
+        assertArrayEquals(new Object[] {listener, validWeakListener}, ExpressionHelperBase.remove(array, 1));
+        assertArrayEquals(new Object[] {listener, listener2}, ExpressionHelperBase.remove(array, 2));
+        assertArrayEquals(new Object[] {listener, listener2, validWeakListener}, array);
+    }
+
+    @Test
+    public void testRemoveCollected() {
+        final Object[] array = new Object[] {listener, listener2, validWeakListener};
+        assertSame(array, ExpressionHelperBase.removeCollected(array));
+
+        assertArrayEquals(new Object[] {listener, validWeakListener, listener2},
+                ExpressionHelperBase.removeCollected(new Object[] {gcedWeakListener, listener, validWeakListener, gcedWeakListener, listener2}));
+        assertArrayEquals(new Object[] {listener},
+                ExpressionHelperBase.removeCollected(new Object[] {listener, gcedWeakListener}));
+        assertNull(ExpressionHelperBase.removeCollected(new Object[] {gcedWeakListener, gcedWeakListener}));
+    }
 }
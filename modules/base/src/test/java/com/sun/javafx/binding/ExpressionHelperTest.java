@@ -488,6 +488,35 @@ public class ExpressionHelperTest {
         changeListener[2].check(null, UNDEFINED, UNDEFINED, 0);
     }
 
+    @Test
+    public void testRemoveInvalidationAfterNestedEvent() {
+        final InvalidationListener nestingListener = new InvalidationListener() {
+            boolean nested = false;
+            @Override public void invalidated(Observable observable) {
+                if (!nested) {
+                    nested = true;
+                    ExpressionHelper.fireValueChangedEvent(helper);
+                    helper = ExpressionHelper.removeListener(helper, invalidationListener[0]);
+                }
+            }
+        };
+        helper = ExpressionHelper.addListener(helper, observable, nestingListener);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[2]);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        // the outer event still notifies all listeners registered when it started
+        invalidationListener[0].check(observable, 2);
+        invalidationListener[1].check(observable, 2);
+        invalidationListener[2].check(observable, 2);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(null, 0);
+        invalidationListener[1].check(observable, 1);
+        invalidationListener[2].check(observable, 1);
+    }
+
     @Test
     public void testFireValueChangedEvent() {
         helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
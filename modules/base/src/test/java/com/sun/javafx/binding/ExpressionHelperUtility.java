@@ -344,10 +344,7 @@ public class ExpressionHelperUtility {
             field.setAccessible(true);
             final InvalidationListener[] listeners = (InvalidationListener[])field.get(helper);
             if (listeners != null) {
-                final Field sizeField = clazz.getDeclaredField("invalidationSize");
-                sizeField.setAccessible(true);
-                final int size = sizeField.getInt(helper);
-                return Arrays.asList(Arrays.copyOf(listeners, size));
+                return Arrays.asList(Arrays.copyOf(listeners, getSize(clazz, "invalidationSize", helper, listeners.length)));
             }
         } catch (Exception ex) { }
         return Collections.emptyList();
@@ -369,12 +366,20 @@ public class ExpressionHelperUtility {
             field.setAccessible(true); 
             final ChangeListener<? super T>[] listeners = (ChangeListener[])field.get(helper); 
             if (listeners != null) { 
-                final Field sizeField = clazz.getDeclaredField("changeSize"); 
-                sizeField.setAccessible(true); 
-                final int size = sizeField.getInt(helper); 
-                return Arrays.asList(Arrays.copyOf(listeners, size)); 
+                return Arrays.asList(Arrays.copyOf(listeners, getSize(clazz, "changeSize", helper, listeners.length)));
             } 
         } catch (Exception ex) { } 
         return Collections.emptyList(); 
     } 
+
+    // helpers that never modify their listener arrays don't keep a separate size
+    private static int getSize(Class clazz, String name, Object helper, int length) throws IllegalAccessException {
+        try {
+            final Field sizeField = clazz.getDeclaredField(name);
+            sizeField.setAccessible(true);
+            return sizeField.getInt(helper);
+        } catch (NoSuchFieldException ex) {
+            return length;
+        }
+    }
 }
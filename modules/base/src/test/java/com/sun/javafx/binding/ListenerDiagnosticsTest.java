@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import com.sun.javafx.collections.ListListenerHelper;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakListener;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ListenerDiagnosticsTest {
+
+    private static class CollectableListener implements InvalidationListener, WeakListener {
+        private boolean collected;
+
+        @Override
+        public void invalidated(Observable observable) {
+        }
+
+        @Override
+        public boolean wasGarbageCollected() {
+            return collected;
+        }
+    }
+
+    private final InvalidationListener listener1 = observable -> {};
+    private final InvalidationListener listener2 = observable -> {};
+
+    @Before
+    public void setUp() {
+        ListenerDiagnostics.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        ListenerDiagnostics.setEnabled(false);
+    }
+
+    private static ListenerDiagnostics.Entry find(List<ListenerDiagnostics.Entry> report, Object observable) {
+        ListenerDiagnostics.Entry result = null;
+        for (ListenerDiagnostics.Entry entry : report) {
+            if (entry.getObservable() == observable) {
+                assertNull(result);
+                result = entry;
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testReport() {
+        final IntegerProperty p = new SimpleIntegerProperty();
+        final CollectableListener weak = new CollectableListener();
+        p.addListener(listener1);
+        assertNull(find(ListenerDiagnostics.getReport(0), p));
+
+        p.addListener(weak);
+        p.addListener(listener2);
+        ListenerDiagnostics.Entry entry = find(ListenerDiagnostics.getReport(0), p);
+        assertEquals(3, entry.getListenerCount());
+        assertEquals(0, entry.getCollectedListenerCount());
+        assertNotNull(find(ListenerDiagnostics.getReport(3), p));
+        assertNull(find(ListenerDiagnostics.getReport(4), p));
+
+        weak.collected = true;
+        entry = find(ListenerDiagnostics.getReport(0), p);
+        assertEquals(3, entry.getListenerCount());
+        assertEquals(1, entry.getCollectedListenerCount());
+    }
+
+    @Test
+    public void testReportIsSorted() {
+        final IntegerProperty p1 = new SimpleIntegerProperty();
+        final IntegerProperty p2 = new SimpleIntegerProperty();
+        p1.addListener(listener1);
+        p1.addListener(listener2);
+        p2.addListener(listener1);
+        p2.addListener(listener2);
+        p2.addListener(observable -> {});
+        final List<ListenerDiagnostics.Entry> report = ListenerDiagnostics.getReport(0);
+        assertTrue(report.indexOf(find(report, p2)) < report.indexOf(find(report, p1)));
+    }
+
+    @Test
+    public void testNotTrackedWhenDisabled() {
+        ListenerDiagnostics.setEnabled(false);
+        final IntegerProperty p = new SimpleIntegerProperty();
+        p.addListener(listener1);
+        p.addListener(listener2);
+        ListenerDiagnostics.setEnabled(true);
+        assertNull(find(ListenerDiagnostics.getReport(0), p));
+    }
+
+    @Test
+    public void testCompact() {
+        final IntegerProperty p = new SimpleIntegerProperty();
+        final CollectableListener weak1 = new CollectableListener();
+        final CollectableListener weak2 = new CollectableListener();
+        p.addListener(weak1);
+        p.addListener(listener1);
+        p.addListener(weak2);
+        weak1.collected = true;
+        weak2.collected = true;
+
+        assertTrue(ListenerDiagnostics.compact() >= 2);
+        final ListenerDiagnostics.Entry entry = find(ListenerDiagnostics.getReport(0), p);
+        assertEquals(1, entry.getListenerCount());
+        assertEquals(0, entry.getCollectedListenerCount());
+    }
+
+    @Test
+    public void testRemoveListenerCompacts() {
+        final IntegerProperty p = new SimpleIntegerProperty();
+        final CollectableListener weak = new CollectableListener();
+        p.addListener(listener1);
+        p.addListener(weak);
+        p.addListener(listener2);
+        p.addListener(observable -> {});
+        weak.collected = true;
+
+        p.removeListener(listener2);
+        assertEquals(2, find(ListenerDiagnostics.getReport(0), p).getListenerCount());
+    }
+
+    @Test
+    public void testRemoveListenerCollapsesCompactedHelper() {
+        final IntegerProperty p = new SimpleIntegerProperty();
+        final CollectableListener weak1 = new CollectableListener();
+        final CollectableListener weak2 = new CollectableListener();
+        ExpressionHelper<Number> helper = ExpressionHelper.addListener(null, p, weak1);
+        helper = ExpressionHelper.addListener(helper, p, listener1);
+        helper = ExpressionHelper.addListener(helper, p, weak2);
+        weak1.collected = true;
+        weak2.collected = true;
+
+        helper = ExpressionHelper.removeListener(helper, listener2);
+        assertEquals("SingleInvalidation", helper.getClass().getSimpleName());
+
+        helper = ExpressionHelper.addListener(helper, p, weak1);
+        helper = ExpressionHelper.removeListener(helper, listener1);
+        assertNull(helper);
+    }
+
+    @Test
+    public void testRemoveListenerCollapsesCompactedListHelper() {
+        final CollectableListener weak1 = new CollectableListener();
+        final CollectableListener weak2 = new CollectableListener();
+        ListListenerHelper<String> helper = ListListenerHelper.addListener(null, weak1);
+        helper = ListListenerHelper.addListener(helper, weak2);
+        weak1.collected = true;
+        weak2.collected = true;
+
+        assertNull(ListListenerHelper.removeListener(helper, listener1));
+    }
+
+    private static int countListHelpers(int listenerCount) {
+        int count = 0;
+        for (ListenerDiagnostics.Entry entry : ListenerDiagnostics.getReport(0)) {
+            if ((entry.getObservable() == null) && (entry.getListenerCount() == listenerCount)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testObservableList() {
+        final ObservableList<String> list = FXCollections.observableArrayList();
+        final CollectableListener weak = new CollectableListener();
+        final ListChangeListener<String> changeListener = c -> {};
+        list.addListener(weak);
+        list.addListener(changeListener);
+        list.addListener(listener1);
+
+        list.addListener(listener2);
+        assertEquals(1, countListHelpers(4));
+
+        weak.collected = true;
+        list.removeListener(changeListener);
+        assertEquals(0, countListHelpers(4));
+        assertEquals(1, countListHelpers(2));
+    }
+}
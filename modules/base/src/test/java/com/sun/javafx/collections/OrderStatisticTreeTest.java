@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import com.sun.javafx.collections.OrderStatisticTree.Node;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class OrderStatisticTreeTest {
+
+    OrderStatisticTree<Integer> tree;
+    List<Integer> expected;
+
+    @Before
+    public void setUp() {
+        tree = new OrderStatisticTree<>();
+        expected = new ArrayList<>();
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.nodes().length);
+        assertEquals(0, tree.locate((v, i) -> true));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        tree.insert(0, 1);
+        tree.get(1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInsertOutOfBounds() {
+        tree.insert(1, 1);
+    }
+
+    @Test
+    public void testRandomInsertRemove() {
+        Random random = new Random(7);
+        List<Node<Integer>> nodes = new ArrayList<>();
+        for (int i = 0; i < 5000; ++i) {
+            if (expected.isEmpty() || random.nextInt(3) != 0) {
+                int index = random.nextInt(expected.size() + 1);
+                nodes.add(index, tree.insert(index, i));
+                expected.add(index, i);
+            } else if (random.nextBoolean()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), tree.remove(index));
+                nodes.remove(index);
+            } else {
+                int index = random.nextInt(expected.size());
+                tree.remove(nodes.remove(index));
+                expected.remove(index);
+            }
+            assertEquals(expected.size(), tree.size());
+        }
+        checkContent();
+        for (int i = 0; i < nodes.size(); ++i) {
+            assertEquals(i, tree.indexOf(nodes.get(i)));
+        }
+    }
+
+    @Test
+    public void testSetAll() {
+        OrderStatisticTree<Integer> other = new OrderStatisticTree<>();
+        @SuppressWarnings("unchecked")
+        Node<Integer>[] nodes = new Node[1000];
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = other.createNode(nodes.length - i);
+            expected.add(nodes.length - i);
+        }
+        tree.setAll(nodes, nodes.length);
+        checkContent();
+        for (int i = 0; i < nodes.length; ++i) {
+            assertEquals(i, tree.indexOf(nodes[i]));
+        }
+
+        // the nodes can be moved around
+        tree.remove(nodes[10]);
+        tree.insert(500, nodes[10]);
+        expected.add(500, expected.remove(10));
+        checkContent();
+        assertEquals(500, tree.indexOf(nodes[10]));
+    }
+
+    @Test
+    public void testLocate() {
+        for (int i = 0; i < 100; ++i) {
+            tree.insert(i, i / 2);
+        }
+        assertEquals(0, tree.locate((v, i) -> v >= 0));
+        assertEquals(20, tree.locate((v, i) -> v >= 10));
+        assertEquals(22, tree.locate((v, i) -> v > 10));
+        assertEquals(21, tree.locate((v, i) -> v > 10 || v == 10 && i >= 21));
+        assertEquals(100, tree.locate((v, i) -> false));
+    }
+
+    private void checkContent() {
+        Node<Integer>[] nodes = tree.nodes();
+        assertEquals(expected.size(), nodes.length);
+        for (int i = 0; i < nodes.length; ++i) {
+            assertEquals(expected.get(i), nodes[i].getValue());
+            assertEquals(expected.get(i), tree.get(i));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class RankBitSetTest {
+
+    RankBitSet bits;
+    List<Boolean> expected;
+
+    @Before
+    public void setUp() {
+        bits = new RankBitSet();
+        expected = new ArrayList<>();
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, bits.length());
+        assertEquals(0, bits.cardinality());
+        assertEquals(0, bits.rank(0));
+    }
+
+    @Test
+    public void testReset() {
+        bits.reset(5, true);
+        assertEquals(5, bits.length());
+        assertEquals(5, bits.cardinality());
+        assertEquals(3, bits.rank(3));
+        assertEquals(4, bits.select(4));
+        bits.reset(3, false);
+        assertEquals(3, bits.length());
+        assertEquals(0, bits.cardinality());
+        assertEquals(0, bits.rank(3));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSelectOutOfBounds() {
+        bits.reset(5, false);
+        bits.set(2, true);
+        bits.select(1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        bits.insert(0, 2);
+        bits.get(2);
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(11);
+        for (int i = 0; i < 5000; ++i) {
+            final int length = expected.size();
+            switch (random.nextInt(5)) {
+                case 0: {
+                    int index = random.nextInt(length + 1);
+                    int count = random.nextInt(4);
+                    bits.insert(index, count);
+                    for (int j = 0; j < count; ++j) {
+                        expected.add(index, false);
+                    }
+                    break;
+                }
+                case 1: {
+                    int count = random.nextInt(4);
+                    bits.insert(length, count);
+                    for (int j = 0; j < count; ++j) {
+                        expected.add(false);
+                    }
+                    break;
+                }
+                case 2: {
+                    int from = random.nextInt(length + 1);
+                    int to = from + random.nextInt(Math.min(3, length - from) + 1);
+                    bits.remove(from, to);
+                    expected.subList(from, to).clear();
+                    break;
+                }
+                default:
+                    if (length > 0) {
+                        int index = random.nextInt(length);
+                        boolean value = random.nextBoolean();
+                        bits.set(index, value);
+                        expected.set(index, value);
+                    }
+                    break;
+            }
+            if (i % 10 == 0) {
+                check();
+            }
+        }
+        check();
+    }
+
+    private void check() {
+        assertEquals(expected.size(), bits.length());
+        int rank = 0;
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(rank, bits.rank(i));
+            assertEquals(expected.get(i), bits.get(i));
+            if (expected.get(i)) {
+                assertEquals(i, bits.select(rank));
+                ++rank;
+            }
+        }
+        assertEquals(rank, bits.rank(expected.size()));
+        assertEquals(rank, bits.cardinality());
+    }
+}
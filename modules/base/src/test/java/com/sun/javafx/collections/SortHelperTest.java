@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SortHelperTest {
+
+    private static final Comparator<String> BY_LENGTH = Comparator.comparingInt(String::length);
+
+    private static String[] randomStrings(Random random, int length, int range) {
+        final String[] a = new String[length];
+        for (int i = 0; i < length; ++i) {
+            a[i] = Integer.toString(random.nextInt(range));
+        }
+        return a;
+    }
+
+    // the permutation of a stable sort, computed the simple way
+    private static <T> int[] expectedPermutation(T[] a, int from, int to, Comparator<? super T> c) {
+        final Integer[] order = new Integer[to - from];
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = from + i;
+        }
+        final Comparator<? super T> cmp = (c == null)? (Comparator) Comparator.naturalOrder() : c;
+        Arrays.sort(order, (i, j) -> cmp.compare(a[i], a[j]));
+        final int[] perm = new int[order.length];
+        for (int i = 0; i < order.length; ++i) {
+            perm[order[i] - from] = from + i;
+        }
+        return perm;
+    }
+
+    private static <T> void checkSort(T[] a, int from, int to, Comparator<? super T> c) {
+        final int[] expected = expectedPermutation(a, from, to, c);
+        final T[] sorted = a.clone();
+        final int[] perm = SortHelper.parallelSort(sorted, from, to, c);
+        assertArrayEquals(expected, perm);
+        for (int i = from; i < to; ++i) {
+            assertSame(a[i], sorted[perm[i - from]]);
+        }
+        for (int i = 0; i < from; ++i) {
+            assertSame(a[i], sorted[i]);
+        }
+        for (int i = to; i < a.length; ++i) {
+            assertSame(a[i], sorted[i]);
+        }
+    }
+
+    @Test
+    public void testParallelSortSmall() {
+        final Random random = new Random(1);
+        for (int length = 0; length < 40; ++length) {
+            checkSort(randomStrings(random, length, 10), 0, length, null);
+            checkSort(randomStrings(random, length, 10), 0, length, BY_LENGTH);
+        }
+    }
+
+    @Test
+    public void testParallelSortIsStable() {
+        final Random random = new Random(2);
+        checkSort(randomStrings(random, 100000, 1000), 0, 100000, BY_LENGTH);
+        checkSort(randomStrings(random, 100000, 20), 0, 100000, null);
+    }
+
+    @Test
+    public void testParallelSortRange() {
+        final Random random = new Random(3);
+        checkSort(randomStrings(random, 50000, 100000), 1234, 45678, null);
+        checkSort(randomStrings(random, 50000, 100000), 1234, 45678, BY_LENGTH);
+    }
+
+    @Test
+    public void testParallelSortSortedInput() {
+        final Integer[] a = new Integer[50000];
+        for (int i = 0; i < a.length; ++i) {
+            a[i] = i / 3;
+        }
+        checkSort(a, 0, a.length, null);
+        checkSort(a, 0, a.length, Comparator.reverseOrder());
+    }
+
+    @Test
+    public void testSortMatchesSequentialSort() {
+        final Random random = new Random(4);
+        final String[] a = randomStrings(random, SortHelper.PARALLEL_THRESHOLD * 3, 5000);
+        final String[] sorted = a.clone();
+        final int[] perm = new SortHelper(true).sort(sorted, BY_LENGTH);
+        assertArrayEquals(expectedPermutation(a, 0, a.length, BY_LENGTH), perm);
+        for (int i = 0; i < a.length; ++i) {
+            assertSame(a[i], sorted[perm[i]]);
+        }
+    }
+
+    @Test
+    public void testDefaultSortStaysOnCallingThread() {
+        final Thread caller = Thread.currentThread();
+        final String[] a = randomStrings(new Random(5), SortHelper.PARALLEL_THRESHOLD * 3, 5000);
+        new SortHelper().sort(a, (s1, s2) -> {
+            assertSame(caller, Thread.currentThread());
+            return BY_LENGTH.compare(s1, s2);
+        });
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void testParallelSortNotComparable() {
+        final Object[] a = new Object[SortHelper.PARALLEL_THRESHOLD];
+        Arrays.fill(a, new Object());
+        SortHelper.parallelSort(a, 0, a.length, null);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging;
+
+import com.sun.javafx.logging.PulseMetrics.Histogram;
+import com.sun.javafx.logging.PulseMetrics.Phase;
+import com.sun.javafx.logging.PulseMetrics.PulseSample;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PulseMetricsTest {
+
+    private long time;
+    private PulseMetrics metrics;
+
+    @Before
+    public void setUp() {
+        time = 1000;
+        metrics = new PulseMetrics(4) {
+            @Override long nanoTime() {
+                return time;
+            }
+        };
+    }
+
+    private void runPulse(long css, long layout, long sync) {
+        metrics.pulseStart();
+        time += 10;
+        metrics.newPhase("CSS Pass");
+        time += css;
+        metrics.incrementCounter("Nodes restyled");
+        metrics.newPhase("Layout Pass");
+        time += layout;
+        metrics.newPhase("Copy state to render graph");
+        metrics.addToCounter("Dirty nodes", 5);
+        time += sync;
+        metrics.pulseEnd();
+    }
+
+    @Test
+    public void phaseTimesAndCountersAreRecorded() {
+        runPulse(100, 200, 300);
+
+        List<PulseSample> samples = metrics.getSamples();
+        assertEquals(1, samples.size());
+        PulseSample sample = samples.get(0);
+        assertEquals(1, sample.getPulseNumber());
+        assertEquals(1000, sample.getStartTime());
+        assertEquals(610, sample.getDuration());
+        assertEquals(10, sample.getPhaseTime(Phase.ANIMATION));
+        assertEquals(100, sample.getPhaseTime(Phase.CSS));
+        assertEquals(200, sample.getPhaseTime(Phase.LAYOUT));
+        assertEquals(300, sample.getPhaseTime(Phase.SYNC));
+        assertEquals(0, sample.getPhaseTime(Phase.RENDER));
+        assertEquals(1, sample.getCounter("Nodes restyled"));
+        assertEquals(5, sample.getCounter("Dirty nodes"));
+        assertEquals(0, sample.getCounter("Nodes rendered"));
+    }
+
+    @Test
+    public void renderedPulseIsRecordedWhenRenderingEnds() throws Exception {
+        metrics.pulseStart();
+        time += 10;
+        metrics.renderStart();
+        metrics.pulseEnd();
+        assertTrue(metrics.getSamples().isEmpty());
+
+        Thread renderThread = new Thread(() -> {
+            metrics.newPhase("Painting");
+            metrics.incrementCounter("Nodes rendered");
+            time += 50;
+            metrics.newPhase("Presenting");
+            metrics.setValue("Texture pool used", 1024);
+            time += 20;
+            metrics.renderEnd();
+        });
+        renderThread.start();
+        renderThread.join();
+
+        List<PulseSample> samples = metrics.getSamples();
+        assertEquals(1, samples.size());
+        PulseSample sample = samples.get(0);
+        assertEquals(80, sample.getDuration());
+        assertEquals(10, sample.getPhaseTime(Phase.ANIMATION));
+        assertEquals(50, sample.getPhaseTime(Phase.RENDER));
+        assertEquals(20, sample.getPhaseTime(Phase.PRESENT));
+        assertEquals(1, sample.getCounter("Nodes rendered"));
+        assertEquals(1024, sample.getCounter("Texture pool used"));
+    }
+
+    @Test
+    public void onlyTheLastPulsesAreKept() {
+        for (int i = 1; i <= 6; i++) {
+            runPulse(i, 0, 0);
+        }
+        List<PulseSample> samples = metrics.getSamples();
+        assertEquals(4, samples.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i + 3, samples.get(i).getPulseNumber());
+            assertEquals(i + 3, samples.get(i).getPhaseTime(Phase.CSS));
+        }
+        assertEquals(samples.get(1).getStartTime() - samples.get(0).getStartTime(),
+                samples.get(1).getInterval());
+
+        metrics.reset();
+        assertTrue(metrics.getSamples().isEmpty());
+    }
+
+    @Test
+    public void histogramPercentiles() {
+        runPulse(40, 0, 0);
+        runPulse(10, 0, 0);
+        runPulse(30, 0, 0);
+        runPulse(20, 0, 0);
+
+        Histogram histogram = metrics.getHistogram(Phase.CSS);
+        assertEquals(4, histogram.getCount());
+        assertEquals(10, histogram.getMin());
+        assertEquals(40, histogram.getMax());
+        assertEquals(25, histogram.getMean(), 1e-9);
+        assertEquals(10, histogram.getValueAtPercentile(0));
+        assertEquals(20, histogram.getValueAtPercentile(50));
+        assertEquals(30, histogram.getValueAtPercentile(75));
+        assertEquals(40, histogram.getValueAtPercentile(99));
+        assertEquals(40, histogram.getValueAtPercentile(100));
+
+        assertEquals(20 + 10, metrics.getHistogram(null).getValueAtPercentile(50));
+    }
+
+    @Test
+    public void countersOutsideOfPulsesAreIgnored() {
+        metrics.incrementCounter("Nodes restyled");
+        runPulse(0, 0, 0);
+        metrics.incrementCounter("Nodes restyled");
+        assertEquals(1, metrics.getSamples().get(0).getCounter("Nodes restyled"));
+    }
+}
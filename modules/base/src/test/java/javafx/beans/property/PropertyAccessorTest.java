@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.beans.property;
+
+import static org.junit.Assert.*;
+import javafx.beans.Person;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.javafx.property.PropertyAccessor;
+
+public class PropertyAccessorTest {
+
+    private Person person;
+
+    public static class Student extends Person {
+    }
+
+    private static class Hidden {
+        private final IntegerProperty value = new SimpleIntegerProperty();
+        public IntegerProperty valueProperty() {return value;}
+    }
+
+    public static class Failing {
+        public IntegerProperty errorProperty() {throw new StackOverflowError();}
+        public IntegerProperty exceptionProperty() {throw new UnsupportedOperationException();}
+    }
+
+    @Before
+    public void setUp() {
+        person = new Person();
+    }
+
+    @Test
+    public void testGetProperty() {
+        final PropertyAccessor accessor = PropertyAccessor.get(Person.class, "age");
+        assertEquals("age", accessor.getName());
+        assertEquals(Person.class, accessor.getContainingClass());
+        assertTrue(accessor.hasProperty());
+        assertSame(person.ageProperty(), accessor.getProperty(person));
+    }
+
+    @Test
+    public void testAccessorsAreShared() {
+        assertSame(PropertyAccessor.get(Person.class, "age"), PropertyAccessor.get(Person.class, "age"));
+        assertNotSame(PropertyAccessor.get(Person.class, "age"), PropertyAccessor.get(Person.class, "name"));
+        assertNotSame(PropertyAccessor.get(Person.class, "age"), PropertyAccessor.get(Student.class, "age"));
+    }
+
+    @Test
+    public void testInheritedProperty() {
+        final Student student = new Student();
+        final PropertyAccessor accessor = PropertyAccessor.get(Student.class, "name");
+        assertEquals(Student.class, accessor.getContainingClass());
+        assertSame(student.nameProperty(), accessor.getProperty(student));
+    }
+
+    @Test
+    public void testNoPropertyGetter() {
+        assertFalse(PropertyAccessor.get(Person.class, "noRead").hasProperty());
+        assertFalse(PropertyAccessor.get(Person.class, "unknown").hasProperty());
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void testNoPropertyGetter_IllegalGetProperty() {
+        PropertyAccessor.get(Person.class, "noRead").getProperty(person);
+    }
+
+    @Test(expected=RuntimeException.class)
+    public void testInaccessiblePropertyGetter() {
+        final PropertyAccessor accessor = PropertyAccessor.get(Hidden.class, "value");
+        assertTrue(accessor.hasProperty());
+        accessor.getProperty(new Hidden());
+    }
+
+    @Test(expected=StackOverflowError.class)
+    public void testErrorInPropertyGetterIsNotWrapped() {
+        PropertyAccessor.get(Failing.class, "error").getProperty(new Failing());
+    }
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void testRuntimeExceptionInPropertyGetterIsNotWrapped() {
+        PropertyAccessor.get(Failing.class, "exception").getProperty(new Failing());
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testNullClass() {
+        PropertyAccessor.get(null, "age");
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testNullName() {
+        PropertyAccessor.get(Person.class, null);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testEmptyName() {
+        PropertyAccessor.get(Person.class, " ");
+    }
+}
@@ -171,6 +171,25 @@ public class FXCollectionsTest {
         observer.check1Permutation(seq, new int[] {4, 8, 0, 5, 6, 9, 7, 1, 2, 3});
     }
     
+    @Test
+    public void parallelSortTest() {
+        String[] content = new String[] {"one", "two", "three", "four", "five" };
+        ObservableList<String> seq = FXCollections.observableArrayList(content);
+        MockListObserver<String> observer = new MockListObserver<String>();
+        seq.addListener(observer);
+        FXCollections.parallelSort(seq, (o1, o2) -> -o1.compareTo(o2));
+        assertArrayEquals(new String[]{"two", "three", "one", "four", "five"}, seq.toArray(new String[0]));
+        observer.check1Permutation(seq, new int[] {2, 0, 1, 3, 4});
+
+        seq = new NonSortableObservableList();
+        seq.addAll(content);
+        observer = new MockListObserver<String>();
+        seq.addListener(observer);
+        FXCollections.parallelSort(seq, null);
+        assertArrayEquals(new String[]{"five", "four", "one", "three", "two"}, seq.toArray(new String[0]));
+        observer.check1();
+    }
+
     @Test
     public void sortTest_empty() {
         ObservableList<String> seq = FXCollections.observableArrayList();
@@ -180,6 +199,76 @@ public class FXCollectionsTest {
         observer.check0();
     }
 
+    @Test
+    public void batchChangeTest() {
+        ObservableList<String> seq = FXCollections.observableArrayList("a", "b", "c", "d", "e", "f");
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        seq.addListener(observer);
+
+        FXCollections.beginChange(seq);
+        try {
+            seq.set(0, "A");
+            seq.set(1, "B");
+            seq.set(4, "E");
+            seq.remove(3);
+            FXCollections.beginChange(seq);
+            seq.add("g");
+            FXCollections.endChange(seq);
+            observer.check0();
+        } finally {
+            FXCollections.endChange(seq);
+        }
+
+        assertEquals(Arrays.asList("A", "B", "c", "E", "f", "g"), seq);
+        assertEquals(3, observer.calls.size());
+        observer.checkAddRemove(0, seq, Arrays.asList("a", "b"), 0, 2);
+        observer.checkAddRemove(1, seq, Arrays.asList("d", "e"), 3, 4);
+        observer.checkAddRemove(2, seq, Collections.<String>emptyList(), 5, 6);
+    }
+
+    @Test
+    public void batchChangeWithSortTest() {
+        ObservableList<String> seq = FXCollections.observableArrayList("c", "b", "a");
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        seq.addListener(observer);
+
+        FXCollections.beginChange(seq);
+        FXCollections.sort(seq);
+        observer.check0();
+        FXCollections.endChange(seq);
+
+        observer.check1Permutation(seq, new int[] {2, 1, 0});
+    }
+
+    @Test
+    public void batchChangeOnWrapperTest() {
+        ObservableList<String> seq = FXCollections.observableArrayList("a", "b", "c");
+        ObservableList<String> unmodifiable = FXCollections.unmodifiableObservableList(seq);
+        ObservableList<String> checked = FXCollections.checkedObservableList(seq, String.class);
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        unmodifiable.addListener(observer);
+
+        FXCollections.beginChange(checked);
+        checked.set(0, "A");
+        checked.set(1, "B");
+        observer.check0();
+        FXCollections.endChange(unmodifiable);
+
+        observer.check1AddRemove(unmodifiable, Arrays.asList("a", "b"), 0, 2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void batchChangeEndWithoutBeginTest() {
+        FXCollections.endChange(FXCollections.observableArrayList());
+    }
+
+    @Test
+    public void batchChangeUnsupportedListTest() {
+        ObservableList<String> seq = FXCollections.emptyObservableList();
+        FXCollections.beginChange(seq);
+        FXCollections.endChange(seq);
+    }
+
     private void doSort(ObservableList<String> seq, boolean permutation) {
         final MockListObserver<String> observer = new MockListObserver<String>();
         seq.addListener(observer);
@@ -26,9 +26,12 @@
 package javafx.collections;
 
 import com.sun.javafx.collections.ObservableListWrapper;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 import java.util.function.Predicate;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -243,4 +246,111 @@ public class FilteredListTest {
         assertEquals(list.size(), filteredList.size());
         assertEquals(list, filteredList);
     }
+
+    @Test
+    public void testNarrowPredicate() {
+        list.setAll("a", "ab", "b", "abc", "c", "ab");
+        filteredList.setPredicate(e -> e.startsWith("a"));
+        mlo.clear();
+        filteredList.narrowPredicate(e -> e.startsWith("ab"));
+        assertEquals(Arrays.asList("ab", "abc", "ab"), filteredList);
+        mlo.check1AddRemove(filteredList, Arrays.asList("a"), 0, 0);
+
+        mlo.clear();
+        filteredList.narrowPredicate(e -> e.startsWith("abc"));
+        assertEquals(Arrays.asList("abc"), filteredList);
+        mlo.checkAddRemove(0, filteredList, Arrays.asList("ab"), 0, 0);
+        mlo.checkAddRemove(1, filteredList, Arrays.asList("ab"), 1, 1);
+    }
+
+    @Test
+    public void testWidenPredicate() {
+        list.setAll("a", "ab", "b", "abc", "c", "ab");
+        filteredList.setPredicate(e -> e.startsWith("abc"));
+        mlo.clear();
+        filteredList.widenPredicate(e -> e.startsWith("ab"));
+        assertEquals(Arrays.asList("ab", "abc", "ab"), filteredList);
+        mlo.checkAddRemove(0, filteredList, Collections.<String>emptyList(), 0, 1);
+        mlo.checkAddRemove(1, filteredList, Collections.<String>emptyList(), 2, 3);
+
+        mlo.clear();
+        filteredList.widenPredicate(null);
+        assertEquals(list, filteredList);
+        assertNull(filteredList.getPredicate());
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(42);
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        FilteredList<Integer> filtered = source.filtered(null);
+        List<Integer> copy = new ArrayList<>();
+        filtered.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    List<Integer> permuted = new ArrayList<>(copy);
+                    for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                        permuted.set(c.getPermutation(i), copy.get(i));
+                    }
+                    copy.clear();
+                    copy.addAll(permuted);
+                } else if (!c.wasUpdated()) {
+                    copy.subList(c.getFrom(), c.getFrom() + c.getRemovedSize()).clear();
+                    copy.addAll(c.getFrom(), c.getAddedSubList());
+                }
+            }
+        });
+
+        int modulus = 1;
+        for (int i = 0; i < 2000; ++i) {
+            final int size = source.size();
+            switch (random.nextInt(7)) {
+                case 0:
+                    source.add(random.nextInt(size + 1), random.nextInt(100));
+                    break;
+                case 1:
+                    source.add(random.nextInt(100));
+                    break;
+                case 2:
+                    if (size > 0) {
+                        source.remove(random.nextInt(size));
+                    }
+                    break;
+                case 3:
+                    if (size > 0) {
+                        source.set(random.nextInt(size), random.nextInt(100));
+                    }
+                    break;
+                case 4:
+                    if (size > 2) {
+                        int from = random.nextInt(size - 1);
+                        source.remove(from, from + 1 + random.nextInt(Math.min(5, size - from - 1)));
+                    }
+                    break;
+                case 5:
+                    if (random.nextInt(10) == 0) {
+                        FXCollections.sort(source);
+                    }
+                    break;
+                default:
+                    // every other modulus divides the previous one
+                    if (modulus < 8 && random.nextBoolean()) {
+                        modulus *= 2;
+                        final int m = modulus;
+                        filtered.narrowPredicate(e -> e % m == 0);
+                    } else if (modulus > 1) {
+                        modulus /= 2;
+                        final int m = modulus;
+                        filtered.widenPredicate(e -> e % m == 0);
+                    }
+                    break;
+            }
+            final int m = modulus;
+            assertEquals(source.stream().filter(e -> e % m == 0).collect(Collectors.toList()), filtered);
+            assertEquals(copy, filtered);
+            for (int j = 0; j < filtered.size(); ++j) {
+                assertSame(filtered.get(j), source.get(filtered.getSourceIndex(j)));
+            }
+        }
+    }
 }
@@ -34,6 +34,7 @@ import java.util.Collections;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
+import java.util.Random;
 
 import javafx.beans.Observable;
 import javafx.beans.property.SimpleObjectProperty;
@@ -201,7 +202,7 @@ public class SortedListTest {
         ObservableList<Person> expected = FXCollections.observableArrayList(
                 new Person("five"), new Person("one"), new Person("three"),
                 new Person("two"), new Person("zero"));
-        listener.checkPermutation(0, expected, 0, list.size(), new int[]{0, 4, 1, 2, 3});
+        listener.checkPermutation(0, expected, 1, 5, new int[]{4, 1, 2, 3});
         listener.checkUpdate(1, expected, 4, 5);
         assertEquals(expected, sorted);
     }
@@ -234,7 +235,7 @@ public class SortedListTest {
         ObservableList<Person> expected = FXCollections.observableArrayList(
                 new Person("five"), new Person("one"), new Person("three"),
                 new Person("two"), new Person("zero"));
-        listener.checkPermutation(0, expected, 0, expected.size(), new int[] {0, 4, 1, 2, 3});
+        listener.checkPermutation(0, expected, 1, 5, new int[] {4, 1, 2, 3});
         listener.checkUpdate(1, expected, 4, 5);
         assertEquals(expected, sorted);
         assertEquals(expected, unsorted);
@@ -312,11 +313,24 @@ public class SortedListTest {
             list.add(i);
         }
         Permutator<Integer> permutator = new Permutator<Integer>(list);
-        SortedList<Integer> sorted = new SortedList<Integer>(permutator);
+        SortedList<Integer> sorted = new SortedList<Integer>(permutator, Comparator.naturalOrder());
         permutator.swap();
         assertEquals(0, sorted.getSourceIndex(sorted.size() - 1));
     }
 
+    @Test
+    public void testPermutateUnsorted() {
+        List<Integer> list = new ArrayList<Integer>();
+        for (int i = 0; i < 3; i++) {
+            list.add(i);
+        }
+        Permutator<Integer> permutator = new Permutator<Integer>(list);
+        SortedList<Integer> sorted = new SortedList<Integer>(permutator);
+        permutator.swap();
+        assertEquals(permutator, sorted);
+        assertEquals(2, sorted.getSourceIndex(sorted.size() - 1));
+    }
+
     @Test
     public void testUnsorted() {
         SortedList<String> sorted = new SortedList<>(list);
@@ -480,4 +494,142 @@ public class SortedListTest {
         assertEquals(Arrays.asList("a", "e", "d", "c"), sortedList);
         mockListObserver.check1Permutation(sortedList, new int[] {0, 3, 2, 1});
     }
+
+    @Test
+    public void testMutableElementWithDuplicates() {
+        ObservableList<Person> list = FXCollections.observableArrayList(
+                (Person p) -> new Observable[]{p.name});
+        list.addAll(new Person("b"), new Person("a"), new Person("b"), new Person("c"), new Person("b"));
+        SortedList<Person> sorted = list.sorted();
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+
+        Person moved = list.get(1);
+        moved.name.set("b"); // a -> b, stays in front of the other "b"s
+        assertSame(moved, sorted.get(0));
+        listener.check1Update(sorted, 0, 1);
+
+        listener.clear();
+        moved = list.get(0);
+        moved.name.set("d"); // first "b" -> d
+        assertSame(moved, sorted.get(4));
+        listener.checkPermutation(0, sorted, 1, 5, new int[]{4, 1, 2, 3});
+        listener.checkUpdate(1, sorted, 4, 5);
+        assertEquals(2, sorted.getSourceIndex(1));
+        assertEquals(4, sorted.getSourceIndex(2));
+        assertEquals(3, sorted.getSourceIndex(3));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(42);
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        SortedList<Integer> sorted = source.sorted();
+        List<Integer> copy = new ArrayList<>();
+        sorted.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    List<Integer> permuted = new ArrayList<>(copy);
+                    for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                        permuted.set(c.getPermutation(i), copy.get(i));
+                    }
+                    copy.clear();
+                    copy.addAll(permuted);
+                } else if (!c.wasUpdated()) {
+                    copy.subList(c.getFrom(), c.getFrom() + c.getRemovedSize()).clear();
+                    copy.addAll(c.getFrom(), c.getAddedSubList());
+                }
+            }
+        });
+
+        for (int i = 0; i < 2000; ++i) {
+            final int size = source.size();
+            switch (random.nextInt(4)) {
+                case 0:
+                    source.add(random.nextInt(size + 1), random.nextInt(100));
+                    break;
+                case 1:
+                    if (size > 0) {
+                        source.remove(random.nextInt(size));
+                    }
+                    break;
+                case 2:
+                    if (size > 0) {
+                        source.set(random.nextInt(size), random.nextInt(100));
+                    }
+                    break;
+                default:
+                    if (size > 2) {
+                        int from = random.nextInt(size - 1);
+                        source.remove(from, from + 1 + random.nextInt(Math.min(5, size - from - 1)));
+                    }
+                    break;
+            }
+            assertEquals(copy, sorted);
+            for (int j = 0; j < sorted.size(); ++j) {
+                assertSame(sorted.get(j), source.get(sorted.getSourceIndex(j)));
+                if (j > 0) {
+                    assertTrue(sorted.get(j - 1) <= sorted.get(j));
+                }
+            }
+        }
+
+        sorted.setComparator(null);
+        assertEquals(source, sorted);
+        assertEquals(copy, sorted);
+    }
+
+    @Test
+    public void testMutableElementsInBatch() {
+        ObservableList<Person> list = createPersonsList();
+        SortedList<Person> sorted = list.sorted();
+        MockListObserver<Person> listener = new MockListObserver<>();
+        sorted.addListener(listener);
+
+        FXCollections.beginChange(list);
+        list.get(3).name.set("zero"); // four -> zero
+        list.get(0).name.set("alpha"); // one -> alpha
+        FXCollections.endChange(list);
+
+        ObservableList<Person> expected = FXCollections.observableArrayList(
+                new Person("alpha"), new Person("five"), new Person("three"),
+                new Person("two"), new Person("zero"));
+        assertEquals(expected, sorted);
+        assertEquals(3, listener.calls.size());
+        listener.checkPermutation(0, expected, 0, list.size(), new int[]{1, 4, 0, 2, 3});
+        listener.checkUpdate(1, expected, 0, 1);
+        listener.checkUpdate(2, expected, 4, 5);
+    }
+
+    @Test
+    public void testParallelSortMatchesSequentialSort() {
+        Random random = new Random(17);
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 40000; ++i) {
+            source.add(random.nextInt(1000));
+        }
+        // compares on a coarser key, so that the order of equal elements shows
+        Comparator<Integer> byHundreds = (o1, o2) -> Integer.compare(o1 / 100, o2 / 100);
+        SortedList<Integer> sequential = new SortedList<>(source);
+        SortedList<Integer> parallel = new SortedList<>(source);
+        parallel.setParallelSort(true);
+        assertTrue(parallel.isParallelSort());
+        assertFalse(sequential.isParallelSort());
+
+        sequential.setComparator(byHundreds);
+        parallel.setComparator(byHundreds);
+        assertSameMapping(sequential, parallel);
+
+        List<Integer> shuffled = new ArrayList<>(source);
+        Collections.shuffle(shuffled, random);
+        source.setAll(shuffled);
+        assertSameMapping(sequential, parallel);
+    }
+
+    private static void assertSameMapping(SortedList<Integer> expected, SortedList<Integer> actual) {
+        assertEquals(expected, actual);
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.getSourceIndex(i), actual.getSourceIndex(i));
+        }
+    }
 }
@@ -118,7 +118,7 @@ public class SourceAdapterChangeTest {
         ObservableList<Person> expected = FXCollections.observableArrayList(
                 new Person("five"), new Person("one"), new Person("three"),
                 new Person("two"), new Person("zero"));
-        mlo.checkPermutation(0, expected, 0, expected.size(), new int[] {0, 4, 1, 2, 3});
+        mlo.checkPermutation(0, expected, 1, 5, new int[] {4, 1, 2, 3});
         mlo.checkUpdate(1, expected, 4, 5);
     }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class StagingListTest {
+
+    private StagingList<String> staging;
+
+    @Before
+    public void setUp() {
+        staging = new StagingList<>();
+    }
+
+    @Test
+    public void testAddGetSetRemove() {
+        staging.add("a");
+        staging.add("c");
+        staging.add(1, "b");
+        staging.addAll(Arrays.asList("d", "e"));
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), staging);
+        assertEquals("c", staging.set(2, "x"));
+        assertEquals("a", staging.remove(0));
+        assertEquals(Arrays.asList("b", "x", "d", "e"), staging);
+        staging.clear();
+        assertTrue(staging.isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        staging = new StagingList<>(10);
+        staging.add("a");
+        staging.get(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCapacity() {
+        new StagingList<String>(-1);
+    }
+
+    @Test
+    public void testGenerate() {
+        staging.add("first");
+        staging.generate(10000, i -> Integer.toString(i));
+        assertEquals(10001, staging.size());
+        assertEquals("first", staging.get(0));
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(Integer.toString(i), staging.get(i + 1));
+        }
+    }
+
+    @Test
+    public void testSort() {
+        final Random random = new Random(42);
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            final String s = Integer.toString(random.nextInt(5000));
+            staging.add(s);
+            expected.add(s);
+        }
+        staging.sort(null);
+        Collections.sort(expected);
+        assertEquals(expected, staging);
+
+        staging.sort(Comparator.reverseOrder());
+        Collections.sort(expected, Comparator.reverseOrder());
+        assertEquals(expected, staging);
+    }
+
+    @Test
+    public void testSortIsStable() {
+        final StagingList<int[]> pairs = new StagingList<>();
+        pairs.generate(20000, i -> new int[] {i % 7, i});
+        pairs.sort(Comparator.comparingInt(p -> p[0]));
+        for (int i = 1; i < pairs.size(); i++) {
+            final int[] p0 = pairs.get(i - 1);
+            final int[] p1 = pairs.get(i);
+            assertTrue(p0[0] < p1[0] || (p0[0] == p1[0] && p0[1] < p1[1]));
+        }
+    }
+
+    @Test
+    public void testPublishFiresSingleChange() {
+        final ObservableList<String> target = FXCollections.observableArrayList("old1", "old2");
+        final MockListObserver<String> observer = new MockListObserver<>();
+        target.addListener(observer);
+        staging.generate(1000, i -> "new" + i);
+
+        staging.publishTo(target);
+        observer.check1AddRemove(target, Arrays.asList("old1", "old2"), 0, 1000);
+        assertEquals(1000, target.size());
+        assertEquals("new999", target.get(999));
+        assertTrue(staging.isEmpty());
+    }
+
+    @Test
+    public void testPublishWithExtractor() {
+        final ObservableList<IntegerProperty> target =
+                FXCollections.observableArrayList(p -> new IntegerProperty[] {p});
+        final StagingList<IntegerProperty> properties = new StagingList<>();
+        properties.generate(10, SimpleIntegerProperty::new);
+        properties.publishTo(target);
+
+        final MockListObserver<IntegerProperty> observer = new MockListObserver<>();
+        target.addListener(observer);
+        target.get(5).set(42);
+        observer.check1Update(target, 5, 6);
+    }
+
+    @Test
+    public void testIteratorFailsFastOnStructuralChanges() {
+        final List<Runnable> changes = Arrays.asList(
+                () -> staging.add("d"),
+                () -> staging.add(0, "d"),
+                () -> staging.addAll(Arrays.asList("d", "e")),
+                () -> staging.remove(0),
+                () -> staging.clear(),
+                () -> staging.generate(2, i -> "g" + i),
+                () -> staging.sort(null));
+        for (Runnable change : changes) {
+            staging.clear();
+            staging.addAll(Arrays.asList("c", "a", "b"));
+            final Iterator<String> it = staging.iterator();
+            it.next();
+            change.run();
+            try {
+                it.next();
+                fail("Expected ConcurrentModificationException");
+            } catch (ConcurrentModificationException e) {
+                // expected
+            }
+        }
+    }
+}
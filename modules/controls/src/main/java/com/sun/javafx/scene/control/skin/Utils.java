@@ -85,10 +85,15 @@ public class Utils {
      * but irrelevant when computing the width.
      *
      * Note: This code assumes that TextBoundsType#VISUAL is never used by controls.
+     *
+     * Each thread has its own TextLayout, as controls may be measured on
+     * several threads at once (see Parent#parallelLayoutProperty).
      * */
-    static final TextLayout layout = Toolkit.getToolkit().getTextLayoutFactory().createLayout();
+    private static final ThreadLocal<TextLayout> layoutRef =
+            ThreadLocal.withInitial(() -> Toolkit.getToolkit().getTextLayoutFactory().createLayout());
 
     static double getAscent(Font font, TextBoundsType boundsType) {
+        final TextLayout layout = layoutRef.get();
         layout.setContent("", font.impl_getNativeFont());
         layout.setWrapWidth(0);
         layout.setLineSpacing(0);
@@ -101,6 +106,7 @@ public class Utils {
     }
 
     static double getLineHeight(Font font, TextBoundsType boundsType) {
+        final TextLayout layout = layoutRef.get();
         layout.setContent("", font.impl_getNativeFont());
         layout.setWrapWidth(0);
         layout.setLineSpacing(0);
@@ -115,6 +121,7 @@ public class Utils {
     }
 
     static double computeTextWidth(Font font, String text, double wrappingWidth) {
+        final TextLayout layout = layoutRef.get();
         layout.setContent(text != null ? text : "", font.impl_getNativeFont());
         layout.setWrapWidth((float)wrappingWidth);
         return layout.getBounds().getWidth();
@@ -126,6 +133,7 @@ public class Utils {
 
     @SuppressWarnings("deprecation")
     static double computeTextHeight(Font font, String text, double wrappingWidth, double lineSpacing, TextBoundsType boundsType) {
+        final TextLayout layout = layoutRef.get();
         layout.setContent(text != null ? text : "", font.impl_getNativeFont());
         layout.setWrapWidth((float)wrappingWidth);
         layout.setLineSpacing((float)lineSpacing);
@@ -431,61 +431,86 @@ public class TableView<S> extends Control {
      */
     public static final Callback<TableView, Boolean> DEFAULT_SORT_POLICY = new Callback<TableView, Boolean>() {
         @Override public Boolean call(TableView table) {
-            try {
-                ObservableList<?> itemsList = table.getItems();
-                if (itemsList instanceof SortedList) {
-                    // it is the responsibility of the SortedList to bind to the
-                    // comparator provided by the TableView. However, we don't
-                    // want to fail the sort (which would put the UI in an
-                    // inconsistent state), so we return true here, but only if
-                    // the SortedList has its comparator bound to the TableView
-                    // comparator property.
-                    SortedList sortedList = (SortedList) itemsList;
-                    boolean comparatorsBound = sortedList.comparatorProperty().
-                            isEqualTo(table.comparatorProperty()).get();
-
-                    if (! comparatorsBound) {
-                        // this isn't a good situation to be in, so lets log it
-                        // out in case the developer is unaware
-                        if (Logging.getControlsLogger().isEnabled()) {
-                            String s = "TableView items list is a SortedList, but the SortedList " +
-                                    "comparator should be bound to the TableView comparator for " +
-                                    "sorting to be enabled (e.g. " +
-                                    "sortedList.comparatorProperty().bind(tableView.comparatorProperty());).";
-                            Logging.getControlsLogger().info(s);
-                        }
-                    }
-                    return comparatorsBound;
-                } else {
-                    if (itemsList == null || itemsList.isEmpty()) {
-                        // sorting is not supported on null or empty lists
-                        return true;
-                    }
+            return sort(table, false);
+        }
+    };
+
+    /**
+     * A {@link #sortPolicyProperty() sort policy} that behaves like
+     * {@link #DEFAULT_SORT_POLICY}, except that large items lists are sorted
+     * with {@link FXCollections#parallelSort(ObservableList, Comparator)}.
+     * The comparators of the sort order columns are then called from several
+     * threads at once, so they must be thread-safe and must not touch the
+     * scene graph. An items list that is a {@link SortedList} is left to sort
+     * itself, in parallel only if its
+     * {@link SortedList#parallelSortProperty() parallelSort} property is set.
+     * @since JavaFX 8u60
+     */
+    public static final Callback<TableView, Boolean> PARALLEL_SORT_POLICY = new Callback<TableView, Boolean>() {
+        @Override public Boolean call(TableView table) {
+            return sort(table, true);
+        }
+    };
 
-                    Comparator comparator = table.getComparator();
-                    if (comparator == null) {
-                        return true;
+    private static boolean sort(TableView table, boolean parallel) {
+        try {
+            ObservableList<?> itemsList = table.getItems();
+            if (itemsList instanceof SortedList) {
+                // it is the responsibility of the SortedList to bind to the
+                // comparator provided by the TableView. However, we don't
+                // want to fail the sort (which would put the UI in an
+                // inconsistent state), so we return true here, but only if
+                // the SortedList has its comparator bound to the TableView
+                // comparator property.
+                SortedList sortedList = (SortedList) itemsList;
+                boolean comparatorsBound = sortedList.comparatorProperty().
+                        isEqualTo(table.comparatorProperty()).get();
+
+                if (! comparatorsBound) {
+                    // this isn't a good situation to be in, so lets log it
+                    // out in case the developer is unaware
+                    if (Logging.getControlsLogger().isEnabled()) {
+                        String s = "TableView items list is a SortedList, but the SortedList " +
+                                "comparator should be bound to the TableView comparator for " +
+                                "sorting to be enabled (e.g. " +
+                                "sortedList.comparatorProperty().bind(tableView.comparatorProperty());).";
+                        Logging.getControlsLogger().info(s);
                     }
+                }
+                return comparatorsBound;
+            } else {
+                if (itemsList == null || itemsList.isEmpty()) {
+                    // sorting is not supported on null or empty lists
+                    return true;
+                }
 
-                    // otherwise we attempt to do a manual sort, and if successful
-                    // we return true
-                    FXCollections.sort(itemsList, comparator);
+                Comparator comparator = table.getComparator();
+                if (comparator == null) {
                     return true;
                 }
-            } catch (UnsupportedOperationException e) {
-                // TODO might need to support other exception types including:
-                // ClassCastException - if the class of the specified element prevents it from being added to this list
-                // NullPointerException - if the specified element is null and this list does not permit null elements
-                // IllegalArgumentException - if some property of this element prevents it from being added to this list
 
-                // If we are here the list does not support sorting, so we gracefully 
-                // fail the sort request and ensure the UI is put back to its previous
-                // state. This is handled in the code that calls the sort policy.
-                
-                return false;
+                // otherwise we attempt to do a manual sort, and if successful
+                // we return true
+                if (parallel) {
+                    FXCollections.parallelSort(itemsList, comparator);
+                } else {
+                    FXCollections.sort(itemsList, comparator);
+                }
+                return true;
             }
+        } catch (UnsupportedOperationException e) {
+            // TODO might need to support other exception types including:
+            // ClassCastException - if the class of the specified element prevents it from being added to this list
+            // NullPointerException - if the specified element is null and this list does not permit null elements
+            // IllegalArgumentException - if some property of this element prevents it from being added to this list
+
+            // If we are here the list does not support sorting, so we gracefully 
+            // fail the sort request and ensure the UI is put back to its previous
+            // state. This is handled in the code that calls the sort policy.
+            
+            return false;
         }
-    };
+    }
     
     
     
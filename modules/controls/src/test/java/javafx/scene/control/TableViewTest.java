@@ -543,6 +543,16 @@ public class TableViewTest {
         VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Apple", "Banana", "Orange");
     }
     
+    @Test public void testParallelSortPolicySortsItemsList() {
+        TableColumn<String, String> col = initSortTestStructure();
+        table.setSortPolicy((Callback<TableView<String>, Boolean>)(Object) TableView.PARALLEL_SORT_POLICY);
+        col.setSortType(DESCENDING);
+        table.getSortOrder().add(col);
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Orange", "Banana", "Apple");
+        col.setSortType(ASCENDING);
+        VirtualFlowTestUtils.assertListContainsItemsInOrder(table.getItems(), "Apple", "Banana", "Orange");
+    }
+
     @Test public void testChangingSortPolicyDoesNotUpdateItemsListWhenTheSortOrderListIsEmpty() {
         TableColumn<String, String> col = initSortTestStructure();
         col.setSortType(DESCENDING);
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import com.sun.javafx.css.parser.CSSParser;
+import com.sun.javafx.util.Logging;
+import sun.util.logging.PlatformLogger;
+import sun.util.logging.PlatformLogger.Level;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+
+/**
+ * An on-disk cache of parsed stylesheets in binary format. When the
+ * {@code javafx.css.binaryCacheDir} system property names a directory, a .css
+ * file is parsed once and written there in the .bss format, and later launches
+ * read the binary stylesheet instead of parsing the .css file again.
+ * <p>
+ * A cache file is named after the URL of the stylesheet. It starts with the
+ * binary CSS version and a digest of the stylesheet content, and is used only
+ * while both still match. Stylesheets with an {@code @import} are not cached
+ * because their content does not cover the imported stylesheets.
+ */
+final class BinaryStylesheetCache {
+
+    private static final PlatformLogger LOGGER = Logging.getCSSLogger();
+
+    private static volatile File cacheDir =
+            AccessController.doPrivileged((PrivilegedAction<File>) () -> {
+                final String dir = System.getProperty("javafx.css.binaryCacheDir");
+                return dir != null && !dir.trim().isEmpty() ? new File(dir.trim()) : null;
+            });
+
+    private BinaryStylesheetCache() {
+    }
+
+    // package for testing
+    static File getCacheDir() {
+        return cacheDir;
+    }
+
+    // package for testing
+    static void setCacheDir(File dir) {
+        cacheDir = dir;
+    }
+
+    /**
+     * Parse the .css file at the url, or read it from the cache if it has been
+     * parsed before. Same as {@code new CSSParser().parse(url)} when there is
+     * no cache directory.
+     */
+    static Stylesheet parse(URL url) throws IOException {
+
+        final File dir = cacheDir;
+        if (dir == null) {
+            return new CSSParser().parse(url);
+        }
+
+        final String path = url.toExternalForm();
+        final byte[] content = readContent(url);
+        final byte[] digest = digest(content);
+        if (digest == null) {
+            return new CSSParser().parse(url);
+        }
+
+        final File file = new File(dir, toHexString(digest(path.getBytes(StandardCharsets.UTF_8))) + ".bss");
+        Stylesheet stylesheet = AccessController.doPrivileged((PrivilegedAction<Stylesheet>) () -> read(file, path, digest));
+        if (stylesheet != null) {
+            return stylesheet;
+        }
+
+        // CSSParser.parse(URL) reads the file with the default charset as well
+        stylesheet = new CSSParser().parse(path, new String(content, Charset.defaultCharset()));
+
+        if (!containsImport(content)) {
+            final Stylesheet parsed = stylesheet;
+            AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                write(file, digest, parsed);
+                return null;
+            });
+        }
+        return stylesheet;
+    }
+
+    private static Stylesheet read(File file, String url, byte[] digest) {
+
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (DataInputStream is = new DataInputStream(new FileInputStream(file))) {
+
+            if (is.readShort() != Stylesheet.BINARY_CSS_VERSION) {
+                return null;
+            }
+
+            final byte[] cachedDigest = new byte[is.readUnsignedByte()];
+            is.readFully(cachedDigest);
+            if (!Arrays.equals(digest, cachedDigest)) {
+                return null;
+            }
+
+            return Stylesheet.loadBinary(is, url);
+
+        } catch (IOException | RuntimeException e) {
+            // The file is damaged. Parse the stylesheet and write the file again.
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Could not read cached stylesheet " + file + " for " + url + ": " + e);
+            }
+            return null;
+        }
+    }
+
+    private static void write(File file, byte[] digest, Stylesheet stylesheet) {
+
+        File tmp = null;
+        try {
+            final File dir = file.getParentFile();
+            if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+                throw new IOException("cannot create directory " + dir);
+            }
+
+            // write to a temporary file first so that other processes
+            // never see a partly written file
+            tmp = File.createTempFile("css", ".tmp", dir);
+            try (DataOutputStream os = new DataOutputStream(new FileOutputStream(tmp))) {
+                os.writeShort(Stylesheet.BINARY_CSS_VERSION);
+                os.writeByte(digest.length);
+                os.write(digest);
+                Stylesheet.writeBinary(stylesheet, os);
+            }
+
+            try {
+                Files.move(tmp.toPath(), file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            tmp = null;
+
+        } catch (IOException | SecurityException e) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Could not cache stylesheet " + stylesheet.getUrl() + " in " + file + ": " + e);
+            }
+        } finally {
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+    }
+
+    private static byte[] readContent(URL url) throws IOException {
+        try (InputStream is = url.openStream()) {
+            final ByteArrayOutputStream content = new ByteArrayOutputStream(16 * 1024);
+            final byte[] buffer = new byte[8 * 1024];
+            int n;
+            while ((n = is.read(buffer)) != -1) {
+                content.write(buffer, 0, n);
+            }
+            return content.toByteArray();
+        }
+    }
+
+    // not looking for security, just a checksum. MD5 should be faster than SHA
+    private static byte[] digest(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static String toHexString(byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(2 * bytes.length);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    // true if the content has "@import", ignoring case
+    private static boolean containsImport(byte[] content) {
+        final byte[] token = "@import".getBytes(StandardCharsets.US_ASCII);
+        outer: for (int i = 0, iMax = content.length - token.length; i <= iMax; i++) {
+            for (int j = 0; j < token.length; j++) {
+                if (Character.toLowerCase(content[i + j]) != token[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A map which holds a limited number of entries. When the limit is exceeded,
+ * the least recently used entry is evicted. Lookups through {@link #get}
+ * and evictions are counted in the {@link Stats} of the cache, which may be
+ * shared by several caches of the same kind, e.g. by the caches of all
+ * scenes. The limit is taken from the Stats too, so changing it applies to
+ * all of these caches the next time an entry is added to them.
+ */
+final class BoundedCache<K,V> extends LinkedHashMap<K,V> {
+
+    /**
+     * The limit and the counters of a kind of cache.
+     */
+    static final class Stats {
+
+        private final String name;
+        private volatile int limit;
+
+        // only updated with the styleLock held, or on the FX thread
+        private volatile long hits;
+        private volatile long misses;
+        private volatile long evictions;
+
+        /**
+         * The limit is read from the system property
+         * {@code javafx.css.cache.<name>}, if set.
+         */
+        Stats(final String name, final int defaultLimit) {
+            this.name = name;
+            final Integer value = AccessController.doPrivileged(
+                    (PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.css.cache." + name, defaultLimit));
+            this.limit = Math.max(1, value);
+        }
+
+        String getName() { return name; }
+
+        int getLimit() { return limit; }
+
+        void setLimit(int limit) {
+            if (limit < 1) {
+                throw new IllegalArgumentException("limit must be positive: " + limit);
+            }
+            this.limit = limit;
+        }
+
+        long getHits() { return hits; }
+
+        long getMisses() { return misses; }
+
+        long getEvictions() { return evictions; }
+
+        void resetCounters() {
+            hits = misses = evictions = 0;
+        }
+
+        @Override public String toString() {
+            return name + " [limit=" + limit + ", hits=" + hits
+                    + ", misses=" + misses + ", evictions=" + evictions + "]";
+        }
+    }
+
+    private final Stats stats;
+
+    BoundedCache(Stats stats) {
+        super(16, 0.75f, true);
+        this.stats = stats;
+    }
+
+    /**
+     * Returns the value mapped to the key and counts a hit, or a miss if the
+     * key is not in the cache. A null value counts as a hit if it was put in
+     * the cache explicitly.
+     */
+    @Override
+    public V get(Object key) {
+        final V value = super.get(key);
+        if (value != null || containsKey(key)) {
+            stats.hits++;
+        } else {
+            stats.misses++;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value mapped to the key like {@link #get}, but doesn't
+     * count the lookup.
+     */
+    V peek(Object key) {
+        return super.get(key);
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K,V> eldest) {
+        // more than one entry is evicted if the limit was lowered
+        final int limit = stats.limit;
+        if (size() > limit) {
+            final Iterator<K> iterator = keySet().iterator();
+            while (size() > limit) {
+                iterator.next();
+                iterator.remove();
+                stats.evictions++;
+            }
+        }
+        return false;
+    }
+}
@@ -69,6 +69,10 @@ public class CascadingStyle implements Comparable<CascadingStyle> {
         return style.getDeclaration().getProperty();
     }
     
+    public Set<PseudoClass> getPseudoClasses() {
+        return pseudoClasses;
+    }
+
     // Wrapper to make StyleHelper's life a little easier
     public Selector getSelector() {
         return style.getSelector();
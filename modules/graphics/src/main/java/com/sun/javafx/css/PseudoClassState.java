@@ -27,10 +27,11 @@ package com.sun.javafx.css;
 import javafx.css.PseudoClass;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * States represents a set of State. A {@code Node} may be in more than
@@ -136,25 +137,25 @@ public final class PseudoClassState extends BitSet<PseudoClass> {
             throw new IllegalArgumentException("pseudoClass cannot be null or empty String");
         }
 
-        PseudoClass instance = null;
-        
         final Integer value = pseudoClassMap.get(pseudoClass);
-        final int index = value != null ? value.intValue() : -1;
-        
-        final int size = pseudoClasses.size();
-        assert index < size;
-        
-        if (index != -1 && index < size) {
-            instance = pseudoClasses.get(index);
+        if (value != null) {
+            return pseudoClasses.get(value.intValue());
         }
-        
-        if (instance == null) {
-            instance = new PseudoClassImpl(pseudoClass, size);
+
+        // Stylesheets may be parsed on background threads, so new instances
+        // are registered under a lock. Lookups don't need the lock.
+        synchronized (pseudoClasses) {
+            final Integer index = pseudoClassMap.get(pseudoClass);
+            if (index != null) {
+                return pseudoClasses.get(index.intValue());
+            }
+
+            final int size = pseudoClasses.size();
+            final PseudoClass instance = new PseudoClassImpl(pseudoClass, size);
             pseudoClasses.add(instance);
             pseudoClassMap.put(pseudoClass, Integer.valueOf(size));
+            return instance;
         }
-        
-        return instance;
     }
    
     static PseudoClass getPseudoClass(int index) {
@@ -166,10 +167,10 @@ public final class PseudoClassState extends BitSet<PseudoClass> {
    
     // package private for unit test purposes
     static final Map<String,Integer> pseudoClassMap = 
-            new HashMap<String,Integer>(64);
+            new ConcurrentHashMap<String,Integer>(64);
 
     static final List<PseudoClass> pseudoClasses =
-            new ArrayList<PseudoClass>();
+            new CopyOnWriteArrayList<PseudoClass>();
 
 }
 
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import static com.sun.javafx.css.StyleManager.IMAGE_STATS;
+import static com.sun.javafx.css.StyleManager.INLINE_STYLE_STATS;
+import static com.sun.javafx.css.StyleManager.SELECTOR_SET_STATS;
+import static com.sun.javafx.css.StyleManager.STYLE_CACHE_STATS;
+import static com.sun.javafx.css.StyleManager.STYLE_MAP_KEY_STATS;
+import static com.sun.javafx.css.StyleManager.STYLE_MAP_STATS;
+import static com.sun.javafx.css.StyleManager.STYLESHEET_SET_STATS;
+
+/**
+ * Exposes the sizes, limits and counters of the caches of the StyleManager.
+ */
+public final class StyleCacheMonitor implements StyleCacheMonitorMBean {
+
+    public static StyleCacheMonitor getDefaultBean() {
+        return StyleCacheMonitorHolder.holder;
+    }
+
+    private static class StyleCacheMonitorHolder {
+        private static final StyleCacheMonitor holder = new StyleCacheMonitor();
+    }
+
+    private StyleCacheMonitor() {
+    }
+
+    @Override
+    public int getCacheContainerCount() {
+        return StyleManager.getInstance().getCacheContainerCount();
+    }
+
+    @Override
+    public int getStylesheetSetCacheSize() {
+        return StyleManager.getInstance().getCacheSize(STYLESHEET_SET_STATS);
+    }
+
+    @Override
+    public int getStylesheetSetCacheLimit() {
+        return STYLESHEET_SET_STATS.getLimit();
+    }
+
+    @Override
+    public void setStylesheetSetCacheLimit(int limit) {
+        STYLESHEET_SET_STATS.setLimit(limit);
+    }
+
+    @Override
+    public long getStylesheetSetCacheHits() {
+        return STYLESHEET_SET_STATS.getHits();
+    }
+
+    @Override
+    public long getStylesheetSetCacheMisses() {
+        return STYLESHEET_SET_STATS.getMisses();
+    }
+
+    @Override
+    public long getStylesheetSetCacheEvictions() {
+        return STYLESHEET_SET_STATS.getEvictions();
+    }
+
+    @Override
+    public int getSelectorSetCacheSize() {
+        return StyleManager.getInstance().getCacheSize(SELECTOR_SET_STATS);
+    }
+
+    @Override
+    public int getSelectorSetCacheLimit() {
+        return SELECTOR_SET_STATS.getLimit();
+    }
+
+    @Override
+    public void setSelectorSetCacheLimit(int limit) {
+        SELECTOR_SET_STATS.setLimit(limit);
+    }
+
+    @Override
+    public long getSelectorSetCacheHits() {
+        return SELECTOR_SET_STATS.getHits();
+    }
+
+    @Override
+    public long getSelectorSetCacheMisses() {
+        return SELECTOR_SET_STATS.getMisses();
+    }
+
+    @Override
+    public long getSelectorSetCacheEvictions() {
+        return SELECTOR_SET_STATS.getEvictions();
+    }
+
+    @Override
+    public int getStyleMapCacheSize() {
+        return StyleManager.getInstance().getCacheSize(STYLE_MAP_STATS);
+    }
+
+    @Override
+    public int getStyleMapCacheLimit() {
+        return STYLE_MAP_STATS.getLimit();
+    }
+
+    @Override
+    public void setStyleMapCacheLimit(int limit) {
+        STYLE_MAP_STATS.setLimit(limit);
+    }
+
+    @Override
+    public long getStyleMapCacheHits() {
+        return STYLE_MAP_STATS.getHits();
+    }
+
+    @Override
+    public long getStyleMapCacheMisses() {
+        return STYLE_MAP_STATS.getMisses();
+    }
+
+    @Override
+    public long getStyleMapCacheEvictions() {
+        return STYLE_MAP_STATS.getEvictions();
+    }
+
+    @Override
+    public int getStyleMapKeyCacheSize() {
+        return StyleManager.getInstance().getCacheSize(STYLE_MAP_KEY_STATS);
+    }
+
+    @Override
+    public int getStyleMapKeyCacheLimit() {
+        return STYLE_MAP_KEY_STATS.getLimit();
+    }
+
+    @Override
+    public void setStyleMapKeyCacheLimit(int limit) {
+        STYLE_MAP_KEY_STATS.setLimit(limit);
+    }
+
+    @Override
+    public long getStyleMapKeyCacheHits() {
+        return STYLE_MAP_KEY_STATS.getHits();
+    }
+
+    @Override
+    public long getStyleMapKeyCacheMisses() {
+        return STYLE_MAP_KEY_STATS.getMisses();
+    }
+
+    @Override
+    public long getStyleMapKeyCacheEvictions() {
+        return STYLE_MAP_KEY_STATS.getEvictions();
+    }
+
+    @Override
+    public int getStyleCacheSize() {
+        return StyleManager.getInstance().getCacheSize(STYLE_CACHE_STATS);
+    }
+
+    @Override
+    public int getStyleCacheLimit() {
+        return STYLE_CACHE_STATS.getLimit();
+    }
+
+    @Override
+    public void setStyleCacheLimit(int limit) {
+        STYLE_CACHE_STATS.setLimit(limit);
+    }
+
+    @Override
+    public long getStyleCacheHits() {
+        return STYLE_CACHE_STATS.getHits();
+    }
+
+    @Override
+    public long getStyleCacheMisses() {
+        return STYLE_CACHE_STATS.getMisses();
+    }
+
+    @Override
+    public long getStyleCacheEvictions() {
+        return STYLE_CACHE_STATS.getEvictions();
+    }
+
+    @Override
+    public int getInlineStyleCacheSize() {
+        return StyleManager.getInstance().getCacheSize(INLINE_STYLE_STATS);
+    }
+
+    @Override
+    public int getInlineStyleCacheLimit() {
+        return INLINE_STYLE_STATS.getLimit();
+    }
+
+    @Override
+    public void setInlineStyleCacheLimit(int limit) {
+        INLINE_STYLE_STATS.setLimit(limit);
+    }
+
+    @Override
+    public long getInlineStyleCacheHits() {
+        return INLINE_STYLE_STATS.getHits();
+    }
+
+    @Override
+    public long getInlineStyleCacheMisses() {
+        return INLINE_STYLE_STATS.getMisses();
+    }
+
+    @Override
+    public long getInlineStyleCacheEvictions() {
+        return INLINE_STYLE_STATS.getEvictions();
+    }
+
+    @Override
+    public int getImageCacheSize() {
+        return StyleManager.getInstance().getCacheSize(IMAGE_STATS);
+    }
+
+    @Override
+    public int getImageCacheLimit() {
+        return IMAGE_STATS.getLimit();
+    }
+
+    @Override
+    public void setImageCacheLimit(int limit) {
+        IMAGE_STATS.setLimit(limit);
+    }
+
+    @Override
+    public long getImageCacheHits() {
+        return IMAGE_STATS.getHits();
+    }
+
+    @Override
+    public long getImageCacheMisses() {
+        return IMAGE_STATS.getMisses();
+    }
+
+    @Override
+    public long getImageCacheEvictions() {
+        return IMAGE_STATS.getEvictions();
+    }
+
+    @Override
+    public void resetCounters() {
+        STYLESHEET_SET_STATS.resetCounters();
+        SELECTOR_SET_STATS.resetCounters();
+        STYLE_MAP_STATS.resetCounters();
+        STYLE_MAP_KEY_STATS.resetCounters();
+        STYLE_CACHE_STATS.resetCounters();
+        INLINE_STYLE_STATS.resetCounters();
+        IMAGE_STATS.resetCounters();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+/**
+ * Management interface of the caches of the StyleManager. For each kind of
+ * cache, the size is the number of entries of the caches of all scenes, and
+ * the limit is the maximum number of entries of the cache of each scene
+ * (images are cached once for all scenes). The limits can also be set with
+ * the system properties {@code javafx.css.cache.stylesheetSets},
+ * {@code javafx.css.cache.selectorSets}, {@code javafx.css.cache.styleMaps},
+ * {@code javafx.css.cache.styleMapKeys}, {@code javafx.css.cache.styleCaches}, {@code javafx.css.cache.inlineStyles}
+ * and {@code javafx.css.cache.images}.
+ */
+public interface StyleCacheMonitorMBean {
+
+    // the number of scenes and sub-scenes with caches
+    public int getCacheContainerCount();
+
+    // the sets of stylesheets that apply to a part of the scene graph
+
+    public int getStylesheetSetCacheSize();
+
+    public int getStylesheetSetCacheLimit();
+
+    public void setStylesheetSetCacheLimit(int limit);
+
+    public long getStylesheetSetCacheHits();
+
+    public long getStylesheetSetCacheMisses();
+
+    public long getStylesheetSetCacheEvictions();
+
+    // the selectors that may match a node, for each set of stylesheets
+    // (the limit applies to each set)
+
+    public int getSelectorSetCacheSize();
+
+    public int getSelectorSetCacheLimit();
+
+    public void setSelectorSetCacheLimit(int limit);
+
+    public long getSelectorSetCacheHits();
+
+    public long getSelectorSetCacheMisses();
+
+    public long getSelectorSetCacheEvictions();
+
+    // the styles matching the nodes
+
+    public int getStyleMapCacheSize();
+
+    public int getStyleMapCacheLimit();
+
+    public void setStyleMapCacheLimit(int limit);
+
+    public long getStyleMapCacheHits();
+
+    public long getStyleMapCacheMisses();
+
+    public long getStyleMapCacheEvictions();
+
+    // the ids of the style maps by matched selectors, for each set of
+    // selectors that may match a node (the limit applies to each set)
+
+    public int getStyleMapKeyCacheSize();
+
+    public int getStyleMapKeyCacheLimit();
+
+    public void setStyleMapKeyCacheLimit(int limit);
+
+    public long getStyleMapKeyCacheHits();
+
+    public long getStyleMapKeyCacheMisses();
+
+    public long getStyleMapKeyCacheEvictions();
+
+    // the values calculated from the styles
+
+    public int getStyleCacheSize();
+
+    public int getStyleCacheLimit();
+
+    public void setStyleCacheLimit(int limit);
+
+    public long getStyleCacheHits();
+
+    public long getStyleCacheMisses();
+
+    public long getStyleCacheEvictions();
+
+    // the parsed inline styles (Node.style)
+
+    public int getInlineStyleCacheSize();
+
+    public int getInlineStyleCacheLimit();
+
+    public void setInlineStyleCacheLimit(int limit);
+
+    public long getInlineStyleCacheHits();
+
+    public long getInlineStyleCacheMisses();
+
+    public long getInlineStyleCacheEvictions();
+
+    // the images referenced by styles
+
+    public int getImageCacheSize();
+
+    public int getImageCacheLimit();
+
+    public void setImageCacheLimit(int limit);
+
+    public long getImageCacheHits();
+
+    public long getImageCacheMisses();
+
+    public long getImageCacheEvictions();
+
+    public void resetCounters();
+}
@@ -24,11 +24,11 @@
  */
 package com.sun.javafx.css;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * States represents a set of State. A {@code Node} may be in more than
@@ -126,25 +126,25 @@ public final class StyleClassSet  extends BitSet<StyleClass> {
             throw new IllegalArgumentException("styleClass cannot be null or empty String");
         }
 
-        StyleClass instance = null;
-        
         final Integer value = styleClassMap.get(styleClass);
-        final int index = value != null ? value.intValue() : -1;
-        
-        final int size = styleClasses.size();
-        assert index < size;
-        
-        if (index != -1 && index < size) {
-            instance = styleClasses.get(index);
+        if (value != null) {
+            return styleClasses.get(value.intValue());
         }
-        
-        if (instance == null) {
-            instance = new StyleClass(styleClass, size);
+
+        // Stylesheets may be parsed on background threads, so new instances
+        // are registered under a lock. Lookups don't need the lock.
+        synchronized (styleClasses) {
+            final Integer index = styleClassMap.get(styleClass);
+            if (index != null) {
+                return styleClasses.get(index.intValue());
+            }
+
+            final int size = styleClasses.size();
+            final StyleClass instance = new StyleClass(styleClass, size);
             styleClasses.add(instance);
             styleClassMap.put(styleClass, Integer.valueOf(size));
+            return instance;
         }
-        
-        return instance;
     }
 
    static StyleClass getStyleClass(int index) {
@@ -156,10 +156,10 @@ public final class StyleClassSet  extends BitSet<StyleClass> {
    
     // package private for unit test purposes
     static final Map<String,Integer> styleClassMap = 
-            new HashMap<String,Integer>(64);
+            new ConcurrentHashMap<String,Integer>(64);
 
     static final List<StyleClass> styleClasses =
-            new ArrayList<StyleClass>();
+            new CopyOnWriteArrayList<StyleClass>();
      
 }
 
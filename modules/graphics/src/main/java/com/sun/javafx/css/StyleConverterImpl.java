@@ -37,6 +37,7 @@ import sun.util.logging.PlatformLogger.Level;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
@@ -88,8 +89,10 @@ public class StyleConverterImpl<F, T> extends StyleConverter<F, T> {
         cache.put(key, value);
     }
 
-    // map of StyleConverter class name to StyleConverter
-    private static Map<String,StyleConverter<?, ?>> tmap;
+    // map of StyleConverter class name to StyleConverter. Binary stylesheets
+    // may be read on several threads at once.
+    private static final Map<String,StyleConverter<?, ?>> tmap =
+            Collections.synchronizedMap(new HashMap<String,StyleConverter<?,?>>());
 
     @SuppressWarnings("rawtypes")
     public static StyleConverter<?,?> readBinary(DataInputStream is, String[] strings)
@@ -105,7 +108,7 @@ public class StyleConverterImpl<F, T> extends StyleConverter<F, T> {
         }
 
         // Make a new entry in tmap, if necessary
-        if (tmap == null || !tmap.containsKey(cname)) {
+        if (!tmap.containsKey(cname)) {
             StyleConverter<?,?> converter = getInstance(cname);
             if (converter == null) {
                 final PlatformLogger logger = Logging.getCSSLogger();
@@ -116,7 +119,6 @@ public class StyleConverterImpl<F, T> extends StyleConverter<F, T> {
             if (converter == null) {
                 System.err.println("could not deserialize " + cname);
             }
-            if (tmap == null) tmap = new HashMap<String,StyleConverter<?,?>>();
             tmap.put(cname, converter);
             return converter;
         }
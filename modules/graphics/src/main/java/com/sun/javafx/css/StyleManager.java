@@ -26,6 +26,7 @@
 package com.sun.javafx.css;
 
 import com.sun.javafx.css.parser.CSSParser;
+import com.sun.javafx.runtime.async.BackgroundExecutor;
 import javafx.application.Application;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener.Change;
@@ -66,14 +67,20 @@ import java.security.PrivilegedExceptionAction;
 import java.security.ProtectionDomain;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -159,6 +166,25 @@ final public class StyleManager {
     // package for testing
     static final Map<Parent, CacheContainer> cacheContainerMap = new WeakHashMap<>();
 
+    /*
+     * The limits and counters of the caches of the StyleManager, shared by
+     * the caches of all scenes. See StyleCacheMonitor.
+     */
+    // the style maps
+    static final BoundedCache.Stats STYLE_MAP_STATS = new BoundedCache.Stats("styleMaps", 10000);
+    // the sets of stylesheets that apply to a part of the scene graph
+    static final BoundedCache.Stats STYLESHEET_SET_STATS = new BoundedCache.Stats("stylesheetSets", 100);
+    // the selectors that may match a node, by node type, id and style classes
+    static final BoundedCache.Stats SELECTOR_SET_STATS = new BoundedCache.Stats("selectorSets", 5000);
+    // the ids of the style maps by matched selectors and inline style
+    static final BoundedCache.Stats STYLE_MAP_KEY_STATS = new BoundedCache.Stats("styleMapKeys", 10000);
+    // the calculated values shared by nodes with the same styles
+    static final BoundedCache.Stats STYLE_CACHE_STATS = new BoundedCache.Stats("styleCaches", 10000);
+    // the parsed Node.style strings
+    static final BoundedCache.Stats INLINE_STYLE_STATS = new BoundedCache.Stats("inlineStyles", 2000);
+    // the images loaded from urls in stylesheets
+    static final BoundedCache.Stats IMAGE_STATS = new BoundedCache.Stats("images", 256);
+
     // package for testing
     CacheContainer getCacheContainer(Styleable styleable, SubScene subScene) {
 
@@ -226,6 +252,30 @@ final public class StyleManager {
         return container.getStyleMap(smapId);
     }
 
+    // for StyleCacheMonitor
+    int getCacheContainerCount() {
+        synchronized (styleLock) {
+            return cacheContainerMap.size();
+        }
+    }
+
+    /**
+     * Returns the number of entries of the caches counted in the given stats.
+     */
+    // package for testing
+    int getCacheSize(BoundedCache.Stats stats) {
+        synchronized (styleLock) {
+            if (stats == IMAGE_STATS) {
+                return imageCache.size();
+            }
+            int size = 0;
+            for (CacheContainer container : cacheContainerMap.values()) {
+                size += container.getCacheSize(stats);
+            }
+            return size;
+        }
+    }
+
     /**
      * A list of user-agent stylesheets from Scene or SubScene.
      * The order of the entries in this list does not matter since a Scene or
@@ -753,17 +803,15 @@ final public class StyleManager {
     //
     ////////////////////////////////////////////////////////////////////////////
 
-    private final Map<String,Image> imageCache = new HashMap<String,Image>();
+    // Nodes keep a reference to the images they use, so an evicted image is
+    // only loaded again if a style needs it after it was evicted.
+    private final Map<String,Image> imageCache = new BoundedCache<>(IMAGE_STATS);
 
     public Image getCachedImage(String url) {
 
         synchronized (styleLock) {
-            Image image = null;
-            if (imageCache.containsKey(url)) {
-
-                image = imageCache.get(url);
-
-            } else {
+            Image image = imageCache.get(url);
+            if (image == null && imageCache.containsKey(url) == false) {
 
                 try {
 
@@ -1030,119 +1078,199 @@ final public class StyleManager {
     }
 
 
+    // Stylesheets are parsed without holding the styleLock so that several
+    // of them can be parsed at once, see loadStylesheets.
     private static Stylesheet loadStylesheetUnPrivileged(final String fname) {
 
-        synchronized (styleLock) {
-            Boolean parse = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
-
-                final String bss = System.getProperty("binary.css");
-                // binary.css is true by default.
-                // parse only if the file is not a .bss
-                // and binary.css is set to false
-                return (!fname.endsWith(".bss") && bss != null) ?
-                    !Boolean.valueOf(bss) : Boolean.FALSE;
-            });
+        Boolean parse = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
 
-            try {
-                final String ext = (parse) ? (".css") : (".bss");
-                java.net.URL url = null;
-                Stylesheet stylesheet = null;
-                // check if url has extension, if not then just url as is and always parse as css text
-                if (!(fname.endsWith(".css") || fname.endsWith(".bss"))) {
-                    url = getURL(fname);
-                    parse = true;
-                } else {
-                    final String name = fname.substring(0, fname.length() - 4);
+            final String bss = System.getProperty("binary.css");
+            // binary.css is true by default.
+            // parse only if the file is not a .bss
+            // and binary.css is set to false
+            return (!fname.endsWith(".bss") && bss != null) ?
+                !Boolean.valueOf(bss) : Boolean.FALSE;
+        });
 
-                    url = getURL(name+ext);
-                    if (url == null && (parse = !parse)) {
-                        // If we failed to get the URL for the .bss file,
-                        // fall back to the .css file.
-                        // Note that 'parse' is toggled in the test.
-                        url = getURL(name+".css");
-                    }
+        try {
+            final String ext = (parse) ? (".css") : (".bss");
+            java.net.URL url = null;
+            Stylesheet stylesheet = null;
+            // check if url has extension, if not then just url as is and always parse as css text
+            if (!(fname.endsWith(".css") || fname.endsWith(".bss"))) {
+                url = getURL(fname);
+                parse = true;
+            } else {
+                final String name = fname.substring(0, fname.length() - 4);
+
+                url = getURL(name+ext);
+                if (url == null && (parse = !parse)) {
+                    // If we failed to get the URL for the .bss file,
+                    // fall back to the .css file.
+                    // Note that 'parse' is toggled in the test.
+                    url = getURL(name+".css");
+                }
 
-                    if ((url != null) && !parse) {
+                if ((url != null) && !parse) {
 
-                        try {
-                            // RT-36332: if loadBinary throws an IOException, make sure to try .css
-                            stylesheet = Stylesheet.loadBinary(url);
-                        } catch (IOException ioe) {
-                            stylesheet = null;
-                        }
+                    try {
+                        // RT-36332: if loadBinary throws an IOException, make sure to try .css
+                        stylesheet = Stylesheet.loadBinary(url);
+                    } catch (IOException ioe) {
+                        stylesheet = null;
+                    }
 
-                        if (stylesheet == null && (parse = !parse)) {
-                            // If we failed to load the .bss file,
-                            // fall back to the .css file.
-                            // Note that 'parse' is toggled in the test.
-                            url = getURL(fname);
-                        }
+                    if (stylesheet == null && (parse = !parse)) {
+                        // If we failed to load the .bss file,
+                        // fall back to the .css file.
+                        // Note that 'parse' is toggled in the test.
+                        url = getURL(fname);
                     }
                 }
+            }
 
-                // either we failed to load the .bss file, or parse
-                // was set to true.
-                if ((url != null) && parse) {
-                    stylesheet = new CSSParser().parse(url);
-                }
+            // either we failed to load the .bss file, or parse
+            // was set to true.
+            if ((url != null) && parse) {
+                stylesheet = BinaryStylesheetCache.parse(url);
+            }
 
-                if (stylesheet == null) {
-                    if (errors != null) {
-                        CssError error =
-                            new CssError(
-                                "Resource \""+fname+"\" not found."
-                            );
-                        errors.add(error);
-                    }
-                    if (getLogger().isLoggable(Level.WARNING)) {
-                        getLogger().warning(
-                            String.format("Resource \"%s\" not found.", fname)
+            if (stylesheet == null) {
+                if (errors != null) {
+                    CssError error =
+                        new CssError(
+                            "Resource \""+fname+"\" not found."
                         );
-                    }
+                    errors.add(error);
+                }
+                if (getLogger().isLoggable(Level.WARNING)) {
+                    getLogger().warning(
+                        String.format("Resource \"%s\" not found.", fname)
+                    );
                 }
+            }
 
-                // load any fonts from @font-face
-                if (stylesheet != null) {
-                    faceLoop: for(FontFace fontFace: stylesheet.getFontFaces()) {
-                        for(FontFace.FontFaceSrc src: fontFace.getSources()) {
-                            if (src.getType() == FontFace.FontFaceSrcType.URL) {
-                                Font loadedFont = Font.loadFont(src.getSrc(),10);
-                                if (loadedFont == null) {
-                                    getLogger().info("Could not load @font-face font [" + src.getSrc() + "]");
-                                }
-                                continue faceLoop;
+            // load any fonts from @font-face
+            if (stylesheet != null) {
+                faceLoop: for(FontFace fontFace: stylesheet.getFontFaces()) {
+                    for(FontFace.FontFaceSrc src: fontFace.getSources()) {
+                        if (src.getType() == FontFace.FontFaceSrcType.URL) {
+                            Font loadedFont = Font.loadFont(src.getSrc(),10);
+                            if (loadedFont == null) {
+                                getLogger().info("Could not load @font-face font [" + src.getSrc() + "]");
                             }
+                            continue faceLoop;
                         }
                     }
                 }
+            }
 
-                return stylesheet;
+            return stylesheet;
 
-            } catch (FileNotFoundException fnfe) {
+        } catch (FileNotFoundException fnfe) {
+            if (errors != null) {
+                CssError error =
+                    new CssError(
+                        "Stylesheet \""+fname+"\" not found."
+                    );
+                errors.add(error);
+            }
+            if (getLogger().isLoggable(Level.INFO)) {
+                getLogger().info("Could not find stylesheet: " + fname);//, fnfe);
+            }
+        } catch (IOException ioe) {
                 if (errors != null) {
                     CssError error =
                         new CssError(
-                            "Stylesheet \""+fname+"\" not found."
+                            "Could not load stylesheet: " + fname
                         );
                     errors.add(error);
                 }
-                if (getLogger().isLoggable(Level.INFO)) {
-                    getLogger().info("Could not find stylesheet: " + fname);//, fnfe);
-                }
-            } catch (IOException ioe) {
-                    if (errors != null) {
-                        CssError error =
-                            new CssError(
-                                "Could not load stylesheet: " + fname
-                            );
-                        errors.add(error);
-                    }
-                if (getLogger().isLoggable(Level.INFO)) {
-                    getLogger().info("Could not load stylesheet: " + fname);//, ioe);
-                }
+            if (getLogger().isLoggable(Level.INFO)) {
+                getLogger().info("Could not load stylesheet: " + fname);//, ioe);
             }
-            return null;
         }
+        return null;
+    }
+
+    /*
+     * When more than one stylesheet needs to be loaded at once, they are
+     * parsed concurrently on background threads. Set javafx.css.parallelLoad
+     * to false to load them one after the other.
+     */
+    private static final boolean PARALLEL_LOAD =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
+                final String value = System.getProperty("javafx.css.parallelLoad");
+                return value == null || Boolean.valueOf(value);
+            });
+
+    /*
+     * Load the stylesheets concurrently and return them mapped by fname. A
+     * stylesheet that could not be loaded maps to null. The returned map is
+     * empty when the caller should load the stylesheets one at a time, which
+     * is also the case while errors are collected since the errors list is
+     * not thread-safe.
+     */
+    private static Map<String,Stylesheet> loadStylesheets(final Collection<String> fnames) {
+
+        if (!PARALLEL_LOAD || fnames.size() < 2 || errors != null) {
+            return Collections.emptyMap();
+        }
+
+        // the background threads load the stylesheets with the caller's
+        // access control context and context class loader
+        final AccessControlContext acc = AccessController.getContext();
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final ExecutorService executor = BackgroundExecutor.getExecutor();
+
+        final Iterator<String> iterator = fnames.iterator();
+        final String first = iterator.next();
+        final Map<String,Future<Stylesheet>> futures = new LinkedHashMap<>();
+        while (iterator.hasNext()) {
+            final String fname = iterator.next();
+            futures.put(fname, executor.submit(() -> loadStylesheet(fname, contextClassLoader, acc)));
+        }
+
+        final Map<String,Stylesheet> stylesheets = new HashMap<>();
+
+        // the calling thread does its share of the work
+        stylesheets.put(first, loadStylesheet(first));
+
+        for (Entry<String,Future<Stylesheet>> entry : futures.entrySet()) {
+            try {
+                stylesheets.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                // leave it to the caller to load the stylesheet again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return stylesheets;
+    }
+
+    private static Stylesheet loadStylesheet(final String fname, final ClassLoader contextClassLoader, final AccessControlContext acc) {
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader loader = thread.getContextClassLoader();
+        setContextClassLoader(thread, contextClassLoader);
+        try {
+            return AccessController.doPrivileged((PrivilegedAction<Stylesheet>) () -> loadStylesheet(fname), acc);
+        } finally {
+            setContextClassLoader(thread, loader);
+        }
+    }
+
+    private static void setContextClassLoader(final Thread thread, final ClassLoader loader) {
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            thread.setContextClassLoader(loader);
+            return null;
+        });
+    }
+
+    // Use the stylesheet from loadStylesheets if there is one
+    private static Stylesheet loadStylesheet(final String fname, final Map<String,Stylesheet> loaded) {
+        return loaded.containsKey(fname) ? loaded.get(fname) : loadStylesheet(fname);
     }
 
     ////////////////////////////////////////////////////////////////////////////
@@ -1190,6 +1318,15 @@ final public class StyleManager {
                 if (isSame) return;
             }
 
+            // load the stylesheets all at once
+            final Set<String> fnames = new LinkedHashSet<>();
+            for (int n=0, nMax=urls.size(); n < nMax; n++) {
+                final String url = urls.get(n);
+                final String fname = (url != null) ? url.trim() : null;
+                if (fname != null && !fname.isEmpty()) fnames.add(fname);
+            }
+            final Map<String,Stylesheet> loaded = loadStylesheets(fnames);
+
             boolean modified = false;
 
             for (int n=0, nMax=urls.size(); n < nMax; n++) {
@@ -1206,9 +1343,9 @@ final public class StyleManager {
                 }
 
                 if (n==0) {
-                    _setDefaultUserAgentStylesheet(fname);
+                    _setDefaultUserAgentStylesheet(fname, loaded);
                 } else {
-                    _addUserAgentStylesheet(fname);
+                    _addUserAgentStylesheet(fname, loaded);
                 }
             }
 
@@ -1257,6 +1394,10 @@ final public class StyleManager {
 
     // fname is assumed to be non null and non empty
     private boolean _addUserAgentStylesheet(String fname) {
+        return _addUserAgentStylesheet(fname, Collections.<String,Stylesheet>emptyMap());
+    }
+
+    private boolean _addUserAgentStylesheet(String fname, Map<String,Stylesheet> loaded) {
 
         synchronized (styleLock) {
             // if we already have this stylesheet, bail
@@ -1267,7 +1408,7 @@ final public class StyleManager {
                 }
             }
 
-            final Stylesheet ua_stylesheet = loadStylesheet(fname);
+            final Stylesheet ua_stylesheet = loadStylesheet(fname, loaded);
 
             if (ua_stylesheet == null) return false;
 
@@ -1355,6 +1496,10 @@ final public class StyleManager {
 
     // fname is expected to be non null and non empty
     private boolean _setDefaultUserAgentStylesheet(String fname) {
+        return _setDefaultUserAgentStylesheet(fname, Collections.<String,Stylesheet>emptyMap());
+    }
+
+    private boolean _setDefaultUserAgentStylesheet(String fname, Map<String,Stylesheet> loaded) {
 
         synchronized (styleLock) {
             // if we already have this stylesheet, make sure it is the first element
@@ -1374,7 +1519,7 @@ final public class StyleManager {
                 }
             }
 
-            final Stylesheet ua_stylesheet = loadStylesheet(fname);
+            final Stylesheet ua_stylesheet = loadStylesheet(fname, loaded);
 
             if (ua_stylesheet == null) return false;
 
@@ -1503,6 +1648,20 @@ final public class StyleManager {
     private List<StylesheetContainer> processStylesheets(List<String> stylesheets, Parent parent) {
 
         synchronized (styleLock) {
+
+            // load the stylesheets that aren't loaded yet all at once
+            Set<String> fnames = null;
+            for (int n = 0, nMax = stylesheets.size(); n < nMax; n++) {
+                final String fname = stylesheets.get(n);
+                if (!stylesheetContainerMap.containsKey(fname)) {
+                    if (fnames == null) fnames = new LinkedHashSet<>();
+                    fnames.add(fname);
+                }
+            }
+            final Map<String,Stylesheet> loaded = fnames != null
+                    ? loadStylesheets(fnames)
+                    : Collections.<String,Stylesheet>emptyMap();
+
             final List<StylesheetContainer> list = new ArrayList<StylesheetContainer>();
             for (int n = 0, nMax = stylesheets.size(); n < nMax; n++) {
                 final String fname = stylesheets.get(n);
@@ -1535,7 +1694,7 @@ final public class StyleManager {
                     container.parentUsers.add(parent);
 
                 } else {
-                    final Stylesheet stylesheet = loadStylesheet(fname);
+                    final Stylesheet stylesheet = loadStylesheet(fname, loaded);
                     // stylesheet may be null which would mean that some IOException
                     // was thrown while trying to load it. Add it to the
                     // stylesheetContainerMap anyway as this will prevent further
@@ -1896,14 +2055,14 @@ final public class StyleManager {
     static class CacheContainer {
 
         private Map<StyleCache.Key,StyleCache> getStyleCache() {
-            if (styleCache == null) styleCache = new HashMap<StyleCache.Key, StyleCache>();
+            if (styleCache == null) styleCache = new BoundedCache<StyleCache.Key, StyleCache>(STYLE_CACHE_STATS);
             return styleCache;
         }
 
         private Map<Key,Cache> getCacheMap(List<StylesheetContainer> parentStylesheets, String regionUserAgentStylesheet) {
 
             if (cacheMap == null) {
-                cacheMap = new HashMap<List<String>,Map<Key,Cache>>();
+                cacheMap = new BoundedCache<List<String>,Map<Key,Cache>>(STYLESHEET_SET_STATS);
             }
 
             synchronized (styleLock) {
@@ -1912,7 +2071,7 @@ final public class StyleManager {
 
                     Map<Key,Cache> cmap = cacheMap.get(null);
                     if (cmap == null) {
-                        cmap = new HashMap<Key,Cache>();
+                        cmap = new BoundedCache<Key,Cache>(SELECTOR_SET_STATS);
                         cacheMap.put(null, cmap);
                     }
                     return cmap;
@@ -1933,7 +2092,7 @@ final public class StyleManager {
                     }
                     Map<Key,Cache> cmap = cacheMap.get(cacheMapKey);
                     if (cmap == null) {
-                        cmap = new HashMap<Key,Cache>();
+                        cmap = new BoundedCache<Key,Cache>(SELECTOR_SET_STATS);
                         cacheMap.put(cacheMapKey, cmap);
                         // create a new cacheMapKey the next time this method is called
                         cacheMapKey = null;
@@ -1948,36 +2107,70 @@ final public class StyleManager {
 
         }
 
-        private List<StyleMap> getStyleMapList() {
-            if (styleMapList == null) styleMapList = new ArrayList<StyleMap>();
-            return styleMapList;
+        private BoundedCache<Integer,StyleMap> getStyleMaps() {
+            if (styleMaps == null) styleMaps = new BoundedCache<Integer, StyleMap>(STYLE_MAP_STATS);
+            return styleMaps;
         }
 
         private int nextSmapId() {
-            styleMapId = baseStyleMapId + getStyleMapList().size();
-            return styleMapId;
+            return styleMapId++;
         }
 
         private void addStyleMap(StyleMap smap) {
-            getStyleMapList().add(smap);
+            getStyleMaps().put(smap.getId(), smap);
         }
 
+        /**
+         * Returns the style map with the given id, or null if it was evicted
+         * from the cache. An id from before the cache was cleared gives an
+         * empty map.
+         */
         public StyleMap getStyleMap(int smapId) {
 
-            final int correctedId = smapId - baseStyleMapId;
-
-            if (0 <= correctedId && correctedId < getStyleMapList().size()) {
-                return getStyleMapList().get(correctedId);
+            if (baseStyleMapId <= smapId && smapId < styleMapId) {
+                return getStyleMaps().peek(smapId);
             }
 
             return StyleMap.EMPTY_MAP;
         }
 
+        private int getCacheSize(BoundedCache.Stats stats) {
+            if (stats == STYLESHEET_SET_STATS) {
+                return cacheMap != null ? cacheMap.size() : 0;
+            }
+            if (stats == SELECTOR_SET_STATS) {
+                int size = 0;
+                if (cacheMap != null) {
+                    for (Map<Key,Cache> caches : cacheMap.values()) {
+                        size += caches.size();
+                    }
+                }
+                return size;
+            }
+            if (stats == STYLE_MAP_KEY_STATS) {
+                int size = 0;
+                if (cacheMap != null) {
+                    for (Map<Key,Cache> caches : cacheMap.values()) {
+                        for (Cache cache : caches.values()) {
+                            size += cache.cache.size();
+                        }
+                    }
+                }
+                return size;
+            }
+            final Map<?,?> cache =
+                    stats == STYLE_MAP_STATS ? styleMaps
+                    : stats == STYLE_CACHE_STATS ? styleCache
+                    : stats == INLINE_STYLE_STATS ? inlineStylesCache
+                    : null;
+            return cache != null ? cache.size() : 0;
+        }
+
         private void clearCache() {
 
             if (cacheMap != null) cacheMap.clear();
             if (styleCache != null) styleCache.clear();
-            if (styleMapList != null) styleMapList.clear();
+            if (styleMaps != null) styleMaps.clear();
 
             baseStyleMapId = styleMapId;
             // 7/8ths is totally arbitrary
@@ -1994,19 +2187,20 @@ final public class StyleManager {
             // If there are no styles for this property then we can just bail
             if ((inlineStyle == null) || inlineStyle.trim().isEmpty()) return null;
 
-            if (inlineStylesCache != null && inlineStylesCache.containsKey(inlineStyle)) {
+            if (inlineStylesCache == null) {
+                inlineStylesCache = new BoundedCache<>(INLINE_STYLE_STATS);
+            }
+
+            final Selector cachedSelector = inlineStylesCache.get(inlineStyle);
+            if (cachedSelector != null || inlineStylesCache.containsKey(inlineStyle)) {
                 // Value of Map entry may be null!
-                return inlineStylesCache.get(inlineStyle);
+                return cachedSelector;
             }
 
             //
-            // inlineStyle wasn't in the inlineStylesCache, or inlineStylesCache was null
+            // inlineStyle wasn't in the inlineStylesCache
             //
 
-            if (inlineStylesCache == null) {
-                inlineStylesCache = new HashMap<>();
-            }
-
             final Stylesheet inlineStylesheet =
                     new CSSParser().parse("*{"+inlineStyle+"}");
 
@@ -2042,7 +2236,10 @@ final public class StyleManager {
 
         private Map<List<String>, Map<Key,Cache>> cacheMap;
 
-        private List<StyleMap> styleMapList;
+        // The style maps by id. Nodes hold on to the style maps they use,
+        // see CssStyleHelper, so evicting one only costs the reuse of its
+        // id by the nodes that match the same styles later.
+        private BoundedCache<Integer,StyleMap> styleMaps;
 
         /**
          * Cache of parsed, inline styles. The key is Node.style.
@@ -2053,7 +2250,7 @@ final public class StyleManager {
         /*
          * A simple counter used to generate a unique id for a StyleMap.
          * This unique id is used by StyleHelper in figuring out which
-         * style cache to use.
+         * style cache to use. This is the id of the next StyleMap.
          */
         private int styleMapId = 0;
 
@@ -2122,7 +2319,7 @@ final public class StyleManager {
 
         Cache(List<Selector> selectors) {
             this.selectors = selectors;
-            this.cache = new HashMap<Key, Integer>();
+            this.cache = new BoundedCache<Key, Integer>(STYLE_MAP_KEY_STATS);
         }
 
         private StyleMap getStyleMap(CacheContainer cacheContainer, Node node, Set<PseudoClass>[] triggerStates, boolean hasInlineStyle) {
@@ -2185,12 +2382,11 @@ final public class StyleManager {
             final String inlineStyle = node.getStyle();
             final Key keyObj = new Key(key, inlineStyle);
 
-            if (cache.containsKey(keyObj)) {
-                Integer styleMapId = cache.get(keyObj);
-                final StyleMap styleMap = styleMapId != null
-                        ? cacheContainer.getStyleMap(styleMapId.intValue())
-                        : StyleMap.EMPTY_MAP;
-                return styleMap;
+            final Integer styleMapId = cache.get(keyObj);
+            if (styleMapId != null) {
+                final StyleMap styleMap = cacheContainer.getStyleMap(styleMapId.intValue());
+                // if the style map was evicted, make a new one
+                if (styleMap != null) return styleMap;
             }
 
             final List<Selector> selectors = new ArrayList<>();
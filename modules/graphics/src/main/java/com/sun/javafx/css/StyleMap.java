@@ -29,8 +29,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A map of property name to the cascading styles that match a node.
@@ -152,6 +155,59 @@ public final class StyleMap {
         return cascadingStyles;
     }
 
+    /**
+     * Returns the names these styles may read from the styles of the parents
+     * of a node: the looked-up names used in the values, and the properties
+     * whose value is "inherit".
+     */
+    public Set<String> getReferencedNames() {
+
+        if (referencedNames == null) {
+
+            final Set<String> names = new HashSet<>();
+            for (List<CascadingStyle> styles : getCascadingStyles().values()) {
+                for (int n=0, nMax=styles.size(); n<nMax; n++) {
+                    final CascadingStyle style = styles.get(n);
+                    final ParsedValueImpl value = style.getParsedValueImpl();
+                    if (value != null && "inherit".equals(value.getValue())) {
+                        names.add(style.getProperty());
+                    } else {
+                        addLookups(value, names);
+                    }
+                }
+            }
+            referencedNames = names.isEmpty() ? Collections.<String>emptySet() : names;
+        }
+
+        return referencedNames;
+    }
+
+    private static void addLookups(final ParsedValueImpl value, final Set<String> names) {
+
+        if (value == null) return;
+
+        if (value.isLookup() && value.getValue() instanceof String) {
+            names.add(((String) value.getValue()).toLowerCase(Locale.ROOT));
+        }
+
+        if (!value.isContainsLookups()) return;
+
+        final Object val = value.getValue();
+        if (val instanceof ParsedValueImpl[][]) {
+            final ParsedValueImpl[][] layers = (ParsedValueImpl[][])val;
+            for (int l=0; l<layers.length; l++) {
+                for (int ll=0; ll<layers[l].length; ll++) {
+                    addLookups(layers[l][ll], names);
+                }
+            }
+        } else if (val instanceof ParsedValueImpl[]) {
+            final ParsedValueImpl[] layer = (ParsedValueImpl[])val;
+            for (int l=0; l<layer.length; l++) {
+                addLookups(layer[l], names);
+            }
+        }
+    }
+
     private static final Comparator<CascadingStyle> cascadingStyleComparator =
             (o1, o2) -> {
 
@@ -176,4 +232,5 @@ public final class StyleMap {
     private final int id; // unique per container
     private List<Selector> selectors;
     private Map<String, List<CascadingStyle>> cascadingStyles;
+    private Set<String> referencedNames;
 }
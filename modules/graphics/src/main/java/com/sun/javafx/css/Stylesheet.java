@@ -39,6 +39,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
@@ -240,46 +242,59 @@ public class Stylesheet {
 
         Stylesheet stylesheet = null;
 
-        try (DataInputStream dataInputStream =
-                     new DataInputStream(new BufferedInputStream(url.openStream(), 40 * 1024))) {
+        try (InputStream inputStream = url.openStream()) {
 
-            // read file version
-            final int bssVersion = dataInputStream.readShort();
-            if (bssVersion > Stylesheet.BINARY_CSS_VERSION) {
-                throw new IOException(url.toString() + " wrong binary CSS version: "
-                        + bssVersion + ". Expected version less than or equal to" +
-                        Stylesheet.BINARY_CSS_VERSION);
-            }
-            // read strings
-            final String[] strings = StringStore.readBinary(dataInputStream);
-            // read binary data
-            stylesheet = new Stylesheet(url.toExternalForm());
+            stylesheet = loadBinary(inputStream, url.toExternalForm());
 
-            try {
+        } catch (FileNotFoundException fnfe) {
+            // This comes from url.openStream() and is expected.
+            // It just means that the .bss file doesn't exist.
+        }
 
-                dataInputStream.mark(Integer.MAX_VALUE);
-                stylesheet.readBinary(bssVersion, dataInputStream, strings);
+        // return stylesheet
+        return stylesheet;
+    }
 
-            } catch (Exception e) {
+    /**
+     * Read a binary stylesheet from the stream. The url is the url of the
+     * returned stylesheet, which need not be where the stream comes from.
+     */
+    static Stylesheet loadBinary(InputStream inputStream, String url) throws IOException {
 
-                stylesheet = new Stylesheet(url.toExternalForm());
+        final DataInputStream dataInputStream =
+                new DataInputStream(new BufferedInputStream(inputStream, 40 * 1024));
 
-                dataInputStream.reset();
+        // read file version
+        final int bssVersion = dataInputStream.readShort();
+        if (bssVersion > Stylesheet.BINARY_CSS_VERSION) {
+            throw new IOException(url + " wrong binary CSS version: "
+                    + bssVersion + ". Expected version less than or equal to" +
+                    Stylesheet.BINARY_CSS_VERSION);
+        }
+        // read strings
+        final String[] strings = StringStore.readBinary(dataInputStream);
+        // read binary data
+        Stylesheet stylesheet = new Stylesheet(url);
 
-                if (bssVersion == 2) {
-                    // RT-31022
-                    stylesheet.readBinary(3, dataInputStream, strings);
-                } else {
-                    stylesheet.readBinary(Stylesheet.BINARY_CSS_VERSION, dataInputStream, strings);
-                }
-            }
+        try {
 
-        } catch (FileNotFoundException fnfe) {
-            // This comes from url.openStream() and is expected.
-            // It just means that the .bss file doesn't exist.
+            dataInputStream.mark(Integer.MAX_VALUE);
+            stylesheet.readBinary(bssVersion, dataInputStream, strings);
+
+        } catch (Exception e) {
+
+            stylesheet = new Stylesheet(url);
+
+            dataInputStream.reset();
+
+            if (bssVersion == 2) {
+                // RT-31022
+                stylesheet.readBinary(3, dataInputStream, strings);
+            } else {
+                stylesheet.readBinary(Stylesheet.BINARY_CSS_VERSION, dataInputStream, strings);
+            }
         }
 
-        // return stylesheet
         return stylesheet;
     }
 
@@ -312,6 +327,17 @@ public class Stylesheet {
         URI sourceURI = source.toURI();
         Stylesheet stylesheet = new CSSParser().parse(sourceURI.toURL());
 
+        try (OutputStream os = new FileOutputStream(destination)) {
+            writeBinary(stylesheet, os);
+        }
+    }
+
+    /**
+     * Write the stylesheet to the stream in binary format, readable by
+     * {@link #loadBinary(URL)}.
+     */
+    static void writeBinary(Stylesheet stylesheet, OutputStream out) throws IOException {
+
         // first write all the css binary data into the buffer and collect strings on way
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         DataOutputStream dos = new DataOutputStream(baos);
@@ -320,8 +346,7 @@ public class Stylesheet {
         dos.flush();
         dos.close();
 
-        FileOutputStream fos = new FileOutputStream(destination);
-        DataOutputStream os = new DataOutputStream(fos);
+        DataOutputStream os = new DataOutputStream(out);
 
         // write file version
         os.writeShort(BINARY_CSS_VERSION);
@@ -332,7 +357,6 @@ public class Stylesheet {
         // write binary css
         os.write(baos.toByteArray());
         os.flush();
-        os.close();
     }
 
     // Add the rules from the other stylesheet to this one
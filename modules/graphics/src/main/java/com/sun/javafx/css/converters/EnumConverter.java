@@ -37,6 +37,7 @@ import sun.util.logging.PlatformLogger.Level;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -86,7 +87,7 @@ public final class EnumConverter<E extends Enum<E>> extends StyleConverterImpl<S
 
         if (ename == null || ename.isEmpty()) return null;
 
-        if (converters == null || converters.containsKey(ename) == false) {
+        if (converters.containsKey(ename) == false) {
             StyleConverter<?,?> converter = getInstance(ename);
 
             if (converter == null) {
@@ -96,14 +97,15 @@ public final class EnumConverter<E extends Enum<E>> extends StyleConverterImpl<S
                 }
             }
 
-            if (converters == null) converters = new HashMap<String,StyleConverter<?,?>>();
             converters.put(ename, converter);
             return converter;
         }
         return converters.get(ename);
     }
 
-    private static Map<String,StyleConverter<?,?>> converters;
+    // binary stylesheets may be read on several threads at once
+    private static final Map<String,StyleConverter<?,?>> converters =
+            Collections.synchronizedMap(new HashMap<String,StyleConverter<?,?>>());
 
     // package for unit testing
     static public StyleConverter<?,?> getInstance(final String ename) {
@@ -3861,8 +3861,10 @@ final public class CSSParser {
 
     }
 
-    // keep track of what is in process of being parsed to avoid import loops
-    private static Stack<String> imports;
+    // keep track of what is in process of being parsed to avoid import loops.
+    // Stylesheets may be parsed on several threads at once, so each thread
+    // has its own stack.
+    private static final ThreadLocal<Stack<String>> imports = new ThreadLocal<>();
 
     private void parse(Stylesheet stylesheet, CSSLexer lexer) {
 
@@ -3904,8 +3906,9 @@ final public class CSSParser {
 
             } else if ("import".equals(keyword)) {
 
-                if (CSSParser.imports == null) {
-                    CSSParser.imports = new Stack<>();
+                Stack<String> imports = CSSParser.imports.get();
+                if (imports == null) {
+                    CSSParser.imports.set(imports = new Stack<>());
                 }
 
                 if (!imports.contains(sourceOfStylesheet)) {
@@ -3920,8 +3923,8 @@ final public class CSSParser {
 
                     imports.pop();
 
-                    if (CSSParser.imports.isEmpty()) {
-                        CSSParser.imports = null;
+                    if (imports.isEmpty()) {
+                        CSSParser.imports.remove();
                     }
 
                 } else {
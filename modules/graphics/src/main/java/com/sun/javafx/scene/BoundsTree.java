@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene;
+
+import com.sun.javafx.geom.BaseBounds;
+
+/**
+ * The union of the 3D bounds of a list of items (the children of a
+ * {@code Parent}, in parent coordinates), kept in a segment tree so that it
+ * stays up to date in O(log n) when the bounds of any item change, even when
+ * the item was at an edge of the union.
+ * <p>
+ * Items are identified by their index in the list. An item can also have
+ * empty bounds, e.g. when it is not visible, it is then left out of the
+ * union.
+ */
+public final class BoundsTree {
+
+    private static final int MIN_X = 0;
+    private static final int MIN_Y = 1;
+    private static final int MIN_Z = 2;
+    private static final int MAX_X = 3;
+    private static final int MAX_Y = 4;
+    private static final int MAX_Z = 5;
+    private static final int STRIDE = 6;
+
+    private final int count;
+    private final int leaves;
+
+    // minX, minY, minZ, maxX, maxY, maxZ of every node of the tree. Node 1
+    // is the root, the children of node i are 2i and 2i + 1 and item i is
+    // node leaves + i. Empty bounds are +inf, +inf, +inf, -inf, -inf, -inf.
+    private final float[] nodes;
+
+    /**
+     * Creates a tree for {@code count} items, all of them empty.
+     *
+     * @param count the number of items
+     */
+    public BoundsTree(int count) {
+        this.count = count;
+        int n = 1;
+        while (n < count) {
+            n <<= 1;
+        }
+        leaves = n;
+        nodes = new float[2 * n * STRIDE];
+        for (int i = 1; i < 2 * n; ++i) {
+            makeEmpty(i);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Sets the bounds of an item without updating the union, for filling a
+     * new tree. {@link #build()} must be called once all items are set.
+     */
+    public void set(int item, float minX, float minY, float minZ,
+                    float maxX, float maxY, float maxZ) {
+        final int b = checkItem(item) * STRIDE;
+        nodes[b + MIN_X] = minX;
+        nodes[b + MIN_Y] = minY;
+        nodes[b + MIN_Z] = minZ;
+        nodes[b + MAX_X] = maxX;
+        nodes[b + MAX_Y] = maxY;
+        nodes[b + MAX_Z] = maxZ;
+    }
+
+    /**
+     * Computes the union of all items, in O(n).
+     */
+    public void build() {
+        for (int i = leaves - 1; i > 0; --i) {
+            union(i);
+        }
+    }
+
+    /**
+     * Changes the bounds of an item and updates the union, in O(log n).
+     */
+    public void update(int item, float minX, float minY, float minZ,
+                       float maxX, float maxY, float maxZ) {
+        set(item, minX, minY, minZ, maxX, maxY, maxZ);
+        propagate(leaves + item);
+    }
+
+    /**
+     * Leaves an item out of the union, in O(log n).
+     */
+    public void remove(int item) {
+        makeEmpty(checkItem(item));
+        propagate(leaves + item);
+    }
+
+    /**
+     * Returns a tree for {@code count} items with the bounds of the items of
+     * this tree, the additional items are empty. Takes O(n).
+     */
+    public BoundsTree resize(int count) {
+        final BoundsTree tree = new BoundsTree(count);
+        System.arraycopy(nodes, leaves * STRIDE, tree.nodes, tree.leaves * STRIDE,
+                         Math.min(this.count, count) * STRIDE);
+        tree.build();
+        return tree;
+    }
+
+    public boolean isEmpty() {
+        return nodes[STRIDE + MIN_X] > nodes[STRIDE + MAX_X];
+    }
+
+    /**
+     * Returns the union of the bounds of all items, empty if all items are.
+     *
+     * @param result the bounds to reuse if possible
+     * @return the union, either {@code result} or a new bounds object
+     */
+    public BaseBounds getBounds(BaseBounds result) {
+        if (isEmpty()) {
+            return result.makeEmpty();
+        }
+        final int b = STRIDE;
+        return result.deriveWithNewBounds(nodes[b + MIN_X], nodes[b + MIN_Y], nodes[b + MIN_Z],
+                                          nodes[b + MAX_X], nodes[b + MAX_Y], nodes[b + MAX_Z]);
+    }
+
+    private int checkItem(int item) {
+        if (item < 0 || item >= count) {
+            throw new IndexOutOfBoundsException("item: " + item + ", size: " + count);
+        }
+        return leaves + item;
+    }
+
+    private void propagate(int node) {
+        for (int i = node >>> 1; i > 0; i >>>= 1) {
+            union(i);
+        }
+    }
+
+    private void union(int node) {
+        final int b = node * STRIDE;
+        final int l = 2 * node * STRIDE;
+        final int r = l + STRIDE;
+        nodes[b + MIN_X] = Math.min(nodes[l + MIN_X], nodes[r + MIN_X]);
+        nodes[b + MIN_Y] = Math.min(nodes[l + MIN_Y], nodes[r + MIN_Y]);
+        nodes[b + MIN_Z] = Math.min(nodes[l + MIN_Z], nodes[r + MIN_Z]);
+        nodes[b + MAX_X] = Math.max(nodes[l + MAX_X], nodes[r + MAX_X]);
+        nodes[b + MAX_Y] = Math.max(nodes[l + MAX_Y], nodes[r + MAX_Y]);
+        nodes[b + MAX_Z] = Math.max(nodes[l + MAX_Z], nodes[r + MAX_Z]);
+    }
+
+    private void makeEmpty(int node) {
+        final int b = node * STRIDE;
+        nodes[b + MIN_X] = nodes[b + MIN_Y] = nodes[b + MIN_Z] = Float.POSITIVE_INFINITY;
+        nodes[b + MAX_X] = nodes[b + MAX_Y] = nodes[b + MAX_Z] = Float.NEGATIVE_INFINITY;
+    }
+}
@@ -42,6 +42,13 @@ public enum CssFlags {
      * or grandchildren, etc is UPDATE or REAPPLY so we need to step into this branch.
      */
     DIRTY_BRANCH,
+    /**
+     * Indicates that we must update properties for this node only. This is
+     * in response to a pseudoclass state change that affects the styles of
+     * this node, but none of the styles its children depend on. Children
+     * are only visited if they are not CLEAN themselves.
+     */
+    UPDATE_NODE,
     /**
      * Indicates that we must update properties for this node and all child
      * nodes. This is typically in response to a pseudoclass state change and
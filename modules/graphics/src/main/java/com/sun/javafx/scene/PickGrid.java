@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid over the 2D bounds of a list of items (the children of a
+ * {@code Parent}, in parent coordinates), used to find the items that may
+ * contain a point without testing all of them.
+ * <p>
+ * Items are identified by their index in the list. Every cell keeps the
+ * indices of the items whose bounds overlap it, in increasing order, so the
+ * candidates of a point come out in the reverse order of the list, i.e. the
+ * top-most item first. Items that cover a large part of the grid are kept in
+ * a separate list that is part of every query, and items whose bounds are
+ * not finite are treated the same way. Items with empty bounds are never
+ * returned.
+ * <p>
+ * The grid covers the bounds that the items had when it was built. Bounds
+ * outside of the grid are clamped to the border cells, so the queries stay
+ * correct, but when too many items end up there {@link #isStale()} tells
+ * that the grid should be built again.
+ */
+public final class PickGrid {
+
+    private static final int NONE = -1;
+    private static final int LARGE = -2;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final int count;
+    private final int cols;
+    private final int rows;
+    private final double minX;
+    private final double minY;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final int maxCellsPerItem;
+
+    private final int[][] cells;
+    private final int[] cellSizes;
+
+    // c0, r0, c1, r1 of every item, c0 is NONE or LARGE if the item is in no cell
+    private final int[] itemCells;
+    private int[] large = EMPTY;
+    private int largeSize;
+
+    private final boolean[] clamped;
+    private int clampedCount;
+
+    private final boolean[] dirty;
+    private int[] dirtyItems = EMPTY;
+    private int dirtyCount;
+
+    /**
+     * Builds a grid for {@code count} items.
+     *
+     * @param count the number of items
+     * @param bounds minX, minY, maxX, maxY of every item
+     */
+    public PickGrid(int count, float[] bounds) {
+        this.count = count;
+        double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+        int placed = 0;
+        for (int i = 0; i < count; ++i) {
+            final int b = i * 4;
+            if (isFinite(bounds, b) && !isEmpty(bounds, b)) {
+                x0 = Math.min(x0, bounds[b]);
+                y0 = Math.min(y0, bounds[b + 1]);
+                x1 = Math.max(x1, bounds[b + 2]);
+                y1 = Math.max(y1, bounds[b + 3]);
+                ++placed;
+            }
+        }
+        if (placed == 0) {
+            x0 = y0 = 0;
+            x1 = y1 = 1;
+        }
+        final double width = x1 - x0;
+        final double height = y1 - y0;
+        // about one cell per item, as square as possible
+        int c = 1;
+        if (width > 0 && height > 0) {
+            c = (int) Math.round(Math.sqrt(placed * width / height));
+        } else if (width > 0) {
+            c = placed;
+        }
+        cols = Math.max(1, Math.min(c, Math.max(1, placed)));
+        rows = Math.max(1, height > 0 ? placed / cols : 1);
+        minX = x0;
+        minY = y0;
+        cellWidth = (width > 0) ? width / cols : 1;
+        cellHeight = (height > 0) ? height / rows : 1;
+        maxCellsPerItem = Math.max(16, cols * rows / 8);
+
+        cells = new int[cols * rows][];
+        cellSizes = new int[cols * rows];
+        itemCells = new int[count * 4];
+        clamped = new boolean[count];
+        dirty = new boolean[count];
+        for (int i = 0; i < count; ++i) {
+            final int b = i * 4;
+            insert(i, bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3]);
+        }
+    }
+
+    private static boolean isFinite(float[] bounds, int b) {
+        for (int i = b; i < b + 4; ++i) {
+            if (Float.isNaN(bounds[i]) || Float.isInfinite(bounds[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEmpty(float[] bounds, int b) {
+        return bounds[b] > bounds[b + 2] || bounds[b + 1] > bounds[b + 3];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Tells whether so many items lie outside of the area covered by the
+     * grid that it should be built again.
+     */
+    public boolean isStale() {
+        return clampedCount > count / 8 + 16;
+    }
+
+    private int col(double x) {
+        final double c = Math.floor((x - minX) / cellWidth);
+        return (c < 0) ? 0 : (c >= cols) ? cols - 1 : (int) c;
+    }
+
+    private int row(double y) {
+        final double r = Math.floor((y - minY) / cellHeight);
+        return (r < 0) ? 0 : (r >= rows) ? rows - 1 : (int) r;
+    }
+
+    private void insert(int item, float x0, float y0, float x1, float y1) {
+        final int b = item * 4;
+        if (Float.isNaN(x0) || Float.isNaN(y0) || Float.isNaN(x1) || Float.isNaN(y1)
+                || Float.isInfinite(x0) || Float.isInfinite(y0)
+                || Float.isInfinite(x1) || Float.isInfinite(y1)) {
+            itemCells[b] = LARGE;
+            large = add(large, largeSize++, item);
+            return;
+        }
+        if (x0 > x1 || y0 > y1) {
+            itemCells[b] = NONE;
+            return;
+        }
+        // the cells are chosen with a small tolerance, as the bounds may be
+        // rounded differently than the exact test of the caller
+        final double tx = 1e-3 + Math.max(Math.abs(x0), Math.abs(x1)) * 1e-6;
+        final double ty = 1e-3 + Math.max(Math.abs(y0), Math.abs(y1)) * 1e-6;
+        final int c0 = col(x0 - tx), r0 = row(y0 - ty);
+        final int c1 = col(x1 + tx), r1 = row(y1 + ty);
+        if ((c1 - c0 + 1) * (r1 - r0 + 1) > maxCellsPerItem) {
+            itemCells[b] = LARGE;
+            large = add(large, largeSize++, item);
+            return;
+        }
+        if (x0 < minX || y0 < minY || x1 > minX + cols * cellWidth || y1 > minY + rows * cellHeight) {
+            clamped[item] = true;
+            ++clampedCount;
+        }
+        itemCells[b] = c0;
+        itemCells[b + 1] = r0;
+        itemCells[b + 2] = c1;
+        itemCells[b + 3] = r1;
+        for (int r = r0; r <= r1; ++r) {
+            for (int c = c0; c <= c1; ++c) {
+                final int cell = r * cols + c;
+                final int[] items = cells[cell];
+                cells[cell] = add(items == null ? EMPTY : items, cellSizes[cell]++, item);
+            }
+        }
+    }
+
+    private void remove(int item) {
+        final int b = item * 4;
+        final int c0 = itemCells[b];
+        if (c0 == NONE) {
+            return;
+        }
+        if (c0 == LARGE) {
+            largeSize = remove(large, largeSize, item);
+            return;
+        }
+        final int r0 = itemCells[b + 1];
+        final int c1 = itemCells[b + 2];
+        final int r1 = itemCells[b + 3];
+        if (clamped[item]) {
+            clamped[item] = false;
+            --clampedCount;
+        }
+        for (int r = r0; r <= r1; ++r) {
+            for (int c = c0; c <= c1; ++c) {
+                final int cell = r * cols + c;
+                cellSizes[cell] = remove(cells[cell], cellSizes[cell], item);
+            }
+        }
+        itemCells[b] = NONE;
+    }
+
+    // inserts the item into the sorted array holding size items
+    private static int[] add(int[] items, int size, int item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, Math.max(4, size * 2));
+        }
+        int pos = Arrays.binarySearch(items, 0, size, item);
+        if (pos < 0) {
+            pos = -pos - 1;
+        }
+        System.arraycopy(items, pos, items, pos + 1, size - pos);
+        items[pos] = item;
+        return items;
+    }
+
+    // removes the item from the sorted array holding size items
+    private static int remove(int[] items, int size, int item) {
+        final int pos = Arrays.binarySearch(items, 0, size, item);
+        if (pos < 0) {
+            return size;
+        }
+        System.arraycopy(items, pos + 1, items, pos, size - pos - 1);
+        return size - 1;
+    }
+
+    /**
+     * Moves an item to its new bounds.
+     */
+    public void update(int item, float x0, float y0, float x1, float y1) {
+        remove(item);
+        insert(item, x0, y0, x1, y1);
+    }
+
+    /**
+     * Marks an item whose bounds changed, {@link #update} is called for it
+     * later. An item is listed only once until the dirty items are taken.
+     */
+    public void markDirty(int item) {
+        if (!dirty[item]) {
+            dirty[item] = true;
+            if (dirtyCount == dirtyItems.length) {
+                dirtyItems = Arrays.copyOf(dirtyItems, Math.max(8, dirtyCount * 2));
+            }
+            dirtyItems[dirtyCount++] = item;
+        }
+    }
+
+    public int getDirtyCount() {
+        return dirtyCount;
+    }
+
+    /**
+     * Returns the items that were marked dirty and clears the marks.
+     */
+    public int[] takeDirtyItems() {
+        final int[] result = Arrays.copyOf(dirtyItems, dirtyCount);
+        for (int i = 0; i < dirtyCount; ++i) {
+            dirty[dirtyItems[i]] = false;
+        }
+        dirtyCount = 0;
+        return result;
+    }
+
+    /**
+     * Returns the items whose bounds may contain the point, the item with
+     * the highest index first.
+     */
+    public int[] getCandidates(double x, double y) {
+        if (Double.isNaN(x) || Double.isNaN(y)) {
+            return EMPTY;
+        }
+        final int cell = row(y) * cols + col(x);
+        final int[] items = cells[cell];
+        final int size = cellSizes[cell];
+        final int[] result = new int[size + largeSize];
+        // merge both sorted lists, from the end
+        int i = size - 1;
+        int j = largeSize - 1;
+        int k = 0;
+        while (i >= 0 && j >= 0) {
+            result[k++] = (items[i] > large[j]) ? items[i--] : large[j--];
+        }
+        while (i >= 0) {
+            result[k++] = items[i--];
+        }
+        while (j >= 0) {
+            result[k++] = large[j--];
+        }
+        return result;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2015, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -193,7 +193,7 @@ public class NGRegion extends NGGroup {
      * Is the key into the image cache that identifies the required background
      * for the region.
      */
-    private Integer cacheKey;
+    private RegionImageCache.Key cacheKey;
 
     /**
      * Simple Helper Function for cleanup.
@@ -470,15 +470,9 @@ public class NGRegion extends NGGroup {
         return cache;
     }
 
-    private Integer getCacheKey(int w, int h) {
+    private RegionImageCache.Key getCacheKey(int w, int h) {
         if (cacheKey == null) {
-            int key = 31 * w;
-            key = key * 37 + h;
-            key = key * 47 + background.hashCode();
-            if (shape != null) {
-                key = key * 73 + shape.hashCode();
-            }
-            cacheKey = key;
+            cacheKey = new RegionImageCache.Key(w, h, background, shape);
         }
         return cacheKey;
     }
@@ -613,15 +607,12 @@ public class NGRegion extends NGGroup {
             if (cacheMode != 0 && g.getTransformNoClone().isTranslateOrIdentity()) {
                 final RegionImageCache imageCache = getImageCache(g);
                 if (imageCache.isImageCachable(textureWidth, textureHeight)) {
-                    final Integer key = getCacheKey(textureWidth, textureHeight);
+                    final RegionImageCache.Key key = getCacheKey(textureWidth, textureHeight);
                     rect = TEMP_RECT;
                     rect.setBounds(0, 0, textureWidth + border, textureHeight + border);
-                    boolean render = imageCache.getImageLocation(key, rect, background, shape, g);
-                    if (!rect.isEmpty()) {
-                        // An empty rect indicates a failure occurred in the imageCache
-                        cached = imageCache.getBackingStore();
-                    }
-                    if (cached != null && render) {
+                    boolean render = imageCache.getImageLocation(key, rect, g);
+                    cached = imageCache.getBackingStore();
+                    if (render) {
                         Graphics cachedGraphics = cached.createGraphics();
 
                         // Have to move the origin such that when rendering to x=0, we actually end up rendering
@@ -810,15 +801,12 @@ public class NGRegion extends NGGroup {
         if (cache) {
             RegionImageCache imageCache = getImageCache(g);
             if (imageCache.isImageCachable(textureWidth, textureHeight)) {
-                final Integer key = getCacheKey(textureWidth, textureHeight);
+                final RegionImageCache.Key key = getCacheKey(textureWidth, textureHeight);
                 rect = TEMP_RECT;
                 rect.setBounds(0, 0, textureWidth + border, textureHeight + border);
-                boolean render = imageCache.getImageLocation(key, rect, background, shape, g);
-                if (!rect.isEmpty()) {
-                    // An empty rect indicates a failure occurred in the imageCache
-                    cached = imageCache.getBackingStore();
-                }
-                if (cached != null && render) {
+                boolean render = imageCache.getImageLocation(key, rect, g);
+                cached = imageCache.getBackingStore();
+                if (render) {
                     Graphics cacheGraphics = cached.createGraphics();
 
                     // Have to move the origin such that when rendering to x=0, we actually end up rendering
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2015, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,7 +26,9 @@
 package com.sun.javafx.sg.prism;
 
 import javafx.scene.layout.Background;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.Shape;
 import com.sun.javafx.logging.PulseLogger;
@@ -35,31 +37,50 @@ import com.sun.prism.Graphics;
 import com.sun.prism.RTTexture;
 import com.sun.prism.ResourceFactory;
 import com.sun.prism.Texture.WrapMode;
+import com.sun.prism.impl.PrismSettings;
 import com.sun.prism.impl.packrect.RectanglePacker;
 
 /**
- * RegionImageCache - A fixed pixel count sized cache of Images keyed by arbitrary set of arguments. All images are held with
- * SoftReferences so they will be dropped by the GC if heap memory gets tight. When our size hits max pixel count least
- * recently requested images are removed first.
- *
+ * RegionImageCache - A cache of the images of region backgrounds, stored in
+ * a single texture whose size bounds the memory used by the cache. There is
+ * one cache per screen, shared by all the scenes shown on it.
+ * <p>
+ * The texture is divided in pages. When no page has room for a new image,
+ * the page least recently used is emptied, and only the images it held have
+ * to be rendered again. The size of the texture and the number of pages are
+ * set with the prism.regionCacheWidth, prism.regionCacheHeight and
+ * prism.regionCachePages properties.
  */
 class RegionImageCache {
 
     // Maximum cached image size in pixels
     private final static int MAX_SIZE = 300 * 300;
-    private static final int WIDTH = 1024;
-    private static final int HEIGHT = 1024;
+    // Maximum height of the images stored in the horizontal pages
+    private final static int MAX_HORIZONTAL_HEIGHT = 64;
 
-    private HashMap<Integer, CachedImage> imageMap;
+    private HashMap<Key, CachedImage> imageMap;
     private RTTexture backingStore;
-    private RectanglePacker hPacker;
-    private RectanglePacker vPacker;
+    private Page[] hPages;
+    private Page[] vPages;
+    private int width;
+    private int height;
+    private int pad;
+    private int hPageSize;
+    private int vPageSize;
 
+    private long useCount;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
 
     RegionImageCache(final ResourceFactory factory) {
+        this(factory, PrismSettings.regionCacheWidth, PrismSettings.regionCacheHeight,
+             PrismSettings.regionCachePages);
+    }
+
+    RegionImageCache(final ResourceFactory factory, int width, int height, int numPages) {
         imageMap = new HashMap<>();
         WrapMode mode;
-        int pad;
         if (factory.isWrapModeSupported(WrapMode.CLAMP_TO_ZERO)) {
             mode = WrapMode.CLAMP_TO_ZERO;
             pad = 0;
@@ -67,7 +88,9 @@ class RegionImageCache {
             mode = WrapMode.CLAMP_NOT_NEEDED;
             pad = 1;
         }
-        backingStore = factory.createRTTexture(WIDTH + WIDTH, HEIGHT, mode);
+        this.width = width;
+        this.height = height;
+        backingStore = factory.createRTTexture(width + width, height, mode);
         backingStore.contentsUseful();
         backingStore.makePermanent();
         factory.setRegionTexture(backingStore);
@@ -76,10 +99,23 @@ class RegionImageCache {
         // horizontal and vertical regions on the same area, would result in
         // a lot of waste texture space.
         // Note that requests are already padded on the right and bottom edges
-        // (and that includes the gap between the caches) so we only have to
-        // pad top and left edges if CLAMP_TO_ZERO needs to be simulated.
-        hPacker = new RectanglePacker(backingStore, pad, pad, WIDTH-pad, HEIGHT-pad, false);
-        vPacker = new RectanglePacker(backingStore, WIDTH, pad, WIDTH, HEIGHT-pad, true);
+        // (and that includes the gap between the caches and between the pages)
+        // so we only have to pad top and left edges if CLAMP_TO_ZERO needs to
+        // be simulated.
+        // Each half is then cut in pages across the direction its packers
+        // fill: horizontal strips on the left and vertical strips on the right.
+        hPages = new Page[numPages];
+        vPages = new Page[numPages];
+        for (int i = 0; i < numPages; i++) {
+            int y0 = pad + i * (height - pad) / numPages;
+            int y1 = pad + (i + 1) * (height - pad) / numPages;
+            hPages[i] = new Page(backingStore, pad, y0, width - pad, y1 - y0, false);
+            int x0 = width + i * width / numPages;
+            int x1 = width + (i + 1) * width / numPages;
+            vPages[i] = new Page(backingStore, x0, pad, x1 - x0, height - pad, true);
+        }
+        hPageSize = (height - pad) / numPages;
+        vPageSize = width / numPages;
     }
 
     /**
@@ -87,12 +123,12 @@ class RegionImageCache {
      *
      * @param w The image width
      * @param h The image height
-     * @return True if the image size is less than max
+     * @return True if the image size is less than max and fits in a page
      */
     boolean isImageCachable(int w, int h) {
-        return 0 < w && w < WIDTH &&
-               0 < h && h < HEIGHT &&
-               (w * h) < MAX_SIZE;
+        return 0 < w && 0 < h && (w * h) < MAX_SIZE &&
+               ((h < hPageSize && w < width - pad) ||
+                (w < vPageSize && h < height - pad));
     }
 
     RTTexture getBackingStore() {
@@ -103,69 +139,166 @@ class RegionImageCache {
      * Search the cache for a background image representing the arguments.
      * When this method succeeds the x and y coordinates in rect are adjust
      * to the location in the backing store when the image is stored.
-     * If a failure occurred the rect is set to empty to indicate the caller
-     * to disable caching.
      *
-     * @param key the hash key for the image
+     * @param key the key for the image
      * @param rect the rect image. On input, width and height determine the requested
      *        texture space. On ouput, the x and y the location in the texture
-     * @param background the background used to validated if the correct image was found
-     * @param shape the shape used to validated if the correct image was found
-     * @param g the graphics to flush if the texture needs to be restarted
+     * @param g the graphics to flush if a page of the texture needs to be reused
      * @return true means to caller needs to render to rect to initialize the content.
      */
-    boolean getImageLocation(Integer key, Rectangle rect, Background background,
-                             Shape shape, Graphics g) {
+    boolean getImageLocation(Key key, Rectangle rect, Graphics g) {
         CachedImage cache = imageMap.get(key);
         if (cache != null) {
-            if (cache.equals(rect.width, rect.height, background, shape)) {
-                rect.x = cache.x;
-                rect.y = cache.y;
-                return false;
+            cache.page.lastUsed = ++useCount;
+            hitCount++;
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Region image cache hits");
             }
-            // hash collision, mark rectangle empty indicates the caller to
-            // disable caching
-            rect.width = rect.height = -1;
+            rect.x = cache.x;
+            rect.y = cache.y;
             return false;
         }
-        boolean vertical = rect.height > 64;
-        RectanglePacker packer = vertical ? vPacker : hPacker;
-
-        if (!packer.add(rect)) {
-            g.sync();
+        missCount++;
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Region image cache misses");
+        }
 
-            vPacker.clear();
-            hPacker.clear();
-            imageMap.clear();
-            packer.add(rect);
-            backingStore.createGraphics().clear();
-            if (PULSE_LOGGING_ENABLED) {
-                PulseLogger.incrementCounter("Region image cache flushed");
+        // Tall images go to the vertical pages, unless they are too wide for them
+        boolean vertical = rect.height > hPageSize || rect.width > width - pad ||
+                           (rect.height > MAX_HORIZONTAL_HEIGHT && rect.width <= vPageSize);
+        Page[] pages = vertical ? vPages : hPages;
+        Page page = null;
+        for (int i = 0; i < pages.length; i++) {
+            if (pages[i].packer.add(rect)) {
+                page = pages[i];
+                break;
             }
         }
-        imageMap.put(key, new CachedImage(rect, background, shape));
+        if (page == null) {
+            page = evict(pages, g);
+            // An empty page always has room, see isImageCachable
+            page.packer.add(rect);
+        }
+        page.lastUsed = ++useCount;
+        page.keys.add(key);
+        imageMap.put(key, new CachedImage(rect, page));
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.setValue("Region image cache occupancy (%)", (long) (getOccupancy() * 100));
+        }
         return true;
     }
 
-    static class CachedImage {
-        Background background;
-        Shape shape;
-        int x, y, width, height;
+    /**
+     * Empties the least recently used of the given pages and returns it.
+     */
+    private Page evict(Page[] pages, Graphics g) {
+        Page lru = pages[0];
+        for (int i = 1; i < pages.length; i++) {
+            if (pages[i].lastUsed < lru.lastUsed) {
+                lru = pages[i];
+            }
+        }
+        // Draws using the images of the page may still be pending
+        g.sync();
 
-        CachedImage(Rectangle rect, Background background, Shape shape) {
-            this.x = rect.x;
-            this.y = rect.y;
-            this.width = rect.width;
-            this.height = rect.height;
+        for (int i = 0, max = lru.keys.size(); i < max; i++) {
+            imageMap.remove(lru.keys.get(i));
+        }
+        evictionCount += lru.keys.size();
+        lru.keys.clear();
+        lru.packer.clear();
+        backingStore.createGraphics().clearQuad(lru.x, lru.y, lru.x + lru.width, lru.y + lru.height);
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Region image cache pages evicted");
+        }
+        return lru;
+    }
+
+    /**
+     * Returns the fraction of the texture used by the cached images.
+     */
+    float getOccupancy() {
+        float occupancy = 0;
+        for (int i = 0; i < hPages.length; i++) {
+            occupancy += hPages[i].packer.getOccupancy() + vPages[i].packer.getOccupancy();
+        }
+        return occupancy / (hPages.length + vPages.length);
+    }
+
+    long getHitCount() {
+        return hitCount;
+    }
+
+    long getMissCount() {
+        return missCount;
+    }
+
+    long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * The key of a cached image: the size of the image and the background
+     * and shape rendered in it.
+     */
+    static final class Key {
+        private final int width, height;
+        private final Background background;
+        private final Shape shape;
+        private final int hash;
+
+        Key(int width, int height, Background background, Shape shape) {
+            this.width = width;
+            this.height = height;
             this.background = background;
             this.shape = shape;
+            int h = 31 * width;
+            h = h * 37 + height;
+            h = h * 47 + (background == null ? 0 : background.hashCode());
+            if (shape != null) {
+                h = h * 73 + shape.hashCode();
+            }
+            this.hash = h;
+        }
+
+        @Override public boolean equals(Object obj) {
+            if (obj == this) return true;
+            if (!(obj instanceof Key)) return false;
+            final Key other = (Key) obj;
+            return width == other.width &&
+                   height == other.height &&
+                   (background == null ? other.background == null : background.equals(other.background)) &&
+                   (shape == null ? other.shape == null : shape.equals(other.shape));
+        }
+
+        @Override public int hashCode() {
+            return hash;
+        }
+    }
+
+    static final class Page {
+        final RectanglePacker packer;
+        final int x, y, width, height;
+        final List<Key> keys = new ArrayList<>();
+        long lastUsed;
+
+        Page(RTTexture backingStore, int x, int y, int width, int height, boolean vertical) {
+            this.packer = new RectanglePacker(backingStore, x, y, width, height, vertical);
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
         }
+    }
+
+    static class CachedImage {
+        final int x, y;
+        final Page page;
 
-        public boolean equals(int width, int height, Background background, Shape shape) {
-            return this.width == width &&
-                   this.height == height &&
-                   (this.background == null ? background == null : this.background.equals(background)) &&
-                   (this.shape == null ? shape == null : this.shape.equals(shape));
+        CachedImage(Rectangle rect, Page page) {
+            this.x = rect.x;
+            this.y = rect.y;
+            this.page = page;
         }
     }
 
@@ -42,6 +42,16 @@ public interface TKScene {
     public void dispose();
 
     public void waitForRenderingToComplete();
+
+    /**
+     * Checks whether the previous frame is still being rendered, in which
+     * case the caller should skip synchronizing the scene graph for this
+     * pulse instead of waiting for the rendering to complete. Another
+     * pulse is requested once the rendering completes.
+     *
+     * @return true if the synchronization should be deferred
+     */
+    public boolean deferSynchronization();
     
     /**
      * Waits until the render thread is available for synchronization
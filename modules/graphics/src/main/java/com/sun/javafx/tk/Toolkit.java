@@ -74,6 +74,7 @@ import com.sun.glass.ui.CommonDialogs.FileChooserResult;
 import com.sun.glass.utils.NativeLibLoader;
 import com.sun.javafx.PlatformUtil;
 import com.sun.javafx.beans.event.AbstractNotifyListener;
+import com.sun.javafx.binding.DeferredEvaluation;
 import com.sun.javafx.embed.HostInterface;
 import com.sun.javafx.geom.Path2D;
 import com.sun.javafx.geom.transform.BaseTransform;
@@ -199,6 +200,7 @@ public abstract class Toolkit {
                 if (printToolkit) {
                     System.err.println("JavaFX: using " + forcedToolkit);
                 }
+                DeferredEvaluation.setPulseRequester(TOOLKIT::requestNextPulse);
                 return TOOLKIT;
             }
             TOOLKIT = null;
@@ -351,6 +353,10 @@ public abstract class Toolkit {
     }
 
     public void firePulse() {
+        // Deferred bindings notify their listeners first, so that the changes
+        // they cause are processed by the stages and scenes in this pulse
+        DeferredEvaluation.runPending();
+
         // Stages need to be notified of pulses before scenes so the Stage can resized
         // and those changes propogated to scene before it gets its pulse to update
 
@@ -127,6 +127,11 @@ abstract class GlassScene implements TKScene {
         PaintCollector.getInstance().waitForRenderingToComplete();
     }
 
+    @Override
+    public boolean deferSynchronization() {
+        return PaintCollector.getInstance().deferSynchronization();
+    }
+
     @Override
     public void waitForSynchronization() {
         ViewPainter.renderLock.lock();
@@ -105,6 +105,11 @@ public final class MasterTimer extends AbstractMasterTimer {
         Toolkit.getToolkit().setAnimationRunnable(animationRunnable);
     }
 
+    @Override
+    protected void pulseRateChanged(int hz) {
+        ((QuantumToolkit) Toolkit.getToolkit()).setPulseInterval(Math.max(1, 1000 / hz));
+    }
+
     @Override
     protected void recordStart(long shiftMillis) {
         AnimationPulse.getDefaultBean().recordStart(shiftMillis);
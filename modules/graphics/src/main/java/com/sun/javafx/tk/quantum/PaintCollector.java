@@ -30,6 +30,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import com.sun.javafx.PlatformUtil;
 
 import com.sun.glass.ui.Application;
@@ -115,6 +116,14 @@ final class PaintCollector implements CompletionListener {
      */
     private volatile boolean hasDirty;
 
+    /**
+     * Set when a scene skipped its synchronization because the previous
+     * frame was still being rendered. The render thread clears it and posts
+     * a pulse as soon as all rendering has completed, so that the scene is
+     * synchronized right away rather than on the next timer pulse.
+     */
+    private final AtomicBoolean synchronizationDeferred = new AtomicBoolean(false);
+
     /**
      * A reference to the toolkit. This is supplied in the constructor.
      * Although a Toolkit.getToolkit() call and cast to QuantumToolkit
@@ -168,6 +177,38 @@ final class PaintCollector implements CompletionListener {
         }
     }
 
+    /**
+     * Called by a scene that is about to synchronize while the previous
+     * frame may still be rendering. If it is, rather than wait for it, the
+     * scene may leave its changes for the pulse that is posted once the
+     * rendering completes, which lets the FX thread get on with its work
+     * in the meantime.
+     *
+     * <p>This method must only be called on the FX Thread</p>
+     *
+     * @return true if rendering is in progress and the scene should defer
+     *         its synchronization, false if it can synchronize now
+     */
+    final boolean deferSynchronization() {
+        assert Thread.currentThread() == QuantumToolkit.getFxUserThread();
+
+        if (!toolkit.shouldDeferSynchronization()) {
+            return false;
+        }
+        final CountDownLatch latch = allWorkCompletedLatch;
+        if (latch.getCount() == 0) {
+            return false;
+        }
+        synchronizationDeferred.set(true);
+        // The rendering may have completed before the flag was set, in
+        // which case the render thread will not post the pulse
+        if (latch.getCount() == 0) {
+            synchronizationDeferred.set(false);
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Gets whether there are any dirty scenes that need to be rendered. If
      * true, then a subsequent pulse event and renderAll call is required.
@@ -308,7 +349,15 @@ final class PaintCollector implements CompletionListener {
 
         // Count down the latch, indicating that drawing has
         // completed for some scene.
-        allWorkCompletedLatch.countDown();
+        final CountDownLatch latch = allWorkCompletedLatch;
+        latch.countDown();
+
+        // A scene that skipped its synchronization while we were rendering
+        // is waiting for a pulse. Post it now rather than on the next tick.
+        if (latch.getCount() == 0 && synchronizationDeferred.getAndSet(false)) {
+            toolkit.requestNextPulse();
+            toolkit.postPulse();
+        }
     }
 
     /**
@@ -124,6 +124,9 @@ final class PresentingPainter extends ViewPainter {
 
             if (factory != null) {
                 factory.getTextureResourcePool().freeDisposalRequestedAndCheckResources(errored);
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.setValue("Texture pool used", factory.getTextureResourcePool().used());
+                }
             }
 
             renderLock.unlock();
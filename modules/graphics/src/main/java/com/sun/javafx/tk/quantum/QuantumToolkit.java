@@ -153,6 +153,12 @@ public final class QuantumToolkit extends Toolkit {
                 return result;
             });
 
+    private static final boolean deferSync =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
+                String value = System.getProperty("quantum.deferSync");
+                return value == null || Boolean.parseBoolean(value);
+            });
+
     private static boolean debug =
             AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("quantum.debug"));
 
@@ -197,7 +203,7 @@ public final class QuantumToolkit extends Toolkit {
     private int                     inPulse = 0;
     private CountDownLatch          launchLatch = new CountDownLatch(1);
 
-    final int                       PULSE_INTERVAL = (int)(TimeUnit.SECONDS.toMillis(1L) / getRefreshRate());
+    int                             pulseInterval = (int)(TimeUnit.SECONDS.toMillis(1L) / getRefreshRate());
     final int                       FULLSPEED_INTERVAL = 1;     // ms
     boolean                         nativeSystemVsync = false;
     private float                   _maxPixelScale;
@@ -283,6 +289,10 @@ public final class QuantumToolkit extends Toolkit {
         return !multithreaded; 
     }
 
+    boolean shouldDeferSynchronization() {
+        return multithreaded && deferSync;
+    }
+
     /**
      * Method to initialize the Scene Graph on the JavaFX application thread.
      * Specifically, we will do static initialization for those classes in
@@ -358,7 +368,7 @@ public final class QuantumToolkit extends Toolkit {
                     // rely on millisecond resolution timer to provide
                     // nominal pulse sync and use pulse hinting on
                     // synchronous pipelines to fine tune the interval
-                    pulseTimer.start(PULSE_INTERVAL);
+                    pulseTimer.start(pulseInterval);
                 }
             }
         } catch (Throwable th) {
@@ -454,7 +464,7 @@ public final class QuantumToolkit extends Toolkit {
 
     void postPulse() {
         if (toolkitRunning.get() &&
-            (animationRunning.get() || nextPulseRequested.get() || collector.hasDirty()) &&
+            (isAnimationDue() || nextPulseRequested.get() || collector.hasDirty()) &&
             !setPulseRunning()) {
 
             Application.invokeLater(pulseRunnable);
@@ -467,6 +477,31 @@ public final class QuantumToolkit extends Toolkit {
         }
     }
 
+    /**
+     * Animations which need no pulse for a while, like a blinking caret,
+     * report it in the delay of the animation runnable. There is no need to
+     * pulse for them until then.
+     */
+    private boolean isAnimationDue() {
+        if (!animationRunning.get()) {
+            return false;
+        }
+        final DelayedRunnable runnable = animationRunnable;
+        return runnable == null || runnable.getDelay() == 0;
+    }
+
+    /**
+     * Changes the interval of the pulse timer. This has no effect if the
+     * pulses run at full speed or are driven by the vsync of the screen.
+     */
+    void setPulseInterval(int millis) {
+        pulseInterval = millis;
+        if (pulseTimer != null && pulseTimer.isRunning()
+                && !getMasterTimer().isFullspeed() && !nativeSystemVsync) {
+            pulseTimer.start(pulseInterval);
+        }
+    }
+
     private String pulseString() {
         return ((toolkitRunning.get() ? "T" : "t") +
                 (animationRunning.get() ? "A" : "a") +
@@ -809,7 +844,7 @@ public final class QuantumToolkit extends Toolkit {
         }
     }
 
-    private DelayedRunnable animationRunnable;
+    private volatile DelayedRunnable animationRunnable;
     @Override public void setAnimationRunnable(DelayedRunnable animationRunnable) {
         if (animationRunnable != null) {
             animationRunning.set(true);
@@ -27,6 +27,7 @@ package com.sun.javafx.tk.quantum;
 
 import java.nio.IntBuffer;
 import com.sun.glass.ui.Pixels;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.prism.Graphics;
 import com.sun.prism.GraphicsPipeline;
 import com.sun.prism.RTTexture;
@@ -34,6 +35,8 @@ import com.sun.prism.Texture.WrapMode;
 import com.sun.prism.impl.Disposer;
 import com.sun.prism.impl.QueuedPixelSource;
 
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+
 /**
  * UploadingPainter is used when we need to render into an offscreen buffer.
  * The PresentingPainter is used when we are rendering to the main screen.
@@ -189,6 +192,9 @@ final class UploadingPainter extends ViewPainter implements Runnable {
 
             if (factory != null) {
                 factory.getTextureResourcePool().freeDisposalRequestedAndCheckResources(errored);
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.setValue("Texture pool used", factory.getTextureResourcePool().used());
+                }
             }
 
             renderLock.unlock();
@@ -159,6 +159,22 @@ public abstract class BaseContext {
         glyphCaches.clear();
     }
 
+    /**
+     * Removes the glyph cache none of whose glyphs are left in the glyph
+     * texture, and lets its strike be freed.
+     */
+    void releaseGlyphCache(GlyphCache cache) {
+        FontStrike strike = cache.getStrike();
+        Map<FontStrike, GlyphCache> glyphCaches =
+            (strike.getAAMode() == FontResource.AA_LCD)
+            ? lcdGlyphCaches : greyGlyphCaches;
+        if (glyphCaches.get(strike) == cache) {
+            glyphCaches.remove(strike);
+            strike.clearDesc();
+        }
+        cache.clear();
+    }
+
     abstract public RTTexture getLCDBuffer();
 
     public GlyphCache getGlyphCache(FontStrike strike) {
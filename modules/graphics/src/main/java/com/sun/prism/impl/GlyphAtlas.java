@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.prism.Texture;
+import com.sun.prism.impl.packrect.RectanglePacker;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+import com.sun.javafx.logging.PulseLogger;
+
+/**
+ * The texture in which the glyph caches of all the strikes rendered by a
+ * context keep their glyph images. The texture is divided into pages,
+ * horizontal strips with their own RectanglePacker. When a new glyph does
+ * not fit in any page, the least recently used page is evicted and its
+ * space reused, so the glyphs of the text on screen stay in the texture
+ * while the glyphs that are no longer drawn make room for new ones.
+ *
+ * The glyphs of an evicted page are not removed from their glyph caches:
+ * each GlyphData remembers the generation of its page, and is no longer
+ * valid once the page has been evicted. The clients are told how many of
+ * their glyphs were evicted, so that the glyph cache of a strike none of
+ * whose glyphs are left in the texture can be released.
+ */
+final class GlyphAtlas {
+
+    interface Client {
+        /**
+         * Called before a page is evicted, to draw what was queued with the
+         * current contents of the texture.
+         */
+        void flush();
+
+        /**
+         * Called when a page with {@code count} glyphs of this client has
+         * been evicted.
+         */
+        void glyphsEvicted(int count);
+    }
+
+    static final class Page {
+        private final RectanglePacker packer;
+        private final int height;
+        private int generation;
+        private int lastUsed;
+        // The number of glyphs each client has on this page
+        private final Map<Client, Integer> glyphCounts = new HashMap<>();
+
+        Page(Texture texture, int y, int width, int height) {
+            packer = new RectanglePacker(texture, 0, y, width, height, false);
+            this.height = height;
+        }
+
+        int getGeneration() {
+            return generation;
+        }
+    }
+
+    private final Texture texture;
+    private final int width;
+    private final int height;
+    private final int pageHeight;
+    private final Page[] pages;
+    // Used instead of the pages while a glyph taller than a page is cached
+    private Page[] fullPage;
+    private Page[] activePages;
+    private int clock;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    GlyphAtlas(Texture texture, int width, int height, int numPages) {
+        this.texture = texture;
+        this.width = width;
+        this.height = height;
+        pages = new Page[numPages];
+        pageHeight = height / numPages;
+        for (int i = 0; i < numPages; i++) {
+            int y = i * pageHeight;
+            // the last page gets what is left of the texture
+            int h = (i == numPages - 1) ? height - y : pageHeight;
+            pages[i] = new Page(texture, y, width, h);
+        }
+        activePages = pages;
+    }
+
+    Texture getTexture() {
+        return texture;
+    }
+
+    /**
+     * Starts a new use of the atlas, e.g. the rendering of a string. The
+     * pages are evicted in the order of their last use.
+     */
+    void nextUse() {
+        clock++;
+    }
+
+    /**
+     * Returns whether the image of the given glyph is still in the texture,
+     * and marks its page as used if it is.
+     */
+    boolean use(GlyphCache.GlyphData data) {
+        Page page = data.getPage();
+        if (page != null) {
+            if (page.generation != data.getPageGeneration()) {
+                return false;
+            }
+            page.lastUsed = clock;
+            hitCount++;
+        }
+        return true;
+    }
+
+    /**
+     * Places the given rectangle on a page for a glyph of the given client,
+     * evicting the least recently used page if needed.
+     *
+     * @return the page, or null if the rectangle is larger than the texture
+     */
+    Page add(Rectangle rect, Client owner) {
+        missCount++;
+        for (Page page : activePages) {
+            if (page.packer.add(rect)) {
+                return placed(page, owner);
+            }
+        }
+        if (rect.width > width || rect.height > height) {
+            return null;
+        }
+        if (rect.height > pageHeight) {
+            // Fall back to what the cache did before it had pages: clear
+            // the whole texture and use it as a single page
+            for (Page page : activePages) {
+                evict(page, owner);
+            }
+            if (fullPage == null) {
+                fullPage = new Page[] { new Page(texture, 0, width, height) };
+            }
+            activePages = fullPage;
+        } else if (activePages == fullPage) {
+            evict(fullPage[0], owner);
+            activePages = pages;
+        } else {
+            Page lru = pages[0];
+            for (Page page : pages) {
+                if (page.lastUsed - lru.lastUsed < 0) {
+                    lru = page;
+                }
+            }
+            evict(lru, owner);
+            activePages = pages;
+            if (lru.packer.add(rect)) {
+                return placed(lru, owner);
+            }
+            return null;
+        }
+        for (Page page : activePages) {
+            if (page.packer.add(rect)) {
+                return placed(page, owner);
+            }
+        }
+        return null;
+    }
+
+    private Page placed(Page page, Client owner) {
+        page.lastUsed = clock;
+        page.glyphCounts.merge(owner, 1, Integer::sum);
+        return page;
+    }
+
+    private void evict(Page page, Client owner) {
+        owner.flush();
+        page.packer.clear();
+        page.generation++;
+        if (!page.glyphCounts.isEmpty()) {
+            evictionCount++;
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Glyph cache pages evicted");
+            }
+            for (Map.Entry<Client, Integer> e : page.glyphCounts.entrySet()) {
+                e.getKey().glyphsEvicted(e.getValue());
+            }
+            page.glyphCounts.clear();
+        }
+    }
+
+    /**
+     * Returns the fraction of the texture used by the glyphs it holds.
+     */
+    float getOccupancy() {
+        float used = 0;
+        for (Page page : activePages) {
+            used += page.packer.getOccupancy() * page.height;
+        }
+        return used / height;
+    }
+
+    long getHitCount() {
+        return hitCount;
+    }
+
+    long getMissCount() {
+        return missCount;
+    }
+
+    long getEvictionCount() {
+        return evictionCount;
+    }
+}
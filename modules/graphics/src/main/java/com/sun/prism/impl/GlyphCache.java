@@ -35,7 +35,6 @@ import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.scene.text.GlyphList;
-import com.sun.prism.impl.packrect.RectanglePacker;
 import com.sun.prism.Texture;
 import com.sun.prism.impl.shape.MaskData;
 import com.sun.prism.paint.Color;
@@ -50,7 +49,7 @@ import com.sun.javafx.logging.PulseLogger;
 import com.sun.prism.ResourceFactory;
 import com.sun.prism.Texture.WrapMode;
 
-public class GlyphCache {
+public class GlyphCache implements GlyphAtlas.Client {
 
     // REMIND: For a less powerful device, the size of this cache
     // is likely something we'd want to tune as they may have much less
@@ -76,18 +75,21 @@ public class GlyphCache {
     // Using them for subpixel
     private static final int SUBPIXEL_SHIFT = 27;
 
-    private RectanglePacker packer;
+    private GlyphAtlas atlas;
+
+    // The number of glyphs of this cache in the atlas
+    private int atlasGlyphCount;
 
     private boolean isLCDCache;
 
-    /* Share a RectanglePacker and its associated texture cache
+    /* Share a GlyphAtlas and its associated texture cache
      * for all uses on a particular screen.
      */
-    static WeakHashMap<BaseContext, RectanglePacker> greyPackerMap =
-        new WeakHashMap<BaseContext, RectanglePacker>();
+    static WeakHashMap<BaseContext, GlyphAtlas> greyAtlasMap =
+        new WeakHashMap<BaseContext, GlyphAtlas>();
 
-    static WeakHashMap<BaseContext, RectanglePacker> lcdPackerMap =
-        new WeakHashMap<BaseContext, RectanglePacker>();
+    static WeakHashMap<BaseContext, GlyphAtlas> lcdAtlasMap =
+        new WeakHashMap<BaseContext, GlyphAtlas>();
 
     public GlyphCache(BaseContext context, FontStrike strike) {
         this.context = context;
@@ -96,10 +98,10 @@ public class GlyphCache {
         //int numSegments = (numGlyphs + SEGSIZE-1)/SEGSIZE;
         //this.glyphs = new GlyphData[numSegments][];
         isLCDCache = strike.getAAMode() == FontResource.AA_LCD;
-        WeakHashMap<BaseContext, RectanglePacker>
-            packerMap = isLCDCache ? lcdPackerMap : greyPackerMap;
-        packer = packerMap.get(context);
-        if (packer == null) {
+        WeakHashMap<BaseContext, GlyphAtlas>
+            atlasMap = isLCDCache ? lcdAtlasMap : greyAtlasMap;
+        atlas = atlasMap.get(context);
+        if (atlas == null) {
             ResourceFactory factory = context.getResourceFactory();
             Texture tex = factory.createMaskTexture(WIDTH, HEIGHT,
                                                     WrapMode.CLAMP_NOT_NEEDED);
@@ -109,8 +111,9 @@ public class GlyphCache {
                 factory.setGlyphTexture(tex);
             }
             tex.setLinearFiltering(false);
-            packer = new RectanglePacker(tex, WIDTH, HEIGHT);
-            packerMap.put(context, packer);
+            atlas = new GlyphAtlas(tex, WIDTH, HEIGHT,
+                                   PrismSettings.glyphCachePages);
+            atlasMap.put(context, atlas);
         }
     }
 
@@ -128,6 +131,9 @@ public class GlyphCache {
         }
         Texture tex = getBackingStore();
         VertexBuffer vb = ctx.getVertexBuffer();
+        atlas.nextUse();
+        long hits = atlas.getHitCount();
+        long misses = atlas.getMissCount();
 
         int len = gl.getGlyphCount();
         Color currentColor = null;
@@ -172,6 +178,11 @@ public class GlyphCache {
                 addDataToQuad(data, vb, tex, pt.x, pt.y, dstw, dsth);
             }
         }
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.addToCounter("Glyph cache hits", atlas.getHitCount() - hits);
+            PulseLogger.addToCounter("Glyph cache misses", atlas.getMissCount() - misses);
+            PulseLogger.setValue("Glyph cache occupancy (%)", (long) (atlas.getOccupancy() * 100));
+        }
     }
 
     private void addDataToQuad(GlyphData data, VertexBuffer vb,
@@ -222,19 +233,30 @@ public class GlyphCache {
     }
 
     public Texture getBackingStore() {
-        return packer.getBackingStore();
+        return atlas.getTexture();
+    }
+
+    FontStrike getStrike() {
+        return strike;
     }
 
     public void clear() {
         glyphDataMap.clear();
     }
 
-    private void clearAll() {
+    @Override
+    public void flush() {
         // flush any pending vertices that may depend on the current state
         // of the glyph cache texture.
         context.flushVertexBuffer();
-        context.clearGlyphCaches();
-        packer.clear();
+    }
+
+    @Override
+    public void glyphsEvicted(int count) {
+        atlasGlyphCount -= count;
+        if (atlasGlyphCount == 0) {
+            context.releaseGlyphCache(this);
+        }
     }
 
     private GlyphData getCachedGlyph(int glyphCode, int subPixel) {
@@ -243,8 +265,9 @@ public class GlyphCache {
         segIndex |= (subPixel << SUBPIXEL_SHIFT);
         GlyphData[] segment = glyphDataMap.get(segIndex);
         if (segment != null) {
-            if (segment[subIndex] != null) {
-                return segment[subIndex];
+            GlyphData data = segment[subIndex];
+            if (data != null && atlas.use(data)) {
+                return data;
             }
         } else {
             segment = new GlyphData[SEGSIZE];
@@ -260,7 +283,7 @@ public class GlyphCache {
                 data = new GlyphData(0, 0, 0,
                                      glyph.getPixelXAdvance(),
                                      glyph.getPixelYAdvance(),
-                                     null);
+                                     null, null);
             } else {
                 // Rasterize the glyph
                 // NOTE : if the MaskData can be stored back directly
@@ -279,19 +302,16 @@ public class GlyphCache {
                 int originX = maskData.getOriginX();
                 int originY = maskData.getOriginY();
                 Rectangle rect = new Rectangle(0, 0, rectW, rectH);
+                GlyphAtlas.Page page = atlas.add(rect, this);
+                if (page == null) {
+                    // Larger than the whole texture
+                    return null;
+                }
+                atlasGlyphCount++;
                 data = new GlyphData(originX, originY, border,
                                      glyph.getPixelXAdvance(),
                                      glyph.getPixelYAdvance(),
-                                     rect);
-
-                if (!packer.add(rect)) {
-                    if (PULSE_LOGGING_ENABLED) {
-                        PulseLogger.incrementCounter("Font Glyph Cache Cleared");
-                    }
-                    // If add fails,clear up the cache. Try add again.
-                    clearAll();
-                    packer.add(rect);
-                }
+                                     rect, page);
 
                 // We always pass skipFlush=true to backingStore.update()
                 // since we are in control of the contents of the backingStore
@@ -354,8 +374,14 @@ public class GlyphCache {
         // The rectangle on the backing store corresponding to this glyph
         private final Rectangle rect;
 
+        // The page of the atlas holding the rectangle, which is only valid
+        // until the page is evicted
+        private final GlyphAtlas.Page page;
+        private final int pageGeneration;
+
         GlyphData(int originX, int originY, int blankBoundary,
-                  float xAdvance, float yAdvance, Rectangle rect)
+                  float xAdvance, float yAdvance, Rectangle rect,
+                  GlyphAtlas.Page page)
         {
             this.originX = originX;
             this.originY = originY;
@@ -363,6 +389,8 @@ public class GlyphCache {
             this.xAdvance = xAdvance;
             this.yAdvance = yAdvance;
             this.rect = rect;
+            this.page = page;
+            this.pageGeneration = page == null ? 0 : page.getGeneration();
         }
 
         int getOriginX() {
@@ -388,5 +416,13 @@ public class GlyphCache {
         Rectangle getRect() {
             return rect;
         }
+
+        GlyphAtlas.Page getPage() {
+            return page;
+        }
+
+        int getPageGeneration() {
+            return pageGeneration;
+        }
     }
 }
@@ -51,6 +51,7 @@ public final class PrismSettings {
     public static final boolean threadCheck;
     public static final boolean cacheSimpleShapes;
     public static final boolean cacheComplexShapes;
+    public static final int shapeMaskCacheSize;
     public static final boolean useNewImageLoader;
     public static final List<String> tryOrder;
     public static final int prismStatFrequency;
@@ -79,6 +80,10 @@ public final class PrismSettings {
     public static final boolean disableEffects;
     public static final int glyphCacheWidth;
     public static final int glyphCacheHeight;
+    public static final int glyphCachePages;
+    public static final int regionCacheWidth;
+    public static final int regionCacheHeight;
+    public static final int regionCachePages;
     public static final String perfLog;
     public static final boolean perfLogExitFlush;
     public static final boolean perfLogFirstPaintFlush;
@@ -88,6 +93,7 @@ public final class PrismSettings {
     public static final boolean forceUploadingPainter;
     public static final boolean forceAlphaTestShader;
     public static final boolean forceNonAntialiasedShape;
+    public static final int swRasterThreads;
     
 
     private PrismSettings() {
@@ -164,6 +170,9 @@ public final class PrismSettings {
             cacheSimpleShapes = false;
             cacheComplexShapes = false;
         }
+        /* Size of the shape mask cache, in megabytes of mask pixels */
+        shapeMaskCacheSize = Utils.clamp(0, getInt(systemProperties, "prism.shapeMaskCacheSize", 4,
+                "Try -Dprism.shapeMaskCacheSize=<megabytes>"), 256) * 1024 * 1024;
 
         /* New javafx-iio image loader */
         useNewImageLoader = getBoolean(systemProperties, "prism.newiio", true);
@@ -313,6 +322,14 @@ public final class PrismSettings {
                 "Try -Dprism.glyphCacheWidth=<number>");
         glyphCacheHeight = getInt(systemProperties, "prism.glyphCacheHeight", 1024,
                 "Try -Dprism.glyphCacheHeight=<number>");
+        glyphCachePages = Utils.clamp(1, getInt(systemProperties, "prism.glyphCachePages", 8,
+                "Try -Dprism.glyphCachePages=<number>"), glyphCacheHeight);
+        regionCacheWidth = Utils.clamp(256, getInt(systemProperties, "prism.regionCacheWidth", 1024,
+                "Try -Dprism.regionCacheWidth=<number>"), 4096);
+        regionCacheHeight = Utils.clamp(256, getInt(systemProperties, "prism.regionCacheHeight", 1024,
+                "Try -Dprism.regionCacheHeight=<number>"), 4096);
+        regionCachePages = Utils.clamp(1, getInt(systemProperties, "prism.regionCachePages", 3,
+                "Try -Dprism.regionCachePages=<number>"), 16);
 
         /*
          * Performance Logger flags
@@ -334,6 +351,15 @@ public final class PrismSettings {
         // Force non anti-aliasing (not smooth) shape rendering
         forceNonAntialiasedShape = getBoolean(systemProperties, "prism.forceNonAntialiasedShape", false);
 
+        /*
+         * Number of worker threads used by the software pipeline to rasterize
+         * large shapes in parallel bands. Default is 0 (no worker threads),
+         * "true" uses one thread per available processor.
+         */
+        swRasterThreads = getInt(systemProperties, "prism.swrasterthreads", 0,
+                Runtime.getRuntime().availableProcessors(),
+                "Try -Dprism.swrasterthreads=[true|<number>]");
+
     }
 
     private static int parseInt(String s, int dflt, int trueDflt,
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2006, 2013, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2006, 2015, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,13 +28,21 @@ package com.sun.prism.impl.packrect;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.prism.Texture;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Packs rectangles supplied by the user (typically representing image regions)
  * into a larger backing store rectangle (typically representing a large
- * texture). Supports automatic compaction of the space on the backing store,
- * and automatic expansion of the backing store, when necessary.
+ * texture).
+ * <p>
+ * The rectangles are placed with the skyline algorithm: the packer keeps the
+ * outline of the top of the rectangles placed so far, as a list of segments
+ * along its length, and places each new rectangle where its top would be the
+ * lowest. When a rectangle is placed over segments of different heights, the
+ * space left below it is remembered in a waste map and used for later
+ * rectangles that fit in it. This keeps the backing store well used when the
+ * rectangles have many different sizes, like the glyphs of a font.
  */
 public class RectanglePacker {
     /**
@@ -43,17 +51,22 @@ public class RectanglePacker {
      */
     private Texture backingStore;
 
-    /** Manages a list of Levels; this is the core data structure
-     contained within the RectanglePacker and encompasses the storage
-     algorithm for the contained Rects. */
-    // Maintained in sorted order by increasing Y coordinate
-    private List<Level> levels = new ArrayList<Level>(150);
-    private static final int MIN_SIZE = 8; // The minimum size of level
-    private static final int ROUND_UP = 4; // Round up to multiple of 4
-    private int recentUsedLevelIndex = 0;
+    // The skyline, sorted by increasing position along the length: segment i
+    // starts at skyX[i], is skyW[i] long and its top is at skyY[i] in the
+    // size direction. The segments cover the whole length of the packer.
+    private int[] skyX = new int[16];
+    private int[] skyY = new int[16];
+    private int[] skyW = new int[16];
+    private int skyCount;
+
+    // Free space below the skyline, in the same coordinates as the skyline
+    // (x and width along the length, y and height along the size)
+    private final List<Rectangle> wasteMap = new ArrayList<Rectangle>();
+    private static final int MIN_WASTE_SIZE = 4; // Smaller free space is forgotten
+
+    private long usedArea;
     private int length;
     private int size;
-    private int sizeOffset;
     private int x;
     private int y;
     private boolean vertical;
@@ -71,6 +84,7 @@ public class RectanglePacker {
         this.x = x;
         this.y = y;
         this.vertical = vertical;
+        clear();
     }
 
     /**
@@ -107,65 +121,183 @@ public class RectanglePacker {
         if (requestedLength > length) return false;
         if (requestedSize > size) return false;
 
-        int newSize = MIN_SIZE > requestedSize ? MIN_SIZE : requestedSize;
-
-        // Round up
-        newSize = (newSize + ROUND_UP - 1) - (newSize - 1) % ROUND_UP;
+        final int l = Math.max(requestedLength, 1);
+        final int s = Math.max(requestedSize, 1);
+        if (!addToWasteMap(rect, l, s) && !addToSkyline(rect, l, s)) {
+            return false;
+        }
+        usedArea += (long) l * s;
+        return true;
+    }
 
-        int newIndex;
-        // If it does not match recent used level, using binary search to find
-        // the best fit level's index
-        if (recentUsedLevelIndex < levels.size() &&
-            levels.get(recentUsedLevelIndex).size != newSize) {
-            newIndex = binarySearch(levels, newSize);
+    private void place(Rectangle rect, int lengthOffset, int sizeOffset) {
+        if (vertical) {
+            rect.x = sizeOffset;
+            rect.y = lengthOffset;
         } else {
-            newIndex = recentUsedLevelIndex;
+            rect.x = lengthOffset;
+            rect.y = sizeOffset;
         }
+        // this x,y location are external offsets and should not be flipped
+        rect.x += x;
+        rect.y += y;
+    }
 
-        // Can create a new level with newSize
-        final boolean newLevelFlag = sizeOffset + newSize <= size;
-
-        // Go through the levels check whether we can satisfy the allocation
-        // request
-        for (int i = newIndex, max = levels.size(); i < max; i++) {
-            Level level = levels.get(i);
-            // If level's height is more than (newHeight + ROUND_UP * 2) and
-            // the cache still has some space left, go create a new level
-            if (level.size > (newSize + ROUND_UP * 2) && newLevelFlag) {
-                break;
-            } else if (level.add(rect, x, y, requestedLength, requestedSize, vertical)) {
-                recentUsedLevelIndex = i;
-                return true;
+    private boolean addToWasteMap(Rectangle rect, int l, int s) {
+        // Best short side fit
+        Rectangle best = null;
+        int bestIndex = -1;
+        int bestFit = Integer.MAX_VALUE;
+        for (int i = 0, max = wasteMap.size(); i < max; i++) {
+            Rectangle free = wasteMap.get(i);
+            if (free.width >= l && free.height >= s) {
+                int fit = Math.min(free.width - l, free.height - s);
+                if (fit < bestFit) {
+                    best = free;
+                    bestIndex = i;
+                    bestFit = fit;
+                    if (fit == 0) {
+                        break;
+                    }
+                }
             }
         }
+        if (best == null) {
+            return false;
+        }
+        place(rect, best.x, best.y);
+
+        // Split what is left of the free rectangle in two, along the
+        // shorter leftover side so the larger part stays as big as possible
+        final int last = wasteMap.size() - 1;
+        wasteMap.set(bestIndex, wasteMap.get(last));
+        wasteMap.remove(last);
+        if (best.width - l < best.height - s) {
+            addWaste(best.x + l, best.y, best.width - l, s);
+            addWaste(best.x, best.y + s, best.width, best.height - s);
+        } else {
+            addWaste(best.x + l, best.y, best.width - l, best.height);
+            addWaste(best.x, best.y + s, l, best.height - s);
+        }
+        return true;
+    }
+
+    private void addWaste(int wx, int wy, int ww, int wh) {
+        if (ww >= MIN_WASTE_SIZE && wh >= MIN_WASTE_SIZE) {
+            wasteMap.add(new Rectangle(wx, wy, ww, wh));
+        }
+    }
 
-        // Try to add a new Level.
-        if (!newLevelFlag) {
+    private boolean addToSkyline(Rectangle rect, int l, int s) {
+        // Find the position where the top of the rectangle is the lowest,
+        // and among those the one that wastes the least space below it
+        int bestIndex = -1;
+        int bestTop = Integer.MAX_VALUE;
+        int bestWaste = Integer.MAX_VALUE;
+        for (int i = 0; i < skyCount && skyX[i] + l <= length; i++) {
+            if (skyY[i] + s > bestTop) {
+                continue;
+            }
+            int bottom = 0;
+            for (int j = i, remaining = l; remaining > 0; j++) {
+                bottom = Math.max(bottom, skyY[j]);
+                remaining -= skyW[j];
+            }
+            final int top = bottom + s;
+            if (top > size || top > bestTop) {
+                continue;
+            }
+            int waste = 0;
+            for (int j = i, remaining = l; remaining > 0; j++) {
+                int covered = Math.min(remaining, skyW[j]);
+                waste += (bottom - skyY[j]) * covered;
+                remaining -= covered;
+            }
+            if (top < bestTop || waste < bestWaste) {
+                bestIndex = i;
+                bestTop = top;
+                bestWaste = waste;
+            }
+        }
+        if (bestIndex < 0) {
             return false;
         }
 
-        Level newLevel = new Level(length, newSize, sizeOffset);
-        sizeOffset += newSize;
+        final int start = skyX[bestIndex];
+        final int end = start + l;
+        final int bottom = bestTop - s;
+        place(rect, start, bottom);
 
-        // For a rect that cannot fit into the existing level, create a new
-        // level and add at the end of levels that have the same height
-        if (newIndex < levels.size() && levels.get(newIndex).size <= newSize) {
-            levels.add(newIndex + 1, newLevel);
-            recentUsedLevelIndex = newIndex + 1;
-        } else {
-            levels.add(newIndex, newLevel);
-            recentUsedLevelIndex = newIndex;
+        // Remember the space left below the rectangle, and drop or shorten
+        // the segments it covers
+        int j = bestIndex;
+        while (j < skyCount && skyX[j] + skyW[j] <= end) {
+            addWaste(skyX[j], skyY[j], skyW[j], bottom - skyY[j]);
+            j++;
         }
-        return newLevel.add(rect, x, y, requestedLength, requestedSize, vertical);
+        if (j < skyCount && skyX[j] < end) {
+            addWaste(skyX[j], skyY[j], end - skyX[j], bottom - skyY[j]);
+            skyW[j] -= end - skyX[j];
+            skyX[j] = end;
+        }
+        replaceSegments(bestIndex, j - bestIndex, start, bestTop, l);
+        return true;
+    }
+
+    // Replaces count segments from index with a single one
+    private void replaceSegments(int index, int count, int segX, int segY, int segW) {
+        if (count == 0) {
+            if (skyCount == skyX.length) {
+                skyX = Arrays.copyOf(skyX, skyCount * 2);
+                skyY = Arrays.copyOf(skyY, skyCount * 2);
+                skyW = Arrays.copyOf(skyW, skyCount * 2);
+            }
+            moveSegments(index, index + 1);
+        } else if (count > 1) {
+            moveSegments(index + count, index + 1);
+        }
+        skyX[index] = segX;
+        skyY[index] = segY;
+        skyW[index] = segW;
+
+        // Merge with the neighbours at the same height
+        if (index + 1 < skyCount && skyY[index + 1] == segY) {
+            skyW[index] += skyW[index + 1];
+            moveSegments(index + 2, index + 1);
+        }
+        if (index > 0 && skyY[index - 1] == segY) {
+            skyW[index - 1] += skyW[index];
+            moveSegments(index + 1, index);
+        }
+    }
+
+    // Moves the segments from index from to index to, up to the end
+    private void moveSegments(int from, int to) {
+        final int n = skyCount - from;
+        System.arraycopy(skyX, from, skyX, to, n);
+        System.arraycopy(skyY, from, skyY, to, n);
+        System.arraycopy(skyW, from, skyW, to, n);
+        skyCount += to - from;
+    }
+
+    /**
+     * Returns the fraction of the area of the backing store used by the
+     * rectangles added since this packer was last cleared.
+     */
+    public float getOccupancy() {
+        return (float) usedArea / ((long) length * size);
     }
 
     /**
      * Clears all Rectangles contained in this RectanglePacker.
      */
     public void clear() {
-        levels.clear();
-        sizeOffset = 0;
-        recentUsedLevelIndex = 0;
+        skyX[0] = 0;
+        skyY[0] = 0;
+        skyW[0] = length;
+        skyCount = 1;
+        wasteMap.clear();
+        usedArea = 0;
     }
 
     /**
@@ -179,45 +311,6 @@ public class RectanglePacker {
         }
 
         backingStore = null;
-        levels = null;
-    }
-
-    /** Using binary search to find the last index of best fit level for k,
-     where k is a rounded-up value. */
-    private static int binarySearch(List<Level> levels, int k) {
-
-        // k+1 is used to find the last index of the level with height of k. Because of rounding up, more
-        // likely, there are a bunch of levels have the same height. But, we always keep adding levels and
-        // rects at the end. k+1 is a trick to find the last index by finding the next greater value's index
-        // and go back one.
-        // Note that since the sizes are quantized, k+1 is a special value that will not appear in the list
-        // of level sizes and so the search for it will find the gap between the size for k and the size
-        // for the next quantum.
-        int key = k + 1;
-        int from = 0, to = levels.size() - 1;
-        int mid = 0;
-        int midSize = 0;
-
-        if (to < 0) {
-            return 0;
-        }
-
-        while (from <= to) {
-            mid = (from + to) / 2;
-            midSize = levels.get(mid).size;
-            if (key < midSize) {
-                to = mid - 1;
-            } else {
-                from = mid + 1;
-            }
-        }
-
-        if (midSize < k) {
-            return mid + 1;
-        } else if (midSize > k) {
-            return mid > 0 ? mid - 1 : 0;
-        } else {
-            return mid;
-        }
+        skyX = skyY = skyW = null;
     }
 }
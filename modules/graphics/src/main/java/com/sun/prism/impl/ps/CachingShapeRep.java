@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2009, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2009, 2015, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -29,6 +29,8 @@ import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.Shape;
 import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.logging.PulseLogger;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 import com.sun.prism.BasicStroke;
 import com.sun.prism.Graphics;
 import com.sun.prism.Texture;
@@ -42,35 +44,40 @@ import com.sun.prism.impl.ps.BaseShaderContext.MaskType;
 import com.sun.prism.impl.shape.ShapeUtil;
 import com.sun.prism.impl.shape.MaskData;
 import com.sun.prism.ps.Shader;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 
 /**
  * An implementation of ShapeRep that attempts to cache and reuse the
  * mask texture that is used to render the filled/stroked geometry.
  * There is an artificial cap on the size of shapes that are considered
  * for caching, so that we do not fill up VRAM with lots of large shape
- * masks.  The shape is considered for caching only when it is rendered
+ * masks.  A new mask is created for a shape only when it is rendered
  * a certain number of times with unchanging transform (ignoring the
  * translation components) and geometry.  This means that this class is
  * good for caching static shapes that are either completely stationary
  * or being translated.  This class will also attempt to reuse a mask
  * that corresponds to a completely different shape instance as long as
  * the two shapes are equal and the transforms only differ by their
- * translation components.  This means that if you have 1000 Path nodes
- * all with exactly the same geometry but with different translation factors,
- * then we will only rasterize and cache a single mask texture and reuse
- * it among all the Path nodes.
+ * translation components, right from the first time such a shape is
+ * rendered.  This means that if you have 1000 Path nodes all with exactly
+ * the same geometry but with different translation factors, then we will
+ * only rasterize and cache a single mask texture and reuse it among all
+ * the Path nodes.  The masks are found by hashing the geometry, stroke
+ * and transform of the shape.
  *
- * (Of course, the fact that we reuse the same mask texture for different
- * sub-pixel translation factors means we're knowingly being a bit sloppy,
- * so when caching is enabled you may see some dancing at the shape edges
- * for slowly animating translations, but otherwise will hopefully not be
- * too noticeable.)
+ * Masks are rasterized with their translation snapped to a quarter of a
+ * pixel, and reused for any translation that snaps to the same sub-pixel
+ * position, so they are always drawn on whole pixels, at most 1/8th of a
+ * pixel away from where the shape is.  A shape animated slowly across
+ * pixels thus uses up to 16 masks.
  *
  * The current implementation limits the size of the cache (512 pixels in
- * each dimension, and 4 MB in total) so that it doesn't grow without bound.
- * Space is granted on a first come first served basis.
+ * each dimension, and 4 MB in total by default, see the
+ * prism.shapeMaskCacheSize property) so that it doesn't grow without bound.
+ * Masks no longer used by any shape are kept in the cache until their
+ * space is needed for new masks, least recently used first.
  */
 public class CachingShapeRep implements ShapeRep {
 
@@ -127,17 +134,20 @@ public class CachingShapeRep implements ShapeRep {
 
 class CachingShapeRepState {
 
-    private static class MaskTexData {
-        private CacheEntry cacheEntry;
-        private Texture maskTex;
-        private float maskX;
-        private float maskY;
-        private int maskW;
-        private int maskH;
+    // package for testing
+    static class MaskTexData {
+        CacheEntry cacheEntry;
+        Texture maskTex;
+        float maskX;
+        float maskY;
+        int maskW;
+        int maskH;
 
         void adjustOrigin(BaseTransform xform) {
-            float dx = (float)(xform.getMxt()-cacheEntry.xform.getMxt());
-            float dy = (float)(xform.getMyt()-cacheEntry.xform.getMyt());
+            // the translations are snapped to the same subpixel position,
+            // so the mask is moved by a whole number of pixels
+            float dx = snap(xform.getMxt()) - cacheEntry.tx;
+            float dy = snap(xform.getMyt()) - cacheEntry.ty;
             this.maskX = cacheEntry.texData.maskX + dx;
             this.maskY = cacheEntry.texData.maskY + dy;
         }
@@ -166,101 +176,151 @@ class CachingShapeRepState {
         }
     }
 
-    private static class CacheEntry {
+    /**
+     * A cached mask, which is also its own key in the cache: two entries
+     * are equal if they have equal geometry, stroke and antialiasing, the
+     * same transform once its scale and rotation components are quantized,
+     * and the same subpixel translation.
+     */
+    // package for testing
+    static class CacheEntry {
         Shape shape;
         BasicStroke stroke;
-        BaseTransform xform;
-        RectBounds xformBounds;
-        MaskTexData texData;
         boolean antialiasedShape;
+        long mxx, mxy, myx, myy;
+        // the translation the mask is rasterized with, snapped to a subpixel step
+        float tx, ty;
+        int hash;
+        MaskTexData texData;
         int refCount;
+        boolean cached;
+
+        void setKey(Shape shape, BasicStroke stroke, BaseTransform xform,
+                    boolean antialiasedShape)
+        {
+            this.shape = shape;
+            this.stroke = stroke;
+            this.antialiasedShape = antialiasedShape;
+            final long steps = matrixSteps(shape, stroke);
+            this.mxx = quantize(xform.getMxx(), steps);
+            this.mxy = quantize(xform.getMxy(), steps);
+            this.myx = quantize(xform.getMyx(), steps);
+            this.myy = quantize(xform.getMyy(), steps);
+            this.tx = snap(xform.getMxt());
+            this.ty = snap(xform.getMyt());
+            int h = shape.hashCode();
+            h = 31 * h + (stroke == null ? 0 : stroke.hashCode());
+            h = 31 * h + (antialiasedShape ? 1 : 0);
+            h = 31 * h + Long.hashCode(mxx);
+            h = 31 * h + Long.hashCode(mxy);
+            h = 31 * h + Long.hashCode(myx);
+            h = 31 * h + Long.hashCode(myy);
+            h = 31 * h + subpixel(tx);
+            h = 31 * h + subpixel(ty);
+            this.hash = h;
+        }
+
+        int getPixels() {
+            return texData.maskW * texData.maskH;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof CacheEntry)) {
+                return false;
+            }
+            CacheEntry other = (CacheEntry) obj;
+            return hash == other.hash &&
+                   antialiasedShape == other.antialiasedShape &&
+                   mxx == other.mxx && mxy == other.mxy &&
+                   myx == other.myx && myy == other.myy &&
+                   subpixel(tx) == subpixel(other.tx) &&
+                   subpixel(ty) == subpixel(other.ty) &&
+                   shape.equals(other.shape) &&
+                   (stroke == null ? other.stroke == null : stroke.equals(other.stroke));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 
-    private static class MaskCache {
+    // package for testing
+    static class MaskCache {
         private static final int MAX_MASK_DIM = 512;
-        private static final int MAX_SIZE_IN_PIXELS = 4194304; // 4 MB
-        private static Comparator<CacheEntry> comparator = (o1, o2) -> {
-            int widthCompare = Float.compare(o1.xformBounds.getWidth(), o2.xformBounds.getWidth());
-            if (widthCompare != 0) {
-                return widthCompare;
-            }
-            return Float.compare(o1.xformBounds.getHeight(), o2.xformBounds.getHeight());
-        };
+        private final int maxSizeInPixels;
 
-        private CacheEntry[] entries = new CacheEntry[8];
-        private int entriesSize = 0;
+        // all the cached masks, by content
+        private final HashMap<CacheEntry, CacheEntry> entries = new HashMap<>();
+        // the cached masks no longer used by any shape, least recently used first
+        private final LinkedHashSet<CacheEntry> unusedEntries = new LinkedHashSet<>();
         private int totalPixels;
+        private int unusedPixels;
 
-        private CacheEntry tmpKey = new CacheEntry();
-        {
-            tmpKey.xformBounds = new RectBounds();
+        private final CacheEntry tmpKey = new CacheEntry();
+
+        MaskCache() {
+            this(PrismSettings.shapeMaskCacheSize);
         }
 
-        private void ensureSize(int size) {
-            if (entries.length < size) {
-                CacheEntry[] newEntries = new CacheEntry[size * 3 / 2];
-                System.arraycopy(entries, 0, newEntries, 0, entries.length);
-                entries = newEntries;
-            }
+        MaskCache(int maxSizeInPixels) {
+            this.maxSizeInPixels = maxSizeInPixels;
         }
 
-        private void addEntry(CacheEntry entry) {
-            ensureSize(entriesSize + 1);
-            int pos = Arrays.binarySearch(entries, 0, entriesSize, entry, comparator);
-            if (pos < 0) {
-                pos = ~pos;
-            }
-            System.arraycopy(entries, pos, entries, pos + 1, entriesSize - pos);
-            entries[pos] = entry;
-            ++entriesSize;
+        // package for testing
+        int getTotalPixels() {
+            return totalPixels;
         }
 
-        private void removeEntry(CacheEntry entry) {
-            int pos = Arrays.binarySearch(entries, 0, entriesSize, entry, comparator);
-            if (pos < 0) {
-                throw new IllegalStateException("Trying to remove a cached item that's not in the cache");
-            }
-            if (entries[pos] != entry) {
-                tmpKey.xformBounds.deriveWithNewBounds(0, 0, 0, entry.xformBounds.getWidth(), Math.nextAfter(entry.xformBounds.getHeight(), Float.NEGATIVE_INFINITY), 0);
-                pos = Arrays.binarySearch(entries, 0, entriesSize, tmpKey, comparator);
-                if (pos < 0) {
-                    pos = ~pos;
-                }
-                tmpKey.xformBounds.deriveWithNewBounds(0, 0, 0, entry.xformBounds.getWidth(), Math.nextAfter(entry.xformBounds.getHeight(), Float.POSITIVE_INFINITY), 0);
-                int toPos = Arrays.binarySearch(entries, 0, entriesSize, tmpKey, comparator);
-                if (toPos < 0) {
-                    toPos = ~toPos;
-                }
-                while (entries[pos] != entry && pos < toPos) { ++pos; };
-                if (pos >= toPos) {
-                    throw new IllegalStateException("Trying to remove a cached item that's not in the cache");
-                }
-            }
-            System.arraycopy(entries, pos + 1, entries, pos, entriesSize - pos - 1);
-            --entriesSize;
+        int getUnusedPixels() {
+            return unusedPixels;
+        }
+
+        boolean contains(CacheEntry entry) {
+            return entries.get(entry) == entry;
+        }
+
+        boolean isUnused(CacheEntry entry) {
+            return unusedEntries.contains(entry);
         }
 
         boolean hasRoom(RectBounds xformBounds) {
             int w = (int)(xformBounds.getWidth() + 0.5f);
             int h = (int)(xformBounds.getHeight() + 0.5f);
             int size = w*h;
+            // the masks no longer used can be evicted to make room
             return
                 w <= MAX_MASK_DIM &&
                 h <= MAX_MASK_DIM &&
-                totalPixels + size <= MAX_SIZE_IN_PIXELS;
+                totalPixels - unusedPixels + size <= maxSizeInPixels;
         }
 
-        boolean entryMatches(CacheEntry entry, Shape shape, BasicStroke stroke, BaseTransform xform, boolean antialiasedShape) {
-            return (entry.antialiasedShape == antialiasedShape) && equalsIgnoreTranslation(xform, entry.xform) && entry.shape.equals(shape) &&
-                   (stroke == null ? entry.stroke == null : stroke.equals(entry.stroke));
-
+        /**
+         * Returns true if the given mask can be used with the given
+         * transform, which only differs from the transform of the mask
+         * by its translation.
+         */
+        boolean entryMatches(CacheEntry entry, BaseTransform xform) {
+            return subpixel(snap(xform.getMxt())) == subpixel(entry.tx) &&
+                   subpixel(snap(xform.getMyt())) == subpixel(entry.ty);
         }
 
-        void get(BaseShaderContext context,
-                 MaskTexData texData,
-                 Shape shape, BasicStroke stroke, BaseTransform xform,
-                 RectBounds xformBounds,
-                 boolean xformBoundsIsACopy, boolean antialiasedShape)
+        /**
+         * Links the given texData to a cached mask that matches the given
+         * parameters. If there is none, a new mask is rasterized and put in
+         * the cache if create is true, and nothing is done otherwise.
+         *
+         * @return true if texData is linked to a mask
+         */
+        boolean get(BaseShaderContext context,
+                    MaskTexData texData,
+                    Shape shape, BasicStroke stroke, BaseTransform xform,
+                    RectBounds xformBounds, boolean antialiasedShape,
+                    boolean create)
         {
             if (texData == null) {
                 throw new InternalError("MaskTexData must be non-null");
@@ -269,45 +329,61 @@ class CachingShapeRepState {
                 throw new InternalError("CacheEntry should already be null");
             }
 
-            tmpKey.xformBounds.deriveWithNewBounds(0, 0, 0, xformBounds.getWidth(), Math.nextAfter(xformBounds.getHeight(), Float.NEGATIVE_INFINITY), 0);
-            int i = Arrays.binarySearch(entries, 0, entriesSize, tmpKey, comparator);
-            if (i < 0) {
-                i = ~i;
-            }
-
-            tmpKey.xformBounds.deriveWithNewBounds(0, 0, 0, xformBounds.getWidth(), Math.nextAfter(xformBounds.getHeight(), Float.POSITIVE_INFINITY), 0);
-            int toPos = Arrays.binarySearch(entries, 0, entriesSize, tmpKey, comparator);
-            if (toPos < 0) {
-                toPos = ~toPos;
-            }
-            for (;i < toPos; i++) {
-                CacheEntry entry = entries[i];
-
-                if (entryMatches(entry, shape, stroke, xform, antialiasedShape))
-                {
-                    entry.texData.maskTex.lock();
-                    if (entry.texData.maskTex.isSurfaceLost()) {
-                        // Eventually refcount will go to zero and entry will be freed
-                        entry.texData.maskTex.unlock();
-                        continue;
+            tmpKey.setKey(shape, stroke, xform, antialiasedShape);
+            CacheEntry entry = entries.get(tmpKey);
+            tmpKey.shape = null;
+            tmpKey.stroke = null;
+            if (entry != null) {
+                entry.texData.maskTex.lock();
+                if (entry.texData.maskTex.isSurfaceLost()) {
+                    // Eventually refcount will go to zero and entry will be freed
+                    entry.texData.maskTex.unlock();
+                    if (entry.refCount == 0) {
+                        unusedEntries.remove(entry);
+                        unusedPixels -= entry.getPixels();
                     }
+                    removeEntry(entry);
+                } else {
                     // increment ref count for the chosen entry and
                     // link the given texData to it
-                    entry.refCount++;
+                    if (entry.refCount++ == 0) {
+                        unusedEntries.remove(entry);
+                        unusedPixels -= entry.getPixels();
+                    }
                     entry.texData.copyInto(texData);
                     texData.cacheEntry = entry;
                     // adjust the maskX/maskY by the delta between the
                     // cached transform and the current transform
                     texData.adjustOrigin(xform);
-                    return;
+                    if (PULSE_LOGGING_ENABLED) {
+                        PulseLogger.incrementCounter("Shape mask cache hits");
+                    }
+                    return true;
                 }
             }
+            if (!create) {
+                return false;
+            }
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Shape mask cache misses");
+            }
 
-            // did not find an existing mask; create a new one here
+            // did not find an existing mask; create a new one here, with
+            // the translation snapped to the subpixel step of the cache entry
+            float dx = snap(xform.getMxt()) - (float) xform.getMxt();
+            float dy = snap(xform.getMyt()) - (float) xform.getMyt();
+            if (dx != 0f || dy != 0f) {
+                xform = BaseTransform.getInstance(xform.getMxx(), xform.getMyx(),
+                                                  xform.getMxy(), xform.getMyy(),
+                                                  xform.getMxt() + dx, xform.getMyt() + dy);
+                xformBounds = new RectBounds(xformBounds.getMinX() + dx, xformBounds.getMinY() + dy,
+                                             xformBounds.getMaxX() + dx, xformBounds.getMaxY() + dy);
+            }
             MaskData maskData =
                 ShapeUtil.rasterizeShape(shape, stroke, xformBounds, xform, true, antialiasedShape);
             int mw = maskData.getWidth();
             int mh = maskData.getHeight();
+            makeRoom(mw*mh);
             texData.maskX = maskData.getOriginX();
             texData.maskY = maskData.getOriginY();
             texData.maskW = mw;
@@ -318,20 +394,64 @@ class CachingShapeRepState {
             texData.maskTex.contentsUseful();
 
             // add the new mask texture to the cache; note that we copy the
-            // shape and transform so that dependents are not affected
+            // shape and stroke so that dependents are not affected
             // if the original geometry is mutated (since NGPath will reuse
             // and mutate a single Path2D instance, for example)
-            CacheEntry entry = new CacheEntry();
-            entry.shape = shape.copy();
-            if (stroke != null) entry.stroke = stroke.copy();
-            entry.xform = xform.copy();
-            entry.xformBounds = xformBoundsIsACopy ? xformBounds : (RectBounds)xformBounds.copy();
+            entry = new CacheEntry();
+            entry.setKey(shape.copy(), stroke == null ? null : stroke.copy(), xform, antialiasedShape);
             entry.texData = texData.copy();
-            entry.antialiasedShape = antialiasedShape;
             entry.refCount = 1;
             texData.cacheEntry = entry;
             addEntry(entry);
-            totalPixels += mw*mh;
+            return true;
+        }
+
+        /**
+         * Puts the given mask, which is in use, in the cache.
+         */
+        // package for testing
+        void addEntry(CacheEntry entry) {
+            entry.cached = true;
+            entries.put(entry, entry);
+            totalPixels += entry.getPixels();
+        }
+
+        /**
+         * Disposes of the least recently used masks that are no longer
+         * used by any shape until the given number of pixels fits in the
+         * cache, or there are no such masks left.
+         */
+        // package for testing
+        void makeRoom(int size) {
+            Iterator<CacheEntry> it = unusedEntries.iterator();
+            while (totalPixels + size > maxSizeInPixels && it.hasNext()) {
+                CacheEntry entry = it.next();
+                it.remove();
+                unusedPixels -= entry.getPixels();
+                removeEntry(entry);
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Shape mask cache evictions");
+                }
+            }
+        }
+
+        /**
+         * Removes the given mask from the cache, and disposes of it if it
+         * is no longer used.
+         */
+        private void removeEntry(CacheEntry entry) {
+            if (entry.cached) {
+                entries.remove(entry);
+                entry.cached = false;
+            }
+            if (entry.refCount <= 0) {
+                totalPixels -= entry.getPixels();
+                entry.shape = null;
+                entry.stroke = null;
+                entry.texData.maskTex.dispose();
+                entry.antialiasedShape = false;
+                entry.texData = null;
+            }
         }
 
         void unref(MaskTexData texData) {
@@ -346,19 +466,59 @@ class CachingShapeRepState {
             texData.maskTex = null;
             entry.refCount--;
             if (entry.refCount <= 0) {
-                removeEntry(entry);
-                entry.shape = null;
-                entry.stroke = null;
-                entry.xform = null;
-                entry.xformBounds = null;
-                entry.texData.maskTex.dispose();
-                entry.antialiasedShape = false;
-                entry.texData = null;
-                totalPixels -= (texData.maskW * texData.maskH);
+                if (entry.cached && !entry.texData.maskTex.isSurfaceLost()) {
+                    // keep the mask around for the next shape that needs it
+                    unusedEntries.add(entry);
+                    unusedPixels += entry.getPixels();
+                    makeRoom(0);
+                } else {
+                    removeEntry(entry);
+                }
             }
         }
     }
 
+    // The scale and rotation components of two transforms are considered
+    // equal if they round to the same multiple of 1/steps. They then differ
+    // by less than 1/steps, which moves a point (x, y) of the shape by less
+    // than (|x| + |y|) / steps pixels. The steps are a power of two chosen
+    // from the bounds of the shape so that this stays below 1/16th of a
+    // pixel wherever the shape is in its local coordinates.
+    private static final long MIN_MATRIX_STEPS = 8192;
+    private static final long MAX_MATRIX_STEPS = 1L << 40;
+
+    // The translation of a mask is snapped to the nearest multiple of
+    // 1/SUBPIXEL_STEPS, so a mask can be reused for any translation that
+    // snaps to the same subpixel position by moving it by whole pixels.
+    private static final int SUBPIXEL_STEPS = 4;
+
+    static long matrixSteps(Shape shape, BasicStroke stroke) {
+        final RectBounds bounds = shape.getBounds();
+        double extent = Math.max(Math.abs(bounds.getMinX()), Math.abs(bounds.getMaxX()))
+                      + Math.max(Math.abs(bounds.getMinY()), Math.abs(bounds.getMaxY()));
+        if (stroke != null) {
+            // the outline may reach this far beyond the geometry
+            extent += stroke.getLineWidth() * Math.max(1f, stroke.getMiterLimit());
+        }
+        long steps = MIN_MATRIX_STEPS;
+        while (steps < 16 * extent && steps < MAX_MATRIX_STEPS) {
+            steps <<= 1;
+        }
+        return steps;
+    }
+
+    static long quantize(double m, long steps) {
+        return Math.round(m * steps);
+    }
+
+    static float snap(double t) {
+        return (float) (Math.floor(t * SUBPIXEL_STEPS + 0.5) / SUBPIXEL_STEPS);
+    }
+
+    static int subpixel(float snapped) {
+        return (int) ((snapped - Math.floor(snapped)) * SUBPIXEL_STEPS);
+    }
+
     /**
      * Returns true if the two transforms are equal or if they differ only
      * in their translation components; otherwise returns false.
@@ -406,6 +566,14 @@ class CachingShapeRepState {
         g.draw(shape);
     }
 
+    private void renderNoCache(Graphics g, Shape shape, BasicStroke stroke) {
+        if (stroke == null) {
+            fillNoCache(g, shape);
+        } else {
+            drawNoCache(g, shape);
+        }
+    }
+
     void invalidate() {
         // Note: this method will be called from the FX thread, so just mark
         // the state as invalid and then the next render() call will take
@@ -448,7 +616,6 @@ class CachingShapeRepState {
         }
 
         RectBounds xformBounds = null;
-        boolean boundsCopy = false;
 
         if (tryCache == null) {
             // determine whether the shape size is within the limits
@@ -456,7 +623,6 @@ class CachingShapeRepState {
                 xformBounds = shapeBounds;
             } else {
                 xformBounds = new RectBounds();
-                boundsCopy = true;
                 //this is a safe cast as this ShapeRep is not 3d capable.
                 // all 3d transformed shapes are thus rendered by different ShapeRep
                 xformBounds = (RectBounds) xform.transform(shapeBounds, xformBounds);
@@ -466,23 +632,16 @@ class CachingShapeRepState {
 
         renderCount++;
         if (tryCache == Boolean.FALSE ||
-            renderCount <= 1 ||
             (!(g instanceof BaseShaderGraphics)) ||
             ((BaseShaderGraphics)g).isComplexPaint())
         {
             // render the slow way if:
             //   - the shape size exceeds the threshold, or
-            //   - we haven't rendered enough times to get an idea of
-            //     whether it is worth caching the mask, or
             //   - there is a complex paint set (note that we could
             //     potentially use the cached mask in this case, but the
             //     complex paint case is not common enough to warrant
             //     further optimization at this time)
-            if (stroke == null) {
-                fillNoCache(g, shape);
-            } else {
-                drawNoCache(g, shape);
-            }
+            renderNoCache(g, shape, stroke);
             return;
         }
 
@@ -495,21 +654,32 @@ class CachingShapeRepState {
                     xformBounds = shapeBounds;
                 } else {
                     xformBounds = new RectBounds();
-                    boundsCopy = true;
                     xformBounds = (RectBounds) xform.transform(shapeBounds, xformBounds);
                 }
             }
 
-            if (texData.cacheEntry != null) {
+            if (texData.cacheEntry != null && maskCache.entryMatches(texData.cacheEntry, xform)) {
                 // in this case, we already have a valid mask texture, but
                 // the transform (translation) has changed since we last used
                 // it, so we just need to update the maskX/maskY variables
                 texData.adjustOrigin(xform);
             } else {
+                // the translation moved to another subpixel position
+                if (texData.cacheEntry != null) {
+                    texData.maskTex.unlock();
+                    maskCache.unref(texData);
+                }
                 // the following will locate an existing cached mask that
                 // matches the given parameters, or failing that, will create
-                // a new mask and put it in the cache
-                maskCache.get(context, texData, shape, stroke, xform, xformBounds, boundsCopy, g.isAntialiasedShape());
+                // a new mask and put it in the cache; a new mask is only
+                // created once the shape was rendered more than once, to
+                // get an idea of whether it is worth caching it
+                if (!maskCache.get(context, texData, shape, stroke, xform, xformBounds,
+                                   g.isAntialiasedShape(), renderCount > 1))
+                {
+                    renderNoCache(g, shape, stroke);
+                    return;
+                }
             }
 
             if (lastXform == null) {
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl.shape;
+
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.PathIterator;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.openpisces.AlphaConsumer;
+import com.sun.openpisces.Dasher;
+import com.sun.openpisces.Renderer;
+import com.sun.openpisces.Stroker;
+import com.sun.openpisces.TransformingPathConsumer2D;
+import com.sun.prism.BasicStroke;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+import com.sun.javafx.logging.PulseLogger;
+
+/**
+ * Rasterizes large shapes with the Java OpenPisces renderer by splitting
+ * their device bounds into horizontal bands that are scan converted in
+ * parallel on a pool of worker threads. Each band has its own renderer,
+ * stroker and dasher and records the coverage of its rows. The rows are then
+ * handed to the caller's AlphaConsumer in order on the calling thread, so
+ * the consumer (e.g. a PiscesRenderer drawing into the render target) is
+ * still only used by one thread.
+ *
+ * Shapes that are too small to be worth splitting are left to the caller.
+ */
+public final class BandedShapeRasterizer {
+    // Below this many device pixels, the cost of handing the shape to the
+    // worker threads is higher than the cost of rasterizing it
+    private static final int MIN_AREA = 256 * 256;
+    private static final int MIN_BAND_HEIGHT = 32;
+
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final int maxBands;
+    private final List<Band> bands = new ArrayList<>();
+    private int rowDeltas[] = new int[0];
+
+    public BandedShapeRasterizer(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("numThreads must be positive");
+        }
+        executor = Executors.newFixedThreadPool(numThreads, r ->
+            AccessController.doPrivileged((PrivilegedAction<Thread>) () -> {
+                Thread th = new Thread(r);
+                th.setName("Prism Raster Thread-" + threadNumber.getAndIncrement());
+                th.setDaemon(true);
+                return th;
+            }));
+        // More bands than threads, so that a thread that finishes a sparse
+        // band early can pick up another one
+        maxBands = numThreads * 2;
+    }
+
+    /**
+     * Rasterizes the shape and sends its coverage to the given consumer,
+     * exactly like {@code Renderer.produceAlphas} would after
+     * {@code OpenPiscesPrismUtils.setupRenderer}, except that the origin and
+     * width methods of the consumer are not used.
+     *
+     * @return false if the shape is too small to be split into bands, in
+     *         which case nothing was sent to the consumer
+     */
+    public boolean rasterize(Shape shape, BasicStroke stroke, BaseTransform tx,
+                             Rectangle clip, boolean antialiasedShape,
+                             AlphaConsumer ac)
+    {
+        // Conservative device bounds of the shape, used to pick the bands.
+        // Strokes extend at most half the line width from the path, times
+        // the miter limit for miter joins and sqrt(2) for square caps.
+        RectBounds bounds = shape.getBounds();
+        if (stroke != null) {
+            float pad = stroke.getLineWidth() / 2f;
+            if (stroke.getLineJoin() == BasicStroke.JOIN_MITER) {
+                pad *= Math.max(stroke.getMiterLimit(), 1.5f);
+            } else {
+                pad *= 1.5f;
+            }
+            bounds.setBounds(bounds.getMinX() - pad, bounds.getMinY() - pad,
+                             bounds.getMaxX() + pad, bounds.getMaxY() + pad);
+        }
+        BaseBounds dev = tx.transform(bounds, bounds);
+        int y0 = Math.max(clip.y, (int) Math.floor(dev.getMinY()) - 1);
+        int y1 = Math.min(clip.y + clip.height, (int) Math.ceil(dev.getMaxY()) + 1);
+        int x0 = Math.max(clip.x, (int) Math.floor(dev.getMinX()) - 1);
+        int x1 = Math.min(clip.x + clip.width, (int) Math.ceil(dev.getMaxX()) + 1);
+        if (x1 <= x0 || y1 <= y0 || (long) (x1 - x0) * (y1 - y0) < MIN_AREA) {
+            return false;
+        }
+        int numBands = Math.min(maxBands, (y1 - y0) / MIN_BAND_HEIGHT);
+        if (numBands < 2) {
+            return false;
+        }
+
+        long start = PULSE_LOGGING_ENABLED ? System.nanoTime() : 0;
+        List<Band> tasks = new ArrayList<>(numBands);
+        int h = y1 - y0;
+        for (int i = 0; i < numBands; i++) {
+            if (bands.size() == i) {
+                bands.add(new Band());
+            }
+            Band band = bands.get(i);
+            int by0 = y0 + (int) ((long) h * i / numBands);
+            int by1 = y0 + (int) ((long) h * (i + 1) / numBands);
+            band.init(shape, stroke, tx, antialiasedShape,
+                      clip.x, by0, clip.width, by1 - by0);
+            tasks.add(band);
+        }
+
+        boolean failed = false;
+        try {
+            for (Future<Void> f : executor.invokeAll(tasks)) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    failed = true;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Bands may still be running, so they cannot be reused
+            Thread.currentThread().interrupt();
+            bands.clear();
+            return false;
+        }
+        for (Band band : tasks) {
+            band.release();
+        }
+        if (failed) {
+            return false;
+        }
+
+        emitRows(tasks, ac);
+
+        if (PULSE_LOGGING_ENABLED) {
+            long bandNanos = 0;
+            for (Band band : tasks) {
+                bandNanos += band.nanos;
+            }
+            PulseLogger.incrementCounter("Shapes rasterized in bands");
+            PulseLogger.addToCounter("Raster bands", numBands);
+            PulseLogger.addToCounter("Raster band time (us)", bandNanos / 1000);
+            PulseLogger.addToCounter("Banded rasterization time (us)",
+                                     (System.nanoTime() - start) / 1000);
+        }
+        return true;
+    }
+
+    private void emitRows(List<Band> tasks, AlphaConsumer ac) {
+        // The rows are sent over the union of the x ranges of the bands and
+        // without gaps, which is what a single renderer would have produced
+        int minX = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxAlpha = 1;
+        for (Band band : tasks) {
+            if (band.numRows > 0) {
+                maxAlpha = band.maxAlpha;
+                minX = Math.min(minX, band.originX);
+                maxX = Math.max(maxX, band.originX + band.width);
+            }
+        }
+        if (minX > maxX) {
+            return;
+        }
+        ac.setMaxAlpha(maxAlpha);
+        int w = maxX - minX;
+        if (rowDeltas.length < w + 2) {
+            rowDeltas = new int[w + 2];
+        }
+        final int deltas[] = rowDeltas;
+        int nextY = Integer.MIN_VALUE;
+        for (Band band : tasks) {
+            if (band.numRows == 0) {
+                continue;
+            }
+            if (nextY != Integer.MIN_VALUE) {
+                for (; nextY < band.firstY; nextY++) {
+                    Arrays.fill(deltas, 0, w + 2, 0);
+                    ac.setAndClearRelativeAlphas(deltas, nextY, minX, maxX);
+                }
+            }
+            final byte coverage[] = band.coverage;
+            final int stride = band.width + 1;
+            final int off = band.originX - minX;
+            for (int row = 0; row < band.numRows; row++) {
+                Arrays.fill(deltas, 0, w + 2, 0);
+                int prev = 0;
+                for (int i = 0, c = row * stride; i < stride; i++, c++) {
+                    int a = coverage[c] & 0xff;
+                    deltas[off + i] = a - prev;
+                    prev = a;
+                }
+                deltas[off + stride] = -prev;
+                ac.setAndClearRelativeAlphas(deltas, band.firstY + row, minX, maxX);
+            }
+            nextY = band.firstY + band.numRows;
+        }
+    }
+
+    public void dispose() {
+        executor.shutdown();
+    }
+
+    /**
+     * One band of a shape, with the state needed to rasterize it on a
+     * worker thread. The coverage of pixel (originX + i, firstY + row) is
+     * stored at coverage[row * (width + 1) + i].
+     */
+    private static final class Band implements Callable<Void>, AlphaConsumer {
+        private final TransformingPathConsumer2D.FilterSet transformer =
+            new TransformingPathConsumer2D.FilterSet();
+        private Renderer aaRenderer;
+        private Renderer renderer;
+        private Stroker stroker;
+        private Dasher dasher;
+
+        private Shape shape;
+        private BasicStroke stroke;
+        private BaseTransform tx;
+        private boolean antialiasedShape;
+        private final Rectangle clip = new Rectangle();
+
+        private int originX;
+        private int width;
+        private int firstY;
+        private int maxRows;
+        private int numRows;
+        private int maxAlpha;
+        private byte coverage[] = new byte[0];
+        private long nanos;
+
+        void init(Shape shape, BasicStroke stroke, BaseTransform tx,
+                  boolean antialiasedShape, int x, int y, int w, int h)
+        {
+            this.shape = shape;
+            this.stroke = stroke;
+            this.tx = tx;
+            this.antialiasedShape = antialiasedShape;
+            clip.setBounds(x, y, w, h);
+        }
+
+        void release() {
+            shape = null;
+            stroke = null;
+            tx = null;
+        }
+
+        @Override
+        public Void call() {
+            long start = System.nanoTime();
+            Renderer r;
+            if (antialiasedShape) {
+                if (aaRenderer == null) {
+                    aaRenderer = new Renderer(3, 3);
+                }
+                r = aaRenderer;
+            } else {
+                if (renderer == null) {
+                    renderer = new Renderer(0, 0);
+                }
+                r = renderer;
+            }
+            if (stroker == null) {
+                stroker = new Stroker(r);
+                dasher = new Dasher(stroker);
+            }
+            PathIterator pi = shape.getPathIterator(null);
+            OpenPiscesPrismUtils.feedConsumer(pi,
+                OpenPiscesPrismUtils.initRenderer(stroke, tx, clip,
+                                                  pi.getWindingRule(), r,
+                                                  transformer, stroker, dasher));
+            originX = r.getOutpixMinX();
+            width = Math.max(0, r.getOutpixMaxX() - originX);
+            firstY = r.getOutpixMinY();
+            maxRows = Math.max(0, r.getOutpixMaxY() - firstY);
+            int size = maxRows * (width + 1);
+            if (coverage.length < size) {
+                coverage = new byte[size];
+            }
+            numRows = 0;
+            if (size > 0) {
+                r.produceAlphas(this);
+            }
+            nanos = System.nanoTime() - start;
+            return null;
+        }
+
+        @Override
+        public int getOriginX() {
+            return originX;
+        }
+
+        @Override
+        public int getOriginY() {
+            return firstY;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return numRows;
+        }
+
+        @Override
+        public void setMaxAlpha(int maxalpha) {
+            this.maxAlpha = maxalpha;
+        }
+
+        @Override
+        public void setAndClearRelativeAlphas(int[] alphaDeltas, int pix_y,
+                                              int firstdelta, int lastdelta)
+        {
+            int row = pix_y - firstY;
+            if (row < 0 || row >= maxRows) {
+                return;
+            }
+            int stride = width + 1;
+            int a = 0;
+            for (int i = 0, c = row * stride; i < stride; i++, c++) {
+                a += alphaDeltas[i];
+                alphaDeltas[i] = 0;
+                coverage[c] = (byte) a;
+            }
+            numRows = row + 1;
+        }
+    }
+}
@@ -52,20 +52,35 @@ public class OpenPiscesPrismUtils {
                                                Rectangle clip,
                                                int pirule,
                                                Renderer renderer)
+    {
+        return initRenderer(stroke, tx, clip, pirule, renderer,
+                            transformer, savedStroker, savedDasher);
+    }
+
+    // Also used by BandedShapeRasterizer, whose worker threads cannot share
+    // the saved stroker, dasher and transformer above.
+    static PathConsumer2D initRenderer(BasicStroke stroke,
+                                       BaseTransform tx,
+                                       Rectangle clip,
+                                       int pirule,
+                                       Renderer renderer,
+                                       TransformingPathConsumer2D.FilterSet transformer,
+                                       Stroker stroker,
+                                       Dasher dasher)
     {
         int oprule = (stroke == null && pirule == PathIterator.WIND_EVEN_ODD) ?
             Renderer.WIND_EVEN_ODD : Renderer.WIND_NON_ZERO;
         renderer.reset(clip.x, clip.y, clip.width, clip.height, oprule);
         PathConsumer2D ret = transformer.getConsumer(renderer, tx);
         if (stroke != null) {
-            savedStroker.reset(stroke.getLineWidth(), stroke.getEndCap(),
-                               stroke.getLineJoin(), stroke.getMiterLimit());
-            savedStroker.setConsumer(ret);
-            ret = savedStroker;
+            stroker.reset(stroke.getLineWidth(), stroke.getEndCap(),
+                          stroke.getLineJoin(), stroke.getMiterLimit());
+            stroker.setConsumer(ret);
+            ret = stroker;
             float dashes[] = stroke.getDashArray();
             if (dashes != null) {
-                savedDasher.reset(dashes, stroke.getDashPhase());
-                ret = savedDasher;
+                dasher.reset(dashes, stroke.getDashPhase());
+                ret = dasher;
             }
         }
         return ret;
@@ -47,6 +47,12 @@ final class DirectRTPiscesAlphaConsumer implements AlphaConsumer {
         if (w < 0) { w = 0; }
         h = renderer.getOutpixMaxY() - outpix_ymin;
         if (h < 0) { h = 0; }
+        initConsumer(pr);
+    }
+
+    // Used when the rows are replayed by a BandedShapeRasterizer, which
+    // does not need the origin and size of the consumer.
+    void initConsumer(PiscesRenderer pr) {
         rowNum = 0;
         this.pr = pr;
     }
@@ -35,6 +35,7 @@ import com.sun.prism.PixelFormat;
 import com.sun.prism.ResourceFactory;
 import com.sun.prism.Texture;
 import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.impl.shape.BandedShapeRasterizer;
 import com.sun.prism.impl.shape.MaskData;
 import com.sun.prism.impl.shape.OpenPiscesPrismUtils;
 import com.sun.prism.impl.shape.ShapeUtil;
@@ -101,6 +102,8 @@ final class SWContext {
 
     class JavaShapeRenderer implements ShapeRenderer {
         private final DirectRTPiscesAlphaConsumer alphaConsumer = new DirectRTPiscesAlphaConsumer();
+        private final BandedShapeRasterizer bandedRasterizer = (PrismSettings.swRasterThreads > 1) ?
+                new BandedShapeRasterizer(PrismSettings.swRasterThreads) : null;
 
         public void renderShape(PiscesRenderer pr, Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip, boolean antialiasedShape) {
             if (stroke != null && stroke.getType() != BasicStroke.TYPE_CENTERED) {
@@ -113,12 +116,22 @@ final class SWContext {
                 shape = stroke.createStrokedShape(shape);
                 stroke = null;
             }
+            if (bandedRasterizer != null) {
+                alphaConsumer.initConsumer(pr);
+                if (bandedRasterizer.rasterize(shape, stroke, tr, clip, antialiasedShape, alphaConsumer)) {
+                    return;
+                }
+            }
             final Renderer r = OpenPiscesPrismUtils.setupRenderer(shape, stroke, tr, clip, antialiasedShape);
             alphaConsumer.initConsumer(r, pr);
             r.produceAlphas(alphaConsumer);
         }
 
-        public void dispose() { }
+        public void dispose() {
+            if (bandedRasterizer != null) {
+                bandedRasterizer.dispose();
+            }
+        }
     }
 
     SWContext(ResourceFactory factory) {
@@ -43,6 +43,13 @@ public abstract class AbstractMasterTimer {
     protected final static String ADAPTIVE_PULSE_PROP = "com.sun.scenario.animation.adaptivepulse";
     private static boolean useAdaptivePulse = Settings.getBoolean(ADAPTIVE_PULSE_PROP);
 
+    // lets the timer sleep while no animation needs a pulse, e.g. between
+    // the key frames of a blinking caret. See MainLoop.getDelay(). Off by
+    // default, because Animation.getCurrentTime() of a sleeping timeline is
+    // only updated at its key frames
+    protected final static String SKIP_IDLE_PULSES_PROP = "com.sun.scenario.animation.skipIdlePulses";
+    private static boolean skipIdlePulses = Settings.getBoolean(SKIP_IDLE_PULSES_PROP);
+
     // another property which is controlling whether vsync is enabled:
     // "com.sun.scenario.animation.vsync". if true, JSGPanel will enable vsync
     // for the toplevel it's in. See JSGPanel.
@@ -58,8 +65,8 @@ public abstract class AbstractMasterTimer {
     protected final static String ANIMATION_MBEAN_ENABLED = "com.sun.scenario.animation.AnimationMBean.enabled";
     protected final static boolean enableAnimationMBean = false;
 
-    private final int PULSE_DURATION_NS = getPulseDuration(1000000000);
-    private final int PULSE_DURATION_TICKS = getPulseDuration((int)TickCalculation.fromMillis(1000));
+    private int pulseDurationNs = getPulseDuration(1000000000);
+    private int pulseDurationTicks = getPulseDuration((int)TickCalculation.fromMillis(1000));
 
     // This PropertyChangeListener is added to Settings to listen for changes
     // to the nogap and fullspeed properties.
@@ -71,6 +78,9 @@ public abstract class AbstractMasterTimer {
             case ADAPTIVE_PULSE_PROP:
                 useAdaptivePulse = Settings.getBoolean(ADAPTIVE_PULSE_PROP);
                 break;
+            case SKIP_IDLE_PULSES_PROP:
+                skipIdlePulses = Settings.getBoolean(SKIP_IDLE_PULSES_PROP);
+                break;
             case ANIMATION_MBEAN_ENABLED:
                 AnimationPulse.getDefaultBean()
                               .setEnabled(Settings.getBoolean(ANIMATION_MBEAN_ENABLED));
@@ -102,7 +112,7 @@ public abstract class AbstractMasterTimer {
     // case, instead of advancing time based on the system time (nanos etc) we instead
     // increment each animation by a fixed length of time for each pulse. This is
     // handy while debugging.
-    private final long fixedPulseLength = Boolean.getBoolean(FIXED_PULSE_LENGTH_PROP) ? PULSE_DURATION_NS : 0;
+    private final long fixedPulseLength = Boolean.getBoolean(FIXED_PULSE_LENGTH_PROP) ? pulseDurationNs : 0;
     private long debugNanos = 0;
 
     private final MainLoop theMaster = new MainLoop();
@@ -116,9 +126,51 @@ public abstract class AbstractMasterTimer {
         }
     }
 
+    // package for testing
+    static boolean setSkipIdlePulses(boolean value) {
+        final boolean old = skipIdlePulses;
+        skipIdlePulses = value;
+        return old;
+    }
+
     // Used by Clip.create() method that doesn't take a resolution argument
     public int getDefaultResolution() {
-        return PULSE_DURATION_TICKS;
+        return pulseDurationTicks;
+    }
+
+    /**
+     * Changes the pulse rate at run time. A rate of 0 restores the default
+     * rate, which is given by the settings or by the refresh rate of the
+     * screen. Only the animations created afterwards get the new rate as
+     * their target framerate.
+     *
+     * @param hz the number of pulses per second
+     */
+    public void setPulseRate(int hz) {
+        if (hz < 0) {
+            throw new IllegalArgumentException("Negative pulse rate: " + hz);
+        }
+        final int ticksPerSecond = (int)TickCalculation.fromMillis(1000);
+        pulseDurationNs = hz > 0 ? 1000000000 / hz : getPulseDuration(1000000000);
+        pulseDurationTicks = hz > 0 ? ticksPerSecond / hz : getPulseDuration(ticksPerSecond);
+        pulseRateChanged(1000000000 / pulseDurationNs);
+    }
+
+    /**
+     * Called when the pulse rate has been changed by {@link #setPulseRate}.
+     *
+     * @param hz the new number of pulses per second
+     */
+    protected void pulseRateChanged(int hz) {
+    }
+
+    /**
+     * Makes the next pulse happen at the regular time. This must be called
+     * when an animation may need a pulse earlier than it told the last time
+     * the timer went to sleep, e.g. because it jumped to another time.
+     */
+    public void wakeUp() {
+        theMaster.wakeUp();
     }
 
     public void pause() {
@@ -175,6 +227,7 @@ public abstract class AbstractMasterTimer {
         if (receiversLength == 1) {
             theMaster.updateAnimationRunnable();
         }
+        theMaster.wakeUp();
     }
 
     public void removePulseReceiver(PulseReceiver target) {
@@ -209,6 +262,7 @@ public abstract class AbstractMasterTimer {
         if (animationTimersLength == 1) {
             theMaster.updateAnimationRunnable();
         }
+        theMaster.wakeUp();
     }
 
     public void removeAnimationTimer(TimerReceiver timer) {
@@ -257,6 +311,11 @@ public abstract class AbstractMasterTimer {
         private long nextPulseTime = nanos();
         private long lastPulseDuration = Integer.MIN_VALUE;
 
+        // the time of the next pulse the animations need, if they don't
+        // need the next regular one
+        private volatile boolean sleeping;
+        private volatile long wakeUpTime;
+
         @Override
         public void run() {
             if (paused) {
@@ -267,17 +326,57 @@ public abstract class AbstractMasterTimer {
             timePulseImpl(now);
             recordEnd();
             updateNextPulseTime(now);
+            updateWakeUpTime();
             // reschedule animation runnable if needed
             updateAnimationRunnable();
         }
 
+        /**
+         * Returns the time until the animations need a pulse. This is 0
+         * unless all of them can skip the next regular pulses: an animation
+         * which is waiting for its delay, which runs at a lower framerate
+         * than the pulses, or a timeline which only has something to do at
+         * its key frames. The toolkit does not need to pulse for the
+         * animations until then.
+         */
         @Override
         public long getDelay() {
-            final long now = nanos();
-            final long timeUntilPulse = (nextPulseTime - now) / 1000000;
+            if (!sleeping) {
+                return 0;
+            }
+            final long timeUntilPulse = (wakeUpTime - nanos()) / 1000000;
             return Math.max(0, timeUntilPulse);
         }
 
+        void wakeUp() {
+            sleeping = false;
+        }
+
+        private void updateWakeUpTime() {
+            sleeping = false;
+            if (!skipIdlePulses || fullspeed || fixedPulseLength > 0
+                    || animationTimersLength > 0 || receiversLength == 0) {
+                // AnimationTimers need every pulse
+                return;
+            }
+            final long now = nanos();
+            final long nowTicks = TickCalculation.fromNano(now);
+            long nextTicks = Long.MAX_VALUE;
+            final PulseReceiver receiversSnapshot[] = receivers;
+            final int rLength = receiversLength;
+            for (int i = 0; i < rLength; i++) {
+                nextTicks = Math.min(nextTicks, receiversSnapshot[i].getNextPulseTime(nowTicks));
+                if (nextTicks <= nowTicks) {
+                    return;
+                }
+            }
+            final double millis = TickCalculation.toMillis(nextTicks - nowTicks);
+            if (millis * 1000000 >= pulseDurationNs) {
+                wakeUpTime = now + (long) Math.ceil(millis * 1000000);
+                sleeping = true;
+            }
+        }
+
         private void updateNextPulseTime(long pulseStarted) {
             final long now = nanos();
             if (fullspeed) {
@@ -288,7 +387,7 @@ public abstract class AbstractMasterTimer {
                     // early enough to finish up the painting and call swap
                     // before vsync happens. We try to minimize the amount of
                     // time we wait for vsync blocking the EDT thread.
-                    nextPulseTime += PULSE_DURATION_NS;
+                    nextPulseTime += pulseDurationNs;
                     long pulseDuration = now - pulseStarted;
                     // if the new duration was smaller than the previous one
                     // we don't need to do anything (we have decreased the
@@ -304,14 +403,14 @@ public abstract class AbstractMasterTimer {
                     }
                     // if the pulse took longer than pulse_duration_ns we
                     // probably missed the vsync
-                    if (pulseDuration >= PULSE_DURATION_NS) {
-                        pulseDuration = 3 * PULSE_DURATION_NS / 4;
+                    if (pulseDuration >= pulseDurationNs) {
+                        pulseDuration = 3 * pulseDurationNs / 4;
                     }
                     lastPulseDuration = pulseDuration;
                     nextPulseTime = nextPulseTime - pulseDuration;
                 } else {
-                    nextPulseTime = ((nextPulseTime + PULSE_DURATION_NS) / PULSE_DURATION_NS)
-                            * PULSE_DURATION_NS;
+                    nextPulseTime = ((nextPulseTime + pulseDurationNs) / pulseDurationNs)
+                            * pulseDurationNs;
                 }
             }
         }
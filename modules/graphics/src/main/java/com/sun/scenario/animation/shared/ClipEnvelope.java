@@ -122,4 +122,24 @@ public abstract class ClipEnvelope {
     public double getCurrentRate() {
         return currentRate;
     }
+
+    public long getCycleTicks() {
+        return cycleTicks;
+    }
+
+    /**
+     * Returns the current position within the cycle.
+     */
+    public long getPosition() {
+        return ticks;
+    }
+
+    /**
+     * Returns the number of ticks of the timer the clip needs to move by
+     * the given distance at its current rate.
+     */
+    public long getTimerTicks(long distance) {
+        final double absRate = Math.abs(currentRate);
+        return (absRate < EPSILON) ? 0 : (long) Math.ceil(distance / absRate);
+    }
 }
@@ -45,6 +45,11 @@ public class FiniteClipEnvelope extends ClipEnvelope {
         updateTotalTicks();
     }
 
+    @Override
+    public long getPosition() {
+        return pos;
+    }
+
     @Override
     public void setAutoReverse(boolean autoReverse) {
         this.autoReverse = autoReverse;
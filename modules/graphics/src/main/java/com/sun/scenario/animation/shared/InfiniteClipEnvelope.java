@@ -41,6 +41,11 @@ public class InfiniteClipEnvelope extends ClipEnvelope {
         }
     }
 
+    @Override
+    public long getPosition() {
+        return pos;
+    }
+
     @Override
     public void setAutoReverse(boolean autoReverse) {
         this.autoReverse = autoReverse;
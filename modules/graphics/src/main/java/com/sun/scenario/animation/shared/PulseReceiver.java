@@ -42,4 +42,18 @@ public interface PulseReceiver {
      * @return true if PulseReceiver should be removed from the MasterTimer.
      */
     void timePulse(long now);
+
+    /**
+     * Returns the time of the next pulse this PulseReceiver needs. Pulses
+     * before that time may be skipped, because they would not change
+     * anything. By default, every pulse is needed.
+     *
+     * @param now
+     *            Timestamp of the current time.
+     * @return the timestamp of the next pulse needed, {@code now} if the
+     *            next regular pulse is needed.
+     */
+    default long getNextPulseTime(long now) {
+        return now;
+    }
 }
@@ -29,7 +29,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import javafx.animation.Animation.Status;
+import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
@@ -73,6 +75,9 @@ public class TimelineClipCore {
 
     private ClipInterpolator clipInterpolator;
 
+    // true if the values change only at the key frames
+    private boolean discrete = true;
+
     public TimelineClipCore(Timeline timeline) {
         this.timeline = timeline;
         this.clipInterpolator = ClipInterpolator.create(keyFrames, keyFrameTicks);
@@ -93,10 +98,48 @@ public class TimelineClipCore {
             keyFrameTicks[i] = TickCalculation.fromDuration(this.keyFrames[i].getTime());
         }
         clipInterpolator = clipInterpolator.setKeyFrames(sortedKeyFrames, keyFrameTicks);
+        discrete = true;
+        for (final KeyFrame keyFrame : sortedKeyFrames) {
+            for (final KeyValue keyValue : keyFrame.getValues()) {
+                if (keyValue.getInterpolator() != Interpolator.DISCRETE) {
+                    discrete = false;
+                }
+            }
+        }
         return (n == 0) ? Duration.ZERO
                 : sortedKeyFrames[n-1].getTime();
     }
 
+    /**
+     * Tells whether the values of the timeline change only at its key
+     * frames, i.e. it has no key values or only discrete ones.
+     */
+    public boolean isDiscrete() {
+        return discrete;
+    }
+
+    /**
+     * Returns the time of the first key frame after the position in the
+     * given direction, or the end of the cycle if there is none.
+     */
+    public long getNextKeyFrameTicks(long ticks, boolean forward, long cycleTicks) {
+        if (forward) {
+            for (int i = 0; i < keyFrameTicks.length; i++) {
+                if (keyFrameTicks[i] > ticks) {
+                    return Math.min(keyFrameTicks[i], cycleTicks);
+                }
+            }
+            return cycleTicks;
+        } else {
+            for (int i = keyFrameTicks.length - 1; i >= 0; i--) {
+                if (keyFrameTicks[i] < ticks) {
+                    return keyFrameTicks[i];
+                }
+            }
+            return 0;
+        }
+    }
+
     public void notifyCurrentRateChanged() {
         // special case: if clip is toggled while stopped, we want to revisit
         // all key frames
@@ -131,7 +131,7 @@ public abstract class Animation {
     private long startTime;
     private long pauseTime;
     private boolean paused = false;
-    private final AbstractMasterTimer timer;
+    final AbstractMasterTimer timer;
 
     // Access control context, captured whenever we add this pulse reciever to
     // the master timer (which is called when an animation is played or resumed)
@@ -187,6 +187,22 @@ public abstract class Animation {
                 return null;
             }, accessCtrlCtx);
         }
+
+        @Override public long getNextPulseTime(long now) {
+            final long elapsedTime = now - startTime;
+            if (elapsedTime < 0) {
+                // still waiting for the delay
+                return startTime;
+            }
+            // see impl_timePulse()
+            long next = (resolution == 1) ? elapsedTime : lastPulse + resolution;
+            if (currentTime == null) {
+                // Nobody listens to the current time, so only the pulses
+                // which change something are needed.
+                next = Math.max(next, impl_getNextPulseTicks(elapsedTime));
+            }
+            return startTime + next;
+        }
     };
 
     private class CurrentRateProperty extends ReadOnlyDoublePropertyBase {
@@ -327,6 +343,7 @@ public abstract class Animation {
                             oldRate = newRate;
                         }
                         clipEnvelope.setRate(newRate);
+                        timer.wakeUp();
                     }
                 }
 
@@ -498,6 +515,8 @@ public abstract class Animation {
     public final ReadOnlyObjectProperty<Duration> currentTimeProperty() {
         if (currentTime == null) {
             currentTime = new CurrentTimeProperty();
+            // the current time must now be updated on every pulse
+            timer.wakeUp();
         }
         return currentTime;
     }
@@ -768,6 +787,7 @@ public abstract class Animation {
             syncClipEnvelope();
         }
         clipEnvelope.jumpTo(ticks);
+        timer.wakeUp();
     }
 
     /**
@@ -1106,6 +1126,15 @@ public abstract class Animation {
         }
     }
 
+    /**
+     * Returns the elapsed time of the next pulse which may change a value or
+     * trigger an action of this animation, if there is nothing to do before.
+     * Animations that interpolate their values need every pulse.
+     */
+    long impl_getNextPulseTicks(long elapsedTime) {
+        return elapsedTime;
+    }
+
     abstract void impl_playTo(long currentTicks, long cycleTicks);
 
     abstract void impl_jumpTo(long currentTicks, long cycleTicks, boolean forceJump);
@@ -111,6 +111,7 @@ public final class Timeline extends Animation {
                     }
                     final Duration duration = clipCore.setKeyFrames(getKeyFrames());
                     setCycleDuration(duration);
+                    timer.wakeUp();
                 }
             }
         }
@@ -171,6 +172,18 @@ public final class Timeline extends Animation {
         clipCore = new TimelineClipCore(this);
     }
 
+    @Override
+    long impl_getNextPulseTicks(long elapsedTime) {
+        if (!clipCore.isDiscrete()) {
+            return elapsedTime;
+        }
+        // Nothing changes until the next key frame or the end of the cycle
+        final long pos = clipEnvelope.getPosition();
+        final boolean forward = clipEnvelope.getCurrentRate() > 0;
+        final long next = clipCore.getNextKeyFrameTicks(pos, forward, clipEnvelope.getCycleTicks());
+        return elapsedTime + clipEnvelope.getTimerTicks(Math.abs(next - pos));
+    }
+
     @Override
     void impl_playTo(long currentTicks, long cycleTicks) {
         clipCore.playTo(currentTicks);
@@ -174,6 +174,10 @@ final class CssStyleHelper {
 
         helper.cacheContainer = new CacheContainer(node, styleMap, depth);
 
+        if (referencedNames.addAll(styleMap.getReferencedNames())) {
+            referencedNamesVersion += 1;
+        }
+
         // If this node had a style helper, then reset properties to their initial value
         // since the style map might now be different
         if (node.styleHelper != null) {
@@ -207,6 +211,7 @@ final class CssStyleHelper {
                     parentNode.styleHelper = new CssStyleHelper();
                 }
                 parentNode.styleHelper.triggerStates.addAll(triggerState);
+                parentNode.styleHelper.descendantTriggerStates.addAll(triggerState);
 
             }
 
@@ -347,6 +352,7 @@ final class CssStyleHelper {
             int ctr = 0;
             int[] smapIds = new int[depth];
             smapIds[ctr++] = this.smapId = styleMap.getId();
+            this.styleMap = styleMap;
 
             //
             // Create a set of StyleMap id's from the parent's smapIds.
@@ -398,7 +404,10 @@ final class CssStyleHelper {
         private StyleMap getStyleMap(Styleable styleable) {
             if (styleable != null) {
                 SubScene subScene =  (styleable instanceof Node) ? ((Node) styleable).getSubScene() : null;
-                return StyleManager.getInstance().getStyleMap(styleable, subScene, smapId);
+                final StyleMap smap = StyleManager.getInstance().getStyleMap(styleable, subScene, smapId);
+                // StyleManager returns null if it evicted the style map from
+                // its cache, but the style map is still good for this node.
+                return smap != null ? smap : styleMap;
             } else {
                 return StyleMap.EMPTY_MAP;
             }
@@ -416,6 +425,9 @@ final class CssStyleHelper {
         // The id of StyleMap that contains the styles that apply to this node
         private final int smapId;
 
+        // The StyleMap itself, in case StyleManager evicts it from its cache
+        private final StyleMap styleMap;
+
         // All nodes with the same set of styles share the same cache of
         // calculated values. But one node might have a different font-size
         // than another so the values are stored in cache by font-size.
@@ -429,6 +441,11 @@ final class CssStyleHelper {
         private final Map<CssMetaData, CalculatedValue> cssSetProperties;
 
         private boolean forceSlowpath = false;
+
+        // The pseudo-classes of the styles in the style map which set values
+        // the children may depend on. See CssStyleHelper#isAffectingChildren.
+        private PseudoClassState childTriggerStates;
+        private int childTriggerStatesVersion;
     }
 
     private void resetToInitialValues(final Styleable styleable) {
@@ -488,6 +505,84 @@ final class CssStyleHelper {
         return triggerStates.contains(pseudoClass);
     }
 
+    /**
+     * The subset of triggerStates which appear in the selectors of the
+     * styles of the node's descendants, e.g. "hover" for the Button in
+     * ".button:hover .label". These are gathered when the descendants'
+     * styles are matched.
+     */
+    private final PseudoClassState descendantTriggerStates = new PseudoClassState();
+
+    /**
+     * The names which the styles of any node may look up in the styles of
+     * its parents (see StyleMap#getReferencedNames). This only ever grows,
+     * which is conservative. The version is bumped on every change so the
+     * states computed from it can be checked for staleness.
+     */
+    private static final Set<String> referencedNames = new HashSet<>();
+    private static int referencedNamesVersion = 0;
+
+    /**
+     * Tells whether a change of the pseudo-class, which must be one of the
+     * triggerStates, may change the styles of the descendants of the node,
+     * as opposed to the styles of the node only.
+     * <p>
+     * The descendants depend on a pseudo-class of the node if it appears in
+     * their selectors, or if it selects a style of the node that they may
+     * read: a property that inherits, a property the node doesn't have
+     * (e.g. a looked-up color), or a name that some style looks up or
+     * inherits explicitly. Otherwise, the calculated values of the
+     * descendants are the same in either state and they need no update.
+     */
+    boolean isAffectingChildren(final Node node, final PseudoClass pseudoClass) {
+
+        // a leaf has no children to affect
+        if (!(node instanceof Parent)) return false;
+
+        if (descendantTriggerStates.contains(pseudoClass)) return true;
+
+        // without styles of its own, the node doesn't affect its children
+        if (cacheContainer == null) return false;
+
+        if (cacheContainer.childTriggerStates == null
+                || cacheContainer.childTriggerStatesVersion != referencedNamesVersion) {
+
+            final StyleMap styleMap = getStyleMap(node);
+            if (styleMap == null) return true;
+
+            final Map<String, Boolean> ownProperties = new HashMap<>();
+            final List<CssMetaData<? extends Styleable, ?>> props = node.getCssMetaData();
+            for (int p=0, pMax = props != null ? props.size() : 0; p<pMax; p++) {
+                final CssMetaData<? extends Styleable, ?> prop = props.get(p);
+                ownProperties.put(prop.getProperty(), prop.isInherits());
+            }
+
+            final PseudoClassState states = new PseudoClassState();
+            for (Entry<String, List<CascadingStyle>> entry : styleMap.getCascadingStyles().entrySet()) {
+
+                final String property = entry.getKey();
+                if (Boolean.FALSE.equals(ownProperties.get(property))
+                        && !referencedNames.contains(property)) {
+                    // a value only this node uses
+                    continue;
+                }
+
+                final List<CascadingStyle> styles = entry.getValue();
+                for (int n=0, nMax=styles.size(); n<nMax; n++) {
+                    final Set<PseudoClass> pseudoClasses = styles.get(n).getPseudoClasses();
+                    if (pseudoClasses != null) {
+                        states.addAll(pseudoClasses);
+                    }
+                }
+            }
+
+            cacheContainer.childTriggerStates = states;
+            cacheContainer.childTriggerStatesVersion = referencedNamesVersion;
+        }
+
+        return cacheContainer.childTriggerStates.contains(pseudoClass);
+    }
+
     /**
      * Dynamic pseudo-class state of the node and its parents.
      * Only valid during a pulse.
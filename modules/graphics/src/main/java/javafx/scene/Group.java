@@ -145,6 +145,57 @@ public  class Group extends Parent {
         return autoSizeChildren;
     }
 
+    /**
+     * Controls whether this {@code Group} keeps a spatial index of the
+     * bounds of its children to find the node under the mouse cursor. With
+     * the index, picking tests only the children whose bounds contain the
+     * picked point instead of all of them, which makes mouse handling much
+     * cheaper for groups with thousands of children (e.g. the shapes of a map).
+     * <p>
+     * The index has no effect on the result of picking: the children are
+     * still tested top-most first, with their own pick rules. It costs some
+     * memory and some work when the children or their bounds change, so it
+     * is only worth enabling for large groups whose children change less
+     * often than the mouse moves. Picking with a ray that is not parallel to
+     * the z axis, e.g. through a {@code PerspectiveCamera}, does not use the
+     * index.
+     *
+     * @defaultValue false
+     * @since JavaFX 8u60
+     */
+    private BooleanProperty indexedPicking;
+
+    public final void setIndexedPicking(boolean value) {
+        indexedPickingProperty().set(value);
+    }
+
+    public final boolean isIndexedPicking() {
+        return indexedPicking == null ? false : indexedPicking.get();
+    }
+
+    public final BooleanProperty indexedPickingProperty() {
+        if (indexedPicking == null) {
+            indexedPicking = new BooleanPropertyBase(false) {
+
+                @Override
+                protected void invalidated() {
+                    setPickIndexEnabled(get());
+                }
+
+                @Override
+                public Object getBean() {
+                    return Group.this;
+                }
+
+                @Override
+                public String getName() {
+                    return "indexedPicking";
+                }
+            };
+        }
+        return indexedPicking;
+    }
+
     /**
      * Gets the list of children of this {@code Group}.
      * @return the list of children of this {@code Group}.
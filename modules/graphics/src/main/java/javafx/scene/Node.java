@@ -141,6 +141,7 @@ import com.sun.javafx.geom.transform.GeneralTransform3D;
 import com.sun.javafx.geom.transform.NoninvertibleTransformException;
 import com.sun.javafx.jmx.MXNodeAlgorithm;
 import com.sun.javafx.jmx.MXNodeAlgorithmContext;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.javafx.perf.PerformanceTracker;
 import com.sun.javafx.scene.BoundsAccessor;
 import com.sun.javafx.scene.CameraHelper;
@@ -163,6 +164,8 @@ import javafx.scene.shape.Shape3D;
 import sun.util.logging.PlatformLogger;
 import sun.util.logging.PlatformLogger.Level;
 
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+
 /**
  * Base class for scene graph nodes. A scene graph is a set of tree data structures
  * where every item has zero or one parent, and each item is either
@@ -419,9 +422,13 @@ public abstract class Node implements EventTarget, Styleable {
         dirtyBits |= dirtyBit.getMask();
     }
 
-    private void addToSceneDirtyList() {
+    void addToSceneDirtyList() {
         Scene s = getScene();
         if (s != null) {
+            if (Parent.measuringInParallel
+                    && Parent.deferWhileMeasuring(this::addToSceneDirtyList)) {
+                return;
+            }
             s.addToDirtyList(this);
             if (getSubScene() != null) {
                 getSubScene().setDirty(this);
@@ -693,77 +700,69 @@ public abstract class Node implements EventTarget, Styleable {
      *
      * @defaultValue null
      */
-    private ReadOnlyObjectWrapper<Parent> parent;
+    private Parent parent;
+    private ReadOnlyObjectWrapperManualFire<Parent> parentRO;
 
     final void setParent(Parent value) {
-        parentPropertyImpl().set(value);
+        final Parent oldParent = parent;
+        if (oldParent == value) {
+            return;
+        }
+        parent = value;
+
+        if (oldParent != null) {
+            oldParent.disabledProperty().removeListener(parentDisabledChangedListener);
+            oldParent.impl_treeVisibleProperty().removeListener(parentTreeVisibleChangedListener);
+            if (nodeTransformation != null && nodeTransformation.listenerReasons > 0) {
+                ((Node) oldParent).localToSceneTransformProperty().removeListener(
+                        nodeTransformation.getLocalToSceneInvalidationListener());
+            }
+        }
+        updateDisabled();
+        computeDerivedDepthTest();
+        if (value != null) {
+            value.disabledProperty().addListener(parentDisabledChangedListener);
+            value.impl_treeVisibleProperty().addListener(parentTreeVisibleChangedListener);
+            if (nodeTransformation != null && nodeTransformation.listenerReasons > 0) {
+                ((Node) value).localToSceneTransformProperty().addListener(
+                        nodeTransformation.getLocalToSceneInvalidationListener());
+            }
+            //
+            // if parent changed, then CSS needs to be reapplied so
+            // that this node will get the right styles. This used
+            // to be done from Parent.children's onChanged method.
+            // See the comments there, also.
+            //
+            impl_reapplyCSS();
+        } else {
+            // RT-31168: reset CssFlag to clean so css will be reapplied if the node is added back later.
+            // If flag is REAPPLY, then impl_reapplyCSS() will just return and the call to
+            // notifyParentsOfInvalidatedCSS() will be skipped thus leaving the node un-styled.
+            cssFlag = CssFlags.CLEAN;
+        }
+        updateTreeVisible(true);
+        invalidateLocalToSceneTransform();
+        parentResolvedOrientationInvalidated();
+        notifyAccessibleAttributeChanged(AccessibleAttribute.PARENT);
+
+        if (parentRO != null) {
+            parentRO.set(value);
+            parentRO.fireSuperValueChangedEvent();
+        }
     }
 
     public final Parent getParent() {
-        return parent == null ? null : parent.get();
+        return parent;
     }
 
     public final ReadOnlyObjectProperty<Parent> parentProperty() {
-        return parentPropertyImpl().getReadOnlyProperty();
-    }
-
-    private ReadOnlyObjectWrapper<Parent> parentPropertyImpl() {
-        if (parent == null) {
-            parent = new ReadOnlyObjectWrapper<Parent>() {
-                private Parent oldParent;
-
-                @Override
-                protected void invalidated() {
-                    if (oldParent != null) {
-                        oldParent.disabledProperty().removeListener(parentDisabledChangedListener);
-                        oldParent.impl_treeVisibleProperty().removeListener(parentTreeVisibleChangedListener);
-                        if (nodeTransformation != null && nodeTransformation.listenerReasons > 0) {
-                            ((Node) oldParent).localToSceneTransformProperty().removeListener(
-                                    nodeTransformation.getLocalToSceneInvalidationListener());
-                        }
-                    }
-                    updateDisabled();
-                    computeDerivedDepthTest();
-                    final Parent newParent = get();
-                    if (newParent != null) {
-                        newParent.disabledProperty().addListener(parentDisabledChangedListener);
-                        newParent.impl_treeVisibleProperty().addListener(parentTreeVisibleChangedListener);
-                        if (nodeTransformation != null && nodeTransformation.listenerReasons > 0) {
-                            ((Node) newParent).localToSceneTransformProperty().addListener(
-                                    nodeTransformation.getLocalToSceneInvalidationListener());
-                        }
-                        //
-                        // if parent changed, then CSS needs to be reapplied so
-                        // that this node will get the right styles. This used
-                        // to be done from Parent.children's onChanged method.
-                        // See the comments there, also.
-                        //
-                        impl_reapplyCSS();
-                    } else {
-                        // RT-31168: reset CssFlag to clean so css will be reapplied if the node is added back later.
-                        // If flag is REAPPLY, then impl_reapplyCSS() will just return and the call to
-                        // notifyParentsOfInvalidatedCSS() will be skipped thus leaving the node un-styled.
-                        cssFlag = CssFlags.CLEAN;
-                    }
-                    updateTreeVisible(true);
-                    oldParent = newParent;
-                    invalidateLocalToSceneTransform();
-                    parentResolvedOrientationInvalidated();
-                    notifyAccessibleAttributeChanged(AccessibleAttribute.PARENT);
-                }
-
-                @Override
-                public Object getBean() {
-                    return Node.this;
-                }
-
-                @Override
-                public String getName() {
-                    return "parent";
-                }
-            };
+        // The property is only created when somebody observes it, every
+        // node in a scene graph has a parent but few are ever asked for it
+        if (parentRO == null) {
+            parentRO = new ReadOnlyObjectWrapperManualFire<Parent>("parent");
+            parentRO.set(parent);
         }
-        return parent;
+        return parentRO.getReadOnlyProperty();
     }
 
     private final InvalidationListener parentDisabledChangedListener = valueModel -> updateDisabled();
@@ -778,9 +777,16 @@ public abstract class Node implements EventTarget, Styleable {
      *
      * @defaultValue null
      */
-    private ReadOnlyObjectWrapperManualFire<Scene> scene = new ReadOnlyObjectWrapperManualFire<Scene>();
+    private Scene scene;
+    private ReadOnlyObjectWrapperManualFire<Scene> sceneRO;
 
     private class ReadOnlyObjectWrapperManualFire<T> extends ReadOnlyObjectWrapper<T> {
+        private final String name;
+
+        ReadOnlyObjectWrapperManualFire(String name) {
+            this.name = name;
+        }
+
         @Override
         public Object getBean() {
             return Node.this;
@@ -788,7 +794,7 @@ public abstract class Node implements EventTarget, Styleable {
 
         @Override
         public String getName() {
-            return "scene";
+            return name;
         }
 
         @Override
@@ -812,7 +818,7 @@ public abstract class Node implements EventTarget, Styleable {
     }
 
     private void invalidatedScenes(Scene oldScene, SubScene oldSubScene) {
-        Scene newScene = sceneProperty().get();
+        Scene newScene = scene;
         boolean sceneChanged = oldScene != newScene;
         SubScene newSubScene = subScene;
 
@@ -857,7 +863,7 @@ public abstract class Node implements EventTarget, Styleable {
             parentResolvedOrientationInvalidated();
         }
 
-        if (sceneChanged) { scene.fireSuperValueChangedEvent(); }
+        if (sceneChanged && sceneRO != null) { sceneRO.fireSuperValueChangedEvent(); }
 
         /* Dispose the accessible peer, if any. If AT ever needs this node again
          * a new accessible peer is created. */
@@ -890,9 +896,12 @@ public abstract class Node implements EventTarget, Styleable {
     }
 
     final void setScenes(Scene newScene, SubScene newSubScene) {
-        Scene oldScene = sceneProperty().get();
+        Scene oldScene = scene;
         if (newScene != oldScene || newSubScene != subScene) {
-            scene.set(newScene);
+            scene = newScene;
+            if (sceneRO != null) {
+                sceneRO.set(newScene);
+            }
             SubScene oldSubScene = subScene;
             subScene = newSubScene;
             invalidatedScenes(oldScene, oldSubScene);
@@ -908,11 +917,15 @@ public abstract class Node implements EventTarget, Styleable {
     }
 
     public final Scene getScene() {
-        return scene.get();
+        return scene;
     }
 
     public final ReadOnlyObjectProperty<Scene> sceneProperty() {
-        return scene.getReadOnlyProperty();
+        if (sceneRO == null) {
+            sceneRO = new ReadOnlyObjectWrapperManualFire<Scene>("scene");
+            sceneRO.set(scene);
+        }
+        return sceneRO.getReadOnlyProperty();
     }
 
     /**
@@ -1618,7 +1631,9 @@ public abstract class Node implements EventTarget, Styleable {
     private ReadOnlyBooleanWrapper disabled;
 
     protected final void setDisabled(boolean value) {
-        disabledPropertyImpl().set(value);
+        if (disabled != null || value) {
+            disabledPropertyImpl().set(value);
+        }
     }
 
     public final boolean isDisabled() {
@@ -3342,6 +3357,13 @@ public abstract class Node implements EventTarget, Styleable {
      */
     boolean boundsChanged;
 
+    /**
+     * The slot of this node in the BoundsTree of its parent, or -1 if the
+     * parent keeps no BoundsTree. Like boundsChanged, this belongs to the
+     * Parent of the node.
+     */
+    int boundsIndexSlot = -1;
+
     /**
      * Returns geometric bounds, but may be over-ridden by a subclass.
      * @treatAsPrivate implementation detail
@@ -7991,7 +8013,9 @@ public abstract class Node implements EventTarget, Styleable {
             if (treeVisible && !impl_isDirtyEmpty()) {
                 addToSceneDirtyList();
             }
-            ((TreeVisiblePropertyReadOnly)impl_treeVisibleProperty()).invalidate();
+            if (treeVisibleRO != null) {
+                treeVisibleRO.invalidate();
+            }
             if (Node.this instanceof SubScene) {
                 Node subSceneRoot = ((SubScene)Node.this).getRoot();
                 if (subSceneRoot != null) {
@@ -8009,7 +8033,7 @@ public abstract class Node implements EventTarget, Styleable {
      */
     @Deprecated
     public final boolean impl_isTreeVisible() {
-        return impl_treeVisibleProperty().get();
+        return treeVisibleRO == null ? treeVisible : treeVisibleRO.get();
     }
 
     /**
@@ -8803,17 +8827,24 @@ public abstract class Node implements EventTarget, Styleable {
 
     /**
      * Called when a CSS pseudo-class change would cause styles to be reapplied.
+     * If {@code updateChildren} is false, the change only affects the styles
+     * of this node and its children do not need to be updated.
      */
-    private void requestCssStateTransition() {
+    private void requestCssStateTransition(boolean updateChildren) {
         // If there is no scene, then we cannot make it dirty, so we'll leave
         // the flag alone
         if (getScene() == null) return;
-        // Don't bother doing anything if the cssFlag is not CLEAN.
+        // Don't bother doing anything if the cssFlag is UPDATE or REAPPLY.
         // If the flag indicates a DIRTY_BRANCH, the flag needs to be changed
-        // to UPDATE to ensure that impl_processCSS is called on the node.
-        if (cssFlag == CssFlags.CLEAN || cssFlag == CssFlags.DIRTY_BRANCH) {
-            cssFlag = CssFlags.UPDATE;
-            notifyParentsOfInvalidatedCSS();
+        // to UPDATE (or UPDATE_NODE) to ensure that impl_processCSS is called
+        // on the node.
+        final CssFlags flag = updateChildren ? CssFlags.UPDATE : CssFlags.UPDATE_NODE;
+        if (cssFlag.compareTo(flag) < 0) {
+            final boolean wasClean = cssFlag == CssFlags.CLEAN || cssFlag == CssFlags.DIRTY_BRANCH;
+            cssFlag = flag;
+            if (wasClean) {
+                notifyParentsOfInvalidatedCSS();
+            }
         }
     }
 
@@ -8854,7 +8885,7 @@ public abstract class Node implements EventTarget, Styleable {
         if (modified && styleHelper != null) {
             final boolean isTransition = styleHelper.pseudoClassStateChanged(pseudoClass);
             if (isTransition) {
-                requestCssStateTransition();
+                requestCssStateTransition(styleHelper.isAffectingChildren(this, pseudoClass));
             }
         }
    }
@@ -8916,7 +8947,7 @@ public abstract class Node implements EventTarget, Styleable {
         if (cssFlag == CssFlags.REAPPLY) return;
 
         // RT-36838 - don't reapply CSS in the middle of an update
-        if (cssFlag == CssFlags.UPDATE) {
+        if (cssFlag == CssFlags.UPDATE || cssFlag == CssFlags.UPDATE_NODE) {
             cssFlag = CssFlags.REAPPLY;
             notifyParentsOfInvalidatedCSS();
             return;
@@ -9099,7 +9130,7 @@ public abstract class Node implements EventTarget, Styleable {
 
         //
         // RT-28394 - need to see if any ancestor has a flag UPDATE
-        // If so, process css from the top-most CssFlags.UPDATE node
+        // (or UPDATE_NODE) If so, process css from the top-most such node
         // since my ancestor's styles may affect mine.
         //
         // If the scene-graph root isn't NODE_CSS dirty, then all my
@@ -9112,7 +9143,9 @@ public abstract class Node implements EventTarget, Styleable {
 
             Node _parent = getParent();
             while (_parent != null) {
-                if (_parent.cssFlag == CssFlags.UPDATE || _parent.cssFlag == CssFlags.REAPPLY) {
+                if (_parent.cssFlag == CssFlags.UPDATE
+                        || _parent.cssFlag == CssFlags.UPDATE_NODE
+                        || _parent.cssFlag == CssFlags.REAPPLY) {
                     topMost = _parent;
                 }
                 _parent = _parent.getParent();
@@ -9165,6 +9198,9 @@ public abstract class Node implements EventTarget, Styleable {
 
         // Transition to the new state and apply styles
         if (styleHelper != null && getScene() != null) {
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Nodes restyled");
+            }
             styleHelper.transitionToState(this);
         }
     }
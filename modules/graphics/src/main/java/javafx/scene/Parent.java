@@ -26,6 +26,8 @@
 package javafx.scene;
 
 import com.sun.javafx.scene.traversal.ParentTraversalEngine;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.BooleanPropertyBase;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
@@ -35,9 +37,16 @@ import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener.Change;
 import javafx.collections.ObservableList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import com.sun.javafx.util.TempState;
 import com.sun.javafx.util.Utils;
@@ -50,12 +59,16 @@ import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.PickRay;
 import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Vec3d;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.NoninvertibleTransformException;
 import com.sun.javafx.jmx.MXNodeAlgorithm;
 import com.sun.javafx.jmx.MXNodeAlgorithmContext;
+import com.sun.javafx.logging.PulseLogger;
+import com.sun.javafx.scene.BoundsTree;
 import com.sun.javafx.scene.CssFlags;
 import com.sun.javafx.scene.DirtyBits;
+import com.sun.javafx.scene.PickGrid;
 import com.sun.javafx.scene.input.PickResultChooser;
 import com.sun.javafx.sg.prism.NGGroup;
 import com.sun.javafx.sg.prism.NGNode;
@@ -63,6 +76,8 @@ import com.sun.javafx.tk.Toolkit;
 import com.sun.javafx.scene.LayoutFlags;
 import javafx.stage.Window;
 
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+
 /**
  * The base class for all nodes that have children in the scene graph.
  * <p>
@@ -230,6 +245,9 @@ public abstract class Parent extends Node {
         protected void onChanged(Change<Node> c) {
             // proceed with updating the scene graph
             unmodifiableManagedChildren = null;
+            if (pickIndex != null) {
+                pickIndex.invalidate();
+            }
             boolean relayout = false;
             if (childSetModified) {
                 while (c.next()) {
@@ -493,6 +511,9 @@ public abstract class Parent extends Node {
                         geomChanged = true;
                         childExcluded(old);
                     }
+                    if (boundsIndex != null) {
+                        boundsIndex.childRemoved(old);
+                    }
                     if (old.getParent() == Parent.this) {
                         old.setParent(null);
                         old.setScenes(null, null);
@@ -697,10 +718,20 @@ public abstract class Parent extends Node {
         double boundsDistance = impl_intersectsBounds(pickRay);
 
         if (!Double.isNaN(boundsDistance)) {
-            for (int i = children.size()-1; i >= 0; i--) {
-                children.get(i).impl_pickNode(pickRay, result);
-                if (result.isClosed()) {
-                    return;
+            final int[] candidates = getPickCandidates(pickRay);
+            if (candidates != null) {
+                for (int i = 0; i < candidates.length; i++) {
+                    children.get(candidates[i]).impl_pickNode(pickRay, result);
+                    if (result.isClosed()) {
+                        return;
+                    }
+                }
+            } else {
+                for (int i = children.size()-1; i >= 0; i--) {
+                    children.get(i).impl_pickNode(pickRay, result);
+                    if (result.isClosed()) {
+                        return;
+                    }
                 }
             }
 
@@ -710,6 +741,116 @@ public abstract class Parent extends Node {
         }
     }
 
+    /**
+     * The minimal number of children for which the pick index is used,
+     * testing fewer children one by one is cheaper.
+     */
+    private static final int PICK_INDEX_THRESHOLD = 64;
+
+    /**
+     * The spatial index of the children used for picking, null unless
+     * indexed picking is enabled (see Group.indexedPickingProperty).
+     */
+    private PickIndex pickIndex;
+
+    final void setPickIndexEnabled(boolean value) {
+        if (value != (pickIndex != null)) {
+            pickIndex = value ? new PickIndex() : null;
+        }
+    }
+
+    /**
+     * Returns the indices of the children that may be hit by the ray, the
+     * top-most first, or null if all children need to be tested.
+     * <p>
+     * A child (or one of its descendants) can only be picked if the ray
+     * hits its bounds in parent, so the children whose 2D bounds don't
+     * contain the ray's origin can be skipped when the ray is parallel to
+     * the z axis, which is the case for the usual 2D picking. Other rays
+     * (e.g. of a perspective camera) test all children.
+     */
+    private int[] getPickCandidates(PickRay pickRay) {
+        if (pickIndex == null || children.size() < PICK_INDEX_THRESHOLD) {
+            return null;
+        }
+        final Vec3d dir = pickRay.getDirectionNoClone();
+        if (dir.x != 0.0 || dir.y != 0.0) {
+            return null;
+        }
+        final Vec3d origin = pickRay.getOriginNoClone();
+        return pickIndex.getCandidates(origin.x, origin.y);
+    }
+
+    /**
+     * Keeps a PickGrid in sync with the children. A change of the children
+     * list drops the grid, it is built again by the next pick. A bounds
+     * change of a child only marks the child, it is moved to its new cells
+     * by the next pick.
+     */
+    private final class PickIndex {
+        private PickGrid grid;
+        private final Map<Node, Integer> ids = new IdentityHashMap<>();
+
+        void invalidate() {
+            grid = null;
+            ids.clear();
+        }
+
+        void childChanged(Node node) {
+            if (grid != null) {
+                final Integer id = ids.get(node);
+                if (id != null) {
+                    grid.markDirty(id);
+                }
+            }
+        }
+
+        int[] getCandidates(double x, double y) {
+            if (grid != null && grid.getDirtyCount() > grid.size() / 4) {
+                // cheaper to start over
+                invalidate();
+            }
+            if (grid == null) {
+                build();
+            } else if (grid.getDirtyCount() > 0) {
+                BaseBounds bounds = new RectBounds();
+                for (int id : grid.takeDirtyItems()) {
+                    bounds = children.get(id).getTransformedBounds(bounds, BaseTransform.IDENTITY_TRANSFORM);
+                    if (bounds.isEmpty()) {
+                        grid.update(id, 1, 1, 0, 0);
+                    } else {
+                        grid.update(id, bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY());
+                    }
+                }
+                if (grid.isStale()) {
+                    build();
+                }
+            }
+            return grid.getCandidates(x, y);
+        }
+
+        private void build() {
+            final int size = children.size();
+            final float[] coords = new float[size * 4];
+            BaseBounds bounds = new RectBounds();
+            ids.clear();
+            for (int i = 0; i < size; i++) {
+                final Node node = children.get(i);
+                bounds = node.getTransformedBounds(bounds, BaseTransform.IDENTITY_TRANSFORM);
+                if (bounds.isEmpty()) {
+                    coords[i * 4] = coords[i * 4 + 1] = 1;
+                } else {
+                    coords[i * 4] = bounds.getMinX();
+                    coords[i * 4 + 1] = bounds.getMinY();
+                    coords[i * 4 + 2] = bounds.getMaxX();
+                    coords[i * 4 + 3] = bounds.getMaxY();
+                }
+                ids.put(node, i);
+            }
+            grid = new PickGrid(size, coords);
+        }
+    }
+
     @Override boolean isConnected() {
         return super.isConnected() || sceneRoot;
     }
@@ -828,6 +969,8 @@ public abstract class Parent extends Node {
     boolean performingLayout = false;
 
     private boolean sizeCacheClear = true;
+    // set once measuring this parent in parallel had side effects
+    boolean measuredWithSideEffects;
     private double prefWidthCache = -1;
     private double prefHeightCache = -1;
     private double minWidthCache = -1;
@@ -841,6 +984,9 @@ public abstract class Parent extends Node {
     }
 
     private void markDirtyLayout(boolean local) {
+        if (measuringInParallel && deferWhileMeasuring(() -> markDirtyLayout(local))) {
+            return;
+        }
         setLayoutFlag(LayoutFlags.NEEDS_LAYOUT);
         if (local || layoutRoot) {
             if (sceneRoot) {
@@ -1054,12 +1200,181 @@ public abstract class Parent extends Node {
         return super.getBaselineOffset();
     }
 
+    /**
+     * Controls whether the sizes of the children of this {@code Parent} are
+     * computed in parallel before they are laid out. When enabled, the layout
+     * pass first computes the preferred and minimum sizes of all managed child
+     * {@code Parent}s whose sizes are not known, concurrently in the common
+     * {@code ForkJoinPool}, one child subtree at a time per thread. The
+     * children are then laid out on the JavaFX Application Thread as usual,
+     * with the sizes computed in advance.
+     * <p>
+     * This pays off for containers with many independent subtrees that are
+     * expensive to measure, such as the tiles of a dashboard. It must only be
+     * enabled if computing the size of each child reads nothing but its own
+     * subtree, does not modify the scene graph, and does not depend on the
+     * other children, e.g. through bindings or listeners.
+     * <p>
+     * Children that are {@code Group}s, and children whose subtrees have to
+     * be laid out or are changed while their sizes are computed, e.g. because
+     * they contain a {@code Group}, are measured on the JavaFX Application
+     * Thread.
+     *
+     * @defaultValue false
+     * @since JavaFX 8u60
+     */
+    private BooleanProperty parallelLayout;
+
+    public final void setParallelLayout(boolean value) {
+        parallelLayoutProperty().set(value);
+    }
+
+    public final boolean isParallelLayout() {
+        return parallelLayout == null ? false : parallelLayout.get();
+    }
+
+    public final BooleanProperty parallelLayoutProperty() {
+        if (parallelLayout == null) {
+            parallelLayout = new BooleanPropertyBase(false) {
+
+                @Override
+                public Object getBean() {
+                    return Parent.this;
+                }
+
+                @Override
+                public String getName() {
+                    return "parallelLayout";
+                }
+            };
+        }
+        return parallelLayout;
+    }
+
+    /*
+     * Set while the children of a parent are measured in parallel. Only then
+     * do layout(), markDirtyLayout() and Node.addToSceneDirtyList() check
+     * whether the current thread measures a child.
+     */
+    static volatile boolean measuringInParallel;
+
+    /*
+     * Defers a change that would be reported outside of the subtree being
+     * measured by the current thread, e.g. to the dirty list of the Scene,
+     * to the JavaFX Application Thread. Returns false, and does nothing, if
+     * the current thread doesn't measure a subtree.
+     */
+    static boolean deferWhileMeasuring(Runnable change) {
+        return MeasureTask.defer(change);
+    }
+
+    /*
+     * Computes the sizes of the managed child parents that have no cached
+     * sizes. Each task measures one subtree; the calling thread takes part
+     * in the work. Groups lay out their children while they are measured,
+     * so they, and the children which turned out to have side effects when
+     * measured before, are left to layoutChildren().
+     */
+    private void measureChildrenInParallel() {
+        List<Parent> unmeasured = null;
+        for (int i = 0, max = children.size(); i < max; i++) {
+            final Node child = children.get(i);
+            if (child instanceof Parent && child.isManaged() && !(child instanceof Group)) {
+                final Parent parent = (Parent) child;
+                if (parent.sizeCacheClear && !parent.measuredWithSideEffects) {
+                    if (unmeasured == null) {
+                        unmeasured = new ArrayList<>();
+                    }
+                    unmeasured.add(parent);
+                }
+            }
+        }
+        if (unmeasured != null && unmeasured.size() > 1) {
+            final Queue<Runnable> deferred = new ConcurrentLinkedQueue<>();
+            measuringInParallel = true;
+            try {
+                new MeasureTask(unmeasured, 0, unmeasured.size(), deferred).invoke();
+            } finally {
+                measuringInParallel = false;
+                for (Runnable change = deferred.poll(); change != null; change = deferred.poll()) {
+                    change.run();
+                }
+            }
+        }
+    }
+
+    private static final class MeasureTask extends RecursiveAction {
+        // the task measuring a child on the current thread
+        private static final ThreadLocal<MeasureTask> current = new ThreadLocal<>();
+
+        private final List<Parent> parents;
+        private final int from;
+        private final int to;
+        private final Queue<Runnable> deferred;
+
+        MeasureTask(List<Parent> parents, int from, int to, Queue<Runnable> deferred) {
+            this.parents = parents;
+            this.from = from;
+            this.to = to;
+            this.deferred = deferred;
+        }
+
+        static boolean defer(Runnable change) {
+            final MeasureTask task = current.get();
+            if (task == null) {
+                return false;
+            }
+            task.parents.get(task.from).measuredWithSideEffects = true;
+            task.deferred.add(change);
+            return true;
+        }
+
+        static void checkNotMeasuring() {
+            final MeasureTask task = current.get();
+            if (task != null) {
+                task.parents.get(task.from).measuredWithSideEffects = true;
+                throw new IllegalStateException("Layout while measuring in parallel");
+            }
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                final Parent parent = parents.get(from);
+                current.set(this);
+                try {
+                    parent.prefWidth(-1);
+                    parent.prefHeight(-1);
+                    parent.minWidth(-1);
+                    parent.minHeight(-1);
+                } catch (RuntimeException e) {
+                    // measuring failed, or would have laid out part of the
+                    // subtree; the parent is measured again during its
+                    // layout, on the JavaFX Application Thread, where a
+                    // failure is not caught
+                    parent.clearSizeCache();
+                } finally {
+                    current.remove();
+                }
+            } else {
+                final int mid = (from + to) >>> 1;
+                ForkJoinTask.invokeAll(new MeasureTask(parents, from, mid, deferred),
+                        new MeasureTask(parents, mid, to, deferred));
+            }
+        }
+    }
+
     /**
      * Executes a top-down layout pass on the scene graph under this parent.
      * 
      * Calling this method while the Parent is doing layout is a no-op.
      */
     public final void layout() {
+        if (measuringInParallel && layoutFlag != LayoutFlags.CLEAN) {
+            // the subtree of a child measured in parallel is laid out later,
+            // on the JavaFX Application Thread
+            MeasureTask.checkNotMeasuring();
+        }
         switch(layoutFlag) {
             case CLEAN:
                 break;
@@ -1076,6 +1391,9 @@ public abstract class Parent extends Node {
                     break;
                 }
                 performingLayout = true;
+                if (isParallelLayout()) {
+                    measureChildrenInParallel();
+                }
                 layoutChildren();
                 // Intended fall-through
             case DIRTY_BRANCH:
@@ -1237,6 +1555,10 @@ public abstract class Parent extends Node {
             return;
         }
 
+        // If only the styles of this node have to be updated (UPDATE_NODE),
+        // the children are left alone unless they are dirty themselves.
+        final boolean updateChildren = cssFlag != CssFlags.UPDATE_NODE;
+
         // Let the super implementation handle CSS for this node
         super.impl_processCSS(unused);
 
@@ -1263,6 +1585,11 @@ public abstract class Parent extends Node {
             final Parent childParent = child.getParent();
             if (childParent == null || childParent != this) continue;
 
+            if (!updateChildren) {
+                child.processCSS();
+                continue;
+            }
+
             // If the parent styles are being updated, recalculated or
             // reapplied, then make sure the children get the same treatment.
             // Unless the child is already more dirty than this parent (RT-29074).
@@ -1361,6 +1688,19 @@ public abstract class Parent extends Node {
     private Node near;
     private Node far;
 
+    /**
+     * The minimal number of children for which the bounds are kept in a
+     * BoundsTree once an edge child has moved inwards, with fewer children
+     * computing the bounds again is cheap enough.
+     */
+    private static final int BOUNDS_INDEX_THRESHOLD = 64;
+
+    /**
+     * The bounds of the children kept in a tree, null until the bounds of
+     * a parent with many children had to be computed from scratch.
+     */
+    private BoundsIndex boundsIndex;
+
     /**
      * @treatAsPrivate implementation detail
      * @deprecated This is an internal API that is not intended for use and will be removed in the next version
@@ -1495,6 +1835,12 @@ public abstract class Parent extends Node {
             cachedBoundsInvalid = true;
         }
 
+        if (boundsIndex != null) {
+            // the edge nodes are not kept up to date along with the tree
+            boundsIndex.childExcluded(node);
+            cachedBoundsInvalid = true;
+        }
+
         setChildDirty(node, false);
     }
 
@@ -1502,6 +1848,12 @@ public abstract class Parent extends Node {
      * Recomputes the bounds from scratch and saves the cached bounds.
      */
     private void recomputeBounds() {
+        if (boundsIndex != null && children.size() < BOUNDS_INDEX_THRESHOLD) {
+            // few children left, go back to the edge nodes
+            boundsIndex.dispose();
+            boundsIndex = null;
+        }
+
         // fast path for case of no children
         if (children.isEmpty()) {
             cachedBounds.makeEmpty();
@@ -1523,12 +1875,146 @@ public abstract class Parent extends Node {
             return;
         }
 
+        if (boundsIndex != null && dirtyChildren != null
+                && children.size() >= BOUNDS_INDEX_THRESHOLD) {
+            boundsIndex.update();
+            return;
+        }
+
         if ((dirtyChildrenCount == 0) ||
                 !updateCachedBounds(dirtyChildren != null
                                         ? dirtyChildren : children,
                                     dirtyChildrenCount)) {
             // failed to update cached bounds, recreate them
+            if (dirtyChildren != null && children.size() >= BOUNDS_INDEX_THRESHOLD) {
+                // from now on, keep the bounds of all children so that this
+                // does not happen every time an edge child moves inwards
+                boundsIndex = new BoundsIndex();
+                boundsIndex.update();
+                return;
+            }
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Parent bounds recomputed");
+            }
             createCachedBounds(children);
+        } else if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Parent bounds updated");
+        }
+    }
+
+    /**
+     * Keeps a BoundsTree in sync with the children. Every child has its own
+     * slot in the tree, so that adding, removing, hiding or moving a child
+     * only updates the tree in O(log n). The tree is built again when the
+     * bounds of many children changed at once. The edge nodes are not used
+     * while the tree is.
+     */
+    private final class BoundsIndex {
+        private BoundsTree tree;
+        // the slots of removed children, reused for new ones
+        private int[] freeSlots = new int[16];
+        private int freeSlotCount;
+        // the slots below are either used or free
+        private int slotCount;
+
+        void dispose() {
+            if (tree != null) {
+                for (int i = 0, max = children.size(); i < max; ++i) {
+                    children.get(i).boundsIndexSlot = -1;
+                }
+                tree = null;
+            }
+        }
+
+        void childExcluded(Node node) {
+            if (node.boundsIndexSlot >= 0) {
+                tree.remove(node.boundsIndexSlot);
+            }
+        }
+
+        void childRemoved(Node node) {
+            final int slot = node.boundsIndexSlot;
+            if (slot >= 0) {
+                node.boundsIndexSlot = -1;
+                tree.remove(slot);
+                if (freeSlotCount == freeSlots.length) {
+                    freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+                }
+                freeSlots[freeSlotCount++] = slot;
+            }
+        }
+
+        void update() {
+            if (tree != null && dirtyChildrenCount > children.size() / 4) {
+                // cheaper to start over
+                dispose();
+            }
+            if (tree == null) {
+                build();
+            } else {
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Parent bounds updated");
+                }
+                for (int i = 0, max = dirtyChildren.size(); i < max; ++i) {
+                    final Node node = dirtyChildren.get(i);
+                    if (node.boundsChanged) {
+                        node.boundsChanged = false;
+                        if (node.boundsIndexSlot < 0) {
+                            // added since the last update
+                            node.boundsIndexSlot = allocateSlot();
+                        }
+                        setChildBounds(node.boundsIndexSlot, node, true);
+                    }
+                }
+            }
+            cachedBounds = tree.getBounds(cachedBounds);
+        }
+
+        private int allocateSlot() {
+            if (freeSlotCount > 0) {
+                return freeSlots[--freeSlotCount];
+            }
+            if (slotCount == tree.size()) {
+                tree = tree.resize(2 * slotCount);
+            }
+            return slotCount++;
+        }
+
+        private void build() {
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Parent bounds recomputed");
+            }
+            final int size = children.size();
+            tree = new BoundsTree(size);
+            slotCount = size;
+            freeSlotCount = 0;
+            for (int i = 0; i < size; ++i) {
+                final Node node = children.get(i);
+                node.boundsChanged = false;
+                node.boundsIndexSlot = i;
+                setChildBounds(i, node, false);
+            }
+            tree.build();
+            left = top = near = right = bottom = far = null;
+        }
+
+        private void setChildBounds(int id, Node node, boolean update) {
+            if (node.isVisible()) {
+                tmp = getChildTransformedBounds(node, BaseTransform.IDENTITY_TRANSFORM, tmp);
+                if (!tmp.isEmpty()) {
+                    if (update) {
+                        tree.update(id, tmp.getMinX(), tmp.getMinY(), tmp.getMinZ(),
+                                    tmp.getMaxX(), tmp.getMaxY(), tmp.getMaxZ());
+                    } else {
+                        tree.set(id, tmp.getMinX(), tmp.getMinY(), tmp.getMinZ(),
+                                 tmp.getMaxX(), tmp.getMaxY(), tmp.getMaxZ());
+                    }
+                    return;
+                }
+            }
+            if (update) {
+                tree.remove(id);
+            }
         }
     }
 
@@ -1730,6 +2216,10 @@ public abstract class Parent extends Node {
      * Called by Node whenever its bounds have changed.
      */
     void childBoundsChanged(Node node) {
+        if (pickIndex != null) {
+            pickIndex.childChanged(node);
+        }
+
         // See comment above at "currentlyProcessedChild" field
         if (node == currentlyProcessedChild) {
             return;
@@ -1753,6 +2243,10 @@ public abstract class Parent extends Node {
      * Called by node whenever the visibility of the node changes.
      */
     void childVisibilityChanged(Node node) {
+        if (pickIndex != null) {
+            pickIndex.childChanged(node);
+        }
+
         if (node.isVisible()) {
             childIncluded(node);
         } else {
@@ -2262,6 +2262,14 @@ public class Scene implements EventTarget {
 
         private boolean firstPulse = true;
 
+        /**
+         * Whether the last pulse skipped the synchronization because the
+         * previous frame was still being rendered. The synchronization is
+         * never deferred twice in a row, so that a slow renderer delays the
+         * scene by at most one pulse.
+         */
+        private boolean syncDeferred = false;
+
         /**
          * PG synchronizer. Called once per frame from the pulse listener.
          * This function calls the synchronizePGNode method on each node in
@@ -2277,12 +2285,18 @@ public class Scene implements EventTarget {
             // scene and then create the dirty nodes array list
             if (Scene.this.dirtyNodes == null) {
                 // must do this recursively
-                syncAll(getRoot());
+                final int size = syncAll(getRoot());
                 dirtyNodes = new Node[MIN_DIRTY_CAPACITY];
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.addToCounter("Dirty nodes", size);
+                }
 
             } else {
                 // This is not the first time this scene has been synchronized,
                 // so we will only synchronize those nodes that need it
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.addToCounter("Dirty nodes", dirtyNodesSize);
+                }
                 for (int i = 0 ; i < dirtyNodesSize; ++i) {
                     Node node = dirtyNodes[i];
                     dirtyNodes[i] = null;
@@ -2402,7 +2416,16 @@ public class Scene implements EventTarget {
                     PulseLogger.newPhase("Update bounds");
                 }
                 getRoot().updateBounds();
-                if (impl_peer != null) {
+                if (impl_peer != null && !syncDeferred && impl_peer.deferSynchronization()) {
+                    // Rather than wait for the previous frame, keep the dirty
+                    // nodes for the pulse that follows the end of the rendering
+                    syncDeferred = true;
+                    if (PULSE_LOGGING_ENABLED) {
+                        PulseLogger.incrementCounter("Deferred synchronizations");
+                    }
+                    Toolkit.getToolkit().requestNextPulse();
+                } else if (impl_peer != null) {
+                    syncDeferred = false;
                     try {
                         if (PULSE_LOGGING_ENABLED) {
                             PulseLogger.newPhase("Waiting for previous rendering");
@@ -386,7 +386,7 @@ public abstract class Shape extends Node {
                     
                     if (needsListener) {
                         Toolkit.getPaintAccessor().
-                                removeListener(old_fill, platformImageChangeListener);
+                                removeListener(old_fill, getPlatformImageChangeListener());
                     }
                     needsListener = _fill != null &&
                             Toolkit.getPaintAccessor().isMutable(_fill);
@@ -394,7 +394,7 @@ public abstract class Shape extends Node {
                     
                     if (needsListener) {
                         Toolkit.getPaintAccessor().
-                                addListener(_fill, platformImageChangeListener);
+                                addListener(_fill, getPlatformImageChangeListener());
                     }       
                     
                     impl_markDirty(DirtyBits.SHAPE_FILL);
@@ -434,16 +434,24 @@ public abstract class Shape extends Node {
         strokeProperty().set(value);
     }
 
-    private final AbstractNotifyListener platformImageChangeListener =
-            new AbstractNotifyListener() {
-        @Override
-        public void invalidated(Observable valueModel) {
-            impl_markDirty(DirtyBits.SHAPE_FILL);
-            impl_markDirty(DirtyBits.SHAPE_STROKE);
-            impl_geomChanged();
-            checkModeChanged();           
+    // Only paints with an animated image need the listener, so it is
+    // created for the first of them rather than for every shape
+    private AbstractNotifyListener platformImageChangeListener;
+
+    private AbstractNotifyListener getPlatformImageChangeListener() {
+        if (platformImageChangeListener == null) {
+            platformImageChangeListener = new AbstractNotifyListener() {
+                @Override
+                public void invalidated(Observable valueModel) {
+                    impl_markDirty(DirtyBits.SHAPE_FILL);
+                    impl_markDirty(DirtyBits.SHAPE_STROKE);
+                    impl_geomChanged();
+                    checkModeChanged();
+                }
+            };
         }
-    };
+        return platformImageChangeListener;
+    }
        
     public final Paint getStroke() {
         return stroke == null ? null : stroke.get();
@@ -462,7 +470,7 @@ public abstract class Shape extends Node {
 
                     if (needsListener) {
                         Toolkit.getPaintAccessor().
-                                removeListener(old_stroke, platformImageChangeListener);
+                                removeListener(old_stroke, getPlatformImageChangeListener());
                     }
                     needsListener = _stroke != null &&
                             Toolkit.getPaintAccessor().isMutable(_stroke);
@@ -470,7 +478,7 @@ public abstract class Shape extends Node {
 
                     if (needsListener) {
                         Toolkit.getPaintAccessor().
-                                addListener(_stroke, platformImageChangeListener);
+                                addListener(_stroke, getPlatformImageChangeListener());
                     }
 
                     impl_markDirty(DirtyBits.SHAPE_STROKE);
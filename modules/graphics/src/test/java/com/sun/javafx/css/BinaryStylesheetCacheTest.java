@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+
+import javafx.scene.paint.Color;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BinaryStylesheetCacheTest {
+
+    private File oldCacheDir;
+    private File cacheDir;
+    private File source;
+
+    @Before
+    public void setUp() throws IOException {
+        oldCacheDir = BinaryStylesheetCache.getCacheDir();
+        cacheDir = Files.createTempDirectory("css_cache_").toFile();
+        BinaryStylesheetCache.setCacheDir(cacheDir);
+        source = File.createTempFile("BinaryStylesheetCacheTest_", ".css");
+    }
+
+    @After
+    public void tearDown() {
+        BinaryStylesheetCache.setCacheDir(oldCacheDir);
+        File[] files = cacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) file.delete();
+        }
+        cacheDir.delete();
+        source.delete();
+    }
+
+    private void write(String css) throws IOException {
+        try (FileWriter writer = new FileWriter(source)) {
+            writer.write(css);
+        }
+    }
+
+    private File cacheFile() {
+        File[] files = cacheDir.listFiles();
+        assertEquals(1, files.length);
+        return files[0];
+    }
+
+    @Test
+    public void testStylesheetIsReadFromCache() throws IOException {
+        write(".rect { -fx-fill: red; } .rect:hover { -fx-fill: blue; }");
+        URL url = source.toURI().toURL();
+
+        Stylesheet parsed = BinaryStylesheetCache.parse(url);
+        File file = cacheFile();
+        file.setLastModified(0);
+
+        Stylesheet cached = BinaryStylesheetCache.parse(url);
+        // the cache file was read, not written again
+        assertEquals(0, cacheFile().lastModified());
+        assertEquals(url.toExternalForm(), cached.getUrl());
+        assertEquals(parsed.getRules().size(), cached.getRules().size());
+        for (int n = 0; n < parsed.getRules().size(); n++) {
+            Rule expected = parsed.getRules().get(n);
+            Rule actual = cached.getRules().get(n);
+            assertEquals(expected.getSelectors().toString(), actual.getSelectors().toString());
+            assertEquals(expected.getDeclarations().toString(), actual.getDeclarations().toString());
+        }
+
+        Declaration decl = cached.getRules().get(0).getDeclarations().get(0);
+        assertEquals(Color.RED, decl.getParsedValue().convert(null));
+    }
+
+    @Test
+    public void testChangedStylesheetIsParsedAgain() throws IOException {
+        write(".rect { -fx-fill: red; }");
+        URL url = source.toURI().toURL();
+        BinaryStylesheetCache.parse(url);
+        cacheFile().setLastModified(0);
+
+        write(".rect { -fx-fill: green; }");
+        Stylesheet stylesheet = BinaryStylesheetCache.parse(url);
+        Declaration decl = stylesheet.getRules().get(0).getDeclarations().get(0);
+        assertEquals(Color.GREEN, decl.getParsedValue().convert(null));
+        assertTrue(cacheFile().lastModified() != 0);
+
+        stylesheet = BinaryStylesheetCache.parse(url);
+        decl = stylesheet.getRules().get(0).getDeclarations().get(0);
+        assertEquals(Color.GREEN, decl.getParsedValue().convert(null));
+    }
+
+    @Test
+    public void testDamagedCacheFileIsReplaced() throws IOException {
+        write(".rect { -fx-fill: red; }");
+        URL url = source.toURI().toURL();
+        BinaryStylesheetCache.parse(url);
+
+        File file = cacheFile();
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), java.util.Arrays.copyOf(bytes, bytes.length / 2));
+
+        Stylesheet stylesheet = BinaryStylesheetCache.parse(url);
+        Declaration decl = stylesheet.getRules().get(0).getDeclarations().get(0);
+        assertEquals(Color.RED, decl.getParsedValue().convert(null));
+        assertEquals(bytes.length, cacheFile().length());
+    }
+
+    @Test
+    public void testStylesheetWithImportIsNotCached() throws IOException {
+        write("@IMPORT \"other.css\"; .rect { -fx-fill: red; }");
+        BinaryStylesheetCache.parse(source.toURI().toURL());
+        assertEquals(0, cacheDir.listFiles().length);
+    }
+
+    @Test
+    public void testNoCacheDir() throws IOException {
+        BinaryStylesheetCache.setCacheDir(null);
+        write(".rect { -fx-fill: red; }");
+        Stylesheet stylesheet = BinaryStylesheetCache.parse(source.toURI().toURL());
+        assertEquals(1, stylesheet.getRules().size());
+        assertEquals(0, cacheDir.listFiles().length);
+    }
+}
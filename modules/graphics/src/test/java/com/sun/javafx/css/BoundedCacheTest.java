@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        BoundedCache.Stats stats = new BoundedCache.Stats("test", 3);
+        BoundedCache<String, Integer> cache = new BoundedCache<>(stats);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        cache.put("d", 4);
+
+        assertEquals(3, cache.size());
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(1, stats.getEvictions());
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        BoundedCache.Stats stats = new BoundedCache.Stats("test", 3);
+        BoundedCache<String, Integer> cache = new BoundedCache<>(stats);
+        cache.put("a", 1);
+        cache.put("null", null);
+
+        cache.get("a");
+        cache.get("null");
+        cache.get("b");
+        cache.peek("a");
+        cache.peek("b");
+
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+
+        stats.resetCounters();
+        assertEquals(0, stats.getHits());
+        assertEquals(0, stats.getMisses());
+    }
+
+    @Test
+    public void testLoweringTheLimitShrinksSharingCaches() {
+        BoundedCache.Stats stats = new BoundedCache.Stats("test", 10);
+        BoundedCache<Integer, Integer> cache1 = new BoundedCache<>(stats);
+        BoundedCache<Integer, Integer> cache2 = new BoundedCache<>(stats);
+        for (int n = 0; n < 10; n++) {
+            cache1.put(n, n);
+            cache2.put(n, n);
+        }
+        stats.setLimit(4);
+        cache1.put(10, 10);
+        cache2.put(10, 10);
+
+        assertEquals(4, cache1.size());
+        assertEquals(4, cache2.size());
+        assertEquals(14, stats.getEvictions());
+        assertTrue(cache1.containsKey(10));
+        assertTrue(cache1.containsKey(7));
+        assertFalse(cache1.containsKey(6));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testLimitMustBePositive() {
+        new BoundedCache.Stats("test", 10).setLimit(0);
+    }
+
+    @Test
+    public void testLimitFromSystemProperty() {
+        System.setProperty("javafx.css.cache.boundedCacheTest", "42");
+        try {
+            assertEquals(42, new BoundedCache.Stats("boundedCacheTest", 10).getLimit());
+        } finally {
+            System.clearProperty("javafx.css.cache.boundedCacheTest");
+        }
+    }
+}
@@ -1026,6 +1026,29 @@ public class StyleManagerTest {
         assertEquals("/com/sun/javafx/css/ua0.css", sm.platformUserAgentStylesheetContainers.get(0).fname);
     }
 
+    @Test
+    public void testStylesheetsLoadedTogetherKeepTheirOrder() {
+
+        Rectangle rect = new Rectangle(50,50) {{ getStyleClass().add("rect"); }};
+        Scene scene = new Scene(new Group(rect));
+        Collections.addAll(scene.getStylesheets(),
+                "/com/sun/javafx/css/ua2.css",
+                "/com/sun/javafx/css/ua1.css",
+                "/com/sun/javafx/css/ua0.css");
+        scene.getRoot().applyCss();
+
+        final StyleManager sm = StyleManager.getInstance();
+        for (String fname : scene.getStylesheets()) {
+            StyleManager.StylesheetContainer container = sm.stylesheetContainerMap.get(fname);
+            assertNotNull(fname, container);
+            assertNotNull(fname, container.stylesheet);
+            assertTrue(container.stylesheet.getUrl().endsWith(fname));
+        }
+
+        assertEquals(Color.RED, rect.getFill());
+        assertEquals(Color.YELLOW, rect.getStroke());
+    }
+
     @Test
     public void testRT_38687_with_Scene() {
 
@@ -1115,4 +1138,130 @@ public class StyleManagerTest {
         assertFalse("Exception during CSS processing on BG thread", err.get());
     }
 
+    @Test
+    public void testCachesAreBoundedAndEvictedStylesStillApply() {
+        final int styleMapLimit = StyleManager.STYLE_MAP_STATS.getLimit();
+        final int styleCacheLimit = StyleManager.STYLE_CACHE_STATS.getLimit();
+        final int inlineStyleLimit = StyleManager.INLINE_STYLE_STATS.getLimit();
+        StyleManager.STYLE_MAP_STATS.setLimit(5);
+        StyleManager.STYLE_CACHE_STATS.setLimit(5);
+        StyleManager.INLINE_STYLE_STATS.setLimit(5);
+        StyleManager.STYLE_MAP_STATS.resetCounters();
+        try {
+            Group root = new Group();
+            Scene scene = new Scene(root);
+            Rectangle[] rects = new Rectangle[20];
+            for (int n = 0; n < rects.length; n++) {
+                rects[n] = new Rectangle(10, 10);
+                rects[n].setStyle("-fx-fill: rgb(" + (10 + n) + ",0,0);");
+                root.getChildren().add(rects[n]);
+            }
+            root.applyCss();
+
+            StyleManager sm = StyleManager.getInstance();
+            assertTrue(sm.getCacheSize(StyleManager.STYLE_MAP_STATS) <= 5);
+            assertTrue(sm.getCacheSize(StyleManager.STYLE_CACHE_STATS) <= 5);
+            assertTrue(sm.getCacheSize(StyleManager.INLINE_STYLE_STATS) <= 5);
+            assertTrue(StyleManager.STYLE_MAP_STATS.getEvictions() > 0);
+
+            // The style map of the first rectangle was evicted, but it
+            // still has to be used when the styles are applied again.
+            rects[0].applyCss();
+            assertEquals(Color.rgb(10, 0, 0), rects[0].getFill());
+
+            // a node with the same styles gets a new style map
+            Rectangle rect = new Rectangle(10, 10);
+            rect.setStyle("-fx-fill: rgb(10,0,0);");
+            root.getChildren().add(rect);
+            root.applyCss();
+            assertEquals(Color.rgb(10, 0, 0), rect.getFill());
+            assertEquals(Color.rgb(29, 0, 0), rects[19].getFill());
+        } finally {
+            StyleManager.STYLE_MAP_STATS.setLimit(styleMapLimit);
+            StyleManager.STYLE_CACHE_STATS.setLimit(styleCacheLimit);
+            StyleManager.INLINE_STYLE_STATS.setLimit(inlineStyleLimit);
+        }
+    }
+
+    @Test
+    public void testStyleMapKeysAreCountedInTheirOwnCache() {
+        final int styleMapKeyLimit = StyleManager.STYLE_MAP_KEY_STATS.getLimit();
+        StyleManager.STYLE_MAP_KEY_STATS.setLimit(5);
+        StyleManager.STYLE_MAP_KEY_STATS.resetCounters();
+        try {
+            Group root = new Group();
+            Scene scene = new Scene(root);
+            Rectangle[] rects = new Rectangle[20];
+            for (int n = 0; n < rects.length; n++) {
+                rects[n] = new Rectangle(10, 10);
+                rects[n].setStyle("-fx-fill: rgb(" + (10 + n) + ",0,0);");
+                root.getChildren().add(rects[n]);
+            }
+            root.applyCss();
+
+            StyleManager sm = StyleManager.getInstance();
+            int size = sm.getCacheSize(StyleManager.STYLE_MAP_KEY_STATS);
+            assertTrue(size > 0 && size <= 5);
+            assertTrue(StyleManager.STYLE_MAP_KEY_STATS.getMisses() >= rects.length);
+            assertTrue(StyleManager.STYLE_MAP_KEY_STATS.getEvictions() > 0);
+
+            // the style maps are still cached although their keys were evicted
+            assertTrue(sm.getCacheSize(StyleManager.STYLE_MAP_STATS) >= rects.length);
+            assertEquals(Color.rgb(29, 0, 0), rects[19].getFill());
+        } finally {
+            StyleManager.STYLE_MAP_KEY_STATS.setLimit(styleMapKeyLimit);
+        }
+    }
+
+    @Test
+    public void testStylesheetSetsAndSelectorSetsAreBounded() {
+        final int stylesheetSetLimit = StyleManager.STYLESHEET_SET_STATS.getLimit();
+        final int selectorSetLimit = StyleManager.SELECTOR_SET_STATS.getLimit();
+        StyleManager.STYLESHEET_SET_STATS.setLimit(2);
+        StyleManager.SELECTOR_SET_STATS.setLimit(5);
+        StyleManager.STYLESHEET_SET_STATS.resetCounters();
+        StyleManager.SELECTOR_SET_STATS.resetCounters();
+        try {
+            final String[][] stylesheets = {
+                { "/com/sun/javafx/css/ua0.css" },
+                { "/com/sun/javafx/css/ua2.css" },
+                { "/com/sun/javafx/css/ua2.css", "/com/sun/javafx/css/ua0.css" },
+                { "/com/sun/javafx/css/ua0.css", "/com/sun/javafx/css/ua2.css" },
+            };
+            final Color[] fills = { Color.RED, Color.BLUE, Color.RED, Color.BLUE };
+            Group root = new Group();
+            Scene scene = new Scene(root);
+            Rectangle[][] rects = new Rectangle[stylesheets.length][10];
+            for (int g = 0; g < stylesheets.length; g++) {
+                Group group = new Group();
+                group.getStylesheets().addAll(stylesheets[g]);
+                for (int n = 0; n < rects[g].length; n++) {
+                    rects[g][n] = new Rectangle(10, 10);
+                    rects[g][n].getStyleClass().addAll("rect", "r" + n);
+                    group.getChildren().add(rects[g][n]);
+                }
+                root.getChildren().add(group);
+            }
+            root.applyCss();
+
+            StyleManager sm = StyleManager.getInstance();
+            assertEquals(2, sm.getCacheSize(StyleManager.STYLESHEET_SET_STATS));
+            assertTrue(sm.getCacheSize(StyleManager.SELECTOR_SET_STATS) <= 2 * 5);
+            assertTrue(StyleManager.STYLESHEET_SET_STATS.getEvictions() > 0);
+            assertTrue(StyleManager.SELECTOR_SET_STATS.getEvictions() > 0);
+
+            // the styles of nodes whose sets were evicted are matched again
+            root.getChildren().get(0).impl_reapplyCSS();
+            root.applyCss();
+            for (int g = 0; g < stylesheets.length; g++) {
+                for (Rectangle rect : rects[g]) {
+                    assertEquals(fills[g], rect.getFill());
+                }
+            }
+        } finally {
+            StyleManager.STYLESHEET_SET_STATS.setLimit(stylesheetSetLimit);
+            StyleManager.SELECTOR_SET_STATS.setLimit(selectorSetLimit);
+        }
+    }
+
 }
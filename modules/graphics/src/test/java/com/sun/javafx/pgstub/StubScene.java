@@ -42,6 +42,7 @@ public class StubScene implements TKScene {
     private Object cursor;
     private NGCamera camera;
     Runnable inputMethodCompistionFinishedDelegate;
+    private boolean rendering;
 
     @Override
     public void dispose() {
@@ -49,7 +50,19 @@ public class StubScene implements TKScene {
     }
 
     public void waitForRenderingToComplete() {
-        // ignore
+        rendering = false;
+    }
+
+    public boolean deferSynchronization() {
+        return rendering;
+    }
+
+    /**
+     * Pretends that the previous frame is still being rendered, until
+     * waitForRenderingToComplete is called.
+     */
+    public void setRendering(boolean rendering) {
+        this.rendering = rendering;
     }
     
     public void waitForSynchronization() {
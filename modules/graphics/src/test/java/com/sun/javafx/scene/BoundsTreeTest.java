@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene;
+
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.RectBounds;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BoundsTreeTest {
+
+    private static void check(BoundsTree tree, float[] bounds, boolean[] empty) {
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < empty.length; ++i) {
+            if (!empty[i]) {
+                minX = Math.min(minX, bounds[i * 4]);
+                minY = Math.min(minY, bounds[i * 4 + 1]);
+                maxX = Math.max(maxX, bounds[i * 4 + 2]);
+                maxY = Math.max(maxY, bounds[i * 4 + 3]);
+            }
+        }
+        final BaseBounds result = tree.getBounds(new RectBounds());
+        if (minX > maxX) {
+            assertTrue(tree.isEmpty());
+            assertTrue(result.isEmpty());
+        } else {
+            assertFalse(tree.isEmpty());
+            assertEquals(minX, result.getMinX(), 0);
+            assertEquals(minY, result.getMinY(), 0);
+            assertEquals(maxX, result.getMaxX(), 0);
+            assertEquals(maxY, result.getMaxY(), 0);
+        }
+    }
+
+    private static void randomize(Random random, float[] bounds, int i) {
+        final float x = random.nextFloat() * 1000 - 500;
+        final float y = random.nextFloat() * 1000 - 500;
+        bounds[i * 4] = x;
+        bounds[i * 4 + 1] = y;
+        bounds[i * 4 + 2] = x + random.nextFloat() * 50;
+        bounds[i * 4 + 3] = y + random.nextFloat() * 50;
+    }
+
+    @Test
+    public void newTreeIsEmpty() {
+        final BoundsTree tree = new BoundsTree(5);
+        assertEquals(5, tree.size());
+        assertTrue(tree.isEmpty());
+        assertTrue(tree.getBounds(new RectBounds()).isEmpty());
+    }
+
+    @Test
+    public void emptyTree() {
+        final BoundsTree tree = new BoundsTree(0);
+        tree.build();
+        assertTrue(tree.isEmpty());
+    }
+
+    @Test
+    public void builtTreeIsUnionOfItems() {
+        final BoundsTree tree = new BoundsTree(3);
+        tree.set(0, 10, 10, 0, 20, 20, 0);
+        tree.set(2, -5, 15, 0, 0, 40, 0);
+        tree.build();
+        final BaseBounds b = tree.getBounds(new RectBounds());
+        assertEquals(-5, b.getMinX(), 0);
+        assertEquals(10, b.getMinY(), 0);
+        assertEquals(20, b.getMaxX(), 0);
+        assertEquals(40, b.getMaxY(), 0);
+    }
+
+    @Test
+    public void movingEdgeItemInwardsShrinksUnion() {
+        final BoundsTree tree = new BoundsTree(3);
+        tree.set(0, 0, 0, 0, 10, 10, 0);
+        tree.set(1, 20, 20, 0, 30, 30, 0);
+        tree.set(2, 100, 100, 0, 110, 110, 0);
+        tree.build();
+        tree.update(2, 5, 5, 0, 15, 15, 0);
+        final BaseBounds b = tree.getBounds(new RectBounds());
+        assertEquals(0, b.getMinX(), 0);
+        assertEquals(30, b.getMaxX(), 0);
+        assertEquals(30, b.getMaxY(), 0);
+    }
+
+    @Test
+    public void depthIsIncluded() {
+        final BoundsTree tree = new BoundsTree(2);
+        tree.update(0, 0, 0, -10, 10, 10, 0);
+        tree.update(1, 0, 0, 0, 10, 10, 20);
+        final BaseBounds b = tree.getBounds(new RectBounds());
+        assertEquals(-10, b.getMinZ(), 0);
+        assertEquals(20, b.getMaxZ(), 0);
+        tree.remove(1);
+        assertEquals(0, tree.getBounds(b).getMaxZ(), 0);
+    }
+
+    @Test
+    public void removingAllItemsMakesTreeEmpty() {
+        final BoundsTree tree = new BoundsTree(2);
+        tree.update(0, 0, 0, 0, 10, 10, 0);
+        tree.update(1, 20, 20, 0, 30, 30, 0);
+        tree.remove(0);
+        tree.remove(1);
+        assertTrue(tree.isEmpty());
+    }
+
+    @Test
+    public void resizedTreeKeepsItems() {
+        final BoundsTree tree = new BoundsTree(3);
+        tree.set(0, 0, 0, 0, 10, 10, 0);
+        tree.set(2, 20, 20, 0, 30, 30, 0);
+        tree.build();
+        final BoundsTree larger = tree.resize(6);
+        assertEquals(6, larger.size());
+        BaseBounds b = larger.getBounds(new RectBounds());
+        assertEquals(0, b.getMinX(), 0);
+        assertEquals(30, b.getMaxX(), 0);
+        larger.update(5, -10, 0, 0, 0, 10, 0);
+        assertEquals(-10, larger.getBounds(b).getMinX(), 0);
+
+        final BoundsTree smaller = tree.resize(2);
+        assertEquals(10, smaller.getBounds(b).getMaxX(), 0);
+    }
+
+    @Test
+    public void randomUpdatesMatchUnion() {
+        final Random random = new Random(42);
+        for (int count : new int[] {1, 2, 3, 7, 64, 100, 1000}) {
+            final float[] bounds = new float[count * 4];
+            final boolean[] empty = new boolean[count];
+            final BoundsTree tree = new BoundsTree(count);
+            for (int i = 0; i < count; ++i) {
+                randomize(random, bounds, i);
+                empty[i] = random.nextInt(10) == 0;
+                if (!empty[i]) {
+                    tree.set(i, bounds[i * 4], bounds[i * 4 + 1], 0, bounds[i * 4 + 2], bounds[i * 4 + 3], 0);
+                }
+            }
+            tree.build();
+            check(tree, bounds, empty);
+            for (int round = 0; round < 200; ++round) {
+                final int i = random.nextInt(count);
+                if (random.nextInt(5) == 0) {
+                    empty[i] = true;
+                    tree.remove(i);
+                } else {
+                    randomize(random, bounds, i);
+                    empty[i] = false;
+                    tree.update(i, bounds[i * 4], bounds[i * 4 + 1], 0, bounds[i * 4 + 2], bounds[i * 4 + 3], 0);
+                }
+                check(tree, bounds, empty);
+            }
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void updatingItemOutOfRangeThrows() {
+        new BoundsTree(3).update(3, 0, 0, 0, 1, 1, 0);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PickGridTest {
+
+    private static int[] expected(float[] bounds, int count, double x, double y) {
+        final List<Integer> result = new ArrayList<>();
+        for (int i = count - 1; i >= 0; --i) {
+            if (x >= bounds[i * 4] && x <= bounds[i * 4 + 2] && y >= bounds[i * 4 + 1] && y <= bounds[i * 4 + 3]) {
+                result.add(i);
+            }
+        }
+        final int[] a = new int[result.size()];
+        for (int i = 0; i < a.length; ++i) {
+            a[i] = result.get(i);
+        }
+        return a;
+    }
+
+    // the candidates must include all items containing the point, in order
+    private static void check(PickGrid grid, float[] bounds, int count, double x, double y) {
+        final int[] candidates = grid.getCandidates(x, y);
+        for (int i = 1; i < candidates.length; ++i) {
+            assertTrue(candidates[i - 1] > candidates[i]);
+        }
+        int j = 0;
+        for (int item : expected(bounds, count, x, y)) {
+            while (j < candidates.length && candidates[j] != item) {
+                ++j;
+            }
+            assertTrue("missing item " + item + " at " + x + ", " + y, j < candidates.length);
+        }
+    }
+
+    private static float[] randomBounds(Random random, int count, float size) {
+        final float[] bounds = new float[count * 4];
+        for (int i = 0; i < count; ++i) {
+            final float x = random.nextFloat() * 1000;
+            final float y = random.nextFloat() * 500;
+            bounds[i * 4] = x;
+            bounds[i * 4 + 1] = y;
+            bounds[i * 4 + 2] = x + random.nextFloat() * size;
+            bounds[i * 4 + 3] = y + random.nextFloat() * size;
+        }
+        return bounds;
+    }
+
+    @Test
+    public void testCandidates() {
+        final Random random = new Random(1);
+        final float[] bounds = randomBounds(random, 2000, 30);
+        final PickGrid grid = new PickGrid(2000, bounds);
+        int total = 0;
+        for (int i = 0; i < 2000; ++i) {
+            final double x = random.nextDouble() * 1100 - 50;
+            final double y = random.nextDouble() * 600 - 50;
+            check(grid, bounds, 2000, x, y);
+            total += grid.getCandidates(x, y).length;
+        }
+        // the grid actually filters
+        assertTrue(total < 2000 * 20);
+    }
+
+    @Test
+    public void testCornersAreFound() {
+        final float[] bounds = {0, 0, 10, 10, 10, 10, 20, 20, 5, 5, 15, 15};
+        final PickGrid grid = new PickGrid(3, bounds);
+        check(grid, bounds, 3, 10, 10);
+        check(grid, bounds, 3, 20, 20);
+        check(grid, bounds, 3, 0, 0);
+        check(grid, bounds, 3, 15, 5);
+    }
+
+    @Test
+    public void testLargeItems() {
+        final Random random = new Random(2);
+        final float[] bounds = randomBounds(random, 500, 20);
+        // a background and a frame on top of everything
+        bounds[0] = 0; bounds[1] = 0; bounds[2] = 1020; bounds[3] = 520;
+        bounds[499 * 4] = 100; bounds[499 * 4 + 1] = 100; bounds[499 * 4 + 2] = 900; bounds[499 * 4 + 3] = 400;
+        final PickGrid grid = new PickGrid(500, bounds);
+        for (int i = 0; i < 500; ++i) {
+            check(grid, bounds, 500, random.nextDouble() * 1000, random.nextDouble() * 500);
+        }
+        final int[] candidates = grid.getCandidates(500, 200);
+        assertEquals(499, candidates[0]);
+        assertEquals(0, candidates[candidates.length - 1]);
+    }
+
+    @Test
+    public void testEmptyAndInfiniteBounds() {
+        final float[] bounds = {
+            0, 0, 10, 10,
+            1, 1, 0, 0,
+            Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY,
+            Float.NaN, 0, 5, 5};
+        final PickGrid grid = new PickGrid(4, bounds);
+        assertArrayEquals(new int[] {3, 2, 0}, grid.getCandidates(5, 5));
+        // points outside of the grid use the border cells
+        final int[] outside = grid.getCandidates(-100, 500);
+        assertEquals(3, outside[0]);
+        assertEquals(2, outside[1]);
+    }
+
+    @Test
+    public void testUpdate() {
+        final Random random = new Random(3);
+        final int count = 1000;
+        final float[] bounds = randomBounds(random, count, 30);
+        final PickGrid grid = new PickGrid(count, bounds);
+        for (int round = 0; round < 2000; ++round) {
+            final int item = random.nextInt(count);
+            final float x = random.nextFloat() * 1200 - 100;
+            final float y = random.nextFloat() * 700 - 100;
+            bounds[item * 4] = x;
+            bounds[item * 4 + 1] = y;
+            bounds[item * 4 + 2] = x + random.nextFloat() * 40;
+            bounds[item * 4 + 3] = y + random.nextFloat() * 40;
+            grid.markDirty(item);
+            if (random.nextInt(10) == 0) {
+                for (int i : grid.takeDirtyItems()) {
+                    grid.update(i, bounds[i * 4], bounds[i * 4 + 1], bounds[i * 4 + 2], bounds[i * 4 + 3]);
+                }
+                check(grid, bounds, count, random.nextDouble() * 1200 - 100, random.nextDouble() * 700 - 100);
+            }
+        }
+    }
+
+    @Test
+    public void testMarkDirty() {
+        final PickGrid grid = new PickGrid(3, new float[12]);
+        grid.markDirty(2);
+        grid.markDirty(0);
+        grid.markDirty(2);
+        assertEquals(2, grid.getDirtyCount());
+        assertArrayEquals(new int[] {2, 0}, grid.takeDirtyItems());
+        assertEquals(0, grid.getDirtyCount());
+    }
+
+    @Test
+    public void testStale() {
+        final int count = 400;
+        final float[] bounds = randomBounds(new Random(4), count, 10);
+        final PickGrid grid = new PickGrid(count, bounds);
+        assertFalse(grid.isStale());
+        for (int i = 0; i < count / 2; ++i) {
+            grid.update(i, 5000 + i, 5000, 5010 + i, 5010);
+        }
+        assertTrue(grid.isStale());
+        for (int i = 0; i < count / 2; ++i) {
+            grid.update(i, 10, 10, 20, 20);
+        }
+        assertFalse(grid.isStale());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.sg.prism;
+
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.paint.Color;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.prism.Graphics;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RegionImageCacheTest {
+    // Two horizontal pages of 64x32, each holding 4 images of 32x16
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 64;
+    private static final int PAGES = 2;
+
+    private final Graphics g = TestGraphics.TEST_GRAPHICS;
+    private RegionImageCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new RegionImageCache(g.getResourceFactory(), WIDTH, HEIGHT, PAGES);
+    }
+
+    private static RegionImageCache.Key key(int i) {
+        return new RegionImageCache.Key(31, 15 + i, null, null);
+    }
+
+    private boolean add(RegionImageCache.Key key, Rectangle rect) {
+        rect.setBounds(0, 0, 32, 16);
+        return cache.getImageLocation(key, rect, g);
+    }
+
+    @Test
+    public void testEqualKeysHit() {
+        Background background = new Background(new BackgroundFill(Color.RED, null, null));
+        Rectangle first = new Rectangle();
+        assertTrue(add(new RegionImageCache.Key(31, 15, background, null), first));
+
+        // A region resized but sliced to the same image uses a new key
+        Background same = new Background(new BackgroundFill(Color.RED, null, null));
+        Rectangle second = new Rectangle();
+        assertFalse(add(new RegionImageCache.Key(31, 15, same, null), second));
+        assertEquals(first, second);
+
+        Background other = new Background(new BackgroundFill(Color.BLUE, null, null));
+        Rectangle third = new Rectangle();
+        assertTrue(add(new RegionImageCache.Key(31, 15, other, null), third));
+        assertTrue(first.intersection(third).isEmpty());
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testImagesDoNotOverlap() {
+        Rectangle[] rects = new Rectangle[8];
+        for (int i = 0; i < rects.length; i++) {
+            rects[i] = new Rectangle();
+            assertTrue(add(key(i), rects[i]));
+            for (int j = 0; j < i; j++) {
+                assertTrue(rects[i].intersection(rects[j]).isEmpty());
+            }
+        }
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(1f, cache.getOccupancy() * 2, 1e-6f);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPageIsEvicted() {
+        Rectangle rect = new Rectangle();
+        for (int i = 0; i < 8; i++) {
+            assertTrue(add(key(i), rect));
+        }
+        // The first page holds the images 0 to 3, use it again
+        assertFalse(add(key(0), rect));
+
+        assertTrue(add(key(8), rect));
+        assertEquals(4, cache.getEvictionCount());
+        for (int i = 0; i < 4; i++) {
+            assertFalse(add(key(i), rect));
+        }
+        assertTrue(add(key(4), rect));
+    }
+
+    @Test
+    public void testImageCachable() {
+        assertFalse(cache.isImageCachable(0, 10));
+        assertFalse(cache.isImageCachable(10, 0));
+        assertTrue(cache.isImageCachable(63, 31));
+        assertTrue(cache.isImageCachable(31, 63));
+        assertFalse(cache.isImageCachable(32, 32));
+        assertFalse(cache.isImageCachable(64, 10));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl;
+
+import com.sun.javafx.geom.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GlyphAtlasTest {
+    // 4 pages of 64x16, each holding 4 glyphs of 16x16
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 64;
+    private static final int PAGES = 4;
+
+    private GlyphAtlas atlas;
+    private Client client;
+
+    private static final class Client implements GlyphAtlas.Client {
+        int flushes;
+        int evicted;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void glyphsEvicted(int count) {
+            evicted += count;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        atlas = new GlyphAtlas(null, WIDTH, HEIGHT, PAGES);
+        client = new Client();
+    }
+
+    private GlyphCache.GlyphData add(int w, int h) {
+        Rectangle rect = new Rectangle(0, 0, w, h);
+        GlyphAtlas.Page page = atlas.add(rect, client);
+        return page == null ? null : new GlyphCache.GlyphData(0, 0, 1, w, 0, rect, page);
+    }
+
+    private GlyphCache.GlyphData[] fill() {
+        GlyphCache.GlyphData[] glyphs = new GlyphCache.GlyphData[16];
+        for (int i = 0; i < glyphs.length; i++) {
+            glyphs[i] = add(16, 16);
+        }
+        return glyphs;
+    }
+
+    @Test
+    public void testGlyphsArePlacedWithoutEvictionUntilFull() {
+        GlyphCache.GlyphData[] glyphs = fill();
+        for (GlyphCache.GlyphData g : glyphs) {
+            assertTrue(atlas.use(g));
+        }
+        assertEquals(0, client.flushes);
+        assertEquals(0, client.evicted);
+        assertEquals(0, atlas.getEvictionCount());
+        assertEquals(16, atlas.getMissCount());
+        assertEquals(16, atlas.getHitCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPageIsEvicted() {
+        GlyphCache.GlyphData[] glyphs = fill();
+        // use every page but the second one
+        atlas.nextUse();
+        for (int i = 0; i < glyphs.length; i++) {
+            if (glyphs[i].getPage() != glyphs[4].getPage()) {
+                assertTrue(atlas.use(glyphs[i]));
+            }
+        }
+
+        atlas.nextUse();
+        GlyphCache.GlyphData g = add(16, 16);
+        assertSame(glyphs[4].getPage(), g.getPage());
+        assertTrue(atlas.use(g));
+        for (int i = 0; i < glyphs.length; i++) {
+            assertEquals(glyphs[i].getPage() != g.getPage(), atlas.use(glyphs[i]));
+        }
+        assertEquals(1, client.flushes);
+        assertEquals(4, client.evicted);
+        assertEquals(1, atlas.getEvictionCount());
+    }
+
+    @Test
+    public void testEvictedSpaceIsReused() {
+        fill();
+        for (int n = 0; n < 64; n++) {
+            atlas.nextUse();
+            assertNotNull(add(16, 16));
+        }
+        // every fourth glyph evicts a page of 4 glyphs
+        assertEquals(16, atlas.getEvictionCount());
+        assertEquals(64, client.evicted);
+    }
+
+    @Test
+    public void testGlyphTallerThanAPageUsesTheWholeTexture() {
+        GlyphCache.GlyphData[] glyphs = fill();
+        GlyphCache.GlyphData tall = add(16, 40);
+        assertNotNull(tall);
+        assertTrue(atlas.use(tall));
+        for (GlyphCache.GlyphData g : glyphs) {
+            assertFalse(atlas.use(g));
+        }
+        assertEquals(16, client.evicted);
+
+        // small glyphs share the texture with it until it is full
+        GlyphCache.GlyphData small = add(16, 16);
+        assertSame(tall.getPage(), small.getPage());
+        for (int i = 0; i < 32; i++) {
+            add(16, 16);
+        }
+        assertFalse(atlas.use(tall));
+        assertFalse(atlas.use(small));
+    }
+
+    @Test
+    public void testGlyphLargerThanTheTextureIsNotPlaced() {
+        GlyphCache.GlyphData[] glyphs = fill();
+        assertNull(add(WIDTH + 1, 8));
+        assertNull(add(8, HEIGHT + 1));
+        for (GlyphCache.GlyphData g : glyphs) {
+            assertTrue(atlas.use(g));
+        }
+        assertEquals(0, client.evicted);
+    }
+}
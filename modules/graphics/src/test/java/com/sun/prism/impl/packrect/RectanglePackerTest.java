@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl.packrect;
+
+import com.sun.javafx.geom.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RectanglePackerTest {
+    private static final int WIDTH = 256;
+    private static final int HEIGHT = 256;
+
+    private static List<Rectangle> fill(RectanglePacker packer, Random random,
+                                        int minSize, int maxSize) {
+        List<Rectangle> placed = new ArrayList<Rectangle>();
+        while (true) {
+            int w = minSize + random.nextInt(maxSize - minSize + 1);
+            int h = minSize + random.nextInt(maxSize - minSize + 1);
+            Rectangle rect = new Rectangle(w, h);
+            if (!packer.add(rect)) {
+                return placed;
+            }
+            assertEquals(w, rect.width);
+            assertEquals(h, rect.height);
+            placed.add(rect);
+        }
+    }
+
+    private static void assertPacked(List<Rectangle> placed,
+                                     int x, int y, int width, int height) {
+        for (int i = 0; i < placed.size(); i++) {
+            Rectangle r = placed.get(i);
+            assertTrue(r.x >= x && r.y >= y);
+            assertTrue(r.x + r.width <= x + width);
+            assertTrue(r.y + r.height <= y + height);
+            for (int j = 0; j < i; j++) {
+                assertTrue(r.intersection(placed.get(j)).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testHorizontalPacking() {
+        RectanglePacker packer = new RectanglePacker(null, 10, 20, WIDTH, HEIGHT, false);
+        List<Rectangle> placed = fill(packer, new Random(1), 3, 40);
+        assertFalse(placed.isEmpty());
+        assertPacked(placed, 10, 20, WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void testVerticalPacking() {
+        RectanglePacker packer = new RectanglePacker(null, 30, 5, WIDTH, HEIGHT, true);
+        List<Rectangle> placed = fill(packer, new Random(2), 3, 40);
+        assertFalse(placed.isEmpty());
+        assertPacked(placed, 30, 5, WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void testMixedSizesAreDenselyPacked() {
+        RectanglePacker packer = new RectanglePacker(null, WIDTH, HEIGHT);
+        List<Rectangle> placed = fill(packer, new Random(3), 4, 32);
+        long area = 0;
+        for (Rectangle r : placed) {
+            area += (long) r.width * r.height;
+        }
+        assertEquals((float) area / (WIDTH * HEIGHT), packer.getOccupancy(), 1e-6f);
+        assertTrue("occupancy " + packer.getOccupancy(), packer.getOccupancy() > 0.8f);
+    }
+
+    @Test
+    public void testSpaceBelowTallerNeighbourIsReused() {
+        RectanglePacker packer = new RectanglePacker(null, 64, 64);
+        Rectangle tall = new Rectangle(16, 32);
+        Rectangle wide = new Rectangle(48, 16);
+        Rectangle small = new Rectangle(16, 16);
+        assertTrue(packer.add(tall));
+        assertTrue(packer.add(wide));
+        assertTrue(packer.add(small));
+        assertEquals(0, tall.y);
+        assertEquals(0, wide.y);
+        // The small rectangle goes next to the tall one, below the top of
+        // the skyline, rather than on top of the wide one
+        assertEquals(16, small.y);
+        assertPacked(Arrays.asList(tall, wide, small), 0, 0, 64, 64);
+    }
+
+    @Test
+    public void testOversizedRectangleIsRejected() {
+        RectanglePacker packer = new RectanglePacker(null, 64, 32);
+        assertFalse(packer.add(new Rectangle(65, 1)));
+        assertFalse(packer.add(new Rectangle(1, 33)));
+        assertTrue(packer.add(new Rectangle(64, 32)));
+        assertFalse(packer.add(new Rectangle(1, 1)));
+    }
+
+    @Test
+    public void testClear() {
+        RectanglePacker packer = new RectanglePacker(null, WIDTH, HEIGHT);
+        List<Rectangle> first = fill(packer, new Random(4), 8, 24);
+        assertTrue(packer.getOccupancy() > 0);
+        packer.clear();
+        assertEquals(0, packer.getOccupancy(), 0);
+        List<Rectangle> second = fill(packer, new Random(4), 8, 24);
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i), second.get(i));
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl.ps;
+
+import java.lang.reflect.Proxy;
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.Texture;
+import com.sun.prism.impl.ps.CachingShapeRepState.CacheEntry;
+import com.sun.prism.impl.ps.CachingShapeRepState.MaskCache;
+import com.sun.prism.impl.ps.CachingShapeRepState.MaskTexData;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CachingShapeRepTest {
+
+    private static final class TestTexture {
+        boolean surfaceLost;
+        boolean disposed;
+
+        Texture create() {
+            return (Texture) Proxy.newProxyInstance(Texture.class.getClassLoader(),
+                    new Class<?>[] { Texture.class }, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "isSurfaceLost": return surfaceLost;
+                    case "dispose": disposed = true; return null;
+                    case "getPhysicalWidth": case "getPhysicalHeight": return 0;
+                    default: return null;
+                }
+            });
+        }
+    }
+
+    private static Shape ellipse(float w) {
+        return new Ellipse2D(0, 0, w, 10);
+    }
+
+    private static BaseTransform translate(double tx, double ty) {
+        return BaseTransform.getTranslateInstance(tx, ty);
+    }
+
+    private static CacheEntry key(Shape shape, BasicStroke stroke, BaseTransform xform, boolean aa) {
+        CacheEntry entry = new CacheEntry();
+        entry.setKey(shape, stroke, xform, aa);
+        return entry;
+    }
+
+    private static void assertSameKey(CacheEntry a, CacheEntry b) {
+        assertEquals(a, b);
+        assertEquals(b, a);
+        assertEquals(a.hashCode(), b.hashCode());
+    }
+
+    // Adds a 10x10 mask at (0, 0) to the cache, in use by the returned texData
+    private static MaskTexData add(MaskCache cache, Shape shape, TestTexture texture) {
+        MaskTexData texData = new MaskTexData();
+        texData.maskTex = texture.create();
+        texData.maskW = 10;
+        texData.maskH = 10;
+        CacheEntry entry = key(shape, null, BaseTransform.IDENTITY_TRANSFORM, true);
+        entry.texData = texData.copy();
+        entry.refCount = 1;
+        texData.cacheEntry = entry;
+        cache.addEntry(entry);
+        return texData;
+    }
+
+    private static boolean get(MaskCache cache, MaskTexData texData, Shape shape) {
+        return cache.get(null, texData, shape, null, BaseTransform.IDENTITY_TRANSFORM,
+                         null, true, false);
+    }
+
+    @Test
+    public void testEqualShapesStrokesAndTransformsGiveEqualKeys() {
+        BaseTransform xform = BaseTransform.getInstance(2, 0.5, -0.5, 2, 10, 20);
+        CacheEntry key = key(ellipse(10), new BasicStroke(2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10),
+                             xform, true);
+
+        // equal but distinct shapes and strokes
+        assertSameKey(key, key(ellipse(10), new BasicStroke(2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10),
+                               xform.copy(), true));
+        // a difference far below the quantization step, and whole pixels of translation
+        BaseTransform close = BaseTransform.getInstance(2 + 1e-6, 0.5, -0.5, 2 - 1e-6, 13, 17);
+        assertSameKey(key, key(ellipse(10), new BasicStroke(2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10),
+                               close, true));
+
+        BasicStroke stroke = new BasicStroke(2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10);
+        assertNotEquals(key, key(ellipse(11), stroke, xform, true));
+        assertNotEquals(key, key(ellipse(10), new BasicStroke(3, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 10),
+                                 xform, true));
+        assertNotEquals(key, key(ellipse(10), null, xform, true));
+        assertNotEquals(key, key(ellipse(10), stroke, xform, false));
+        assertNotEquals(key, key(ellipse(10), stroke,
+                                 BaseTransform.getInstance(2.001, 0.5, -0.5, 2, 10, 20), true));
+        assertNotEquals(key, key(ellipse(10), stroke,
+                                 BaseTransform.getInstance(2, 0.5, -0.5, 2, 10.25, 20), true));
+    }
+
+    @Test
+    public void testQuantizationStepDependsOnShapeCoordinates() {
+        BaseTransform scaled = BaseTransform.getScaleInstance(1 + 1e-5, 1);
+        // near the origin, the scale moves the shape by 0.0001 pixel
+        assertSameKey(key(ellipse(10), null, BaseTransform.IDENTITY_TRANSFORM, true),
+                      key(ellipse(10), null, scaled, true));
+        // at x = 10000, it moves the shape by 0.1 pixel
+        Shape far = new Ellipse2D(10000, 0, 10, 10);
+        assertNotEquals(key(far, null, BaseTransform.IDENTITY_TRANSFORM, true),
+                        key(far.copy(), null, scaled, true));
+        assertSameKey(key(far, null, BaseTransform.IDENTITY_TRANSFORM, true),
+                      key(far.copy(), null, BaseTransform.getScaleInstance(1 + 1e-8, 1), true));
+
+        assertEquals(8192, CachingShapeRepState.matrixSteps(ellipse(10), null));
+        assertTrue(CachingShapeRepState.matrixSteps(far, null) >= 16 * 10010);
+        assertTrue(CachingShapeRepState.matrixSteps(ellipse(10), new BasicStroke(1000, BasicStroke.CAP_ROUND,
+                                                     BasicStroke.JOIN_ROUND, 10)) >= 16 * 1000);
+    }
+
+    @Test
+    public void testSubpixelOfNegativeTranslations() {
+        assertEquals(0, CachingShapeRepState.subpixel(CachingShapeRepState.snap(-0.1)));
+        assertEquals(3, CachingShapeRepState.subpixel(CachingShapeRepState.snap(-0.2)));
+        assertEquals(3, CachingShapeRepState.subpixel(CachingShapeRepState.snap(-0.25)));
+        assertEquals(2, CachingShapeRepState.subpixel(CachingShapeRepState.snap(-1.5)));
+        assertEquals(1, CachingShapeRepState.subpixel(CachingShapeRepState.snap(-2.75)));
+        assertEquals(-2.75f, CachingShapeRepState.snap(-2.7), 0f);
+
+        // the same subpixel position on both sides of zero
+        assertSameKey(key(ellipse(10), null, translate(-0.25, -3.5), true),
+                      key(ellipse(10), null, translate(2.75, 1.5), true));
+        assertNotEquals(key(ellipse(10), null, translate(-0.25, 0), true),
+                        key(ellipse(10), null, translate(0.25, 0), true));
+    }
+
+    @Test
+    public void testAdjustOriginMovesMaskByWholePixels() {
+        CacheEntry entry = key(ellipse(10), null, translate(10.25, 5), true);
+        entry.texData = new MaskTexData();
+        entry.texData.maskX = 9;
+        entry.texData.maskY = 4;
+        MaskTexData texData = entry.texData.copy();
+        texData.cacheEntry = entry;
+
+        texData.adjustOrigin(translate(13.3, 2.05));
+        assertEquals(12, texData.maskX, 0f);
+        assertEquals(1, texData.maskY, 0f);
+
+        texData.adjustOrigin(translate(-6.8, -0.1));
+        assertEquals(-8, texData.maskX, 0f);
+        assertEquals(-1, texData.maskY, 0f);
+    }
+
+    @Test
+    public void testMakeRoomEvictsUnusedEntriesLeastRecentlyUsedFirst() {
+        MaskCache cache = new MaskCache(300);
+        TestTexture[] textures = { new TestTexture(), new TestTexture(), new TestTexture() };
+        MaskTexData a = add(cache, ellipse(1), textures[0]);
+        MaskTexData b = add(cache, ellipse(2), textures[1]);
+        MaskTexData c = add(cache, ellipse(3), textures[2]);
+        CacheEntry entryA = a.cacheEntry;
+        CacheEntry entryC = c.cacheEntry;
+
+        // unused masks are kept while they fit in the cache
+        cache.unref(c);
+        cache.unref(a);
+        assertEquals(300, cache.getTotalPixels());
+        assertEquals(200, cache.getUnusedPixels());
+        assertTrue(cache.isUnused(entryC));
+        assertTrue(cache.isUnused(entryA));
+
+        cache.makeRoom(100);
+        assertEquals(200, cache.getTotalPixels());
+        assertEquals(100, cache.getUnusedPixels());
+        assertFalse(cache.contains(entryC));
+        assertTrue(textures[2].disposed);
+        assertTrue(cache.contains(entryA));
+
+        // the mask in use is never evicted
+        cache.makeRoom(250);
+        assertEquals(100, cache.getTotalPixels());
+        assertEquals(0, cache.getUnusedPixels());
+        assertTrue(textures[0].disposed);
+        assertTrue(cache.contains(b.cacheEntry));
+        assertFalse(textures[1].disposed);
+    }
+
+    @Test
+    public void testUsingUnusedEntryMakesItRecentlyUsed() {
+        MaskCache cache = new MaskCache(300);
+        TestTexture[] textures = { new TestTexture(), new TestTexture(), new TestTexture() };
+        MaskTexData a = add(cache, ellipse(1), textures[0]);
+        MaskTexData b = add(cache, ellipse(2), textures[1]);
+        add(cache, ellipse(3), textures[2]);
+        cache.unref(a);
+        cache.unref(b);
+
+        MaskTexData texData = new MaskTexData();
+        assertTrue(get(cache, texData, ellipse(1)));
+        assertEquals(1, texData.cacheEntry.refCount);
+        assertEquals(100, cache.getUnusedPixels());
+        cache.unref(texData);
+
+        cache.makeRoom(100);
+        assertTrue(textures[1].disposed);
+        assertFalse(textures[0].disposed);
+    }
+
+    @Test
+    public void testLostUnusedEntryIsRemovedOnGet() {
+        MaskCache cache = new MaskCache(300);
+        TestTexture texture = new TestTexture();
+        MaskTexData a = add(cache, ellipse(1), texture);
+        CacheEntry entry = a.cacheEntry;
+        cache.unref(a);
+        texture.surfaceLost = true;
+
+        MaskTexData texData = new MaskTexData();
+        assertFalse(get(cache, texData, ellipse(1)));
+        assertNull(texData.cacheEntry);
+        assertFalse(cache.contains(entry));
+        assertFalse(cache.isUnused(entry));
+        assertEquals(0, cache.getTotalPixels());
+        assertEquals(0, cache.getUnusedPixels());
+        assertTrue(texture.disposed);
+    }
+
+    @Test
+    public void testLostEntryInUseIsDisposedWhenReleased() {
+        MaskCache cache = new MaskCache(300);
+        TestTexture texture = new TestTexture();
+        MaskTexData a = add(cache, ellipse(1), texture);
+        CacheEntry entry = a.cacheEntry;
+        texture.surfaceLost = true;
+
+        MaskTexData texData = new MaskTexData();
+        assertFalse(get(cache, texData, ellipse(1)));
+        assertFalse(cache.contains(entry));
+        assertEquals(1, entry.refCount);
+        assertEquals(100, cache.getTotalPixels());
+        assertFalse(texture.disposed);
+
+        cache.unref(a);
+        assertEquals(0, entry.refCount);
+        assertFalse(cache.isUnused(entry));
+        assertEquals(0, cache.getTotalPixels());
+        assertEquals(0, cache.getUnusedPixels());
+        assertTrue(texture.disposed);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl.shape;
+
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.openpisces.AlphaConsumer;
+import com.sun.openpisces.Renderer;
+import com.sun.prism.BasicStroke;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BandedShapeRasterizerTest {
+    private static final Rectangle CLIP = new Rectangle(0, 0, 800, 600);
+    // A single renderer steps along each edge one sub-pixel row at a time and
+    // accumulates rounding errors that a band starting half way down does
+    // not have, so sloped edges may cover a few more or fewer of the 64
+    // samples of a pixel.
+    private static final int EDGE_TOLERANCE = 4;
+
+    private BandedShapeRasterizer rasterizer;
+
+    @Before
+    public void setUp() {
+        rasterizer = new BandedShapeRasterizer(4);
+    }
+
+    @After
+    public void tearDown() {
+        rasterizer.dispose();
+    }
+
+    /**
+     * Records the rows it is sent as coverage values in a mask the size of
+     * the clip, like the software pipeline would draw them.
+     */
+    private static class MaskConsumer implements AlphaConsumer {
+        final int mask[] = new int[CLIP.width * CLIP.height];
+        final List<String> rows = new ArrayList<>();
+        int maxAlpha;
+
+        @Override public int getOriginX() { throw new UnsupportedOperationException(); }
+        @Override public int getOriginY() { throw new UnsupportedOperationException(); }
+        @Override public int getWidth() { throw new UnsupportedOperationException(); }
+        @Override public int getHeight() { throw new UnsupportedOperationException(); }
+
+        @Override
+        public void setMaxAlpha(int maxalpha) {
+            maxAlpha = maxalpha;
+        }
+
+        @Override
+        public void setAndClearRelativeAlphas(int[] alphaDeltas, int pix_y,
+                                              int firstdelta, int lastdelta)
+        {
+            rows.add(pix_y + ":" + firstdelta + "-" + lastdelta);
+            int a = 0;
+            for (int x = firstdelta; x <= lastdelta; x++) {
+                a += alphaDeltas[x - firstdelta];
+                alphaDeltas[x - firstdelta] = 0;
+                if (x >= CLIP.x && x < CLIP.x + CLIP.width &&
+                    pix_y >= CLIP.y && pix_y < CLIP.y + CLIP.height)
+                {
+                    mask[(pix_y - CLIP.y) * CLIP.width + x - CLIP.x] = a;
+                }
+            }
+        }
+    }
+
+    private static MaskConsumer rasterizeInOnePass(Shape shape, BasicStroke stroke,
+                                                   BaseTransform tx, boolean aa)
+    {
+        final Renderer r = OpenPiscesPrismUtils.setupRenderer(shape, stroke, tx, CLIP, aa);
+        final int x = r.getOutpixMinX();
+        final int y = r.getOutpixMinY();
+        final int w = Math.max(0, r.getOutpixMaxX() - x);
+        final int h = Math.max(0, r.getOutpixMaxY() - y);
+        final MaskConsumer mc = new MaskConsumer() {
+            @Override public int getOriginX() { return x; }
+            @Override public int getOriginY() { return y; }
+            @Override public int getWidth() { return w; }
+            @Override public int getHeight() { return h; }
+        };
+        r.produceAlphas(mc);
+        return mc;
+    }
+
+    private void assertSameCoverage(Shape shape, BasicStroke stroke,
+                                    BaseTransform tx, boolean aa, int tolerance)
+    {
+        MaskConsumer expected = rasterizeInOnePass(shape, stroke, tx, aa);
+        MaskConsumer actual = new MaskConsumer();
+        assertTrue(rasterizer.rasterize(shape, stroke, tx, CLIP, aa, actual));
+
+        assertEquals(expected.maxAlpha, actual.maxAlpha);
+        assertEquals(expected.rows, actual.rows);
+        int covered = 0;
+        for (int i = 0; i < expected.mask.length; i++) {
+            if (Math.abs(expected.mask[i] - actual.mask[i]) > tolerance) {
+                fail("coverage differs at " + (i % CLIP.width) + ", " + (i / CLIP.width) +
+                     ": " + expected.mask[i] + " != " + actual.mask[i]);
+            }
+            if (expected.mask[i] > 0) {
+                covered++;
+            }
+        }
+        assertTrue(covered > 0);
+    }
+
+    @Test
+    public void testFilledRectangleIsIdentical() {
+        Shape rect = new RoundRectangle2D(10.25f, 5.5f, 700.5f, 550.75f, 0, 0);
+        assertSameCoverage(rect, null, BaseTransform.IDENTITY_TRANSFORM, true, 0);
+        assertSameCoverage(rect, null, BaseTransform.IDENTITY_TRANSFORM, false, 0);
+    }
+
+    @Test
+    public void testFilledEllipse() {
+        Shape ellipse = new Ellipse2D(20, 10, 760, 580);
+        assertSameCoverage(ellipse, null, BaseTransform.IDENTITY_TRANSFORM, true, EDGE_TOLERANCE);
+        assertSameCoverage(ellipse, null, BaseTransform.IDENTITY_TRANSFORM, false, 1);
+    }
+
+    @Test
+    public void testTransformedShapeClippedToBounds() {
+        Shape rrect = new RoundRectangle2D(-100, -50, 600, 500, 80, 80);
+        BaseTransform tx = BaseTransform.getRotateInstance(Math.PI / 7, 300, 300);
+        assertSameCoverage(rrect, null, tx, true, EDGE_TOLERANCE);
+    }
+
+    @Test
+    public void testDashedStroke() {
+        Path2D path = new Path2D();
+        path.moveTo(50, 50);
+        path.curveTo(700, 0, 0, 550, 750, 550);
+        path.lineTo(50, 500);
+        BasicStroke stroke = new BasicStroke(12f, BasicStroke.CAP_SQUARE,
+                                             BasicStroke.JOIN_MITER, 10f,
+                                             new float[] { 30f, 10f }, 0f);
+        assertSameCoverage(path, stroke, BaseTransform.IDENTITY_TRANSFORM, true, EDGE_TOLERANCE);
+    }
+
+    @Test
+    public void testEvenOddShapeWithGapBetweenParts() {
+        Path2D path = new Path2D(Path2D.WIND_EVEN_ODD);
+        path.append(new RoundRectangle2D(10, 10, 700, 100, 0, 0), false);
+        path.append(new Ellipse2D(100, 20, 200, 80), false);
+        path.append(new RoundRectangle2D(10, 400, 700, 150, 0, 0), false);
+        assertSameCoverage(path, null, BaseTransform.IDENTITY_TRANSFORM, true, EDGE_TOLERANCE);
+    }
+
+    @Test
+    public void testSmallShapesAreNotSplit() {
+        MaskConsumer mc = new MaskConsumer();
+        assertFalse(rasterizer.rasterize(new Ellipse2D(10, 10, 100, 100), null,
+                                         BaseTransform.IDENTITY_TRANSFORM, CLIP, true, mc));
+        assertFalse(rasterizer.rasterize(new Ellipse2D(-1000, -1000, 900, 900), null,
+                                         BaseTransform.IDENTITY_TRANSFORM, CLIP, true, mc));
+        assertTrue(mc.rows.isEmpty());
+    }
+}
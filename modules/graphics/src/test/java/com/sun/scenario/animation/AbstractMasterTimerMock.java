@@ -46,8 +46,11 @@ public class AbstractMasterTimerMock extends AbstractMasterTimer {
         return nanos;
     }
 
+    private DelayedRunnable animationRunnable;
+
     @Override
     protected void postUpdateAnimationRunnable(DelayedRunnable animationRunnable) {
+        this.animationRunnable = animationRunnable;
     }
 
     @Override
@@ -77,5 +80,16 @@ public class AbstractMasterTimerMock extends AbstractMasterTimer {
             pr.timePulse(TickCalculation.fromNano(nanos));
         }
     }
+
+    /**
+     * Advances the time by one pulse and runs the main loop like the
+     * toolkit does, i.e. only if it does not ask to wait.
+     */
+    public void pulseMainLoop() {
+        nanos += TickCalculation.toMillis(100) * 1000000L;
+        if (animationRunnable != null && animationRunnable.getDelay() == 0) {
+            animationRunnable.run();
+        }
+    }
     
 }
@@ -26,9 +26,11 @@
 package com.sun.scenario.animation;
 
 import javafx.animation.AnimationTimer;
+import com.sun.javafx.animation.TickCalculation;
 import com.sun.scenario.DelayedRunnable;
 import com.sun.scenario.animation.shared.PulseReceiver;
 import com.sun.scenario.animation.shared.TimerReceiver;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -37,11 +39,18 @@ import static org.junit.Assert.*;
 public class AbstractMasterTimerTest {
     
     private AbstractMasterTimerStub timer;
+    private boolean skipIdlePulses;
     
     
     @Before
     public void setUp() {
         timer = new AbstractMasterTimerStub();
+        skipIdlePulses = AbstractMasterTimer.setSkipIdlePulses(false);
+    }
+
+    @After
+    public void tearDown() {
+        AbstractMasterTimer.setSkipIdlePulses(skipIdlePulses);
     }
     
     @Test
@@ -134,6 +143,83 @@ public class AbstractMasterTimerTest {
         assertFalse(flag.isFlagged());
     }
 
+    @Test
+    public void testNoSleepWhenDisabled() {
+        timer.setNanos(0);
+        timer.addPulseReceiver(new PulseReceiver() {
+            @Override public void timePulse(long now) {
+            }
+            @Override public long getNextPulseTime(long now) {
+                return now + TickCalculation.fromMillis(1000);
+            }
+        });
+        timer.simulatePulse();
+        assertEquals(0, timer.getDelay());
+    }
+
+    @Test
+    public void testSleepUntilNextPulseNeeded() {
+        AbstractMasterTimer.setSkipIdlePulses(true);
+        timer.setNanos(0);
+        final PulseReceiver idle = new PulseReceiver() {
+            @Override public void timePulse(long now) {
+            }
+            @Override public long getNextPulseTime(long now) {
+                return now + TickCalculation.fromMillis(1000);
+            }
+        };
+        timer.addPulseReceiver(idle);
+        assertEquals(0, timer.getDelay());
+        timer.simulatePulse();
+        assertEquals(1000, timer.getDelay());
+        timer.setNanos(400000000L);
+        assertEquals(600, timer.getDelay());
+
+        // an animation which needs every pulse wakes the timer up
+        final PulseReceiver busy = now -> {};
+        timer.addPulseReceiver(busy);
+        assertEquals(0, timer.getDelay());
+        timer.simulatePulse();
+        assertEquals(0, timer.getDelay());
+
+        timer.removePulseReceiver(busy);
+        timer.simulatePulse();
+        assertEquals(1000, timer.getDelay());
+        timer.wakeUp();
+        assertEquals(0, timer.getDelay());
+
+        // AnimationTimers need every pulse
+        timer.addAnimationTimer(now -> {});
+        timer.simulatePulse();
+        assertEquals(0, timer.getDelay());
+    }
+
+    @Test
+    public void testNoSleepForLessThanAPulse() {
+        AbstractMasterTimer.setSkipIdlePulses(true);
+        timer.setNanos(0);
+        timer.addPulseReceiver(new PulseReceiver() {
+            @Override public void timePulse(long now) {
+            }
+            @Override public long getNextPulseTime(long now) {
+                return now + 1;
+            }
+        });
+        timer.simulatePulse();
+        assertEquals(0, timer.getDelay());
+    }
+
+    @Test
+    public void testSetPulseRate() {
+        assertEquals(100, timer.getDefaultResolution());
+        timer.setPulseRate(30);
+        assertEquals(200, timer.getDefaultResolution());
+        assertEquals(30, timer.changedRate);
+        timer.setPulseRate(0);
+        assertEquals(100, timer.getDefaultResolution());
+        assertEquals(60, timer.changedRate);
+    }
+
     private static class Flag {
 
         private boolean flagged;
@@ -155,6 +241,7 @@ public class AbstractMasterTimerTest {
         
         private long nanos;
         private DelayedRunnable animationRunnable;
+        private int changedRate;
         
         public void setNanos(long nanos) {
             this.nanos = nanos;
@@ -166,6 +253,15 @@ public class AbstractMasterTimerTest {
             }
         }
 
+        public long getDelay() {
+            return animationRunnable == null ? 0 : animationRunnable.getDelay();
+        }
+
+        @Override
+        protected void pulseRateChanged(int hz) {
+            changedRate = hz;
+        }
+
         @Override public long nanos() {
             return isPaused() ? getStartPauseTime() : nanos - getTotalPausedTime();
         }
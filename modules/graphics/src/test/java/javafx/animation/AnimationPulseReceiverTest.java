@@ -37,6 +37,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.sun.scenario.animation.AbstractMasterTimerMock;
+import com.sun.scenario.animation.shared.ClipEnvelopeMock;
 import javafx.animation.AnimationMock;
 import javafx.util.Duration;
 
@@ -148,4 +149,28 @@ public class AnimationPulseReceiverTest {
         animation.pulseReceiver.timePulse(48 * DEFAULT_RESOLUTION);
         assertEquals(1 * DEFAULT_RESOLUTION, animation.getLastTimePulse());
     }
+
+    @Test
+    public void testNextPulseTime() {
+        timer.setNanos(Math.round(3 * DEFAULT_RESOLUTION * TICKS_2_NANOS));
+        animation.startReceiver(17 * DEFAULT_RESOLUTION);
+
+        // no pulse is needed during the delay
+        assertEquals(20 * DEFAULT_RESOLUTION, animation.pulseReceiver.getNextPulseTime(5 * DEFAULT_RESOLUTION));
+        // but every pulse afterwards
+        assertEquals(25 * DEFAULT_RESOLUTION, animation.pulseReceiver.getNextPulseTime(25 * DEFAULT_RESOLUTION));
+    }
+
+    @Test
+    public void testNextPulseTime_CustomResolution() {
+        final Animation capped = new AnimationImpl(timer, new ClipEnvelopeMock(), 6 * DEFAULT_RESOLUTION);
+        timer.setNanos(0);
+        capped.startReceiver(0);
+
+        // the pulses between two frames of the animation are not needed
+        assertEquals(6 * DEFAULT_RESOLUTION, capped.pulseReceiver.getNextPulseTime(DEFAULT_RESOLUTION));
+        capped.pulseReceiver.timePulse(7 * DEFAULT_RESOLUTION);
+        assertEquals(12 * DEFAULT_RESOLUTION, capped.pulseReceiver.getNextPulseTime(7 * DEFAULT_RESOLUTION));
+        capped.impl_stop();
+    }
 }
@@ -94,6 +94,61 @@ public class TimelinePlayTest {
 
     }
 
+    @Test
+    public void testCurrentTimeBetweenDiscreteKeyFrames() {
+        timeline.getKeyFrames().addAll(
+                new KeyFrame(Duration.ZERO, new KeyValue(property, 0L, Interpolator.DISCRETE)),
+                new KeyFrame(Duration.seconds(1), new KeyValue(property, 1000L, Interpolator.DISCRETE)));
+        timeline.play();
+        // 30 pulses of 100 ticks are half of the way to the second key frame
+        for (int i = 0; i < 30; i++) {
+            amt.pulseMainLoop();
+        }
+        assertEquals(Duration.millis(500), timeline.getCurrentTime());
+        assertEquals(0, property.get());
+        timeline.stop();
+    }
+
+    @Test
+    public void testNextPulseOfTimelineWithoutValues() {
+        timeline.setCycleCount(Animation.INDEFINITE);
+        timeline.getKeyFrames().addAll(
+                new KeyFrame(Duration.ZERO, event -> {}),
+                new KeyFrame(Duration.millis(500), event -> {}),
+                new KeyFrame(Duration.seconds(1)));
+        timeline.play();
+        // nothing to do until the key frame at 500ms = 3000 ticks
+        assertEquals(3000, timeline.pulseReceiver.getNextPulseTime(0));
+        amt.pulse();
+        assertEquals(3000, timeline.pulseReceiver.getNextPulseTime(100));
+        for (int i = 0; i < 30; i++) {
+            amt.pulse();
+        }
+        assertEquals(6000, timeline.pulseReceiver.getNextPulseTime(3100));
+
+        // at twice the rate, the end of the cycle comes twice as fast
+        timeline.setRate(2);
+        assertEquals(3100 + 1450, timeline.pulseReceiver.getNextPulseTime(3100));
+
+        // every pulse changes the current time when somebody listens to it
+        timeline.currentTimeProperty();
+        assertEquals(3100, timeline.pulseReceiver.getNextPulseTime(3100));
+    }
+
+    @Test
+    public void testNextPulseOfTimelineWithValues() {
+        setupTimeline(timeline, property, new Pair(Duration.minutes(1), 60000));
+        timeline.play();
+        assertEquals(0, timeline.pulseReceiver.getNextPulseTime(0));
+
+        timeline.stop();
+        timeline.getKeyFrames().setAll(new KeyFrame(Duration.minutes(1),
+                new KeyValue(property, 60000L, Interpolator.DISCRETE)));
+        timeline.play();
+        assertEquals(TickCalculation.fromDuration(Duration.minutes(1)),
+                timeline.pulseReceiver.getNextPulseTime(0));
+    }
+
     @Test
     public void testPlay() {
         // play animation without keyframes
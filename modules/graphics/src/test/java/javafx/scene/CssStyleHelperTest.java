@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene;
+
+import com.sun.javafx.css.StyleManager;
+import com.sun.javafx.css.Stylesheet;
+import com.sun.javafx.css.parser.CSSParser;
+import com.sun.javafx.scene.CssFlags;
+import java.io.IOException;
+import javafx.css.PseudoClass;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CssStyleHelperTest {
+
+    private PseudoClass hover;
+    private Group group;
+    private Rectangle rect;
+
+    @Before
+    public void setUp() {
+        // Not a constant: other tests may reset the pseudo-class registry
+        // after this class is loaded, and the stylesheets then get a new
+        // instance for "hover".
+        hover = PseudoClass.getPseudoClass("hover");
+        rect = new Rectangle(50, 50);
+        rect.getStyleClass().add("rect");
+        group = new Group(rect);
+        group.getStyleClass().add("group");
+        new Scene(group);
+    }
+
+    private void setStylesheet(String name, String css) {
+        // StyleManager won't replace the UA stylesheet unless the name differs
+        // from the current one, so each test uses its own name.
+        Stylesheet stylesheet = null;
+        try {
+            stylesheet = CSSParser.getInstance().parse(name, css);
+        } catch (IOException ioe) {
+            fail();
+        }
+        StyleManager.getInstance().setDefaultUserAgentStylesheet(stylesheet);
+        group.applyCss();
+    }
+
+    @Test
+    public void testPseudoClassStateChangeOfOwnStylesOnlyUpdatesNode() {
+        setStylesheet("testPseudoClassStateChangeOfOwnStylesOnlyUpdatesNode",
+                ".group:hover { -fx-opacity: 0.5; }" +
+                ".rect { -fx-fill: red; }");
+        assertEquals(Color.RED, rect.getFill());
+
+        group.pseudoClassStateChanged(hover, true);
+        assertEquals(CssFlags.UPDATE_NODE, group.getCSSFlags());
+        assertEquals(CssFlags.CLEAN, ((Node) rect).getCSSFlags());
+
+        group.applyCss();
+        assertEquals(0.5, group.getOpacity(), 1e-6);
+        assertEquals(CssFlags.CLEAN, group.getCSSFlags());
+
+        group.pseudoClassStateChanged(hover, false);
+        group.applyCss();
+        assertEquals(1.0, group.getOpacity(), 1e-6);
+        assertEquals(Color.RED, rect.getFill());
+    }
+
+    @Test
+    public void testPseudoClassStateChangeUpdatesDirtyChildren() {
+        setStylesheet("testPseudoClassStateChangeUpdatesDirtyChildren",
+                ".group:hover { -fx-opacity: 0.5; }" +
+                ".rect:hover { -fx-fill: red; }");
+
+        rect.pseudoClassStateChanged(hover, true);
+        group.pseudoClassStateChanged(hover, true);
+        assertEquals(CssFlags.UPDATE_NODE, group.getCSSFlags());
+        assertEquals(CssFlags.UPDATE_NODE, ((Node) rect).getCSSFlags());
+
+        group.applyCss();
+        assertEquals(0.5, group.getOpacity(), 1e-6);
+        assertEquals(Color.RED, rect.getFill());
+        assertEquals(CssFlags.CLEAN, ((Node) rect).getCSSFlags());
+    }
+
+    @Test
+    public void testPseudoClassStateChangeInDescendantSelectorUpdatesChildren() {
+        setStylesheet("testPseudoClassStateChangeInDescendantSelectorUpdatesChildren",
+                ".group:hover { -fx-opacity: 0.5; }" +
+                ".rect { -fx-fill: red; }" +
+                ".group:hover .rect { -fx-fill: blue; }");
+
+        group.pseudoClassStateChanged(hover, true);
+        assertEquals(CssFlags.UPDATE, group.getCSSFlags());
+
+        group.applyCss();
+        assertEquals(Color.BLUE, rect.getFill());
+    }
+
+    @Test
+    public void testPseudoClassStateChangeOfLookedUpValueUpdatesChildren() {
+        setStylesheet("testPseudoClassStateChangeOfLookedUpValueUpdatesChildren",
+                ".group { -my-color: red; }" +
+                ".group:hover { -my-color: blue; }" +
+                ".rect { -fx-fill: -my-color; }");
+        assertEquals(Color.RED, rect.getFill());
+
+        group.pseudoClassStateChanged(hover, true);
+        assertEquals(CssFlags.UPDATE, group.getCSSFlags());
+
+        group.applyCss();
+        assertEquals(Color.BLUE, rect.getFill());
+    }
+
+    @Test
+    public void testPseudoClassStateChangeOfInheritedValueUpdatesChildren() {
+        setStylesheet("testPseudoClassStateChangeOfInheritedValueUpdatesChildren",
+                ".group:hover { -fx-rotate: 45; }" +
+                ".rect { -fx-rotate: inherit; }");
+
+        group.pseudoClassStateChanged(hover, true);
+        assertEquals(CssFlags.UPDATE, group.getCSSFlags());
+
+        group.applyCss();
+        assertEquals(45, rect.getRotate(), 1e-6);
+    }
+
+    @Test
+    public void testPseudoClassStateChangeOfLeafOnlyUpdatesNode() {
+        // The group inherits -fx-opacity, but the rectangle has no children
+        // that could read its value.
+        setStylesheet("testPseudoClassStateChangeOfLeafOnlyUpdatesNode",
+                ".group { -fx-opacity: inherit; }" +
+                ".rect:hover { -fx-opacity: 0.5; }");
+
+        rect.pseudoClassStateChanged(hover, true);
+        assertEquals(CssFlags.UPDATE_NODE, ((Node) rect).getCSSFlags());
+
+        group.applyCss();
+        assertEquals(0.5, rect.getOpacity(), 1e-6);
+    }
+
+    @Test
+    public void testApplyCssOfChildUpdatesAncestorMarkedUpdateNode() {
+        setStylesheet("testApplyCssOfChildUpdatesAncestorMarkedUpdateNode",
+                ".group:hover { -fx-opacity: 0.5; }");
+
+        group.pseudoClassStateChanged(hover, true);
+        assertEquals(CssFlags.UPDATE_NODE, group.getCSSFlags());
+
+        rect.applyCss();
+        assertEquals(0.5, group.getOpacity(), 1e-6);
+        assertEquals(CssFlags.CLEAN, group.getCSSFlags());
+    }
+
+    @Test
+    public void testReapplyCssOfNodeMarkedUpdateNodeIsDeferred() {
+        setStylesheet("testReapplyCssOfNodeMarkedUpdateNodeIsDeferred",
+                ".group:hover { -fx-opacity: 0.5; }");
+
+        group.pseudoClassStateChanged(hover, true);
+        assertEquals(CssFlags.UPDATE_NODE, group.getCSSFlags());
+
+        group.impl_reapplyCSS();
+        assertEquals(CssFlags.REAPPLY, group.getCSSFlags());
+
+        group.applyCss();
+        assertEquals(0.5, group.getOpacity(), 1e-6);
+    }
+}
@@ -992,6 +992,43 @@ public class NodeTest {
         assertFalse(node.visibleProperty().get());
     }
 
+    @Test
+    public void parentPropertyCreatedLaterShouldReportCurrentParentAndChanges() {
+        final Node node = new Rectangle();
+        final Group g1 = new Group(node);
+        final ReadOnlyObjectProperty<Parent> parent = node.parentProperty();
+        assertSame(g1, parent.get());
+
+        final int[] invalidations = new int[1];
+        parent.addListener(o -> invalidations[0]++);
+        g1.getChildren().clear();
+        assertEquals(1, invalidations[0]);
+        final Group g2 = new Group(node);
+        assertEquals(2, invalidations[0]);
+        assertSame(g2, node.getParent());
+        g2.getChildren().clear();
+        assertEquals(3, invalidations[0]);
+        assertNull(parent.get());
+        assertNull(node.getParent());
+    }
+
+    @Test
+    public void scenePropertyCreatedLaterShouldReportCurrentSceneAndChanges() {
+        final Node node = new Rectangle();
+        final Group root = new Group(node);
+        final Scene scene = new Scene(root);
+        final ReadOnlyObjectProperty<Scene> sceneProperty = node.sceneProperty();
+        assertSame(scene, sceneProperty.get());
+
+        final int[] invalidations = new int[1];
+        sceneProperty.addListener(o -> invalidations[0]++);
+        root.getChildren().clear();
+        assertEquals(1, invalidations[0]);
+        root.getChildren().add(node);
+        assertEquals(2, invalidations[0]);
+        assertSame(scene, node.getScene());
+    }
+
     @Test
     public void testDefaultStyleIsEmptyString() {
         final Node node = new Rectangle();
@@ -29,11 +29,14 @@ import com.sun.javafx.pgstub.StubToolkit;
 import com.sun.javafx.sg.prism.NGGroup;
 import com.sun.javafx.tk.Toolkit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.geometry.Bounds;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
 import org.junit.After;
@@ -645,6 +648,113 @@ public class ParentTest {
         assertSame(scene, child.getChildren().get(3).getScene());
     }
 
+    private static class MeasuredRegion extends Region {
+        final AtomicInteger prefWidthCount = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        final double size;
+
+        MeasuredRegion(double size) {
+            this.size = size;
+        }
+
+        @Override
+        protected double computePrefWidth(double height) {
+            prefWidthCount.incrementAndGet();
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException();
+            }
+            return size;
+        }
+
+        @Override
+        protected double computePrefHeight(double width) {
+            return 2 * size;
+        }
+    }
+
+    @Test
+    public void parallelLayoutMeasuresEachChildOnce() {
+        final MockParent root = new MockParent();
+        root.setParallelLayout(true);
+        for (int i = 0; i < 20; i++) {
+            root.getChildren().add(new MeasuredRegion(10 + i));
+        }
+
+        root.layout();
+
+        for (int i = 0; i < 20; i++) {
+            final MeasuredRegion child = (MeasuredRegion) root.getChildren().get(i);
+            assertEquals(1, child.prefWidthCount.get());
+            assertEquals(10 + i, child.getWidth(), 0);
+            assertEquals(20 + 2 * i, child.getHeight(), 0);
+        }
+    }
+
+    @Test
+    public void parallelLayoutSkipsMeasuredChildren() {
+        final MockParent root = new MockParent();
+        root.setParallelLayout(true);
+        final MeasuredRegion measured = new MeasuredRegion(5);
+        final MeasuredRegion unmeasured = new MeasuredRegion(7);
+        root.getChildren().addAll(measured, unmeasured, new MeasuredRegion(9));
+        root.layout();
+
+        unmeasured.requestLayout();
+        root.layout();
+
+        assertEquals(1, measured.prefWidthCount.get());
+        assertEquals(2, unmeasured.prefWidthCount.get());
+    }
+
+    @Test
+    public void parallelLayoutMeasuresFailedChildAgain() {
+        final MockParent root = new MockParent();
+        root.setParallelLayout(true);
+        final MeasuredRegion failing = new MeasuredRegion(30);
+        failing.failures.set(1);
+        root.getChildren().addAll(new MeasuredRegion(10), failing, new MeasuredRegion(20));
+
+        root.layout();
+
+        assertEquals(2, failing.prefWidthCount.get());
+        assertEquals(30, failing.getWidth(), 0);
+    }
+
+    private static void assertClean(Node node) {
+        assertTrue(node + " was not synchronized", node.impl_isDirtyEmpty());
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildren()) {
+                assertClean(child);
+            }
+        }
+    }
+
+    @Test
+    public void parallelLayoutLeavesGroupsToTheFxThread() {
+        final MockParent root = new MockParent();
+        root.setParallelLayout(true);
+        final MeasuredRegion inGroup = new MeasuredRegion(10);
+        final Group group = new Group(inGroup);
+        final MeasuredRegion inNestedGroup = new MeasuredRegion(20);
+        final Pane pane = new Pane(new Group(inNestedGroup));
+        root.getChildren().addAll(group, pane);
+        for (int i = 0; i < 10; i++) {
+            root.getChildren().add(new MeasuredRegion(30 + i));
+        }
+        stage.setScene(new Scene(root, 400, 400));
+        stage.show();
+
+        toolkit.firePulse();
+
+        assertFalse(((Parent) group).measuredWithSideEffects);
+        assertTrue(((Parent) pane).measuredWithSideEffects);
+        assertEquals(10, inGroup.getWidth(), 0);
+        assertEquals(20, inNestedGroup.getWidth(), 0);
+        assertEquals(20, pane.getWidth(), 0);
+        // every node changed by the layout was in the dirty list of the scene
+        assertClean(root);
+    }
+
     public static class MockParent extends Parent {
         public MockParent(Node... children) {
             getChildren().addAll(children);
@@ -586,6 +586,120 @@ public class Parent_recomputeBounds_Test {
                            x * sina + y * cosa);
     }
 
+    // a row of 10x10 rectangles, 20 apart, from x = 0 to x = 20 * count - 10
+    private static Group createRow(final int count) {
+        final Group g = new Group();
+        for (int i = 0; i < count; ++i) {
+            g.getChildren().add(new Rectangle(i * 20, 0, 10, 10));
+        }
+        return g;
+    }
+
+    private static void assertBounds(final Group g, final double minX, final double minY,
+                                     final double maxX, final double maxY) {
+        final Bounds b = g.getBoundsInLocal();
+        assertEquals(minX, b.getMinX(), 0.0001);
+        assertEquals(minY, b.getMinY(), 0.0001);
+        assertEquals(maxX, b.getMaxX(), 0.0001);
+        assertEquals(maxY, b.getMaxY(), 0.0001);
+    }
+
+    @Test
+    public void shouldRecomputeBoundsOfManyChildrenWhenEdgeNodesMoveInwards() {
+        final Group g = createRow(200);
+        assertBounds(g, 0, 0, 3990, 10);
+
+        final Rectangle first = (Rectangle) g.getChildren().get(0);
+        final Rectangle last = (Rectangle) g.getChildren().get(199);
+        for (int i = 1; i <= 3; ++i) {
+            first.setX(i * 20);
+            last.setX(3980 - i * 20);
+            assertBounds(g, 20, 0, 3970, 10);
+        }
+
+        last.setY(-50);
+        assertBounds(g, 20, -50, 3970, 10);
+        last.setY(0);
+        assertBounds(g, 20, 0, 3970, 10);
+        first.setX(-100);
+        assertBounds(g, -100, 0, 3970, 10);
+    }
+
+    @Test
+    public void shouldRecomputeBoundsOfManyChildrenWhenNodesHiddenShownOrRemoved() {
+        final Group g = createRow(200);
+        final Node last = g.getChildren().get(199);
+        assertBounds(g, 0, 0, 3990, 10);
+
+        last.setVisible(false);
+        assertBounds(g, 0, 0, 3970, 10);
+        last.setVisible(true);
+        assertBounds(g, 0, 0, 3990, 10);
+
+        g.getChildren().get(0).toFront();
+        assertBounds(g, 0, 0, 3990, 10);
+        g.getChildren().remove(last);
+        assertBounds(g, 0, 0, 3970, 10);
+        g.getChildren().remove(g.getChildren().size() - 1);
+        assertBounds(g, 20, 0, 3970, 10);
+    }
+
+    @Test
+    public void shouldRecomputeBoundsOfManyChildrenWhenAllNodesMove() {
+        final Group g = createRow(200);
+        assertBounds(g, 0, 0, 3990, 10);
+        for (Node n : g.getChildren()) {
+            n.setTranslateY(-5);
+        }
+        assertBounds(g, 0, -5, 3990, 5);
+        for (int i = 0; i < 200; i += 2) {
+            ((Rectangle) g.getChildren().get(i)).setWidth(5);
+        }
+        assertBounds(g, 0, -5, 3990, 5);
+        g.getChildren().get(199).setTranslateY(0);
+        g.getChildren().get(0).setTranslateX(40);
+        assertBounds(g, 20, -5, 3990, 10);
+    }
+
+    @Test
+    public void shouldUpdateBoundsOfManyChildrenWhenNodesAddedOrRemoved() {
+        final Group g = createRow(200);
+        assertBounds(g, 0, 0, 3990, 10);
+        final Node first = g.getChildren().get(0);
+        first.setTranslateX(20);
+        // an edge node moved inwards, the bounds are kept in a tree now
+        assertBounds(g, 20, 0, 3990, 10);
+        final Node middle = g.getChildren().get(100);
+        final int slot = middle.boundsIndexSlot;
+        assertTrue(slot >= 0);
+
+        g.getChildren().remove(middle);
+        assertEquals(-1, middle.boundsIndexSlot);
+        assertBounds(g, 20, 0, 3990, 10);
+        final Node added = new Rectangle(-50, 0, 10, 10);
+        g.getChildren().add(added);
+        assertBounds(g, -50, 0, 3990, 10);
+        // the tree was updated, not built again
+        assertEquals(slot, added.boundsIndexSlot);
+        assertEquals(199, g.getChildren().get(198).boundsIndexSlot);
+
+        g.getChildren().remove(added);
+        assertBounds(g, 20, 0, 3990, 10);
+        for (int i = 0; i < 300; ++i) {
+            g.getChildren().add(new Rectangle(4000 + i * 20, 0, 10, 10));
+        }
+        assertBounds(g, 20, 0, 9990, 10);
+        g.getChildren().remove(1, g.getChildren().size() - 1);
+        assertBounds(g, 20, 0, 9990, 10);
+        assertEquals(-1, first.boundsIndexSlot);
+        for (int i = 0; i < 100; ++i) {
+            g.getChildren().add(new Rectangle(i * 20, 0, 10, 10));
+        }
+        assertBounds(g, 0, 0, 9990, 10);
+        first.setTranslateX(-40);
+        assertBounds(g, -40, 0, 9990, 10);
+    }
+
     private static double min(final double... values) {
         double result = values[0];
         for (int i = 1; i < values.length; ++i) {
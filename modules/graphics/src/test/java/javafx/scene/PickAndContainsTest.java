@@ -25,6 +25,7 @@
 
 package javafx.scene;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -226,5 +227,62 @@ public class PickAndContainsTest {
         assertFalse(r1.contains(pickX, pickY));
         assertFalse(r2.contains(pickX, pickY));
     }
-}
 
+    private static Group createCircleGrid(boolean indexed, double radius) {
+        Group g = new Group();
+        g.setIndexedPicking(indexed);
+        for (int i = 0; i < 400; i++) {
+            Circle c = new Circle(10 + (i % 20) * 15, 10 + (i / 20) * 15, radius);
+            c.setId("c" + i);
+            g.getChildren().add(c);
+        }
+        return g;
+    }
+
+    private static void assertSamePicks(Scene expected, Scene actual) {
+        for (int x = -5; x < 320; x += 3) {
+            for (int y = -5; y < 320; y += 7) {
+                Node e = expected.test_pick(x, y);
+                Node a = actual.test_pick(x, y);
+                assertEquals(e == null ? null : e.getId(), a == null ? null : a.getId());
+            }
+        }
+    }
+
+    @Test
+    public void testIndexedPickingPicksTheSameNodes() {
+        Group plain = createCircleGrid(false, 12);
+        Group indexed = createCircleGrid(true, 12);
+        Scene plainScene = new Scene(plain);
+        Scene indexedScene = new Scene(indexed);
+        assertSamePicks(plainScene, indexedScene);
+
+        // move, hide and reorder some of the children
+        for (Group g : new Group[] {plain, indexed}) {
+            g.getChildren().get(5).setTranslateX(100);
+            g.getChildren().get(17).setVisible(false);
+            g.getChildren().get(42).toFront();
+            ((Circle) g.getChildren().get(100)).setRadius(60);
+            g.getChildren().get(200).setMouseTransparent(true);
+        }
+        assertSamePicks(plainScene, indexedScene);
+
+        for (Group g : new Group[] {plain, indexed}) {
+            g.getChildren().get(17).setVisible(true);
+            g.getChildren().remove(0, 50);
+            g.getChildren().add(0, new Rectangle(0, 0, 400, 400));
+        }
+        assertSamePicks(plainScene, indexedScene);
+    }
+
+    @Test
+    public void testIndexedPickingPickOnBounds() {
+        Group g = createCircleGrid(true, 5);
+        Group root = new Group(g);
+        Scene scene = new Scene(root);
+        g.setPickOnBounds(true);
+        // between the circles of the grid
+        assertSame(g, scene.test_pick(17.5, 17.5));
+        assertSame(g.getChildren().get(0), scene.test_pick(10, 10));
+    }
+}
@@ -736,6 +736,34 @@ public class SceneTest {
         assertEquals(20, camera.getNearClip(), 0.00001);
     }
 
+    @Test
+    public void testSyncIsDeferredWhileRenderingForOnePulse() {
+        Scene scene = new Scene(new Group(), 300, 200);
+        Camera cam = new ParallelCamera();
+        scene.setCamera(cam);
+        stage.setScene(scene);
+        Toolkit.getToolkit().firePulse();
+        StubScene peer = (StubScene) scene.impl_getPeer();
+        NGCamera ngCamera = peer.getCamera();
+        StubToolkit toolkit = (StubToolkit) Toolkit.getToolkit();
+
+        cam.setNearClip(20);
+        peer.setRendering(true);
+        toolkit.clearPulseRequested();
+        toolkit.firePulse();
+        assertEquals(0.1, ngCamera.getNearClip(), 0.00001);
+        assertTrue(toolkit.isPulseRequested());
+
+        // the next pulse waits for the rendering rather than defer again
+        toolkit.firePulse();
+        assertEquals(20, ngCamera.getNearClip(), 0.00001);
+
+        cam.setNearClip(30);
+        peer.setRendering(false);
+        toolkit.firePulse();
+        assertEquals(30, ngCamera.getNearClip(), 0.00001);
+    }
+
     @Test(expected=IllegalArgumentException.class)
     public void scenesCannotShareCamera() {
         Scene scene = new Scene(new Group(), 300, 200);
@@ -25,6 +25,7 @@
 
 package com.oracle.javafx.jmx;
 
+import com.sun.javafx.css.StyleCacheMonitor;
 import com.sun.javafx.jmx.MXExtension;
 import com.sun.scenario.animation.AnimationPulse;
 import java.lang.management.ManagementFactory;
@@ -44,5 +45,9 @@ public final class MXExtensionImpl extends MXExtension {
         mbeanServer.registerMBean(
                 AnimationPulse.getDefaultBean(),
                 new ObjectName(":type=AnimationPulse"));
+
+        mbeanServer.registerMBean(
+                StyleCacheMonitor.getDefaultBean(),
+                new ObjectName(":type=StyleCache"));
     }
 }